@@ -6,6 +6,7 @@ CREATE SCHEMA IF NOT EXISTS user_svc;
 CREATE SCHEMA IF NOT EXISTS hotel_svc;
 CREATE SCHEMA IF NOT EXISTS booking_svc;
 CREATE SCHEMA IF NOT EXISTS search_svc;
+CREATE SCHEMA IF NOT EXISTS notification_svc;
 
 -- Users (user-service)
 CREATE TABLE IF NOT EXISTS user_svc.users (
@@ -33,7 +34,7 @@ CREATE TABLE IF NOT EXISTS hotel_svc.hotels (
     star_rating INTEGER CHECK (star_rating >= 1 AND star_rating <= 5),
     amenities JSONB,
     version BIGINT DEFAULT 0 NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
 );
 
 -- Room types (hotel-service)
@@ -98,6 +99,14 @@ CREATE TABLE IF NOT EXISTS search_svc.search_history (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Searches per normalized query and time bucket, written by the search history pipeline
+CREATE TABLE IF NOT EXISTS search_svc.search_query_counts (
+    bucket_start TIMESTAMP NOT NULL,
+    query TEXT NOT NULL,
+    search_count BIGINT NOT NULL,
+    PRIMARY KEY (bucket_start, query)
+);
+
 -- Transactional event outboxes (one table per producer-owned schema)
 CREATE TABLE IF NOT EXISTS user_svc.outbox_events (
     id UUID PRIMARY KEY,
@@ -118,10 +127,51 @@ CREATE TABLE IF NOT EXISTS hotel_svc.outbox_events
 CREATE TABLE IF NOT EXISTS booking_svc.outbox_events
     (LIKE user_svc.outbox_events INCLUDING ALL);
 
+-- Hotel change feed read by the search service's delta sync
+CREATE TABLE IF NOT EXISTS hotel_svc.hotel_changes (
+    id BIGSERIAL PRIMARY KEY,
+    hotel_id UUID NOT NULL,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Bulk hotel imports; records_committed is the resume position within the import file
+CREATE TABLE IF NOT EXISTS hotel_svc.hotel_imports (
+    id UUID PRIMARY KEY,
+    format VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    records_committed BIGINT DEFAULT 0 NOT NULL,
+    hotels_imported BIGINT DEFAULT 0 NOT NULL,
+    room_types_imported BIGINT DEFAULT 0 NOT NULL,
+    run_id UUID,
+    last_error TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Search service sync positions (high-water marks of external feeds)
+CREATE TABLE IF NOT EXISTS search_svc.sync_cursors (
+    name VARCHAR(100) PRIMARY KEY,
+    position BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Transactional event inboxes (processed-event markers per consumer queue)
+CREATE TABLE IF NOT EXISTS search_svc.inbox_events (
+    consumer VARCHAR(255) NOT NULL,
+    event_id VARCHAR(255) NOT NULL,
+    processed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (consumer, event_id)
+);
+
+CREATE TABLE IF NOT EXISTS notification_svc.inbox_events
+    (LIKE search_svc.inbox_events INCLUDING ALL);
+
 -- Schema drift safety for existing local volumes
 ALTER TABLE user_svc.users ADD COLUMN IF NOT EXISTS role VARCHAR(30) DEFAULT 'USER' NOT NULL;
 ALTER TABLE hotel_svc.hotels ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
 ALTER TABLE hotel_svc.room_types ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE hotel_svc.hotel_imports ADD COLUMN IF NOT EXISTS run_id UUID;
 ALTER TABLE booking_svc.room_inventory ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
 ALTER TABLE booking_svc.bookings ADD COLUMN IF NOT EXISTS version INTEGER DEFAULT 0 NOT NULL;
 ALTER TABLE booking_svc.room_inventory ADD COLUMN IF NOT EXISTS total_rooms INTEGER;
@@ -149,6 +199,9 @@ SET total_rooms = available_rooms + (
 )
 WHERE total_rooms IS NULL;
 ALTER TABLE booking_svc.room_inventory ALTER COLUMN total_rooms SET NOT NULL;
+-- created_at is the keyset of the newest-first hotel listing
+UPDATE hotel_svc.hotels SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE hotel_svc.hotels ALTER COLUMN created_at SET NOT NULL;
 ALTER TABLE booking_svc.bookings ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(128);
 
 DO $$
@@ -180,6 +233,12 @@ CREATE INDEX IF NOT EXISTS idx_hotels_city ON hotel_svc.hotels(city);
 CREATE INDEX IF NOT EXISTS idx_hotels_country ON hotel_svc.hotels(country);
 CREATE INDEX IF NOT EXISTS idx_hotels_rating ON hotel_svc.hotels(star_rating);
 CREATE INDEX IF NOT EXISTS idx_hotels_location ON hotel_svc.hotels(latitude, longitude);
+-- Keysets of the cursor-paged hotel listing
+CREATE INDEX IF NOT EXISTS idx_hotels_name_id ON hotel_svc.hotels(name, id);
+CREATE INDEX IF NOT EXISTS idx_hotels_created_at_id ON hotel_svc.hotels(created_at, id);
+-- Keyword search; the expression must match HotelTextSearch in hotel-service
+CREATE INDEX IF NOT EXISTS idx_hotels_text_search ON hotel_svc.hotels
+    USING GIN ((to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))));
 
 CREATE INDEX IF NOT EXISTS idx_room_types_hotel_id ON hotel_svc.room_types(hotel_id);
 CREATE INDEX IF NOT EXISTS idx_room_types_price ON hotel_svc.room_types(price_per_night);
@@ -208,6 +267,15 @@ CREATE INDEX IF NOT EXISTS idx_hotel_outbox_pending
 CREATE INDEX IF NOT EXISTS idx_booking_outbox_pending
     ON booking_svc.outbox_events(published_at, next_attempt_at, created_at);
 
+CREATE INDEX IF NOT EXISTS idx_hotel_changes_changed_at ON hotel_svc.hotel_changes(changed_at);
+
+CREATE INDEX IF NOT EXISTS idx_search_history_created_at ON search_svc.search_history(created_at);
+
+CREATE INDEX IF NOT EXISTS idx_search_inbox_processed_at
+    ON search_svc.inbox_events(processed_at);
+CREATE INDEX IF NOT EXISTS idx_notification_inbox_processed_at
+    ON notification_svc.inbox_events(processed_at);
+
 -- Sample data
 INSERT INTO hotel_svc.hotels (id, name, description, address, city, country, latitude, longitude, star_rating, amenities) VALUES
     ('550e8400-e29b-41d4-a716-446655440001', 'Grand Hotel Taipei', 'Luxury hotel in the heart of Taipei', '123 Main St, Xinyi District', 'Taipei', 'Taiwan', 25.0330, 121.5654, 5, '["WiFi", "Pool", "Gym", "Spa", "Restaurant"]'),
@@ -1,7 +1,9 @@
 package com.hotel.gateway.config;
 
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +17,9 @@ public class GatewayConfig {
     @Value("${services.hotel-service.url:http://hotel-service:8082}")
     private String hotelServiceUrl;
 
+    @Value("${services.hotel-service.import-timeout:30m}")
+    private String hotelImportTimeout = "30m";
+
     @Value("${services.booking-service.url:http://booking-service:8083}")
     private String bookingServiceUrl;
 
@@ -45,6 +50,16 @@ public class GatewayConfig {
                     .addRequestHeader("X-Gateway", "api-gateway"))
                 .uri(userServiceUrl))
             
+            // Bulk hotel imports stream their body for minutes, so they skip the circuit breaker
+            .route("hotel-imports", r -> r
+                .path("/api/v1/hotels/imports", "/api/v1/hotels/imports/**")
+                .filters(f -> f
+                    .addRequestHeader("X-Service", "hotel-service")
+                    .addRequestHeader("X-Gateway", "api-gateway"))
+                .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR,
+                    DurationStyle.detectAndParse(hotelImportTimeout).toMillis())
+                .uri(hotelServiceUrl))
+
             // Hotel Service routes (public read, JWT for write)
             .route("hotel-service", r -> r
                 .path("/api/v1/hotels/**")
@@ -16,6 +16,7 @@ public class RabbitMQConfig {
     public static final String BOOKING_EXCHANGE = "booking.exchange";
     public static final String BOOKING_CREATED_ROUTING_KEY = "booking.created.v2";
     public static final String BOOKING_CANCELLED_ROUTING_KEY = "booking.cancelled.v2";
+    public static final String INVENTORY_CHANGED_ROUTING_KEY = "inventory.changed.v2";
     
     @Bean
     public TopicExchange bookingExchange() {
@@ -1,6 +1,11 @@
 package com.hotel.booking.controller;
 
+import com.hotel.booking.dto.InventoryInitializationRequest;
+import com.hotel.booking.dto.StayAvailabilityRequest;
+import com.hotel.booking.dto.StayAvailabilityResponse;
 import com.hotel.booking.service.InventoryService;
+import com.hotel.booking.service.PricingService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -9,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -20,6 +26,7 @@ import java.util.UUID;
 public class InventoryController {
     
     private final InventoryService inventoryService;
+    private final PricingService pricingService;
 
     @GetMapping("/availability")
     @PreAuthorize("isAuthenticated()")
@@ -52,6 +59,20 @@ public class InventoryController {
         return ResponseEntity.ok(availabilities);
     }
     
+    @PostMapping("/stay-availability")
+    @PreAuthorize("hasRole('INTERNAL_SEARCH')")
+    public ResponseEntity<StayAvailabilityResponse> getStayAvailability(
+            @Valid @RequestBody StayAvailabilityRequest request) {
+        log.debug("Checking stay availability for {} room types from {} to {}",
+            request.getRoomTypeIds().size(), request.getCheckInDate(), request.getCheckOutDate());
+        return ResponseEntity.ok(StayAvailabilityResponse.builder()
+                .priceMultiplier(pricingService.getPricingMultiplier(
+                        request.getCheckInDate(), request.getCheckOutDate()))
+                .availableRooms(inventoryService.getStayAvailability(
+                        request.getRoomTypeIds(), request.getCheckInDate(), request.getCheckOutDate()))
+                .build());
+    }
+    
     @PostMapping("/initialize")
     @PreAuthorize("hasRole('INTERNAL_HOTEL')")
     public ResponseEntity<Void> initializeInventory(
@@ -66,6 +87,23 @@ public class InventoryController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/initialize-batch")
+    @PreAuthorize("hasRole('INTERNAL_HOTEL')")
+    public ResponseEntity<Void> initializeInventories(
+            @Valid @RequestBody InventoryInitializationRequest request) {
+        Map<UUID, Integer> totalRoomsByRoomType = new LinkedHashMap<>();
+        for (InventoryInitializationRequest.RoomTypeInventory roomType : request.getRoomTypes()) {
+            if (totalRoomsByRoomType.put(roomType.getRoomTypeId(), roomType.getTotalRooms()) != null) {
+                throw new IllegalArgumentException("Room type " + roomType.getRoomTypeId() + " is listed twice");
+            }
+        }
+        log.info("Initializing inventory for {} room types for {} days",
+            totalRoomsByRoomType.size(), request.getDaysAhead());
+
+        inventoryService.initializeInventories(totalRoomsByRoomType, request.getDaysAhead());
+        return ResponseEntity.ok().build();
+    }
+
     @PutMapping("/{roomTypeId}/capacity")
     @PreAuthorize("hasRole('INTERNAL_HOTEL')")
     public ResponseEntity<Void> setDesiredCapacity(
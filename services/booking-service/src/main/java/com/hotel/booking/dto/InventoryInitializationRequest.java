@@ -0,0 +1,42 @@
+package com.hotel.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryInitializationRequest {
+    @NotEmpty(message = "Room types are required")
+    @Size(max = 1000, message = "At most 1000 room types can be initialized at once")
+    private List<@Valid @NotNull RoomTypeInventory> roomTypes;
+
+    @Builder.Default
+    @Min(value = 0, message = "Inventory horizon must be between 0 and 730 days")
+    @Max(value = 730, message = "Inventory horizon must be between 0 and 730 days")
+    private int daysAhead = 395;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoomTypeInventory {
+        @NotNull(message = "Room type id is required")
+        private UUID roomTypeId;
+
+        @NotNull(message = "Total rooms is required")
+        @Min(value = 0, message = "Total rooms cannot be negative")
+        private Integer totalRooms;
+    }
+}
@@ -0,0 +1,26 @@
+package com.hotel.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rooms left per room type and night of a stay. Nights without an inventory row are omitted and
+ * must be treated as unavailable. {@code priceMultiplier} is the dynamic pricing factor for the
+ * stay, applied to the base nightly price the same way bookings are priced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StayAvailabilityResponse {
+    private BigDecimal priceMultiplier;
+
+    private Map<UUID, Map<LocalDate, Integer>> availableRooms;
+}
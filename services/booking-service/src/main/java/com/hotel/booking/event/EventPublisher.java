@@ -32,4 +32,15 @@ public class EventPublisher {
                 event
         );
     }
+    
+    public void publishInventoryChanged(InventoryChangedEvent event) {
+        log.debug("Queueing inventory changed event for room type {} from {} to {}",
+                event.getRoomTypeId(), event.getFromDate(), event.getToDate());
+        outboxService.enqueue(
+                RabbitMQConfig.BOOKING_EXCHANGE,
+                RabbitMQConfig.INVENTORY_CHANGED_ROUTING_KEY,
+                "inventory.changed.v1",
+                event
+        );
+    }
 }
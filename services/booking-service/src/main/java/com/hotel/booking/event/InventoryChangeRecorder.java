@@ -0,0 +1,83 @@
+package com.hotel.booking.event;
+
+import com.hotel.booking.entity.RoomInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Collects the inventory rows changed in the current transaction and, just before it commits,
+ * writes one {@link InventoryChangedEvent} per room type to the outbox. A booking that touches
+ * many nights, or a capacity change across the whole horizon, therefore produces a single event,
+ * and a rolled-back transaction produces none.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryChangeRecorder {
+
+    private final EventPublisher eventPublisher;
+
+    public void record(Collection<RoomInventory> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<UUID, NavigableMap<LocalDate, Integer>> changes = new LinkedHashMap<>();
+            collect(changes, changed);
+            publish(changes);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, NavigableMap<LocalDate, Integer>> changes =
+                (Map<UUID, NavigableMap<LocalDate, Integer>>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<UUID, NavigableMap<LocalDate, Integer>> transactionChanges = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionChanges);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    publish(transactionChanges);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InventoryChangeRecorder.this);
+                }
+            });
+            changes = transactionChanges;
+        }
+        collect(changes, changed);
+    }
+
+    private static void collect(Map<UUID, NavigableMap<LocalDate, Integer>> changes, Collection<RoomInventory> changed) {
+        for (RoomInventory inventory : changed) {
+            changes.computeIfAbsent(inventory.getRoomTypeId(), id -> new TreeMap<>())
+                    .put(inventory.getDate(), inventory.getAvailableRooms());
+        }
+    }
+
+    private void publish(Map<UUID, NavigableMap<LocalDate, Integer>> changes) {
+        LocalDate today = LocalDate.now();
+        changes.forEach((roomTypeId, byDate) -> eventPublisher.publishInventoryChanged(InventoryChangedEvent.builder()
+                .roomTypeId(roomTypeId)
+                .fromDate(byDate.firstKey())
+                .toDate(byDate.lastKey())
+                .minAvailableRooms(byDate.values().stream().mapToInt(Integer::intValue).min().orElse(0))
+                .availableToday(byDate.get(today))
+                .build()));
+        log.debug("Queued inventory changes for {} room types", changes.size());
+        changes.clear();
+    }
+}
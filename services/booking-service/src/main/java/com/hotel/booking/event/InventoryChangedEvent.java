@@ -0,0 +1,30 @@
+package com.hotel.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Inventory of one room type changed on the dates from {@code fromDate} to {@code toDate}, both
+ * inclusive, within one transaction. {@code minAvailableRooms} is the lowest availability across
+ * the changed dates after the change; {@code availableToday} is today's availability, set only when
+ * today's inventory changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryChangedEvent implements Serializable {
+    private UUID roomTypeId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer minAvailableRooms;
+    private Integer availableToday;
+    @Builder.Default
+    private String eventType = "INVENTORY_CHANGED";
+}
@@ -63,6 +63,9 @@ public interface RoomInventoryRepository extends JpaRepository<RoomInventory, UU
 
     List<RoomInventory> findByRoomTypeIdInAndDate(List<UUID> roomTypeIds, LocalDate date);
 
+    List<RoomInventory> findByRoomTypeIdInAndDateBetween(
+            List<UUID> roomTypeIds, LocalDate startDate, LocalDate endDate);
+
     void deleteByRoomTypeId(UUID roomTypeId);
 
     void deleteByRoomTypeIdIn(List<UUID> roomTypeIds);
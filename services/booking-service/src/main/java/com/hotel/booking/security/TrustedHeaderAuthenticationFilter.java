@@ -25,7 +25,7 @@ public class TrustedHeaderAuthenticationFilter extends OncePerRequestFilter {
     private static final Set<String> USER_ROLES = Set.of("USER", "HOTEL_STAFF", "ADMIN");
     private final InternalServiceTokenService tokenService;
 
-    @Value("${app.internal.allowed-services:api-gateway,hotel-service}")
+    @Value("${app.internal.allowed-services:api-gateway,hotel-service,search-service}")
     private String[] allowedServices;
 
     @Override
@@ -46,6 +46,8 @@ public class TrustedHeaderAuthenticationFilter extends OncePerRequestFilter {
         List<SimpleGrantedAuthority> authorities = new ArrayList<>();
         if ("hotel-service".equals(service)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_INTERNAL_HOTEL"));
+        } else if ("search-service".equals(service)) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_INTERNAL_SEARCH"));
         } else if ("api-gateway".equals(service)) {
             authorities.add(new SimpleGrantedAuthority("ROLE_GATEWAY"));
             String role = request.getHeader("X-User-Role");
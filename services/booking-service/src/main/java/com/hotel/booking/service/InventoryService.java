@@ -1,6 +1,7 @@
 package com.hotel.booking.service;
 
 import com.hotel.booking.entity.RoomInventory;
+import com.hotel.booking.event.InventoryChangeRecorder;
 import com.hotel.booking.exception.BookingConflictException;
 import com.hotel.booking.exception.InventoryNotFoundException;
 import com.hotel.booking.repository.BookingRepository;
@@ -23,9 +24,12 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -40,6 +44,7 @@ public class InventoryService {
     private final RoomInventoryRepository inventoryRepository;
     private final BookingRepository bookingRepository;
     private final CacheManager cacheManager;
+    private final InventoryChangeRecorder inventoryChanges;
     
     @Retryable(
         retryFor = {
@@ -93,6 +98,7 @@ public class InventoryService {
             
             log.info("Successfully reserved {} rooms for roomType {} from {} to {}", 
                 rooms, roomTypeId, checkIn, checkOut);
+            inventoryChanges.record(inventories);
             clearAvailabilityCacheAfterCommit();
             return true;
             
@@ -143,6 +149,7 @@ public class InventoryService {
             
             log.info("Successfully released {} rooms for roomType {} from {} to {}", 
                 rooms, roomTypeId, checkIn, checkOut);
+            inventoryChanges.record(inventories);
             clearAvailabilityCacheAfterCommit();
                 
         } catch (OptimisticLockingFailureException e) {
@@ -208,6 +215,24 @@ public class InventoryService {
         return availability;
     }
 
+    /**
+     * Rooms left for every night of the stay, per room type, read in one query. Nights without an
+     * inventory row are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<LocalDate, Integer>> getStayAvailability(
+            List<UUID> roomTypeIds, LocalDate checkIn, LocalDate checkOut) {
+        validateInventoryRequest(checkIn, checkOut, 1);
+        List<UUID> distinctRoomTypeIds = roomTypeIds.stream().distinct().toList();
+        Map<UUID, Map<LocalDate, Integer>> availability = new HashMap<>();
+        for (RoomInventory inventory : inventoryRepository.findByRoomTypeIdInAndDateBetween(
+                distinctRoomTypeIds, checkIn, checkOut.minusDays(1))) {
+            availability.computeIfAbsent(inventory.getRoomTypeId(), id -> new TreeMap<>())
+                    .put(inventory.getDate(), inventory.getAvailableRooms());
+        }
+        return availability;
+    }
+
     @Transactional(readOnly = true)
     public int getAvailableRooms(UUID roomTypeId, LocalDate date) {
         return inventoryRepository.findByRoomTypeIdAndDate(roomTypeId, date)
@@ -238,23 +263,14 @@ public class InventoryService {
         
         // Batch create non-existing inventory records
         List<RoomInventory> newInventories = new ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            if (!existingDates.contains(date)) {
-                RoomInventory inventory = RoomInventory.builder()
-                    .roomTypeId(roomTypeId)
-                    .date(date)
-                    .totalRooms(totalRooms)
-                    .availableRooms(totalRooms)
-                    .build();
-                newInventories.add(inventory);
-            }
-        }
+        addMissingInventory(newInventories, roomTypeId, totalRooms, startDate, endDate, existingDates);
         
         // Batch save all new inventory records
         if (!newInventories.isEmpty()) {
             inventoryRepository.saveAll(newInventories);
             log.info("Batch inserted {} new inventory records for roomType {}", 
                 newInventories.size(), roomTypeId);
+            inventoryChanges.record(newInventories);
         }
         
         log.info("Successfully initialized inventory for roomType {} for {} days",
@@ -262,6 +278,44 @@ public class InventoryService {
         clearAvailabilityCacheAfterCommit();
     }
 
+    /**
+     * Initializes the inventory of many new room types at once: existing rows are looked up with
+     * one query and all missing rows are saved together, in one transaction for all room types.
+     */
+    public void initializeInventories(Map<UUID, Integer> totalRoomsByRoomType, int daysAhead) {
+        if (totalRoomsByRoomType == null || totalRoomsByRoomType.isEmpty()) {
+            return;
+        }
+        totalRoomsByRoomType.forEach((roomTypeId, totalRooms) -> {
+            if (totalRooms == null || totalRooms < 0) {
+                throw new IllegalArgumentException("Total rooms cannot be negative");
+            }
+        });
+        int effectiveDaysAhead = effectiveHorizon(daysAhead);
+        LocalDate startDate = LocalDate.now();
+        LocalDate endDate = startDate.plusDays(effectiveDaysAhead);
+
+        Map<UUID, Set<LocalDate>> existingDates = new HashMap<>();
+        for (RoomInventory inventory : inventoryRepository.findByRoomTypeIdInAndDateBetween(
+                List.copyOf(totalRoomsByRoomType.keySet()), startDate, endDate)) {
+            existingDates.computeIfAbsent(inventory.getRoomTypeId(), id -> new HashSet<>())
+                    .add(inventory.getDate());
+        }
+
+        List<RoomInventory> newInventories =
+                new ArrayList<>(totalRoomsByRoomType.size() * (effectiveDaysAhead + 1));
+        totalRoomsByRoomType.forEach((roomTypeId, totalRooms) -> addMissingInventory(newInventories,
+                roomTypeId, totalRooms, startDate, endDate, existingDates.getOrDefault(roomTypeId, Set.of())));
+
+        if (!newInventories.isEmpty()) {
+            inventoryRepository.saveAll(newInventories);
+            inventoryChanges.record(newInventories);
+        }
+        log.info("Initialized {} inventory records for {} room types for {} days",
+                newInventories.size(), totalRoomsByRoomType.size(), effectiveDaysAhead);
+        clearAvailabilityCacheAfterCommit();
+    }
+
     public void setDesiredCapacity(UUID roomTypeId, int desiredCapacity, int daysAhead) {
         if (desiredCapacity < 0) {
             throw new IllegalArgumentException("Desired capacity cannot be negative");
@@ -304,6 +358,7 @@ public class InventoryService {
         }
 
         inventoryRepository.saveAll(toSave);
+        inventoryChanges.record(toSave);
         clearAvailabilityCacheAfterCommit();
     }
     
@@ -346,6 +401,20 @@ public class InventoryService {
         return dates;
     }
 
+    private void addMissingInventory(List<RoomInventory> target, UUID roomTypeId, int totalRooms,
+                                     LocalDate startDate, LocalDate endDate, Set<LocalDate> existingDates) {
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!existingDates.contains(date)) {
+                target.add(RoomInventory.builder()
+                    .roomTypeId(roomTypeId)
+                    .date(date)
+                    .totalRooms(totalRooms)
+                    .availableRooms(totalRooms)
+                    .build());
+            }
+        }
+    }
+
     private int effectiveHorizon(int requestedDaysAhead) {
         if (requestedDaysAhead < 0 || requestedDaysAhead > 730) {
             throw new IllegalArgumentException("Inventory horizon must be between 0 and 730 days");
@@ -29,6 +29,14 @@ public class PricingService {
         return applyDynamicPricing(basePrice, checkIn, checkOut, roomType.getId());
     }
 
+    /**
+     * Dynamic pricing factor for a stay, independent of the room type; multiply a base price for
+     * the stay by it to get the booking price.
+     */
+    public BigDecimal getPricingMultiplier(LocalDate checkIn, LocalDate checkOut) {
+        return calculatePricingMultiplier(checkIn, checkOut, null);
+    }
+
     public Mono<BigDecimal> calculateTotalPriceAsync(UUID roomTypeId, LocalDate checkIn, LocalDate checkOut) {
         return Mono.fromCallable(() -> calculateTotalPrice(roomTypeId, checkIn, checkOut));
     }
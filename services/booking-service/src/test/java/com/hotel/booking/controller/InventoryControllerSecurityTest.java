@@ -4,13 +4,18 @@ import com.hotel.booking.config.SecurityConfig;
 import com.hotel.booking.security.InternalServiceTokenService;
 import com.hotel.booking.security.TrustedHeaderAuthenticationFilter;
 import com.hotel.booking.service.InventoryService;
+import com.hotel.booking.service.PricingService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.Mockito.verify;
@@ -29,6 +34,9 @@ class InventoryControllerSecurityTest {
     @MockBean
     private InventoryService inventoryService;
 
+    @MockBean
+    private PricingService pricingService;
+
     @MockBean
     private InternalServiceTokenService tokenService;
 
@@ -61,4 +69,58 @@ class InventoryControllerSecurityTest {
 
         verify(inventoryService).initializeInventory(roomTypeId, 5, 395);
     }
+
+    @Test
+    void initializeBatchAllowsHotelServiceInternalIdentity() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(tokenService.isValid("hotel-service", "valid-token")).thenReturn(true);
+
+        mockMvc.perform(post("/api/v1/inventory/initialize-batch")
+                        .header("X-Internal-Service", "hotel-service")
+                        .header("X-Internal-Token", "valid-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"daysAhead\":395,\"roomTypes\":[{\"roomTypeId\":\"" + first
+                                + "\",\"totalRooms\":5},{\"roomTypeId\":\"" + second + "\",\"totalRooms\":2}]}"))
+                .andExpect(status().isOk());
+
+        verify(inventoryService).initializeInventories(Map.of(first, 5, second, 2), 395);
+    }
+
+    @Test
+    void stayAvailabilityAllowsSearchServiceInternalIdentity() throws Exception {
+        UUID roomTypeId = UUID.randomUUID();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        when(tokenService.isValid("search-service", "valid-token")).thenReturn(true);
+
+        mockMvc.perform(post("/api/v1/inventory/stay-availability")
+                        .header("X-Internal-Service", "search-service")
+                        .header("X-Internal-Token", "valid-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(stayAvailabilityBody(roomTypeId, checkIn)))
+                .andExpect(status().isOk());
+
+        verify(inventoryService).getStayAvailability(List.of(roomTypeId), checkIn, checkIn.plusDays(2));
+    }
+
+    @Test
+    void stayAvailabilityRejectsGatewayUsers() throws Exception {
+        when(tokenService.isValid("api-gateway", "valid-token")).thenReturn(true);
+
+        mockMvc.perform(post("/api/v1/inventory/stay-availability")
+                        .header("X-Internal-Service", "api-gateway")
+                        .header("X-Internal-Token", "valid-token")
+                        .header("X-User-Role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(stayAvailabilityBody(UUID.randomUUID(), LocalDate.now().plusDays(10))))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(inventoryService);
+    }
+
+    private static String stayAvailabilityBody(UUID roomTypeId, LocalDate checkIn) {
+        return """
+                {"roomTypeIds":["%s"],"checkInDate":"%s","checkOutDate":"%s"}
+                """.formatted(roomTypeId, checkIn, checkIn.plusDays(2));
+    }
 }
@@ -1,30 +1,39 @@
 package com.hotel.booking.controller;
 
 import com.hotel.booking.service.InventoryService;
+import com.hotel.booking.service.PricingService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class InventoryControllerTest {
 
     private InventoryService inventoryService;
+    private PricingService pricingService;
     private MockMvc mockMvc;
 
     @BeforeEach
     void setUp() {
         inventoryService = mock(InventoryService.class);
-        mockMvc = MockMvcBuilders.standaloneSetup(new InventoryController(inventoryService)).build();
+        pricingService = mock(PricingService.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new InventoryController(inventoryService, pricingService)).build();
     }
 
     @Test
@@ -41,4 +50,24 @@ class InventoryControllerTest {
 
         verify(inventoryService).getAvailableRooms(roomTypeId, date);
     }
+
+    @Test
+    void stayAvailability_ReturnsNightlyRoomsAndPricingMultiplier() throws Exception {
+        UUID roomTypeId = UUID.randomUUID();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(2);
+        when(pricingService.getPricingMultiplier(checkIn, checkOut)).thenReturn(new BigDecimal("1.2"));
+        when(inventoryService.getStayAvailability(List.of(roomTypeId), checkIn, checkOut))
+                .thenReturn(Map.of(roomTypeId, Map.of(checkIn, 3, checkIn.plusDays(1), 0)));
+
+        mockMvc.perform(post("/api/v1/inventory/stay-availability")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"roomTypeIds":["%s"],"checkInDate":"%s","checkOutDate":"%s"}
+                                """.formatted(roomTypeId, checkIn, checkOut)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceMultiplier").value(1.2))
+                .andExpect(jsonPath("$.availableRooms['" + roomTypeId + "']['" + checkIn + "']").value(3))
+                .andExpect(jsonPath("$.availableRooms['" + roomTypeId + "']['" + checkIn.plusDays(1) + "']").value(0));
+    }
 }
@@ -30,4 +30,17 @@ class EventPublisherTest {
         verify(outboxService).enqueue(
                 eq("booking.exchange"), eq("booking.cancelled.v2"), eq("booking.cancelled.v1"), same(cancelled));
     }
+
+    @Test
+    void inventoryChangesAreStoredOnTheBookingExchange() {
+        OutboxService outboxService = mock(OutboxService.class);
+        EventPublisher publisher = new EventPublisher(outboxService);
+        InventoryChangedEvent changed = InventoryChangedEvent.builder().roomTypeId(UUID.randomUUID()).build();
+
+        publisher.publishInventoryChanged(changed);
+
+        assertThat(changed.getEventType()).isEqualTo("INVENTORY_CHANGED");
+        verify(outboxService).enqueue(
+                eq("booking.exchange"), eq("inventory.changed.v2"), eq("inventory.changed.v1"), same(changed));
+    }
 }
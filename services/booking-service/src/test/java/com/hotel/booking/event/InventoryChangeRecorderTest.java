@@ -0,0 +1,89 @@
+package com.hotel.booking.event;
+
+import com.hotel.booking.entity.RoomInventory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class InventoryChangeRecorderTest {
+
+    private final UUID roomTypeId = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now();
+    private EventPublisher eventPublisher;
+    private InventoryChangeRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(EventPublisher.class);
+        recorder = new InventoryChangeRecorder(eventPublisher);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(recorder);
+    }
+
+    @Test
+    void coalescesChangesOfOneTransactionIntoOneEventPerRoomType() {
+        UUID otherRoomTypeId = UUID.randomUUID();
+        recorder.record(List.of(inventory(roomTypeId, today, 4), inventory(roomTypeId, today.plusDays(1), 2)));
+        recorder.record(List.of(inventory(roomTypeId, today, 3), inventory(otherRoomTypeId, today.plusDays(5), 7)));
+        verify(eventPublisher, never()).publishInventoryChanged(any());
+
+        commit();
+
+        ArgumentCaptor<InventoryChangedEvent> events = ArgumentCaptor.forClass(InventoryChangedEvent.class);
+        verify(eventPublisher, times(2)).publishInventoryChanged(events.capture());
+        InventoryChangedEvent first = events.getAllValues().get(0);
+        assertThat(first.getRoomTypeId()).isEqualTo(roomTypeId);
+        assertThat(first.getFromDate()).isEqualTo(today);
+        assertThat(first.getToDate()).isEqualTo(today.plusDays(1));
+        assertThat(first.getMinAvailableRooms()).isEqualTo(2);
+        assertThat(first.getAvailableToday()).isEqualTo(3);
+        InventoryChangedEvent second = events.getAllValues().get(1);
+        assertThat(second.getRoomTypeId()).isEqualTo(otherRoomTypeId);
+        assertThat(second.getAvailableToday()).isNull();
+    }
+
+    @Test
+    void rolledBackTransactionPublishesNothing() {
+        recorder.record(List.of(inventory(roomTypeId, today, 4)));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(eventPublisher, never()).publishInventoryChanged(any());
+        assertThat(TransactionSynchronizationManager.hasResource(recorder)).isFalse();
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static RoomInventory inventory(UUID roomTypeId, LocalDate date, int availableRooms) {
+        return RoomInventory.builder()
+                .roomTypeId(roomTypeId)
+                .date(date)
+                .totalRooms(10)
+                .availableRooms(availableRooms)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.hotel.booking.integration;
 
 import com.hotel.booking.entity.RoomInventory;
+import com.hotel.booking.event.InventoryChangeRecorder;
 import com.hotel.booking.repository.RoomInventoryRepository;
 import com.hotel.booking.service.InventoryService;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +34,9 @@ class OptimisticLockingIntegrationTest {
     @MockBean
     private CacheManager cacheManager;
 
+    @MockBean
+    private InventoryChangeRecorder inventoryChanges;
+
     @MockBean
     private Cache availabilityCache;
 
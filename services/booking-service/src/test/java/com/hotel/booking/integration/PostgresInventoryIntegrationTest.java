@@ -1,6 +1,7 @@
 package com.hotel.booking.integration;
 
 import com.hotel.booking.entity.RoomInventory;
+import com.hotel.booking.event.InventoryChangeRecorder;
 import com.hotel.booking.repository.RoomInventoryRepository;
 import com.hotel.booking.service.InventoryService;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +58,9 @@ class PostgresInventoryIntegrationTest {
     @MockBean
     private CacheManager cacheManager;
 
+    @MockBean
+    private InventoryChangeRecorder inventoryChanges;
+
     @BeforeEach
     void setUp() {
         inventoryRepository.deleteAll();
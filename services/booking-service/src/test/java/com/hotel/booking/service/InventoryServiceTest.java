@@ -1,6 +1,7 @@
 package com.hotel.booking.service;
 
 import com.hotel.booking.entity.RoomInventory;
+import com.hotel.booking.event.InventoryChangeRecorder;
 import com.hotel.booking.exception.InventoryNotFoundException;
 import com.hotel.booking.exception.BookingConflictException;
 import com.hotel.booking.repository.BookingRepository;
@@ -19,6 +20,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,6 +43,9 @@ class InventoryServiceTest {
     @Mock
     private Cache availabilityCache;
 
+    @Mock
+    private InventoryChangeRecorder inventoryChanges;
+
     @InjectMocks
     private InventoryService inventoryService;
 
@@ -89,6 +94,7 @@ class InventoryServiceTest {
         assertTrue(result);
         verify(inventoryRepository, times(2)).save(any(RoomInventory.class));
         verify(availabilityCache).clear();
+        verify(inventoryChanges).record(List.of(inventory1, inventory2));
         assertEquals(3, inventory1.getAvailableRooms());
         assertEquals(3, inventory2.getAvailableRooms());
     }
@@ -245,6 +251,19 @@ class InventoryServiceTest {
                 () -> inventoryService.getAvailableRooms(roomTypeId, checkIn));
     }
 
+    @Test
+    void getStayAvailability_GroupsNightsByRoomTypeAndOmitsMissingRows() {
+        UUID otherRoomTypeId = UUID.randomUUID();
+        when(inventoryRepository.findByRoomTypeIdInAndDateBetween(
+                List.of(roomTypeId, otherRoomTypeId), checkIn, checkOut.minusDays(1)))
+                .thenReturn(List.of(inventory1, inventory2));
+
+        Map<UUID, Map<LocalDate, Integer>> availability = inventoryService.getStayAvailability(
+                List.of(roomTypeId, otherRoomTypeId, roomTypeId), checkIn, checkOut);
+
+        assertEquals(Map.of(roomTypeId, Map.of(checkIn, 5, checkIn.plusDays(1), 5)), availability);
+    }
+
     @Test
     void setDesiredCapacity_PreservesSoldRooms() {
         when(inventoryRepository.findFutureByRoomTypeIdForUpdate(eq(roomTypeId), any(LocalDate.class)))
@@ -322,6 +341,34 @@ class InventoryServiceTest {
         verify(inventoryRepository, never()).saveAll(anyList());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void initializeInventories_SavesMissingDatesOfAllRoomTypesTogether() {
+        // Given
+        UUID otherRoomTypeId = UUID.randomUUID();
+        RoomInventory existing = RoomInventory.builder()
+                .roomTypeId(otherRoomTypeId)
+                .date(LocalDate.now())
+                .totalRooms(3)
+                .availableRooms(3)
+                .build();
+        when(inventoryRepository.findByRoomTypeIdInAndDateBetween(anyList(), any(), any()))
+                .thenReturn(List.of(existing));
+
+        // When
+        inventoryService.initializeInventories(Map.of(roomTypeId, 10, otherRoomTypeId, 3), 7);
+
+        // Then
+        ArgumentCaptor<List<RoomInventory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(inventoryRepository).saveAll(captor.capture());
+        assertEquals(396 + 395, captor.getValue().size());
+        assertEquals(395, captor.getValue().stream()
+                .filter(inventory -> inventory.getRoomTypeId().equals(otherRoomTypeId))
+                .count());
+        verify(inventoryRepository, never()).findByRoomTypeIdAndDateBetween(any(), any(), any());
+        verify(inventoryChanges).record(captor.getValue());
+    }
+
     @Test
     void checkAvailability_InvalidDateRangeIsRejected() {
         assertThrows(IllegalArgumentException.class,
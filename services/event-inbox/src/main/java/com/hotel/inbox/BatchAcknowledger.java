@@ -0,0 +1,226 @@
+package com.hotel.inbox;
+
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settles a batch received by a {@link ListenerContainerConfiguration#BATCH_CONTAINER_FACTORY}
+ * listener. Every message is handled on its own, so one bad message does not fail the batch.
+ * A fully successful batch is acknowledged with a single frame; otherwise successes are acknowledged
+ * individually and only the failed messages are settled on their own.
+ *
+ * <p>A failed message is retried with the listener retry settings of
+ * {@code spring.rabbitmq.listener.simple.retry}: it is published to the retry exchange with its
+ * attempt count in {@link #RETRY_COUNT_HEADER} and the backoff as its expiration, and acknowledged.
+ * The retry queue dead-letters it back to the queue it came from once the backoff has passed. The
+ * last attempt's failure, or an unreadable payload, goes to the dead-letter queue.
+ */
+@Slf4j
+public final class BatchAcknowledger {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+
+    private final String retryExchange;
+    private final int maxAttempts;
+    private final Duration initialInterval;
+    private final double multiplier;
+    private final Duration maxInterval;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    public BatchAcknowledger(
+            String retryExchange,
+            int maxAttempts,
+            Duration initialInterval,
+            double multiplier,
+            Duration maxInterval) {
+        if (maxAttempts < 1 || multiplier < 1) {
+            throw new IllegalArgumentException("Retry attempts and multiplier must be at least 1");
+        }
+        this.retryExchange = retryExchange;
+        this.maxAttempts = maxAttempts;
+        this.initialInterval = initialInterval;
+        this.multiplier = multiplier;
+        this.maxInterval = maxInterval;
+    }
+
+    public BatchResult acknowledge(Channel channel, List<Message> messages, MessageHandler handler)
+            throws IOException {
+        List<Exception> failures = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            failures.add(attempt(() -> handler.handle(message)));
+        }
+        return settle(channel, messages, failures);
+    }
+
+    /**
+     * Variant for handlers that hand work to an asynchronous writer: every message of the batch is
+     * submitted first, then the outcomes are awaited together until {@code timeout}. A message whose
+     * outcome is still pending at the deadline counts as failed. {@code afterSuccess} runs on the
+     * listener thread for each successful message before anything is acknowledged.
+     */
+    public BatchResult acknowledgeAsync(
+            Channel channel,
+            List<Message> messages,
+            AsyncMessageHandler handler,
+            MessageHandler afterSuccess,
+            Duration timeout) throws IOException {
+        List<CompletableFuture<?>> outcomes = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                outcomes.add(handler.handle(message).toCompletableFuture());
+            } catch (Exception e) {
+                outcomes.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Exception> failures = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            CompletableFuture<?> outcome = outcomes.get(i);
+            failures.add(attempt(() -> {
+                await(outcome, deadline);
+                afterSuccess.handle(message);
+            }));
+        }
+        return settle(channel, messages, failures);
+    }
+
+    private static Exception attempt(MessageAction action) {
+        try {
+            action.run();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static void await(CompletableFuture<?> outcome, long deadlineNanos) throws Exception {
+        try {
+            outcome.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private BatchResult settle(Channel channel, List<Message> messages, List<Exception> failures)
+            throws IOException {
+        if (messages.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+        List<Long> succeeded = new ArrayList<>(messages.size());
+        List<Message> retried = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            MessageProperties properties = message.getMessageProperties();
+            long deliveryTag = properties.getDeliveryTag();
+            Exception failure = failures.get(i);
+            int attempt = retryCount(properties) + 1;
+            if (failure == null) {
+                succeeded.add(deliveryTag);
+            } else if (failure instanceof AmqpRejectAndDontRequeueException
+                    || failure instanceof MessageConversionException) {
+                log.error("Rejecting message {} from {}",
+                        properties.getMessageId(), properties.getConsumerQueue(), failure);
+                rejected.add(deliveryTag);
+            } else if (attempt >= maxAttempts || properties.getConsumerQueue() == null) {
+                log.error("Message {} from {} failed on attempt {}; dead-lettering",
+                        properties.getMessageId(), properties.getConsumerQueue(), attempt, failure);
+                rejected.add(deliveryTag);
+            } else {
+                log.warn("Message {} from {} failed on attempt {} of {}; retrying",
+                        properties.getMessageId(), properties.getConsumerQueue(), attempt, maxAttempts, failure);
+                retried.add(message);
+            }
+        }
+
+        if (succeeded.size() == messages.size()) {
+            channel.basicAck(succeeded.getLast(), true);
+        } else {
+            for (long deliveryTag : succeeded) {
+                channel.basicAck(deliveryTag, false);
+            }
+            for (Message message : retried) {
+                // Published before the acknowledgement, so a lost channel redelivers the message
+                publishRetry(channel, message);
+                channel.basicAck(message.getMessageProperties().getDeliveryTag(), false);
+            }
+            for (long deliveryTag : rejected) {
+                channel.basicNack(deliveryTag, false, false);
+            }
+        }
+        return new BatchResult(succeeded.size(), retried.size(), rejected.size());
+    }
+
+    private void publishRetry(Channel channel, Message message) throws IOException {
+        MessageProperties properties = message.getMessageProperties();
+        int retry = retryCount(properties) + 1;
+        properties.setHeader(RETRY_COUNT_HEADER, retry);
+        properties.setExpiration(String.valueOf(backoff(retry).toMillis()));
+        // The retry queue dead-letters with this routing key through the default exchange
+        channel.basicPublish(retryExchange, properties.getConsumerQueue(),
+                propertiesConverter.fromMessageProperties(properties, StandardCharsets.UTF_8.name()),
+                message.getBody());
+    }
+
+    Duration backoff(int retry) {
+        double millis = initialInterval.toMillis() * Math.pow(multiplier, retry - 1);
+        return Duration.ofMillis((long) Math.min(millis, maxInterval.toMillis()));
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        return properties.getHeader(RETRY_COUNT_HEADER) instanceof Number count ? count.intValue() : 0;
+    }
+
+    /**
+     * Converts a raw batch element the same way a single-message listener would convert its payload
+     * parameter of the given type.
+     */
+    public static <T> T payload(MessageConverter converter, Message message, Class<T> type) {
+        message.getMessageProperties().setInferredArgumentType(type);
+        Object payload = converter.fromMessage(message);
+        if (!type.isInstance(payload)) {
+            throw new MessageConversionException("Expected " + type.getSimpleName() + " payload");
+        }
+        return type.cast(payload);
+    }
+
+    @FunctionalInterface
+    public interface MessageHandler {
+        void handle(Message message) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface AsyncMessageHandler {
+        CompletionStage<?> handle(Message message) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface MessageAction {
+        void run() throws Exception;
+    }
+
+    public record BatchResult(int acknowledged, int retried, int rejected) {
+    }
+}
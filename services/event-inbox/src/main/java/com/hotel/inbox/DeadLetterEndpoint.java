@@ -0,0 +1,72 @@
+package com.hotel.inbox;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Lists the dead-letter queues of this service and replays their messages. A replay is a write
+ * that republishes for real unless {@code dryRun} is set; a dry run is a write too, because it
+ * still moves the scanned messages to the tail of their queue. Times are ISO-8601 instants and
+ * filter on when the broker dead-lettered the message. Services restrict the endpoint to operators.
+ */
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+    private final DeadLetterReplayer replayer;
+
+    DeadLetterEndpoint(DeadLetterReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @ReadOperation
+    public List<QueueDepth> queues() {
+        return replayer.deadLetterQueues().stream()
+                .sorted()
+                .map(queue -> new QueueDepth(queue, replayer.depth(queue)))
+                .toList();
+    }
+
+    @WriteOperation
+    public DeadLetterReplayer.ReplayReport replay(
+            @Selector String queue,
+            @Nullable String eventType,
+            @Nullable String since,
+            @Nullable String until,
+            @Nullable Integer limit,
+            @Nullable Boolean dryRun) {
+        if (!replayer.deadLetterQueues().contains(queue)) {
+            throw new InvalidEndpointRequestException(
+                    "Unknown dead-letter queue: " + queue, "Unknown dead-letter queue");
+        }
+        DeadLetterReplayer.ReplayCriteria criteria = new DeadLetterReplayer.ReplayCriteria(
+                eventType,
+                parseInstant("since", since),
+                parseInstant("until", until),
+                limit == null ? Integer.MAX_VALUE : Math.max(1, limit),
+                Boolean.TRUE.equals(dryRun));
+        return replayer.replay(queue, criteria);
+    }
+
+    private Instant parseInstant(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidEndpointRequestException(
+                    "Invalid '" + name + "' instant: " + value, "Invalid instant");
+        }
+    }
+
+    public record QueueDepth(String queue, long messages) {
+    }
+}
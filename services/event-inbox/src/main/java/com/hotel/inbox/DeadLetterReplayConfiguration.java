@@ -0,0 +1,43 @@
+package com.hotel.inbox;
+
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+@AutoConfiguration(after = RabbitAutoConfiguration.class)
+@ConditionalOnBean(ConnectionFactory.class)
+public class DeadLetterReplayConfiguration {
+
+    @Bean
+    public DeadLetterReplayer deadLetterReplayer(
+            ConnectionFactory connectionFactory,
+            @Value("${app.dlq-replay.queues:}") String[] queues,
+            @Value("${app.dlq-replay.rate-per-second:50}") double ratePerSecond,
+            @Value("${app.dlq-replay.burst:10}") int burst,
+            @Value("${app.dlq-replay.max-scan:50000}") int maxScan,
+            @Value("${app.dlq-replay.page-size:100}") int pageSize,
+            @Value("${app.dlq-replay.confirm-timeout:5s}") String confirmTimeout) {
+        // Dedicated template: replays forward raw messages and must not pick up a service's converter.
+        return new DeadLetterReplayer(
+                new RabbitTemplate(connectionFactory),
+                new TokenBucket(ratePerSecond, burst),
+                List.of(queues),
+                maxScan,
+                pageSize,
+                DurationStyle.detectAndParse(confirmTimeout));
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    DeadLetterEndpoint deadLetterEndpoint(DeadLetterReplayer deadLetterReplayer) {
+        return new DeadLetterEndpoint(deadLetterReplayer);
+    }
+}
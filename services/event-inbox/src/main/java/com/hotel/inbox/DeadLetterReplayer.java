@@ -0,0 +1,233 @@
+package com.hotel.inbox;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves dead-lettered messages back to the exchange and routing key they were originally
+ * published with, as recorded in the broker's {@code x-death} header.
+ *
+ * <p>A replay scans at most the queue depth observed when it starts, in pages of
+ * {@code pageSize} messages that each use a channel of their own. Every fetched message is
+ * published again and acknowledged only once the broker confirmed the publish: a match goes back
+ * to its original exchange, and any other message, or every message of a dry run, goes to the
+ * tail of its dead-letter queue, so the scan never fetches it twice and holds at most one
+ * unacknowledged message. The connection factory must use simple publisher confirms. A failure,
+ * including a missing confirm, requeues only the message in hand. Replays are at least once;
+ * consumers that already handled a message skip it through the inbox.
+ */
+@Slf4j
+public class DeadLetterReplayer {
+
+    static final String REPLAYED_FROM_HEADER = "x-replayed-from";
+    private static final String EVENT_TYPE_HEADER = "eventType";
+    private static final int MAX_SAMPLES = 50;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final TokenBucket rateLimiter;
+    private final Set<String> deadLetterQueues;
+    private final int maxScan;
+    private final int pageSize;
+    private final Duration confirmTimeout;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    DeadLetterReplayer(
+            RabbitTemplate rabbitTemplate,
+            TokenBucket rateLimiter,
+            Collection<String> deadLetterQueues,
+            int maxScan,
+            int pageSize,
+            Duration confirmTimeout) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Replay page size must be positive");
+        }
+        this.rabbitTemplate = rabbitTemplate;
+        this.rateLimiter = rateLimiter;
+        this.deadLetterQueues = Set.copyOf(deadLetterQueues);
+        this.maxScan = maxScan;
+        this.pageSize = pageSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public Set<String> deadLetterQueues() {
+        return deadLetterQueues;
+    }
+
+    public long depth(String queue) {
+        requireDeadLetterQueue(queue);
+        Long depth = rabbitTemplate.execute(channel -> channel.messageCount(queue));
+        return depth == null ? 0 : depth;
+    }
+
+    public ReplayReport replay(String queue, ReplayCriteria criteria) {
+        long scanLimit = Math.min(depth(queue), maxScan);
+        Scan scan = new Scan();
+        while (scan.scanned < scanLimit && scan.matched < criteria.limit() && !scan.stopped) {
+            int page = (int) Math.min(pageSize, scanLimit - scan.scanned);
+            // Within invoke, the fetches and the publishes share the page's channel and its confirms
+            rabbitTemplate.invoke(operations -> operations.execute(channel -> {
+                scanPage(channel, queue, criteria, scan, page);
+                return null;
+            }));
+        }
+        ReplayReport report = new ReplayReport(
+                queue, criteria.dryRun(), scan.scanned, scan.matched, scan.replayed, List.copyOf(scan.samples));
+        log.info("Dead-letter replay of {} finished: scanned={}, matched={}, replayed={}, dryRun={}",
+                queue, report.scanned(), report.matched(), report.replayed(), report.dryRun());
+        return report;
+    }
+
+    private void scanPage(Channel channel, String queue, ReplayCriteria criteria, Scan scan, int page)
+            throws IOException {
+        int end = scan.scanned + page;
+        while (scan.scanned < end && scan.matched < criteria.limit()) {
+            GetResponse response = channel.basicGet(queue, false);
+            if (response == null) {
+                scan.stopped = true;
+                return;
+            }
+            scan.scanned++;
+            long deliveryTag = response.getEnvelope().getDeliveryTag();
+            boolean acknowledged = false;
+            try {
+                MessageProperties properties = propertiesConverter.toMessageProperties(
+                        response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+                DeadLetter deadLetter = DeadLetter.from(properties);
+                boolean matches = criteria.matches(deadLetter);
+                if (matches) {
+                    scan.matched++;
+                    if (scan.samples.size() < MAX_SAMPLES) {
+                        scan.samples.add(deadLetter);
+                    }
+                }
+                if (matches && !criteria.dryRun() && deadLetter.exchange() != null) {
+                    rateLimiter.acquire();
+                    publish(deadLetter.exchange(), deadLetter.routingKey(),
+                            toMessage(response.getBody(), properties, queue));
+                    scan.replayed++;
+                } else {
+                    // Moving the message behind the scanned range keeps it out of this scan
+                    publish("", queue, toMessage(response.getBody(), properties, null));
+                }
+                channel.basicAck(deliveryTag, false);
+                acknowledged = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Dead-letter replay of {} interrupted after {} messages", queue, scan.replayed);
+                scan.stopped = true;
+                return;
+            } finally {
+                if (!acknowledged) {
+                    channel.basicNack(deliveryTag, false, true);
+                }
+            }
+        }
+    }
+
+    private void publish(String exchange, String routingKey, Message message) {
+        rabbitTemplate.send(exchange, routingKey, message);
+        rabbitTemplate.waitForConfirmsOrDie(confirmTimeout.toMillis());
+    }
+
+    private Message toMessage(byte[] body, MessageProperties received, String replayedFrom) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(received.getMessageId());
+        properties.setContentType(received.getContentType());
+        properties.setContentEncoding(received.getContentEncoding());
+        properties.setTimestamp(received.getTimestamp());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        received.getHeaders().forEach(properties::setHeader);
+        if (replayedFrom != null) {
+            // A replayed message starts with a fresh retry budget
+            properties.getHeaders().remove(BatchAcknowledger.RETRY_COUNT_HEADER);
+            properties.setHeader(REPLAYED_FROM_HEADER, replayedFrom);
+        }
+        return new Message(body, properties);
+    }
+
+    private void requireDeadLetterQueue(String queue) {
+        if (!deadLetterQueues.contains(queue)) {
+            throw new IllegalArgumentException("Not a replayable dead-letter queue: " + queue);
+        }
+    }
+
+    private static final class Scan {
+        private final List<DeadLetter> samples = new ArrayList<>();
+        private int scanned;
+        private int matched;
+        private int replayed;
+        private boolean stopped;
+    }
+
+    public record ReplayCriteria(String eventType, Instant since, Instant until, int limit, boolean dryRun) {
+
+        boolean matches(DeadLetter deadLetter) {
+            if (eventType != null && !eventType.equals(deadLetter.eventType())) {
+                return false;
+            }
+            Instant deadLetteredAt = deadLetter.deadLetteredAt();
+            if (deadLetteredAt == null) {
+                return since == null && until == null;
+            }
+            return (since == null || !deadLetteredAt.isBefore(since))
+                    && (until == null || deadLetteredAt.isBefore(until));
+        }
+    }
+
+    public record ReplayReport(
+            String queue,
+            boolean dryRun,
+            int scanned,
+            int matched,
+            int replayed,
+            List<DeadLetter> samples) {
+    }
+
+    public record DeadLetter(
+            String messageId,
+            String eventType,
+            String reason,
+            Instant deadLetteredAt,
+            String exchange,
+            String routingKey) {
+
+        static DeadLetter from(MessageProperties properties) {
+            Object eventType = properties.getHeader(EVENT_TYPE_HEADER);
+            List<Map<String, ?>> deaths = properties.getXDeathHeader();
+            Map<String, ?> death = deaths == null || deaths.isEmpty() ? Map.of() : deaths.getFirst();
+            Object time = death.get("time");
+            Instant deadLetteredAt = time instanceof Date date
+                    ? date.toInstant()
+                    : properties.getTimestamp() == null ? null : properties.getTimestamp().toInstant();
+            Object routingKeys = death.get("routing-keys");
+            String routingKey = routingKeys instanceof List<?> keys && !keys.isEmpty()
+                    ? String.valueOf(keys.getFirst())
+                    : properties.getReceivedRoutingKey();
+            return new DeadLetter(
+                    properties.getMessageId(),
+                    eventType == null ? null : eventType.toString(),
+                    death.get("reason") == null ? null : death.get("reason").toString(),
+                    deadLetteredAt,
+                    death.get("exchange") == null ? null : death.get("exchange").toString(),
+                    routingKey);
+        }
+    }
+}
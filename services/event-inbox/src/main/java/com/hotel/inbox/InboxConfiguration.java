@@ -0,0 +1,42 @@
+package com.hotel.inbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@AutoConfiguration(after = {
+        DataSourceAutoConfiguration.class,
+        JdbcTemplateAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class})
+@ConditionalOnBean({JdbcTemplate.class, PlatformTransactionManager.class})
+@EnableScheduling
+public class InboxConfiguration {
+
+    @Bean
+    InboxStore inboxStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.inbox.schema}") String schema) {
+        return new InboxStore(jdbcTemplate, schema);
+    }
+
+    @Bean
+    public InboxService inboxService(
+            InboxStore inboxStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.inbox.cache-size:10000}") int cacheSize,
+            @Value("${app.inbox.retention:14d}") String retention) {
+        return new InboxService(
+                inboxStore,
+                new ProcessedEventCache(cacheSize),
+                transactionManager,
+                DurationStyle.detectAndParse(retention));
+    }
+}
@@ -0,0 +1,117 @@
+package com.hotel.inbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+public class InboxService {
+
+    /**
+     * Header written by the outbox relay; it carries the outbox row id of the event.
+     */
+    public static final String EVENT_ID_HEADER = "eventId";
+
+    private final InboxStore inboxStore;
+    private final ProcessedEventCache processedEvents;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+
+    InboxService(
+            InboxStore inboxStore,
+            ProcessedEventCache processedEvents,
+            PlatformTransactionManager transactionManager,
+            Duration retention) {
+        this.inboxStore = inboxStore;
+        this.processedEvents = processedEvents;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+    }
+
+    /**
+     * Reads the event id of a raw message, for listeners that receive {@link Message} batches.
+     */
+    public static String eventId(Message message) {
+        Object eventId = message.getMessageProperties().getHeader(EVENT_ID_HEADER);
+        return eventId == null ? null : eventId.toString();
+    }
+
+    /**
+     * Runs the handler at most once per consumer and event id. The processed marker is inserted
+     * in the same transaction that wraps the handler, so a failing handler leaves no marker and the
+     * redelivery is processed again. Messages without an event id are always handled.
+     *
+     * @return {@code false} when the event was already processed and the handler was skipped
+     */
+    public boolean processOnce(String consumer, String eventId, Runnable handler) {
+        if (eventId == null || eventId.isBlank()) {
+            handler.run();
+            return true;
+        }
+
+        String key = consumer + ":" + eventId;
+        if (processedEvents.contains(key)) {
+            log.debug("Skipping duplicate event {} for {} (cached)", eventId, consumer);
+            return false;
+        }
+
+        Boolean processed = transactionTemplate.execute(status -> {
+            if (!inboxStore.claim(consumer, eventId, LocalDateTime.now())) {
+                return false;
+            }
+            handler.run();
+            return true;
+        });
+        processedEvents.add(key);
+        if (!Boolean.TRUE.equals(processed)) {
+            log.info("Skipping duplicate event {} for {}", eventId, consumer);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks for a committed marker without claiming it. Together with {@link #markProcessed} this
+     * serves handlers whose side effect completes asynchronously and cannot join a database
+     * transaction; such handlers must be idempotent, because two concurrent deliveries may both pass
+     * the check.
+     */
+    public boolean isProcessed(String consumer, String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return false;
+        }
+        String key = consumer + ":" + eventId;
+        if (processedEvents.contains(key)) {
+            return true;
+        }
+        if (inboxStore.exists(consumer, eventId)) {
+            processedEvents.add(key);
+            return true;
+        }
+        return false;
+    }
+
+    public void markProcessed(String consumer, String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return;
+        }
+        String key = consumer + ":" + eventId;
+        if (processedEvents.contains(key)) {
+            return;
+        }
+        inboxStore.claim(consumer, eventId, LocalDateTime.now());
+        processedEvents.add(key);
+    }
+
+    @Scheduled(cron = "${app.inbox.cleanup-cron:0 30 3 * * *}")
+    public void cleanupProcessed() {
+        int deleted = transactionTemplate.execute(
+                status -> inboxStore.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        log.debug("Removed {} inbox markers older than {}", deleted, retention);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.inbox;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+class InboxStore {
+
+    private static final String TABLE_NAME = "inbox_events";
+    private static final String EXISTS_SQL_TEMPLATE = """
+            SELECT EXISTS (
+                SELECT 1 FROM inbox_events WHERE consumer = ? AND event_id = ?
+            )
+            """;
+    private static final String CLAIM_SQL_TEMPLATE = """
+            INSERT INTO inbox_events (consumer, event_id, processed_at)
+            VALUES (?, ?, ?)
+            ON CONFLICT (consumer, event_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final String existsSql;
+    private final String claimSql;
+
+    InboxStore(JdbcTemplate jdbcTemplate, String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        if (schema == null || !schema.matches("[a-z][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid inbox schema: " + schema);
+        }
+        this.tableName = schema + "." + TABLE_NAME;
+        this.existsSql = EXISTS_SQL_TEMPLATE.replace(TABLE_NAME, tableName);
+        this.claimSql = CLAIM_SQL_TEMPLATE.replace(TABLE_NAME, tableName);
+    }
+
+    boolean exists(String consumer, String eventId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(existsSql, Boolean.class, consumer, eventId));
+    }
+
+    /**
+     * Inserts the processed marker for an event. Returns {@code false} when another delivery of the
+     * same event already committed its marker; a concurrent uncommitted claim blocks on the primary
+     * key until that transaction finishes.
+     */
+    boolean claim(String consumer, String eventId, LocalDateTime processedAt) {
+        return jdbcTemplate.update(claimSql, consumer, eventId, Timestamp.valueOf(processedAt)) == 1;
+    }
+
+    int deleteProcessedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(
+                "DELETE FROM " + tableName + " WHERE processed_at < ?",
+                Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hotel.inbox;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitProperties;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+@AutoConfiguration(after = RabbitAutoConfiguration.class)
+@ConditionalOnBean(SimpleRabbitListenerContainerFactoryConfigurer.class)
+public class ListenerContainerConfiguration {
+
+    public static final String BATCH_CONTAINER_FACTORY = "batchRabbitListenerContainerFactory";
+    private static final String RETRY_NAME = "${app.rabbit.retry.name:${spring.application.name}.retry.v2}";
+
+    @Bean
+    ListenerTuning listenerTuning(Environment environment) {
+        return new ListenerTuning(Binder.get(environment)
+                .bind("app.rabbit.listeners", Bindable.mapOf(String.class, ListenerTuning.Settings.class))
+                .orElseGet(Map::of));
+    }
+
+    /**
+     * Holds failed batch messages until their backoff has passed. Messages reach the retry queue
+     * through the fanout exchange of the same name, with their source queue as routing key, and
+     * leave it through the default exchange, which routes them back to that queue.
+     */
+    @Bean
+    Declarables batchRetryTopology(@Value(RETRY_NAME) String name) {
+        FanoutExchange retryExchange = new FanoutExchange(name);
+        Queue retryQueue = QueueBuilder.durable(name)
+                .withArgument("x-dead-letter-exchange", "")
+                .build();
+        return new Declarables(retryExchange, retryQueue, BindingBuilder.bind(retryQueue).to(retryExchange));
+    }
+
+    @Bean
+    public BatchAcknowledger batchAcknowledger(
+            RabbitProperties rabbitProperties,
+            @Value(RETRY_NAME) String retryName) {
+        RabbitProperties.ListenerRetry retry = rabbitProperties.getListener().getSimple().getRetry();
+        return new BatchAcknowledger(
+                retryName,
+                retry.isEnabled() ? retry.getMaxAttempts() : 1,
+                retry.getInitialInterval(),
+                retry.getMultiplier(),
+                retry.getMaxInterval());
+    }
+
+    @Bean(name = BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerTuning listenerTuning,
+            @Value("${app.rabbit.batch.size:25}") int batchSize,
+            @Value("${app.rabbit.batch.receive-timeout:500ms}") String receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        // Failures are retried per message by BatchAcknowledger, not by the stateless retry interceptor.
+        factory.setAdviceChain();
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(DurationStyle.detectAndParse(receiveTimeout).toMillis());
+        factory.setContainerCustomizer(listenerTuning);
+        return factory;
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotel.inbox;
+
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Applies {@code app.rabbit.listeners.<listener-id>.*} to the container of the listener with that
+ * id, so concurrency, prefetch, and batching can be tuned per queue from configuration.
+ */
+class ListenerTuning implements ContainerCustomizer<SimpleMessageListenerContainer> {
+
+    private final Map<String, Settings> settingsByListenerId;
+
+    ListenerTuning(Map<String, Settings> settingsByListenerId) {
+        this.settingsByListenerId = Map.copyOf(settingsByListenerId);
+    }
+
+    @Override
+    public void configure(SimpleMessageListenerContainer container) {
+        Settings settings = settingsByListenerId.get(container.getListenerId());
+        if (settings == null) {
+            return;
+        }
+        if (settings.concurrency() != null) {
+            container.setConcurrency(settings.concurrency());
+        }
+        if (settings.prefetch() != null) {
+            container.setPrefetchCount(settings.prefetch());
+        }
+        if (settings.batchSize() != null) {
+            container.setBatchSize(settings.batchSize());
+        }
+        if (settings.receiveTimeout() != null) {
+            container.setReceiveTimeout(settings.receiveTimeout().toMillis());
+        }
+    }
+
+    /**
+     * @param concurrency consumers as {@code "n"} or {@code "min-max"}
+     * @param prefetch unacknowledged messages per consumer
+     * @param batchSize messages per batch for batch listeners
+     * @param receiveTimeout how long a batch waits to fill before it is delivered short
+     */
+    record Settings(String concurrency, Integer prefetch, Integer batchSize, Duration receiveTimeout) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.hotel.inbox;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of recently processed event keys. It only short-circuits duplicates that this
+ * instance has already seen; the inbox table remains the source of truth.
+ */
+class ProcessedEventCache {
+
+    private final Map<String, Boolean> entries;
+
+    ProcessedEventCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Inbox cache size must be positive");
+        }
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    synchronized boolean contains(String key) {
+        return entries.get(key) != null;
+    }
+
+    synchronized void add(String key) {
+        entries.put(key, Boolean.TRUE);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.hotel.inbox;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Blocking token bucket shared by all replays of one service, so parallel replay requests
+ * together never exceed the configured publish rate. A caller reserves its token under the lock
+ * and waits for it outside, so a waiting caller does not hold up the others.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerToken;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock, Sleeper sleeper) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Replay rate and burst must be positive");
+        }
+        this.capacity = burst;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            sleeper.sleepNanos(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a token, going into debt when none is left, and returns how long the caller has to
+     * wait until its token is refilled.
+     */
+    private synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerToken);
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = now;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleepNanos(long nanos) throws InterruptedException;
+    }
+}
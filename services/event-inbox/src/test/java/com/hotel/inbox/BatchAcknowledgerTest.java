@@ -0,0 +1,137 @@
+package com.hotel.inbox;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class BatchAcknowledgerTest {
+
+    private static final String RETRY = "notification-service.retry.v2";
+
+    private final Channel channel = mock(Channel.class);
+    private final BatchAcknowledger acknowledger = new BatchAcknowledger(
+            RETRY, 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(3));
+
+    @Test
+    void acknowledgesSuccessfulBatchUpToLastDeliveryTag() throws Exception {
+        BatchAcknowledger.BatchResult result = acknowledger.acknowledge(
+                channel, List.of(message(4, 0), message(5, 0), message(6, 0)), message -> {
+                });
+
+        verify(channel).basicAck(6, true);
+        verifyNoMoreInteractions(channel);
+        assertThat(result).isEqualTo(new BatchAcknowledger.BatchResult(3, 0, 0));
+    }
+
+    @Test
+    void settlesFailuresIndividually() throws Exception {
+        BatchAcknowledger.BatchResult result = acknowledger.acknowledge(
+                channel,
+                List.of(message(1, 0), message(2, 0), message(3, 2), message(4, 0)),
+                message -> {
+                    long tag = message.getMessageProperties().getDeliveryTag();
+                    if (tag == 2 || tag == 3) {
+                        throw new IllegalStateException("downstream unavailable");
+                    }
+                    if (tag == 4) {
+                        throw new AmqpRejectAndDontRequeueException("invalid payload");
+                    }
+                });
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicPublish(eq(RETRY), eq("booking.created.queue.v2"), any(), any());
+        verify(channel).basicAck(2, false);
+        verify(channel).basicNack(3, false, false);
+        verify(channel).basicNack(4, false, false);
+        verifyNoMoreInteractions(channel);
+        assertThat(result).isEqualTo(new BatchAcknowledger.BatchResult(1, 1, 2));
+    }
+
+    @Test
+    void acknowledgesAsyncBatchOnlyAfterOutcomesComplete() throws Exception {
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        List<Long> marked = new ArrayList<>();
+
+        BatchAcknowledger.BatchResult result = acknowledger.acknowledgeAsync(
+                channel,
+                List.of(message(1, 0), message(2, 0), message(3, 0)),
+                message -> switch ((int) message.getMessageProperties().getDeliveryTag()) {
+                    case 1 -> CompletableFuture.completedFuture(null);
+                    case 2 -> CompletableFuture.failedFuture(new IllegalStateException("task failed"));
+                    default -> pending;
+                },
+                message -> marked.add(message.getMessageProperties().getDeliveryTag()),
+                Duration.ofMillis(20));
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, times(2)).basicPublish(eq(RETRY), eq("booking.created.queue.v2"), any(), any());
+        verifyNoMoreInteractions(channel);
+        assertThat(marked).containsExactly(1L);
+        assertThat(result).isEqualTo(new BatchAcknowledger.BatchResult(1, 2, 0));
+    }
+
+    @Test
+    void retriesWithGrowingBackoffInTheRetryCountHeader() throws Exception {
+        acknowledger.acknowledge(channel, List.of(message(7, 1)), message -> {
+            throw new IllegalStateException("downstream unavailable");
+        });
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel).basicPublish(eq(RETRY), eq("booking.created.queue.v2"), properties.capture(), any());
+        assertThat(properties.getValue().getHeaders()).containsEntry(BatchAcknowledger.RETRY_COUNT_HEADER, 2);
+        assertThat(properties.getValue().getExpiration()).isEqualTo("2000");
+        verify(channel).basicAck(7, false);
+        assertThat(acknowledger.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(acknowledger.backoff(3)).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void ignoresEmptyBatch() throws Exception {
+        acknowledger.acknowledge(channel, List.of(), message -> {
+        });
+
+        verifyNoInteractions(channel);
+    }
+
+    @Test
+    void payloadRejectsUnexpectedType() {
+        assertThatThrownBy(() -> BatchAcknowledger.payload(
+                new SimpleMessageConverter(), message(1, 0), Integer.class))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private Message message(long deliveryTag, int retries) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setConsumerQueue("booking.created.queue.v2");
+        if (retries > 0) {
+            properties.setHeader(BatchAcknowledger.RETRY_COUNT_HEADER, retries);
+        }
+        properties.setContentType(MessageProperties.CONTENT_TYPE_TEXT_PLAIN);
+        return new Message("payload".getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,203 @@
+package com.hotel.inbox;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterReplayerTest {
+
+    private static final String DLQ = "booking.created.dlq.v2";
+    private static final Instant DEAD_AT = Instant.parse("2026-10-01T10:00:00Z");
+
+    private RabbitTemplate rabbitTemplate;
+    private Channel channel;
+    private TokenBucket rateLimiter;
+    private DeadLetterReplayer replayer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        channel = mock(Channel.class);
+        rateLimiter = mock(TokenBucket.class);
+        when(rabbitTemplate.execute(any(ChannelCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, ChannelCallback.class).doInRabbit(channel));
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, RabbitOperations.OperationsCallback.class)
+                        .doInRabbit(rabbitTemplate));
+        replayer = new DeadLetterReplayer(rabbitTemplate, rateLimiter, Set.of(DLQ), 1000, 2, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void replaysToOriginalExchangeAndAcknowledges() throws Exception {
+        queue(deadLetter(1, "BookingCreated", DEAD_AT));
+
+        DeadLetterReplayer.ReplayReport report = replayer.replay(DLQ, criteria(null, null, false));
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("booking.exchange"), eq("booking.created.v2"), message.capture());
+        assertThat(new String(message.getValue().getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        assertThat(message.getValue().getMessageProperties().getHeaders())
+                .containsEntry("eventId", "evt-1")
+                .containsEntry(DeadLetterReplayer.REPLAYED_FROM_HEADER, DLQ)
+                .doesNotContainKey(BatchAcknowledger.RETRY_COUNT_HEADER);
+        verify(rateLimiter).acquire();
+        verify(channel).basicAck(1, false);
+        assertThat(report.replayed()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void movesMessagesThatDoNotMatchFiltersBehindTheScanPageByPage() throws Exception {
+        queue(
+                deadLetter(1, "BookingCancelled", DEAD_AT),
+                deadLetter(2, "BookingCreated", DEAD_AT.minusSeconds(3600)),
+                deadLetter(3, "BookingCreated", DEAD_AT));
+
+        DeadLetterReplayer.ReplayReport report = replayer.replay(
+                DLQ, criteria("BookingCreated", DEAD_AT.minusSeconds(60), false));
+
+        verify(rabbitTemplate).send(eq("booking.exchange"), eq("booking.created.v2"), any(Message.class));
+        ArgumentCaptor<Message> moved = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(DLQ), moved.capture());
+        assertThat(moved.getAllValues()).allSatisfy(message -> assertThat(message.getMessageProperties()
+                .getHeaders()).doesNotContainKey(DeadLetterReplayer.REPLAYED_FROM_HEADER));
+        verify(rateLimiter).acquire();
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        // One call for the depth, then two pages of at most two messages
+        verify(rabbitTemplate, times(3)).execute(any(ChannelCallback.class));
+        assertThat(report.scanned()).isEqualTo(3);
+        assertThat(report.matched()).isEqualTo(1);
+    }
+
+    @Test
+    void dryRunReportsMatchesWithoutPublishing() throws Exception {
+        queue(deadLetter(1, "BookingCreated", DEAD_AT), deadLetter(2, "BookingCreated", DEAD_AT));
+
+        DeadLetterReplayer.ReplayReport report = replayer.replay(DLQ, criteria(null, null, true));
+
+        verify(rabbitTemplate, never()).send(eq("booking.exchange"), anyString(), any(Message.class));
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(DLQ), any(Message.class));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        assertThat(report.replayed()).isZero();
+        assertThat(report.matched()).isEqualTo(2);
+        assertThat(report.samples()).extracting(DeadLetterReplayer.DeadLetter::messageId)
+                .containsExactly("evt-1", "evt-2");
+        assertThat(report.samples().getFirst().deadLetteredAt()).isEqualTo(DEAD_AT);
+    }
+
+    @Test
+    void requeuesCurrentMessageWhenRepublishFails() throws Exception {
+        queue(deadLetter(1, "BookingCreated", DEAD_AT));
+        doThrow(new IllegalStateException("broker down"))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        assertThatThrownBy(() -> replayer.replay(DLQ, criteria(null, null, false)))
+                .hasMessage("broker down");
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(1, false, true);
+    }
+
+    @Test
+    void acknowledgesOnlyAfterTheBrokerConfirmedTheRepublish() throws Exception {
+        queue(deadLetter(1, "BookingCreated", DEAD_AT));
+
+        replayer.replay(DLQ, criteria(null, null, false));
+
+        InOrder order = inOrder(rabbitTemplate, channel);
+        order.verify(rabbitTemplate).send(eq("booking.exchange"), eq("booking.created.v2"), any(Message.class));
+        order.verify(rabbitTemplate).waitForConfirmsOrDie(5000);
+        order.verify(channel).basicAck(1, false);
+    }
+
+    @Test
+    void requeuesCurrentMessageWhenTheRepublishIsNotConfirmed() throws Exception {
+        queue(deadLetter(1, "BookingCreated", DEAD_AT));
+        doThrow(new AmqpException("nack")).when(rabbitTemplate).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> replayer.replay(DLQ, criteria(null, null, true)))
+                .hasMessage("nack");
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(1, false, true);
+    }
+
+    @Test
+    void rejectsQueuesThatAreNotConfigured() {
+        assertThatThrownBy(() -> replayer.replay("booking.created.queue.v2", criteria(null, null, true)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DeadLetterReplayer.ReplayCriteria criteria(String eventType, Instant since, boolean dryRun) {
+        return new DeadLetterReplayer.ReplayCriteria(eventType, since, null, 100, dryRun);
+    }
+
+    private void queue(GetResponse... responses) throws Exception {
+        when(channel.messageCount(DLQ)).thenReturn((long) responses.length);
+        GetResponse[] rest = new GetResponse[responses.length];
+        System.arraycopy(responses, 1, rest, 0, responses.length - 1);
+        when(channel.basicGet(DLQ, false)).thenReturn(responses[0], rest);
+    }
+
+    private GetResponse deadLetter(long deliveryTag, String eventType, Instant deadLetteredAt) {
+        Map<String, Object> death = Map.of(
+                "count", 3L,
+                "reason", "rejected",
+                "queue", "booking.created.queue.v2",
+                "time", Date.from(deadLetteredAt),
+                "exchange", "booking.exchange",
+                "routing-keys", List.of("booking.created.v2"));
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .messageId("evt-" + deliveryTag)
+                .contentType("application/json")
+                .headers(Map.of(
+                        "eventType", eventType,
+                        "eventId", "evt-" + deliveryTag,
+                        BatchAcknowledger.RETRY_COUNT_HEADER, 2,
+                        "x-death", List.of(death)))
+                .build();
+        return new GetResponse(
+                new Envelope(deliveryTag, false, "booking.exchange.dlx.v2", DLQ),
+                properties,
+                ("{\"id\":" + deliveryTag + "}").getBytes(StandardCharsets.UTF_8),
+                0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.hotel.inbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.util.ReflectionTestUtils.getField;
+import static org.mockito.Mockito.mock;
+
+class InboxAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    InboxConfiguration.class,
+                    DeadLetterReplayConfiguration.class,
+                    ListenerContainerConfiguration.class))
+            .withPropertyValues("app.inbox.schema=notification_svc", "spring.application.name=notification-service");
+
+    @Test
+    void configuresInboxWhenJdbcIsAvailable() {
+        contextRunner
+                .withBean(JdbcTemplate.class, () -> mock(JdbcTemplate.class))
+                .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class))
+                .run(context -> assertThat(context).hasSingleBean(InboxService.class));
+    }
+
+    @Test
+    void backsOffWithoutJdbc() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(InboxService.class));
+    }
+
+    @Test
+    void configuresReplayerWithConfiguredQueues() {
+        contextRunner
+                .withBean(ConnectionFactory.class, () -> mock(ConnectionFactory.class))
+                .withPropertyValues("app.dlq-replay.queues=booking.created.dlq.v2,user.registered.dlq.v2")
+                .run(context -> {
+                    assertThat(context.getBean(DeadLetterReplayer.class).deadLetterQueues())
+                            .containsExactlyInAnyOrder("booking.created.dlq.v2", "user.registered.dlq.v2");
+                    assertThat(context).doesNotHaveBean(DeadLetterEndpoint.class);
+                });
+    }
+
+    @Test
+    void exposesDeadLetterEndpointWhenIncludedInWebExposure() {
+        contextRunner
+                .withBean(ConnectionFactory.class, () -> mock(ConnectionFactory.class))
+                .withPropertyValues("management.endpoints.web.exposure.include=health,deadletters")
+                .run(context -> assertThat(context).hasSingleBean(DeadLetterEndpoint.class));
+    }
+
+    @Test
+    void batchFactoryAppliesPerListenerTuning() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(RabbitAutoConfiguration.class))
+                .withBean(ConnectionFactory.class, () -> mock(ConnectionFactory.class))
+                .withPropertyValues(
+                        "app.rabbit.batch.size=20",
+                        "app.rabbit.listeners.hotel-updated.concurrency=2-6",
+                        "app.rabbit.listeners.hotel-updated.prefetch=120",
+                        "app.rabbit.listeners.hotel-updated.batch-size=40",
+                        "app.rabbit.listeners.hotel-updated.receive-timeout=250ms")
+                .run(context -> {
+                    SimpleRabbitListenerContainerFactory factory = context.getBean(
+                            ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY,
+                            SimpleRabbitListenerContainerFactory.class);
+
+                    SimpleMessageListenerContainer tuned = factory.createListenerContainer(endpoint("hotel-updated"));
+                    assertThat(tuned.getAcknowledgeMode()).isEqualTo(AcknowledgeMode.MANUAL);
+                    assertThat(tuned.isConsumerBatchEnabled()).isTrue();
+                    assertThat(getField(tuned, "concurrentConsumers")).isEqualTo(2);
+                    assertThat(getField(tuned, "maxConcurrentConsumers")).isEqualTo(6);
+                    assertThat(getField(tuned, "prefetchCount")).isEqualTo(120);
+                    assertThat(getField(tuned, "batchSize")).isEqualTo(40);
+                    assertThat(getField(tuned, "receiveTimeout")).isEqualTo(250L);
+
+                    SimpleMessageListenerContainer untuned = factory.createListenerContainer(endpoint("hotel-deleted"));
+                    assertThat(getField(untuned, "batchSize")).isEqualTo(20);
+                });
+    }
+
+    @Test
+    void batchRetriesFollowListenerRetrySettings() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(RabbitAutoConfiguration.class))
+                .withBean(ConnectionFactory.class, () -> mock(ConnectionFactory.class))
+                .withPropertyValues(
+                        "spring.rabbitmq.listener.simple.retry.enabled=true",
+                        "spring.rabbitmq.listener.simple.retry.max-attempts=4",
+                        "spring.rabbitmq.listener.simple.retry.initial-interval=500ms",
+                        "spring.rabbitmq.listener.simple.retry.multiplier=3")
+                .run(context -> {
+                    BatchAcknowledger acknowledger = context.getBean(BatchAcknowledger.class);
+                    assertThat(getField(acknowledger, "maxAttempts")).isEqualTo(4);
+                    assertThat(acknowledger.backoff(2)).isEqualTo(Duration.ofMillis(1500));
+
+                    Declarables topology = context.getBean("batchRetryTopology", Declarables.class);
+                    Queue retryQueue = topology.getDeclarablesByType(Queue.class).getFirst();
+                    assertThat(retryQueue.getName()).isEqualTo("notification-service.retry.v2");
+                    assertThat(retryQueue.getArguments()).containsEntry("x-dead-letter-exchange", "");
+                    assertThat(topology.getDeclarablesByType(FanoutExchange.class))
+                            .extracting(FanoutExchange::getName)
+                            .containsExactly("notification-service.retry.v2");
+                });
+    }
+
+    private SimpleRabbitListenerEndpoint endpoint(String id) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(id);
+        endpoint.setQueueNames("queue");
+        endpoint.setMessageListener(message -> {
+        });
+        return endpoint;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.inbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InboxServiceTest {
+
+    private InboxStore store;
+    private PlatformTransactionManager transactionManager;
+    private InboxService inboxService;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(InboxStore.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        inboxService = new InboxService(
+                store, new ProcessedEventCache(100), transactionManager, Duration.ofDays(14));
+    }
+
+    @Test
+    void processOnceRunsHandlerAndCommitsMarkerForNewEvent() {
+        when(store.claim(eq("booking.created.queue.v2"), eq("event-1"), any(LocalDateTime.class)))
+                .thenReturn(true);
+        AtomicInteger handled = new AtomicInteger();
+
+        boolean processed = inboxService.processOnce(
+                "booking.created.queue.v2", "event-1", handled::incrementAndGet);
+
+        assertThat(processed).isTrue();
+        assertThat(handled).hasValue(1);
+        verify(transactionManager).commit(any(TransactionStatus.class));
+    }
+
+    @Test
+    void processOnceSkipsEventWhoseMarkerAlreadyExists() {
+        when(store.claim(any(), eq("event-1"), any(LocalDateTime.class))).thenReturn(false);
+        AtomicInteger handled = new AtomicInteger();
+
+        boolean processed = inboxService.processOnce(
+                "booking.created.queue.v2", "event-1", handled::incrementAndGet);
+
+        assertThat(processed).isFalse();
+        assertThat(handled).hasValue(0);
+    }
+
+    @Test
+    void processOnceAnswersRepeatedDeliveriesFromTheCacheWithoutTouchingTheTable() {
+        when(store.claim(any(), eq("event-1"), any(LocalDateTime.class))).thenReturn(true);
+        AtomicInteger handled = new AtomicInteger();
+
+        inboxService.processOnce("booking.created.queue.v2", "event-1", handled::incrementAndGet);
+        boolean processedAgain = inboxService.processOnce(
+                "booking.created.queue.v2", "event-1", handled::incrementAndGet);
+
+        assertThat(processedAgain).isFalse();
+        assertThat(handled).hasValue(1);
+        verify(store, times(1)).claim(any(), any(), any());
+    }
+
+    @Test
+    void processOnceKeepsConsumersIndependent() {
+        when(store.claim(any(), eq("event-1"), any(LocalDateTime.class))).thenReturn(true);
+        AtomicInteger handled = new AtomicInteger();
+
+        inboxService.processOnce("booking.created.queue.v2", "event-1", handled::incrementAndGet);
+        inboxService.processOnce("email.queue.v2", "event-1", handled::incrementAndGet);
+
+        assertThat(handled).hasValue(2);
+    }
+
+    @Test
+    void processOnceRollsBackMarkerWhenHandlerFails() {
+        when(store.claim(any(), eq("event-1"), any(LocalDateTime.class))).thenReturn(true);
+        RuntimeException failure = new RuntimeException("mail down");
+
+        assertThatThrownBy(() -> inboxService.processOnce(
+                "booking.created.queue.v2", "event-1", () -> {
+                    throw failure;
+                })).isSameAs(failure);
+
+        verify(transactionManager).rollback(any(TransactionStatus.class));
+        verify(transactionManager, never()).commit(any(TransactionStatus.class));
+        AtomicInteger handled = new AtomicInteger();
+        assertThat(inboxService.processOnce(
+                "booking.created.queue.v2", "event-1", handled::incrementAndGet)).isTrue();
+        assertThat(handled).hasValue(1);
+    }
+
+    @Test
+    void processOnceHandlesLegacyMessagesWithoutEventId() {
+        AtomicInteger handled = new AtomicInteger();
+
+        assertThat(inboxService.processOnce("booking.created.queue.v2", null, handled::incrementAndGet))
+                .isTrue();
+        assertThat(inboxService.processOnce("booking.created.queue.v2", " ", handled::incrementAndGet))
+                .isTrue();
+
+        assertThat(handled).hasValue(2);
+        verify(store, never()).claim(any(), any(), any());
+    }
+
+    @Test
+    void isProcessedConsultsStoreOnceAndCachesMarker() {
+        when(store.exists("hotel.updated.queue.v2", "event-1")).thenReturn(true);
+
+        assertThat(inboxService.isProcessed("hotel.updated.queue.v2", "event-1")).isTrue();
+        assertThat(inboxService.isProcessed("hotel.updated.queue.v2", "event-1")).isTrue();
+
+        verify(store, times(1)).exists("hotel.updated.queue.v2", "event-1");
+    }
+
+    @Test
+    void markProcessedStoresMarkerOnce() {
+        inboxService.markProcessed("hotel.updated.queue.v2", "event-1");
+        inboxService.markProcessed("hotel.updated.queue.v2", "event-1");
+
+        verify(store, times(1)).claim(eq("hotel.updated.queue.v2"), eq("event-1"), any(LocalDateTime.class));
+        assertThat(inboxService.isProcessed("hotel.updated.queue.v2", "event-1")).isTrue();
+        verify(store, never()).exists(any(), any());
+    }
+}
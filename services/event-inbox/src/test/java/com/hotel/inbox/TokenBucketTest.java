@@ -0,0 +1,60 @@
+package com.hotel.inbox;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private final TokenBucket bucket = new TokenBucket(10, 2, clock::get, nanos -> {
+        sleeps.add(nanos);
+        clock.addAndGet(nanos);
+    });
+
+    @Test
+    void allowsBurstWithoutWaiting() throws InterruptedException {
+        bucket.acquire();
+        bucket.acquire();
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    void waitsForRefillOnceBurstIsSpent() throws InterruptedException {
+        bucket.acquire();
+        bucket.acquire();
+        bucket.acquire();
+
+        assertThat(sleeps).containsExactly(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void refillIsCappedAtBurst() throws InterruptedException {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        bucket.acquire();
+        bucket.acquire();
+        bucket.acquire();
+
+        assertThat(sleeps).hasSize(1);
+    }
+
+    @Test
+    void waitingCallersReserveSuccessiveTokens() throws InterruptedException {
+        List<Long> waits = new ArrayList<>();
+        TokenBucket shared = new TokenBucket(10, 1, () -> 0L, waits::add);
+
+        shared.acquire();
+        shared.acquire();
+        shared.acquire();
+
+        assertThat(waits).containsExactly(TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(200));
+    }
+}
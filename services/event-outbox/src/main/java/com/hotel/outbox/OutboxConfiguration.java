@@ -2,6 +2,7 @@ package com.hotel.outbox;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -25,4 +26,10 @@ public class OutboxConfiguration {
         return new OutboxService(outboxStore, objectMapper);
     }
 
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    OutboxEndpoint outboxEndpoint(OutboxStore outboxStore) {
+        return new OutboxEndpoint(outboxStore);
+    }
+
 }
@@ -0,0 +1,60 @@
+package com.hotel.outbox;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exposes the outbox backlog and the events that keep failing, so operators can see
+ * lag and the broker error without querying {@code outbox_events} by hand.
+ */
+@Endpoint(id = "outbox")
+public class OutboxEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    private final OutboxStore outboxStore;
+
+    OutboxEndpoint(OutboxStore outboxStore) {
+        this.outboxStore = outboxStore;
+    }
+
+    @ReadOperation
+    public OutboxReport report(@Nullable Integer limit) {
+        int failingLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        OutboxStore.Backlog backlog = outboxStore.backlog();
+        LocalDateTime now = LocalDateTime.now();
+        Duration oldestPendingAge = backlog.oldestCreatedAt() == null
+                ? Duration.ZERO
+                : Duration.between(backlog.oldestCreatedAt(), now);
+        List<FailingEvent> failing = outboxStore.findFailing(failingLimit).stream()
+                .map(event -> new FailingEvent(
+                        event.id().toString(),
+                        event.eventType(),
+                        event.routingKey(),
+                        event.attempts(),
+                        event.createdAt(),
+                        event.nextAttemptAt(),
+                        event.lastError()))
+                .toList();
+        return new OutboxReport(backlog.pendingCount(), oldestPendingAge.toSeconds(), failing);
+    }
+
+    public record OutboxReport(long pending, long oldestPendingAgeSeconds, List<FailingEvent> failing) {
+    }
+
+    public record FailingEvent(
+            String id,
+            String eventType,
+            String routingKey,
+            int attempts,
+            LocalDateTime createdAt,
+            LocalDateTime nextAttemptAt,
+            String lastError) {
+    }
+}
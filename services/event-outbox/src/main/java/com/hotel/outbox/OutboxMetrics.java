@@ -0,0 +1,84 @@
+package com.hotel.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class OutboxMetrics {
+
+    private static final String EVENT_TYPE_TAG = "event_type";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+    private final Timer cleanupTimer;
+    private final Counter cleanedEvents;
+
+    OutboxMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("outbox.events.pending", pendingCount, AtomicLong::get)
+                .description("Outbox events not yet acknowledged by the broker")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.events.oldest.pending.age", oldestPendingAgeMillis,
+                        TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event still waiting for publication")
+                .register(meterRegistry);
+        this.cleanupTimer = Timer.builder("outbox.cleanup")
+                .description("Duration of published outbox event cleanup runs")
+                .register(meterRegistry);
+        this.cleanedEvents = Counter.builder("outbox.events.cleaned")
+                .description("Published outbox events removed by retention cleanup")
+                .register(meterRegistry);
+    }
+
+    void recordBacklog(OutboxStore.Backlog backlog, LocalDateTime now) {
+        pendingCount.set(backlog.pendingCount());
+        oldestPendingAgeMillis.set(backlog.oldestCreatedAt() == null
+                ? 0
+                : Math.max(0, Duration.between(backlog.oldestCreatedAt(), now).toMillis()));
+    }
+
+    Timer.Sample startPublish() {
+        return Timer.start(meterRegistry);
+    }
+
+    void recordPublished(String eventType, Timer.Sample sample) {
+        sample.stop(Timer.builder("outbox.publish.confirm.latency")
+                .description("Time from send until the broker confirmed the outbox event")
+                .tag(EVENT_TYPE_TAG, eventType)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by the broker")
+                .tag(EVENT_TYPE_TAG, eventType)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    void recordFailed(String eventType, Duration backoff) {
+        Counter.builder("outbox.events.failed")
+                .description("Outbox publication attempts that were rejected, unroutable, or timed out")
+                .tag(EVENT_TYPE_TAG, eventType)
+                .register(meterRegistry)
+                .increment();
+        DistributionSummary.builder("outbox.publish.backoff")
+                .description("Retry backoff scheduled after a failed outbox publication")
+                .baseUnit("seconds")
+                .tag(EVENT_TYPE_TAG, eventType)
+                .register(meterRegistry)
+                .record(backoff.toSeconds());
+    }
+
+    void recordCleanup(long durationNanos, int deletedEvents) {
+        cleanupTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        cleanedEvents.increment(deletedEvents);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.outbox;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessageDeliveryMode;
@@ -26,11 +27,13 @@ public class OutboxRelay {
     private final Duration maxBackoff;
     private final Duration retention;
     private final TransactionTemplate transactionTemplate;
+    private final OutboxMetrics metrics;
 
     OutboxRelay(
             OutboxStore outboxStore,
             RabbitTemplate rabbitTemplate,
             PlatformTransactionManager transactionManager,
+            OutboxMetrics metrics,
             int batchSize,
             Duration confirmTimeout,
             Duration maxBackoff,
@@ -38,6 +41,7 @@ public class OutboxRelay {
         this.outboxStore = outboxStore;
         this.rabbitTemplate = rabbitTemplate;
         this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metrics = metrics;
         this.batchSize = batchSize;
         this.confirmTimeout = confirmTimeout;
         this.maxBackoff = maxBackoff;
@@ -64,14 +68,29 @@ public class OutboxRelay {
         return publish(pending.getFirst()) ? PublishResult.PUBLISHED : PublishResult.FAILED;
     }
 
+    @Scheduled(
+            initialDelayString = "${app.outbox.initial-delay-ms:1000}",
+            fixedDelayString = "${app.outbox.metrics-refresh-ms:15000}")
+    public void refreshBacklogMetrics() {
+        try {
+            metrics.recordBacklog(outboxStore.backlog(), LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Failed to refresh outbox backlog metrics", e);
+        }
+    }
+
     @Scheduled(cron = "${app.outbox.cleanup-cron:0 0 3 * * *}")
     @Transactional
     public void cleanupPublished() {
-        outboxStore.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        long startedAt = System.nanoTime();
+        int deleted = outboxStore.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        metrics.recordCleanup(System.nanoTime() - startedAt, deleted);
+        log.debug("Removed {} published outbox events older than {}", deleted, retention);
     }
 
     private boolean publish(OutboxStore.PendingOutboxEvent event) {
         CorrelationData correlationData = new CorrelationData(event.id().toString());
+        Timer.Sample confirmSample = metrics.startPublish();
         try {
             rabbitTemplate.send(
                     event.exchange(),
@@ -90,6 +109,7 @@ public class OutboxRelay {
             }
 
             outboxStore.markPublished(event.id(), LocalDateTime.now());
+            metrics.recordPublished(event.eventType(), confirmSample);
             log.debug("Published outbox event {} ({})", event.id(), event.eventType());
             return true;
         } catch (InterruptedException e) {
@@ -121,6 +141,7 @@ public class OutboxRelay {
                 : Duration.ofSeconds(exponentialSeconds);
         outboxStore.markFailed(
                 event.id(), attempts, LocalDateTime.now().plus(backoff), failure.getMessage());
+        metrics.recordFailed(event.eventType(), backoff);
         log.warn("Outbox event {} publication failed; retry {} scheduled in {}",
                 event.id(), attempts, backoff, failure);
     }
@@ -1,6 +1,9 @@
 package com.hotel.outbox;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
@@ -15,11 +18,17 @@ import org.springframework.transaction.PlatformTransactionManager;
 @EnableScheduling
 public class OutboxRelayConfiguration {
 
+    @Bean
+    OutboxMetrics outboxMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new OutboxMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
     @Bean
     OutboxRelay outboxRelay(
             OutboxStore outboxStore,
             RabbitTemplate rabbitTemplate,
             PlatformTransactionManager transactionManager,
+            OutboxMetrics outboxMetrics,
             @Value("${app.outbox.batch-size:50}") int batchSize,
             @Value("${app.outbox.confirm-timeout:5s}") String confirmTimeout,
             @Value("${app.outbox.max-backoff:5m}") String maxBackoff,
@@ -29,6 +38,7 @@ public class OutboxRelayConfiguration {
                 outboxStore,
                 rabbitTemplate,
                 transactionManager,
+                outboxMetrics,
                 batchSize,
                 DurationStyle.detectAndParse(confirmTimeout),
                 DurationStyle.detectAndParse(maxBackoff),
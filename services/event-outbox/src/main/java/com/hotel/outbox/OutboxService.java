@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -32,6 +34,32 @@ public class OutboxService {
         }
     }
 
+    /**
+     * Queues events of one type in a single JDBC batch, e.g. for bulk imports that would
+     * otherwise insert their events one statement at a time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UUID> enqueueAll(String exchange, String routingKey, String eventType, List<?> events) {
+        Objects.requireNonNull(events, "events must not be null");
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        List<String> payloads = new ArrayList<>(events.size());
+        try {
+            for (Object event : events) {
+                Objects.requireNonNull(event, "event must not be null");
+                payloads.add(objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize outbox event " + eventType, e);
+        }
+        return outboxStore.enqueueAll(
+                requireText(exchange, "exchange"),
+                requireText(routingKey, "routingKey"),
+                requireText(eventType, "eventType"),
+                payloads);
+    }
+
     private String requireText(String value, String name) {
         if (value == null || value.isBlank()) {
             throw new IllegalArgumentException(name + " must not be blank");
@@ -4,6 +4,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,10 +27,26 @@ class OutboxStore {
             FOR UPDATE SKIP LOCKED
             """;
 
+    private static final String BACKLOG_SQL_TEMPLATE = """
+            SELECT COUNT(*) AS pending_count, MIN(created_at) AS oldest_created_at
+            FROM outbox_events
+            WHERE published_at IS NULL
+            """;
+
+    private static final String FAILING_SQL_TEMPLATE = """
+            SELECT id, event_type, routing_key, attempts, next_attempt_at, last_error, created_at
+            FROM outbox_events
+            WHERE published_at IS NULL AND attempts > 0
+            ORDER BY attempts DESC, created_at
+            LIMIT ?
+            """;
+
     private final JdbcTemplate jdbcTemplate;
     private final String tableName;
     private final String insertSql;
     private final String lockPendingSql;
+    private final String backlogSql;
+    private final String failingSql;
 
     OutboxStore(JdbcTemplate jdbcTemplate, String schema) {
         this.jdbcTemplate = jdbcTemplate;
@@ -39,6 +56,8 @@ class OutboxStore {
         this.tableName = schema + "." + TABLE_NAME;
         this.insertSql = qualify(INSERT_SQL_TEMPLATE);
         this.lockPendingSql = qualify(LOCK_PENDING_SQL_TEMPLATE);
+        this.backlogSql = qualify(BACKLOG_SQL_TEMPLATE);
+        this.failingSql = qualify(FAILING_SQL_TEMPLATE);
     }
 
     UUID enqueue(String exchange, String routingKey, String eventType, String payload) {
@@ -49,6 +68,19 @@ class OutboxStore {
         return id;
     }
 
+    List<UUID> enqueueAll(String exchange, String routingKey, String eventType, List<String> payloads) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<UUID> ids = new ArrayList<>(payloads.size());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            rows.add(new Object[]{id, exchange, routingKey, eventType, payload, now, now});
+        }
+        jdbcTemplate.batchUpdate(insertSql, rows);
+        return ids;
+    }
+
     List<PendingOutboxEvent> lockPending(int batchSize) {
         return jdbcTemplate.query(
                 lockPendingSql,
@@ -77,8 +109,30 @@ class OutboxStore {
                 attempts, Timestamp.valueOf(nextAttemptAt), truncate(error), id);
     }
 
-    void deletePublishedBefore(LocalDateTime cutoff) {
-        jdbcTemplate.update(
+    Backlog backlog() {
+        return jdbcTemplate.queryForObject(
+                backlogSql,
+                (resultSet, rowNumber) -> new Backlog(
+                        resultSet.getLong("pending_count"),
+                        toLocalDateTime(resultSet.getTimestamp("oldest_created_at"))));
+    }
+
+    List<FailingOutboxEvent> findFailing(int limit) {
+        return jdbcTemplate.query(
+                failingSql,
+                (resultSet, rowNumber) -> new FailingOutboxEvent(
+                        resultSet.getObject("id", UUID.class),
+                        resultSet.getString("event_type"),
+                        resultSet.getString("routing_key"),
+                        resultSet.getInt("attempts"),
+                        toLocalDateTime(resultSet.getTimestamp("next_attempt_at")),
+                        resultSet.getString("last_error"),
+                        toLocalDateTime(resultSet.getTimestamp("created_at"))),
+                limit);
+    }
+
+    int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(
                 "DELETE FROM " + tableName + " WHERE published_at < ?",
                 Timestamp.valueOf(cutoff));
     }
@@ -90,6 +144,10 @@ class OutboxStore {
         return error.length() <= 2000 ? error : error.substring(0, 2000);
     }
 
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
     private String qualify(String sql) {
         return sql.replace(TABLE_NAME, tableName);
     }
@@ -102,4 +160,17 @@ class OutboxStore {
             String payload,
             int attempts) {
     }
+
+    record Backlog(long pendingCount, LocalDateTime oldestCreatedAt) {
+    }
+
+    record FailingOutboxEvent(
+            UUID id,
+            String eventType,
+            String routingKey,
+            int attempts,
+            LocalDateTime nextAttemptAt,
+            String lastError,
+            LocalDateTime createdAt) {
+    }
 }
@@ -27,6 +27,14 @@ class OutboxAutoConfigurationTest {
         contextRunner.run(context -> {
             assertThat(context).hasSingleBean(OutboxService.class);
             assertThat(context).hasSingleBean(OutboxRelay.class);
+            assertThat(context).doesNotHaveBean(OutboxEndpoint.class);
         });
     }
+
+    @Test
+    void exposesOutboxEndpointWhenIncludedInWebExposure() {
+        contextRunner
+                .withPropertyValues("management.endpoints.web.exposure.include=health,outbox")
+                .run(context -> assertThat(context).hasSingleBean(OutboxEndpoint.class));
+    }
 }
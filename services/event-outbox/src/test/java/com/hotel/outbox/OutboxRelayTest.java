@@ -1,5 +1,6 @@
 package com.hotel.outbox;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.amqp.core.Message;
@@ -12,6 +13,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +27,8 @@ import static org.mockito.Mockito.when;
 
 class OutboxRelayTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Test
     void publishPendingMarksEventOnlyAfterBrokerAck() {
         OutboxStore store = mock(OutboxStore.class);
@@ -53,6 +57,10 @@ class OutboxRelayTest {
                 .isEqualTo("booking.created.v1");
         verify(store).markPublished(eq(event.id()), any(LocalDateTime.class));
         verify(store, never()).markFailed(any(), any(Integer.class), any(), any());
+        assertThat(meterRegistry.get("outbox.events.published")
+                .tag("event_type", "booking.created.v1").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.publish.confirm.latency")
+                .tag("event_type", "booking.created.v1").timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -75,6 +83,36 @@ class OutboxRelayTest {
         verify(store, never()).markPublished(any(), any());
         verify(store).markFailed(
                 eq(event.id()), eq(1), any(LocalDateTime.class), eq("Broker NACK: broker unavailable"));
+        assertThat(meterRegistry.get("outbox.events.failed")
+                .tag("event_type", "booking.created.v1").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("outbox.publish.backoff")
+                .tag("event_type", "booking.created.v1").summary().totalAmount()).isEqualTo(2.0);
+    }
+
+    @Test
+    void refreshBacklogMetricsPublishesPendingCountAndOldestAge() {
+        OutboxStore store = mock(OutboxStore.class);
+        OutboxRelay relay = relay(store, mock(RabbitTemplate.class));
+        when(store.backlog()).thenReturn(
+                new OutboxStore.Backlog(42, LocalDateTime.now().minusMinutes(5)));
+
+        relay.refreshBacklogMetrics();
+
+        assertThat(meterRegistry.get("outbox.events.pending").gauge().value()).isEqualTo(42.0);
+        assertThat(meterRegistry.get("outbox.events.oldest.pending.age").timeGauge()
+                .value(TimeUnit.SECONDS)).isBetween(299.0, 310.0);
+    }
+
+    @Test
+    void cleanupPublishedRecordsDurationAndDeletedEvents() {
+        OutboxStore store = mock(OutboxStore.class);
+        OutboxRelay relay = relay(store, mock(RabbitTemplate.class));
+        when(store.deletePublishedBefore(any(LocalDateTime.class))).thenReturn(7);
+
+        relay.cleanupPublished();
+
+        assertThat(meterRegistry.get("outbox.cleanup").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.events.cleaned").counter().count()).isEqualTo(7.0);
     }
 
     private OutboxRelay relay(OutboxStore store, RabbitTemplate rabbitTemplate) {
@@ -82,6 +120,7 @@ class OutboxRelayTest {
                 store,
                 rabbitTemplate,
                 transactionManager(),
+                new OutboxMetrics(meterRegistry),
                 10,
                 Duration.ofSeconds(1),
                 Duration.ofMinutes(5),
@@ -97,6 +136,7 @@ class OutboxRelayTest {
                 store,
                 rabbitTemplate,
                 transactionManager,
+                new OutboxMetrics(meterRegistry),
                 10,
                 Duration.ofSeconds(1),
                 Duration.ofMinutes(5),
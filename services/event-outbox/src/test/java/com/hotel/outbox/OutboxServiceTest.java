@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -40,6 +41,23 @@ class OutboxServiceTest {
                 "{\"bookingId\":\"booking-1\"}");
     }
 
+    @Test
+    void enqueueAllStoresEventsInOneBatch() throws Exception {
+        OutboxStore store = mock(OutboxStore.class);
+        OutboxService service = new OutboxService(store, new ObjectMapper());
+        List<UUID> eventIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<String> payloads = List.of("{\"hotelId\":\"hotel-1\"}", "{\"hotelId\":\"hotel-2\"}");
+        when(store.enqueueAll("hotel.exchange", "hotel.created", "hotel.created.v1", payloads))
+                .thenReturn(eventIds);
+
+        assertThat(service.enqueueAll("hotel.exchange", "hotel.created", "hotel.created.v1",
+                List.of(Map.of("hotelId", "hotel-1"), Map.of("hotelId", "hotel-2"))))
+                .isEqualTo(eventIds);
+        assertThat(service.enqueueAll("hotel.exchange", "hotel.created", "hotel.created.v1", List.of()))
+                .isEmpty();
+        verify(store).enqueueAll("hotel.exchange", "hotel.created", "hotel.created.v1", payloads);
+    }
+
     @Test
     void enqueueRequiresAnExistingBusinessTransaction() throws Exception {
         Transactional transactional = OutboxService.class
@@ -1,11 +1,19 @@
 package com.hotel.hotel.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.hotel.dto.HotelRequest;
 import com.hotel.hotel.dto.HotelResponse;
+import com.hotel.hotel.dto.HotelChangesResponse;
 import com.hotel.hotel.dto.HotelExportResponse;
+import com.hotel.hotel.dto.HotelImportResponse;
+import com.hotel.hotel.dto.HotelListingSort;
+import com.hotel.hotel.dto.HotelSliceResponse;
 import com.hotel.hotel.dto.RoomTypeRequest;
 import com.hotel.hotel.dto.RoomTypeResponse;
 import com.hotel.hotel.dto.SearchCriteria;
+import com.hotel.hotel.entity.HotelImportFormat;
+import com.hotel.hotel.entity.HotelImportStatus;
+import com.hotel.hotel.service.HotelImportService;
 import com.hotel.hotel.service.HotelService;
 import com.hotel.hotel.service.RoomService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,13 +23,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,14 +46,66 @@ import java.util.UUID;
 // CORS configuration moved to global configuration for security
 public class HotelController {
     
+    private static final int MAX_CHANGES_PAGE = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 200;
+    private static final int MAX_SCROLL_PAGE = 100;
+    
     private final HotelService hotelService;
     private final RoomService roomService;
+    private final HotelImportService hotelImportService;
+    private final ObjectMapper objectMapper;
 
-    @GetMapping("/export")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasRole('INTERNAL_SEARCH')")
     public ResponseEntity<List<HotelExportResponse>> exportHotels() {
         return ResponseEntity.ok(hotelService.exportHotels());
     }
+
+    /**
+     * Same export as newline-delimited JSON, written while hotels are read from the database so
+     * neither side holds the whole catalog in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('INTERNAL_SEARCH')")
+    public ResponseEntity<StreamingResponseBody> streamExportHotels() {
+        StreamingResponseBody body = outputStream -> {
+            long exported = hotelService.streamExport(EXPORT_CHUNK_SIZE, chunk -> {
+                try {
+                    for (HotelExportResponse hotel : chunk) {
+                        outputStream.write(objectMapper.writeValueAsBytes(hotel));
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Streamed {} hotels to export", exported);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/export/changes")
+    @PreAuthorize("hasRole('INTERNAL_SEARCH')")
+    public ResponseEntity<HotelChangesResponse> exportChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));
+        return ResponseEntity.ok(hotelService.exportChanges(after, pageSize));
+    }
+
+    @GetMapping("/export/cursor")
+    @PreAuthorize("hasRole('INTERNAL_SEARCH')")
+    public ResponseEntity<HotelChangesResponse> exportCursor() {
+        return ResponseEntity.ok(HotelChangesResponse.builder()
+                .hotels(List.of())
+                .deletedHotelIds(List.of())
+                .cursor(hotelService.exportCursor())
+                .hasMore(false)
+                .build());
+    }
     
     @GetMapping
     public ResponseEntity<Page<HotelResponse>> searchHotels(
@@ -54,6 +120,24 @@ public class HotelController {
         return ResponseEntity.ok(hotels);
     }
     
+    /**
+     * Cursor-paged listing for infinite scroll: pass the returned {@code nextCursor} back as
+     * {@code cursor} with the same criteria and sort to read the next page.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<HotelSliceResponse> scrollHotels(
+            @ModelAttribute SearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            HttpServletRequest request) {
+        UUID userId = extractUserIdFromRequest(request);
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_PAGE));
+        return ResponseEntity.ok(hotelService.listHotels(
+                criteria, HotelListingSort.fromValue(sort), cursor, pageSize, includeTotal, userId));
+    }
+    
     @GetMapping("/{hotelId}")
     public ResponseEntity<HotelResponse> getHotel(
             @PathVariable UUID hotelId,
@@ -103,6 +187,33 @@ public class HotelController {
         return ResponseEntity.status(HttpStatus.CREATED).body(hotel);
     }
     
+    /**
+     * Imports hotels with their room types from an NDJSON or CSV body. Progress can be followed
+     * with {@code GET /imports/{importId}} while the body is read; a failed import is resumed by
+     * posting the same body again with its {@code importId}.
+     */
+    @PostMapping(value = "/imports", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HotelImportResponse> importHotels(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(required = false) UUID importId,
+            InputStream body) {
+        HotelImportFormat format = HotelImportFormat.forMediaType(
+                contentType.getType() + "/" + contentType.getSubtype());
+        log.info("Importing hotels from {} (resuming import: {})", format, importId);
+
+        HotelImportResponse hotelImport = hotelImportService.importHotels(format, body, importId);
+        HttpStatus status = hotelImport.getStatus() == HotelImportStatus.COMPLETED
+                ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(hotelImport);
+    }
+
+    @GetMapping("/imports/{importId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HotelImportResponse> getImport(@PathVariable UUID importId) {
+        return ResponseEntity.ok(hotelImportService.getImport(importId));
+    }
+
     @PutMapping("/{hotelId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<HotelResponse> updateHotel(
@@ -0,0 +1,20 @@
+package com.hotel.hotel.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelChangesResponse {
+    private List<HotelExportResponse> hotels;
+    private List<UUID> deletedHotelIds;
+    private long cursor;
+    private boolean hasMore;
+}
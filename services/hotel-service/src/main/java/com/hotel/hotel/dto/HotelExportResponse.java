@@ -31,6 +31,7 @@ public class HotelExportResponse {
     private Integer availableRooms;
     private Double averageRating;
     private Integer reviewCount;
+    private Long favoriteCount;
     private Boolean isActive;
     private List<RoomTypeResponse> roomTypes;
 }
@@ -0,0 +1,30 @@
+package com.hotel.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One hotel of a bulk import: the fields of a {@link HotelRequest} next to its room types, e.g.
+ * {@code {"name":"Harbour Hotel","city":"Keelung","country":"Taiwan","roomTypes":[...]}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelImportRecord {
+    @Valid
+    @NotNull(message = "Hotel is required")
+    @JsonUnwrapped
+    private HotelRequest hotel;
+
+    @Size(max = 100, message = "A hotel can have at most 100 room types")
+    private List<@Valid @NotNull RoomTypeRequest> roomTypes;
+}
@@ -0,0 +1,30 @@
+package com.hotel.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hotel.hotel.entity.HotelImportFormat;
+import com.hotel.hotel.entity.HotelImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelImportResponse {
+    private UUID id;
+    private HotelImportFormat format;
+    private HotelImportStatus status;
+    // Records of the import file written so far; a resumed import continues after them
+    private long recordsCommitted;
+    private long hotelsImported;
+    private long roomTypesImported;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
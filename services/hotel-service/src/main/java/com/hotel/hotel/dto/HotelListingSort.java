@@ -0,0 +1,42 @@
+package com.hotel.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * Orders of the cursor-paged hotel listing. Each is a keyset on a non-null hotel attribute plus
+ * the hotel id, so the next page continues after the last hotel instead of skipping an offset.
+ */
+public enum HotelListingSort {
+
+    NAME("name", true),
+    NEWEST("createdAt", false);
+
+    private final String attribute;
+    private final boolean ascending;
+
+    HotelListingSort(String attribute, boolean ascending) {
+        this.attribute = attribute;
+        this.ascending = ascending;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public boolean ascending() {
+        return ascending;
+    }
+
+    @JsonCreator
+    public static HotelListingSort fromValue(String value) {
+        return valueOf(value.strip().toUpperCase(Locale.ROOT));
+    }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
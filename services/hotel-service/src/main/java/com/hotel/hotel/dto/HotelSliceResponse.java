@@ -0,0 +1,23 @@
+package com.hotel.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelSliceResponse {
+    private List<HotelResponse> hotels;
+    // Pass back as cursor to read the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    // Planner estimate of all matching hotels; only set when requested
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long approximateTotal;
+}
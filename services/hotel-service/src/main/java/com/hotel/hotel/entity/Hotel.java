@@ -56,6 +56,6 @@ public class Hotel {
     private Long version;
     
     @CreationTimestamp
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 }
\ No newline at end of file
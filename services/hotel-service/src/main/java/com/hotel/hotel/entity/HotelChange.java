@@ -0,0 +1,37 @@
+package com.hotel.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the hotel change feed read by the search service. The id is the feed position;
+ * only the latest entry per hotel matters to a reader.
+ */
+@Entity
+@Table(name = "hotel_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private UUID hotelId;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @CreationTimestamp
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,60 @@
+package com.hotel.hotel.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of one bulk hotel import. {@code recordsCommitted} counts the hotels of the import
+ * file written so far and is advanced in the same transaction as each written chunk, so a
+ * resumed import skips exactly the records that were committed. {@code runId} identifies the
+ * request running the import: a resume takes the import over, and only the run that owns it
+ * advances or finishes it.
+ */
+@Entity
+@Table(name = "hotel_imports")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelImport {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HotelImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private HotelImportStatus status;
+
+    @Column(name = "records_committed", nullable = false)
+    private long recordsCommitted;
+
+    @Column(name = "hotels_imported", nullable = false)
+    private long hotelsImported;
+
+    @Column(name = "room_types_imported", nullable = false)
+    private long roomTypesImported;
+
+    @Column(name = "run_id")
+    private UUID runId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,30 @@
+package com.hotel.hotel.entity;
+
+/**
+ * Body formats of a bulk hotel import. NDJSON holds one hotel with its room types per line; CSV
+ * holds one room type per row, with consecutive rows of the same hotel grouped into one hotel.
+ */
+public enum HotelImportFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    HotelImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public static HotelImportFormat forMediaType(String mediaType) {
+        for (HotelImportFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + mediaType);
+    }
+}
@@ -0,0 +1,7 @@
+package com.hotel.hotel.entity;
+
+public enum HotelImportStatus {
+    RUNNING,
+    FAILED,
+    COMPLETED
+}
@@ -6,6 +6,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -17,6 +19,15 @@ public class EventPublisher {
         publish(RabbitMQConfig.HOTEL_CREATED_ROUTING_KEY, "hotel.created.v1", event);
     }
 
+    /**
+     * Queues the created events of many hotels with one outbox batch.
+     */
+    public void publishHotelsCreated(List<HotelCreatedEvent> events) {
+        log.info("Queueing {} hotel events with routing key {}", events.size(), RabbitMQConfig.HOTEL_CREATED_ROUTING_KEY);
+        outboxService.enqueueAll(RabbitMQConfig.HOTEL_EXCHANGE, RabbitMQConfig.HOTEL_CREATED_ROUTING_KEY,
+                "hotel.created.v1", events);
+    }
+
     public void publishHotelUpdated(HotelUpdatedEvent event) {
         publish(RabbitMQConfig.HOTEL_UPDATED_ROUTING_KEY, "hotel.updated.v1", event);
     }
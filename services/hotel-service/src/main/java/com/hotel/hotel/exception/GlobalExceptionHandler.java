@@ -50,6 +50,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(HotelImportNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHotelImportNotFound(HotelImportNotFoundException ex, HttpServletRequest request) {
+        log.error("Hotel import not found: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Hotel Import Not Found")
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(DuplicateFavoriteException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateFavorite(DuplicateFavoriteException ex, HttpServletRequest request) {
         log.error("Duplicate favorite: {}", ex.getMessage());
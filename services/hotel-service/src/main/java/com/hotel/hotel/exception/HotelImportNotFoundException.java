@@ -0,0 +1,7 @@
+package com.hotel.hotel.exception;
+
+public class HotelImportNotFoundException extends RuntimeException {
+    public HotelImportNotFoundException(String message) {
+        super(message);
+    }
+}
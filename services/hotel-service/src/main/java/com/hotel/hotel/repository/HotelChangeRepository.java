@@ -0,0 +1,29 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.entity.HotelChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HotelChangeRepository extends JpaRepository<HotelChange, Long> {
+
+    @Query("SELECT c FROM HotelChange c WHERE c.id > :after AND c.changedAt < :settledBefore ORDER BY c.id")
+    List<HotelChange> findSettledAfter(
+            @Param("after") long after,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM HotelChange c WHERE c.changedAt < :settledBefore")
+    long findLatestSettledId(@Param("settledBefore") LocalDateTime settledBefore);
+
+    @Modifying
+    @Query("DELETE FROM HotelChange c WHERE c.changedAt < :cutoff")
+    int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
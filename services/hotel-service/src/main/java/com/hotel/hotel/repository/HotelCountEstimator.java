@@ -0,0 +1,83 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.dto.SearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Estimates how many hotels match search criteria from the Postgres planner's row estimate,
+ * without counting them. The estimate comes from table statistics, so it is cheap at any catalog
+ * size but can be off, especially for combined filters.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HotelCountEstimator {
+
+    private static final Pattern ESTIMATED_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:hotel_svc}")
+    private String schema = "hotel_svc";
+
+    /**
+     * Returns the planner's estimate of matching hotels, or {@code null} if the plan carries none.
+     * Runs in its own transaction, so a failure does not abort the caller's.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.REQUIRES_NEW)
+    public Long estimate(SearchCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        // Mirrors the filters of HotelService.buildSearchSpecification
+        if (criteria.getCity() != null && !criteria.getCity().trim().isEmpty()) {
+            conditions.add("lower(city) = :city");
+            parameters.put("city", criteria.getCity().toLowerCase(Locale.ROOT));
+        }
+        if (criteria.getCountry() != null && !criteria.getCountry().trim().isEmpty()) {
+            conditions.add("lower(country) = :country");
+            parameters.put("country", criteria.getCountry().toLowerCase(Locale.ROOT));
+        }
+        if (criteria.getMinRating() != null) {
+            conditions.add("star_rating >= :minRating");
+            parameters.put("minRating", criteria.getMinRating());
+        }
+        if (criteria.getMaxRating() != null) {
+            conditions.add("star_rating <= :maxRating");
+            parameters.put("maxRating", criteria.getMaxRating());
+        }
+        String textQuery = HotelTextSearch.toPrefixQuery(criteria.getKeyword());
+        if (textQuery != null) {
+            conditions.add(HotelTextSearch.NATIVE_MATCH);
+            parameters.put("query", textQuery);
+        }
+
+        String sql = "EXPLAIN SELECT 1 FROM " + schema + ".hotels"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        Query explain = entityManager.createNativeQuery(sql);
+        parameters.forEach(explain::setParameter);
+        List<?> plan = explain.getResultList();
+        return plan.isEmpty() ? null : estimatedRows(String.valueOf(plan.getFirst()));
+    }
+
+    /**
+     * Reads the row estimate of the top plan node, e.g. {@code 120} from
+     * {@code Seq Scan on hotels  (cost=0.00..4.50 rows=120 width=4)}.
+     */
+    static Long estimatedRows(String planLine) {
+        Matcher matcher = ESTIMATED_ROWS.matcher(planLine);
+        return matcher.find() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.entity.HotelImport;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HotelImportRepository extends JpaRepository<HotelImport, UUID> {
+
+    /**
+     * Reads the import and locks it until the transaction ends, so runs take it over and finish
+     * it one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM HotelImport i WHERE i.id = :id")
+    Optional<HotelImport> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Moves the import from {@code expectedPosition} to {@code position}. Returns 0 when another
+     * request has taken the import over or already moved it, so the same records are never
+     * written twice.
+     */
+    @Modifying
+    @Query("UPDATE HotelImport i SET i.recordsCommitted = :position, "
+            + "i.hotelsImported = i.hotelsImported + :hotels, "
+            + "i.roomTypesImported = i.roomTypesImported + :roomTypes, "
+            + "i.status = com.hotel.hotel.entity.HotelImportStatus.RUNNING, i.lastError = NULL, "
+            + "i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.runId = :runId AND i.recordsCommitted = :expectedPosition "
+            + "AND i.status <> com.hotel.hotel.entity.HotelImportStatus.COMPLETED")
+    int advance(@Param("id") UUID id,
+                @Param("runId") UUID runId,
+                @Param("expectedPosition") long expectedPosition,
+                @Param("position") long position,
+                @Param("hotels") long hotels,
+                @Param("roomTypes") long roomTypes,
+                @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,108 @@
+package com.hotel.hotel.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.entity.Hotel;
+import com.hotel.hotel.entity.RoomType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts imported hotels, their room types, and their change feed entries as JDBC batches,
+ * bypassing the persistence context: ids are assigned by the caller, so each table takes one
+ * batch per chunk instead of one statement per row.
+ */
+@Repository
+public class HotelImportWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String insertHotelSql;
+    private final String insertRoomTypeSql;
+    private final String insertChangeSql;
+
+    HotelImportWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${spring.jpa.properties.hibernate.default_schema:hotel_svc}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        if (schema == null || !schema.matches("[a-z][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid hotel schema: " + schema);
+        }
+        this.insertHotelSql = """
+                INSERT INTO %s.hotels
+                    (id, name, description, address, city, country, latitude, longitude,
+                     star_rating, amenities, version, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CAST(? AS jsonb), 0, ?)
+                """.formatted(schema);
+        this.insertRoomTypeSql = """
+                INSERT INTO %s.room_types
+                    (id, hotel_id, name, description, capacity, price_per_night, total_inventory,
+                     version, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)
+                """.formatted(schema);
+        this.insertChangeSql = """
+                INSERT INTO %s.hotel_changes (hotel_id, deleted, changed_at)
+                VALUES (?, FALSE, CAST(clock_timestamp() AS TIMESTAMP))
+                """.formatted(schema);
+    }
+
+    public void insertHotels(List<Hotel> hotels) {
+        List<Object[]> rows = new ArrayList<>(hotels.size());
+        for (Hotel hotel : hotels) {
+            rows.add(new Object[]{
+                    hotel.getId(), hotel.getName(), hotel.getDescription(), hotel.getAddress(),
+                    hotel.getCity(), hotel.getCountry(), hotel.getLatitude(), hotel.getLongitude(),
+                    hotel.getStarRating(), toJson(hotel.getAmenities()), Timestamp.valueOf(hotel.getCreatedAt())});
+        }
+        batch(insertHotelSql, rows);
+    }
+
+    public void insertRoomTypes(List<RoomType> roomTypes) {
+        List<Object[]> rows = new ArrayList<>(roomTypes.size());
+        for (RoomType roomType : roomTypes) {
+            rows.add(new Object[]{
+                    roomType.getId(), roomType.getHotel().getId(), roomType.getName(), roomType.getDescription(),
+                    roomType.getCapacity(), roomType.getPricePerNight(), roomType.getTotalInventory(),
+                    Timestamp.valueOf(roomType.getCreatedAt())});
+        }
+        batch(insertRoomTypeSql, rows);
+    }
+
+    /**
+     * Appends one change feed entry per hotel, like {@code HotelChangeLog.recordChange} does for
+     * single writes. Entries are stamped with the database clock at the time of the insert rather
+     * than the start of the transaction, so call this last before the commit.
+     */
+    public void insertChanges(List<UUID> hotelIds) {
+        List<Object[]> rows = new ArrayList<>(hotelIds.size());
+        for (UUID hotelId : hotelIds) {
+            rows.add(new Object[]{hotelId});
+        }
+        batch(insertChangeSql, rows);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private String toJson(List<String> amenities) {
+        if (amenities == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(amenities);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize hotel amenities", e);
+        }
+    }
+}
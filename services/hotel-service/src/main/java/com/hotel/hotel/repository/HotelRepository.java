@@ -1,18 +1,22 @@
 package com.hotel.hotel.repository;
 
 import com.hotel.hotel.entity.Hotel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, UUID>, JpaSpecificationExecutor<Hotel> {
@@ -36,12 +40,20 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID>, JpaSpecific
             @Param("minRating") Integer minRating,
             Pageable pageable);
     
-    @Query("SELECT h FROM Hotel h WHERE h.name ILIKE %:keyword% OR h.description ILIKE %:keyword%")
-    List<Hotel> findByKeyword(@Param("keyword") String keyword);
-    
     @Query("SELECT DISTINCT h.city FROM Hotel h WHERE h.city IS NOT NULL ORDER BY h.city")
     List<String> findAllCities();
     
     @Query("SELECT DISTINCT h.country FROM Hotel h WHERE h.country IS NOT NULL ORDER BY h.country")
     List<String> findAllCountries();
+
+    /**
+     * Reads every hotel through a server-side cursor. Must be consumed inside a transaction and
+     * closed; callers should clear the persistence context between chunks.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h FROM Hotel h")
+    Stream<Hotel> streamAll();
 }
\ No newline at end of file
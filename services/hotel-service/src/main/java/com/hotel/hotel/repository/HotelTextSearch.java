@@ -0,0 +1,88 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.entity.Hotel;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Keyword search over hotel names and descriptions through Postgres full-text search.
+ *
+ * <p>Both functions registered here expand to the same {@code to_tsvector} expression as the
+ * {@code idx_hotels_text_search} GIN index, so matches are looked up in the index instead of
+ * scanning {@code hotels}. The {@code simple} configuration is used because names and cities are
+ * proper nouns in many languages, which no stemmer handles. Each keyword term matches words it
+ * is a prefix of; {@code hotel_text_rank} orders the matches by relevance, names weighing more
+ * than descriptions.
+ */
+public class HotelTextSearch implements FunctionContributor {
+
+    static final String MATCH_FUNCTION = "hotel_text_match";
+    static final String RANK_FUNCTION = "hotel_text_rank";
+
+    // Must stay identical to the idx_hotels_text_search expression in init-db/init.sql
+    private static final String DOCUMENT = "to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, ''))";
+    private static final String WEIGHTED_DOCUMENT =
+            "setweight(to_tsvector('simple', coalesce(?1, '')), 'A') || to_tsvector('simple', coalesce(?2, ''))";
+
+    // The match for native SQL over hotels, with the tsquery as parameter :query
+    static final String NATIVE_MATCH = "to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))"
+            + " @@ to_tsquery('simple', :query)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern(MATCH_FUNCTION,
+                "(" + DOCUMENT + " @@ to_tsquery('simple', ?3))",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(RANK_FUNCTION,
+                "ts_rank(" + WEIGHTED_DOCUMENT + ", to_tsquery('simple', ?3))",
+                types.resolve(StandardBasicTypes.FLOAT));
+    }
+
+    /**
+     * Hotels whose name or description contains a word starting with every term of
+     * {@code keyword}. Unless the page is sorted otherwise, the best matches come first.
+     * A keyword without any letters or digits matches every hotel.
+     */
+    public static Specification<Hotel> matches(String keyword) {
+        String query = toPrefixQuery(keyword);
+        if (query == null) {
+            return null;
+        }
+        // Criteria literals may be rendered inline; the query only holds letters, digits, and operators
+        return (root, criteriaQuery, cb) -> {
+            if (Hotel.class.equals(criteriaQuery.getResultType()) && criteriaQuery.getOrderList().isEmpty()) {
+                Expression<Float> rank = cb.function(RANK_FUNCTION, Float.class,
+                        root.get("name"), root.get("description"), cb.literal(query));
+                criteriaQuery.orderBy(cb.desc(rank));
+            }
+            return cb.isTrue(cb.function(MATCH_FUNCTION, Boolean.class,
+                    root.get("name"), root.get("description"), cb.literal(query)));
+        };
+    }
+
+    /**
+     * Turns free text into a {@code to_tsquery} expression requiring every term as a word prefix,
+     * e.g. {@code "Grand  hôtel!"} into {@code "grand:* & hôtel:*"}. Everything but letters and
+     * digits separates terms, so the result never contains query operators from the input.
+     * Returns {@code null} when no term is left.
+     */
+    static String toPrefixQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+}
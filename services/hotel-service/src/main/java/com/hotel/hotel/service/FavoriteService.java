@@ -10,6 +10,7 @@ import com.hotel.hotel.repository.HotelRepository;
 import com.hotel.hotel.repository.UserFavoriteRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,10 @@ public class FavoriteService {
     private final UserFavoriteRepository favoriteRepository;
     private final HotelRepository hotelRepository;
     private final HotelService hotelService;
+    private final HotelChangeLog changeLog;
+
+    @Autowired(required = false)
+    private HotelDetailCache detailCache;
     
     public void addFavorite(UUID userId, UUID hotelId) {
         log.info("Adding hotel {} to favorites for user {}", hotelId, userId);
@@ -46,6 +51,9 @@ public class FavoriteService {
                 .build();
         
         favoriteRepository.save(favorite);
+        // Favorite counts are exported to search-service, which ranks suggestions by them
+        changeLog.recordChange(hotelId);
+        evictFavorite(userId, hotelId);
         log.info("Successfully added hotel {} to favorites for user {}", hotelId, userId);
     }
     
@@ -76,6 +84,8 @@ public class FavoriteService {
                 .orElseThrow(() -> new FavoriteNotFoundException("Favorite not found"));
         
         favoriteRepository.delete(favorite);
+        changeLog.recordChange(hotelId);
+        evictFavorite(userId, hotelId);
         log.info("Successfully removed hotel {} from favorites for user {}", hotelId, userId);
     }
     
@@ -97,10 +107,20 @@ public class FavoriteService {
         List<UserFavorite> favorites = favoriteRepository.findByUserId(userId);
         if (!favorites.isEmpty()) {
             favoriteRepository.deleteAll(favorites);
+            favorites.stream().map(UserFavorite::getHotelId).distinct().forEach(hotelId -> {
+                changeLog.recordChange(hotelId);
+                evictFavorite(userId, hotelId);
+            });
             log.info("Removed {} favorites for user {}", favorites.size(), userId);
         }
     }
     
+    private void evictFavorite(UUID userId, UUID hotelId) {
+        if (detailCache != null) {
+            detailCache.evictFavorite(userId, hotelId);
+        }
+    }
+
     private HotelResponse mapToResponse(Hotel hotel, UUID userId) {
         // Use the hotel service to get the full response with all computed fields
         return hotelService.getHotelById(hotel.getId(), userId);
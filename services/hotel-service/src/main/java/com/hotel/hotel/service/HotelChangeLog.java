@@ -0,0 +1,109 @@
+package com.hotel.hotel.service;
+
+import com.hotel.hotel.entity.HotelChange;
+import com.hotel.hotel.repository.HotelChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only feed of hotel catalog changes, written in the same transaction as the change itself.
+ *
+ * <p>Feed positions come from a sequence, so a transaction that started earlier can commit a lower
+ * position after a reader has already moved past it. Entries are therefore inserted just before the
+ * surrounding transaction commits, after any slow work it did (such as booking-service calls), so
+ * their timestamp trails the commit only by the commit itself. Readers only see entries older than
+ * the settle delay; the search service's periodic full reconciliation covers anything that still
+ * slips through.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class HotelChangeLog {
+
+    private final HotelChangeRepository changeRepository;
+
+    @Value("${app.export.change-settle-delay:5s}")
+    private String settleDelay = "5s";
+
+    @Value("${app.export.change-retention:14d}")
+    private String retention = "14d";
+
+    public void recordChange(UUID hotelId) {
+        record(hotelId, false);
+    }
+
+    public void recordDeletion(UUID hotelId) {
+        record(hotelId, true);
+    }
+
+    @Transactional(readOnly = true)
+    public List<HotelChange> settledChangesAfter(long position, int limit) {
+        return changeRepository.findSettledAfter(position, settledBefore(), PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long latestSettledPosition() {
+        return changeRepository.findLatestSettledId(settledBefore());
+    }
+
+    @Scheduled(cron = "${app.export.change-cleanup-cron:0 15 3 * * *}")
+    public void purgeExpired() {
+        int deleted = changeRepository.deleteChangedBefore(
+                LocalDateTime.now().minus(DurationStyle.detectAndParse(retention)));
+        log.debug("Removed {} hotel change feed entries older than {}", deleted, retention);
+    }
+
+    private void record(UUID hotelId, boolean deleted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            save(hotelId, deleted);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<UUID, Boolean> pending = (Map<UUID, Boolean>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = deferUntilCommit();
+        }
+        // The latest entry per hotel is all a reader needs
+        pending.put(hotelId, deleted);
+    }
+
+    private Map<UUID, Boolean> deferUntilCommit() {
+        Map<UUID, Boolean> pending = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, pending);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                pending.forEach(HotelChangeLog.this::save);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(HotelChangeLog.this);
+            }
+        });
+        return pending;
+    }
+
+    private void save(UUID hotelId, boolean deleted) {
+        changeRepository.save(HotelChange.builder().hotelId(hotelId).deleted(deleted).build());
+    }
+
+    private LocalDateTime settledBefore() {
+        return LocalDateTime.now().minus(DurationStyle.detectAndParse(settleDelay));
+    }
+}
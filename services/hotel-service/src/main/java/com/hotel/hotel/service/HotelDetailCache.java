@@ -0,0 +1,328 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read model behind hotel detail reads. The catalog part of a hotel (the hotel, its room types,
+ * and their price range) is cached in a bounded in-process LRU and in Redis shared by all
+ * instances; room availability and favorites change independently of the catalog and are kept
+ * in their own short-lived in-process caches, to be merged into the catalog on every read.
+ *
+ * <p>Entries are evicted after the transaction that changed them commits, at the same points that
+ * queue the hotel's outbox event and change feed entry. Redis is cleared for every instance; the
+ * in-process copies of other instances expire after {@code app.hotel-cache.near-ttl}. The Redis
+ * entry is replaced by an eviction marker for {@code app.hotel-cache.eviction-ttl}, and catalogs
+ * are only written to Redis when no entry exists, so a load that read the hotel before the write
+ * committed cannot put the old catalog back.
+ */
+@Component
+@Slf4j
+public class HotelDetailCache {
+
+    static final String REDIS_KEY_PREFIX = "hotel:detail:";
+    static final String EVICTED = "evicted";
+
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration nearTtl;
+    private final Duration availabilityTtl;
+    private final Duration favoriteTtl;
+    private final Duration evictionTtl;
+    private final LongSupplier nanoClock;
+    private final ExpiringLru<UUID, HotelResponse> catalogs;
+    private final ExpiringLru<UUID, Integer> availability;
+    private final ExpiringLru<UUID, Long> favoriteCounts;
+    private final ExpiringLru<FavoriteKey, Boolean> favoriteFlags;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    @Autowired
+    HotelDetailCache(
+            ObjectMapper objectMapper,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.hotel-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.hotel-cache.ttl:10m}") String ttl,
+            @Value("${app.hotel-cache.near-ttl:30s}") String nearTtl,
+            @Value("${app.hotel-cache.availability-ttl:15s}") String availabilityTtl,
+            @Value("${app.hotel-cache.favorite-ttl:60s}") String favoriteTtl,
+            @Value("${app.hotel-cache.eviction-ttl:30s}") String evictionTtl) {
+        this(objectMapper, redisTemplate.getIfAvailable(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), maxEntries,
+                DurationStyle.detectAndParse(ttl), DurationStyle.detectAndParse(nearTtl),
+                DurationStyle.detectAndParse(availabilityTtl), DurationStyle.detectAndParse(favoriteTtl),
+                DurationStyle.detectAndParse(evictionTtl), System::nanoTime);
+    }
+
+    HotelDetailCache(
+            ObjectMapper objectMapper,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            int maxEntries,
+            Duration ttl,
+            Duration nearTtl,
+            Duration availabilityTtl,
+            Duration favoriteTtl,
+            Duration evictionTtl,
+            LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Hotel cache size must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.nearTtl = nearTtl;
+        this.availabilityTtl = availabilityTtl;
+        this.favoriteTtl = favoriteTtl;
+        this.evictionTtl = evictionTtl;
+        this.nanoClock = nanoClock;
+        this.catalogs = new ExpiringLru<>(maxEntries);
+        this.availability = new ExpiringLru<>(maxEntries);
+        this.favoriteCounts = new ExpiringLru<>(maxEntries);
+        this.favoriteFlags = new ExpiringLru<>(maxEntries);
+        this.nearHits = requests(meterRegistry, "near_hit");
+        this.redisHits = requests(meterRegistry, "redis_hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    /**
+     * Returns the cached catalog view of a hotel, or loads and caches it. The returned response is
+     * shared between callers and must not be modified.
+     */
+    public HotelResponse catalog(UUID hotelId, Supplier<HotelResponse> loader) {
+        // Read before loading: an eviction committed while the hotel loads may have been missed
+        // by the load, so its result is then returned but not cached.
+        long invalidation = invalidations.get();
+
+        HotelResponse cached = catalogs.get(hotelId, nanoClock.getAsLong());
+        if (cached != null) {
+            nearHits.increment();
+            return cached;
+        }
+        cached = redisGet(hotelId);
+        if (cached != null) {
+            storeNear(hotelId, cached, invalidation);
+            redisHits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        HotelResponse catalog = loader.get();
+        if (storeNear(hotelId, catalog, invalidation)) {
+            redisPut(hotelId, catalog);
+        }
+        return catalog;
+    }
+
+    /**
+     * Rooms available today per room type. Only the room types not cached are passed to
+     * {@code loader}; room types it returns no count for are left uncached.
+     */
+    public Map<UUID, Integer> availability(List<UUID> roomTypeIds, Function<List<UUID>, Map<UUID, Integer>> loader) {
+        long now = nanoClock.getAsLong();
+        Map<UUID, Integer> result = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID roomTypeId : roomTypeIds) {
+            Integer available = availability.get(roomTypeId, now);
+            if (available == null) {
+                missing.add(roomTypeId);
+            } else {
+                result.put(roomTypeId, available);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, Integer> loaded = loader.apply(missing);
+            long expiresAt = nanoClock.getAsLong() + availabilityTtl.toNanos();
+            loaded.forEach((roomTypeId, available) -> {
+                if (available != null) {
+                    availability.put(roomTypeId, available, expiresAt);
+                    result.put(roomTypeId, available);
+                }
+            });
+        }
+        return result;
+    }
+
+    public Long favoriteCount(UUID hotelId, Supplier<Long> loader) {
+        return cached(favoriteCounts, hotelId, loader, favoriteTtl);
+    }
+
+    public Boolean isFavorite(UUID userId, UUID hotelId, Supplier<Boolean> loader) {
+        return cached(favoriteFlags, new FavoriteKey(userId, hotelId), loader, favoriteTtl);
+    }
+
+    /**
+     * Evicts the catalog view of a hotel once the current transaction commits.
+     */
+    public void evictHotel(UUID hotelId) {
+        afterCommit(() -> {
+            invalidations.incrementAndGet();
+            catalogs.remove(hotelId);
+            redisEvict(hotelId);
+        });
+    }
+
+    /**
+     * Evicts the favorite count of a hotel, and whether the user favors it, once the current
+     * transaction commits.
+     */
+    public void evictFavorite(UUID userId, UUID hotelId) {
+        afterCommit(() -> {
+            favoriteCounts.remove(hotelId);
+            favoriteFlags.remove(new FavoriteKey(userId, hotelId));
+        });
+    }
+
+    int size() {
+        return catalogs.size();
+    }
+
+    private <K, V> V cached(ExpiringLru<K, V> cache, K key, Supplier<V> loader, Duration entryTtl) {
+        V value = cache.get(key, nanoClock.getAsLong());
+        if (value == null) {
+            value = loader.get();
+            if (value != null) {
+                cache.put(key, value, nanoClock.getAsLong() + entryTtl.toNanos());
+            }
+        }
+        return value;
+    }
+
+    private boolean storeNear(UUID hotelId, HotelResponse catalog, long invalidation) {
+        if (invalidations.get() != invalidation) {
+            return false;
+        }
+        catalogs.put(hotelId, catalog, nanoClock.getAsLong() + nearTtl.toNanos());
+        return true;
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private HotelResponse redisGet(UUID hotelId) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + hotelId);
+            return json == null || EVICTED.equals(json) ? null : objectMapper.readValue(json, HotelResponse.class);
+        } catch (Exception e) {
+            log.warn("Failed to read cached hotel {}: {}", hotelId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void redisPut(UUID hotelId, HotelResponse catalog) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            // Never replaces an eviction marker, nor a catalog another instance loaded meanwhile
+            redisTemplate.opsForValue()
+                    .setIfAbsent(REDIS_KEY_PREFIX + hotelId, objectMapper.writeValueAsString(catalog), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to cache hotel {}: {}", hotelId, e.getMessage());
+        }
+    }
+
+    private void redisEvict(UUID hotelId) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + hotelId, EVICTED, evictionTtl);
+        } catch (Exception e) {
+            // The entry still expires after app.hotel-cache.ttl
+            log.error("Failed to evict cached hotel {}", hotelId, e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("hotel.detail.cache.requests")
+                .description("Hotel detail reads by catalog cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record FavoriteKey(UUID userId, UUID hotelId) {
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class ExpiringLru<K, V> {
+
+        private final Map<K, Entry<V>> entries;
+
+        ExpiringLru(int maxEntries) {
+            this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now >= entry.expiresAt()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized void put(K key, V value, long expiresAt) {
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+
+        synchronized void remove(K key) {
+            entries.remove(key);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelImportRecord;
+import com.hotel.hotel.dto.HotelRequest;
+import com.hotel.hotel.dto.RoomTypeRequest;
+import com.hotel.hotel.entity.HotelImportFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads the hotels of an import body one at a time, so an import of any size is never held in
+ * memory. NDJSON lines are {@link HotelImportRecord}s. CSV starts with a header row naming the
+ * columns of {@link #CSV_COLUMNS}; each further row holds one room type, and consecutive rows
+ * with the same hotel name, address, city, and country form one hotel. A row without a room
+ * name adds a hotel without room types; amenities are separated by {@code |}.
+ */
+class HotelImportReader {
+
+    static final List<String> CSV_COLUMNS = List.of(
+            "name", "description", "address", "city", "country", "latitude", "longitude", "star_rating",
+            "amenities", "room_name", "room_description", "capacity", "price_per_night", "total_inventory");
+
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("name", "city", "country");
+
+    private final HotelImportFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private List<String> pendingRow;
+
+    HotelImportReader(HotelImportFormat format, InputStream body, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next hotel, or {@code null} after the last one.
+     *
+     * @throws IllegalArgumentException if the next hotel cannot be read
+     */
+    HotelImportRecord read() throws IOException {
+        return format == HotelImportFormat.CSV ? readCsv() : readNdjson();
+    }
+
+    private HotelImportRecord readNdjson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        return objectMapper.readValue(line, HotelImportRecord.class);
+    }
+
+    private HotelImportRecord readCsv() throws IOException {
+        if (csvColumns == null) {
+            csvColumns = readHeader();
+        }
+        List<String> row = pendingRow != null ? pendingRow : readRow();
+        pendingRow = null;
+        if (row == null) {
+            return null;
+        }
+
+        HotelRequest hotel = HotelRequest.builder()
+                .name(field(row, "name"))
+                .description(field(row, "description"))
+                .address(field(row, "address"))
+                .city(field(row, "city"))
+                .country(field(row, "country"))
+                .latitude(decimal(row, "latitude"))
+                .longitude(decimal(row, "longitude"))
+                .starRating(integer(row, "star_rating"))
+                .amenities(amenities(field(row, "amenities")))
+                .build();
+        List<RoomTypeRequest> roomTypes = new ArrayList<>();
+        addRoomType(roomTypes, row);
+        while ((pendingRow = readRow()) != null && sameHotel(hotel, pendingRow)) {
+            addRoomType(roomTypes, pendingRow);
+        }
+        return HotelImportRecord.builder().hotel(hotel).roomTypes(roomTypes).build();
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        List<String> header = readRow();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header row is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).strip().toLowerCase(Locale.ROOT);
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + header.get(i));
+            }
+            columns.put(column, i);
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV column " + column + " is required");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Reads one CSV row; quoted fields may contain commas, line breaks, and doubled quotes.
+     * Blank lines are skipped. Returns {@code null} at the end of the body.
+     */
+    private List<String> readRow() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    field.append('"');
+                } else {
+                    reader.reset();
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                if (fields.isEmpty() && field.toString().isBlank()) {
+                    field.setLength(0);
+                    read = false;
+                    continue;
+                }
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV row ends inside a quoted field");
+        }
+        if (!read || (fields.isEmpty() && field.toString().isBlank())) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private boolean sameHotel(HotelRequest hotel, List<String> row) {
+        return Objects.equals(hotel.getName(), field(row, "name"))
+                && Objects.equals(hotel.getAddress(), field(row, "address"))
+                && Objects.equals(hotel.getCity(), field(row, "city"))
+                && Objects.equals(hotel.getCountry(), field(row, "country"));
+    }
+
+    private void addRoomType(List<RoomTypeRequest> roomTypes, List<String> row) {
+        String roomName = field(row, "room_name");
+        if (roomName == null) {
+            return;
+        }
+        roomTypes.add(RoomTypeRequest.builder()
+                .name(roomName)
+                .description(field(row, "room_description"))
+                .capacity(integer(row, "capacity"))
+                .pricePerNight(decimal(row, "price_per_night"))
+                .totalInventory(integer(row, "total_inventory"))
+                .build());
+    }
+
+    private String field(List<String> row, String column) {
+        Integer index = csvColumns.get(column);
+        if (index == null || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Integer integer(List<String> row, String column) {
+        String value = field(row, column);
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private BigDecimal decimal(List<String> row, String column) {
+        String value = field(row, column);
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<String> amenities(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Arrays.stream(value.split("\\|"))
+                .map(String::strip)
+                .filter(amenity -> !amenity.isEmpty())
+                .toList();
+    }
+}
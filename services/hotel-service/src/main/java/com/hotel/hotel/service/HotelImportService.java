@@ -0,0 +1,295 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelImportRecord;
+import com.hotel.hotel.dto.HotelImportResponse;
+import com.hotel.hotel.dto.HotelRequest;
+import com.hotel.hotel.dto.RoomTypeRequest;
+import com.hotel.hotel.entity.Hotel;
+import com.hotel.hotel.entity.HotelImport;
+import com.hotel.hotel.entity.HotelImportFormat;
+import com.hotel.hotel.entity.HotelImportStatus;
+import com.hotel.hotel.entity.RoomType;
+import com.hotel.hotel.event.EventPublisher;
+import com.hotel.hotel.exception.HotelImportNotFoundException;
+import com.hotel.hotel.repository.HotelImportRepository;
+import com.hotel.hotel.repository.HotelImportWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of hotels with their room types from an NDJSON or CSV body.
+ *
+ * <p>The body is read one hotel at a time and written in chunks of {@code app.import.chunk-size}
+ * hotels, each chunk in its own transaction: the import's position is advanced, hotels and room
+ * types are inserted as JDBC batches, the created events go to the outbox in one batch, the
+ * inventory of all new room types is provisioned with one booking-service call, and the change
+ * feed entries are inserted last, stamped with the database clock, so their feed positions are
+ * taken just before the commit. A failure rolls back only the current chunk and marks the import
+ * failed; posting the same body again with the import id skips the committed records and
+ * continues with the first record that was not written. Such a resume takes the import over: a
+ * run still writing it stops at its next chunk and leaves the status to the resume.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelImportService {
+
+    private final HotelImportRepository importRepository;
+    private final HotelImportWriter importWriter;
+    private final EventPublisher eventPublisher;
+    private final InventoryService inventoryService;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.import.chunk-size:50}")
+    private int chunkSize = 50;
+
+    /**
+     * Imports the hotels of {@code body}, or resumes import {@code importId} with the same body,
+     * and returns the import's state once the body is consumed or a record failed.
+     */
+    public HotelImportResponse importHotels(HotelImportFormat format, InputStream body, UUID importId) {
+        if (chunkSize < 1) {
+            throw new IllegalStateException("Import chunk size must be positive");
+        }
+        HotelImport started = transactionOperations.execute(status -> begin(format, importId));
+        if (started.getStatus() == HotelImportStatus.COMPLETED) {
+            return toResponse(started);
+        }
+
+        UUID id = started.getId();
+        UUID runId = started.getRunId();
+        long position = started.getRecordsCommitted();
+        log.info("Importing hotels into import {} from record {}", id, position + 1);
+        HotelImportReader reader = new HotelImportReader(format, body, objectMapper);
+        List<HotelImportRecord> chunk = new ArrayList<>(chunkSize);
+        long recordNumber = 0;
+        String failure = null;
+        try {
+            while (true) {
+                HotelImportRecord record;
+                try {
+                    record = reader.read();
+                    if (record != null && recordNumber >= position) {
+                        validate(record);
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    failure = "Record " + (recordNumber + 1) + ": " + message(e);
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                recordNumber++;
+                if (recordNumber <= position) {
+                    // Committed by an earlier attempt
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    position = writeChunk(id, runId, position, chunk);
+                    chunk.clear();
+                }
+            }
+            // The records read before a failing one are valid and still written
+            if (!chunk.isEmpty()) {
+                position = writeChunk(id, runId, position, chunk);
+            }
+        } catch (RuntimeException e) {
+            log.error("Hotel import {} failed after {} records", id, position, e);
+            failure = "Records " + (position + 1) + "-" + (position + chunk.size()) + ": " + message(e);
+        }
+
+        String error = failure;
+        return transactionOperations.execute(status -> finish(id, runId, error));
+    }
+
+    public HotelImportResponse getImport(UUID importId) {
+        return importRepository.findById(importId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new HotelImportNotFoundException("Hotel import not found: " + importId));
+    }
+
+    private HotelImport begin(HotelImportFormat format, UUID importId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (importId == null) {
+            return importRepository.save(HotelImport.builder()
+                    .format(format)
+                    .status(HotelImportStatus.RUNNING)
+                    .runId(UUID.randomUUID())
+                    .updatedAt(now)
+                    .build());
+        }
+
+        HotelImport hotelImport = importRepository.findByIdForUpdate(importId)
+                .orElseThrow(() -> new HotelImportNotFoundException("Hotel import not found: " + importId));
+        if (hotelImport.getFormat() != format) {
+            throw new IllegalArgumentException(
+                    "Hotel import " + importId + " reads " + hotelImport.getFormat().mediaType());
+        }
+        if (hotelImport.getStatus() != HotelImportStatus.COMPLETED) {
+            hotelImport.setRunId(UUID.randomUUID());
+            hotelImport.setStatus(HotelImportStatus.RUNNING);
+            hotelImport.setLastError(null);
+            hotelImport.setUpdatedAt(now);
+        }
+        return hotelImport;
+    }
+
+    private HotelImportResponse finish(UUID importId, UUID runId, String failure) {
+        HotelImport hotelImport = importRepository.findByIdForUpdate(importId)
+                .orElseThrow(() -> new HotelImportNotFoundException("Hotel import not found: " + importId));
+        if (!runId.equals(hotelImport.getRunId())) {
+            log.info("Hotel import {} was taken over by another request after {} records",
+                    importId, hotelImport.getRecordsCommitted());
+            return toResponse(hotelImport);
+        }
+        hotelImport.setStatus(failure == null ? HotelImportStatus.COMPLETED : HotelImportStatus.FAILED);
+        hotelImport.setLastError(failure);
+        hotelImport.setUpdatedAt(LocalDateTime.now());
+        log.info("Hotel import {} ended {} after {} records", importId,
+                hotelImport.getStatus(), hotelImport.getRecordsCommitted());
+        return toResponse(hotelImport);
+    }
+
+    private long writeChunk(UUID importId, UUID runId, long position, List<HotelImportRecord> records) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Hotel> hotels = new ArrayList<>(records.size());
+        List<RoomType> roomTypes = new ArrayList<>();
+        for (HotelImportRecord record : records) {
+            Hotel hotel = toHotel(record.getHotel(), now);
+            hotels.add(hotel);
+            if (record.getRoomTypes() != null) {
+                record.getRoomTypes().forEach(roomType -> roomTypes.add(toRoomType(hotel, roomType, now)));
+            }
+        }
+        Map<UUID, Integer> inventory = new LinkedHashMap<>();
+        roomTypes.forEach(roomType -> inventory.put(roomType.getId(), roomType.getTotalInventory()));
+        long next = position + records.size();
+
+        transactionOperations.executeWithoutResult(status -> {
+            // Advancing first locks the import, so concurrent resumes of it write each record once
+            if (importRepository.advance(importId, runId, position, next, hotels.size(), roomTypes.size(), now) == 0) {
+                throw new IllegalStateException("Hotel import " + importId + " was taken over by another request");
+            }
+            importWriter.insertHotels(hotels);
+            importWriter.insertRoomTypes(roomTypes);
+            eventPublisher.publishHotelsCreated(hotels.stream().map(HotelService::toHotelCreatedEvent).toList());
+
+            if (!inventory.isEmpty()) {
+                List<UUID> roomTypeIds = List.copyOf(inventory.keySet());
+                compensateOnRollback(
+                        "remove inventory of " + roomTypeIds.size() + " rolled-back imported room types",
+                        () -> inventoryService.deleteInventories(roomTypeIds));
+                inventoryService.initializeInventories(inventory);
+            }
+            // Last, after the booking-service call, so readers of the feed cannot pass these
+            // positions long before the chunk commits
+            importWriter.insertChanges(hotels.stream().map(Hotel::getId).toList());
+        });
+        log.debug("Hotel import {} wrote {} hotels with {} room types", importId, hotels.size(), roomTypes.size());
+        return next;
+    }
+
+    private void validate(HotelImportRecord record) {
+        Set<ConstraintViolation<HotelImportRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private String message(Exception e) {
+        if (e instanceof JsonProcessingException jsonError) {
+            return jsonError.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+
+    private Hotel toHotel(HotelRequest request, LocalDateTime createdAt) {
+        return Hotel.builder()
+                .id(UUID.randomUUID())
+                .name(request.getName())
+                .description(request.getDescription())
+                .address(request.getAddress())
+                .city(request.getCity())
+                .country(request.getCountry())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .starRating(request.getStarRating())
+                .amenities(request.getAmenities())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private RoomType toRoomType(Hotel hotel, RoomTypeRequest request, LocalDateTime createdAt) {
+        return RoomType.builder()
+                .id(UUID.randomUUID())
+                .hotel(hotel)
+                .name(request.getName())
+                .description(request.getDescription())
+                .capacity(request.getCapacity())
+                .pricePerNight(request.getPricePerNight())
+                .totalInventory(request.getTotalInventory())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private HotelImportResponse toResponse(HotelImport hotelImport) {
+        return HotelImportResponse.builder()
+                .id(hotelImport.getId())
+                .format(hotelImport.getFormat())
+                .status(hotelImport.getStatus())
+                .recordsCommitted(hotelImport.getRecordsCommitted())
+                .hotelsImported(hotelImport.getHotelsImported())
+                .roomTypesImported(hotelImport.getRoomTypesImported())
+                .error(hotelImport.getLastError())
+                .createdAt(hotelImport.getCreatedAt())
+                .updatedAt(hotelImport.getUpdatedAt())
+                .build();
+    }
+
+    private void compensateOnRollback(String description, Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.debug("No active transaction; rollback compensation not registered for {}", description);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    compensation.run();
+                    log.warn("Applied rollback compensation: {}", description);
+                } catch (RuntimeException error) {
+                    log.error("Rollback compensation failed: {}", description, error);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.hotel.hotel.service;
+
+import com.hotel.hotel.dto.HotelListingSort;
+import com.hotel.hotel.entity.Hotel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last hotel of a listing page: the sort it was read with, that hotel's sort
+ * key, and its id. Encoded as an opaque URL-safe token.
+ */
+record HotelListingCursor(HotelListingSort sort, Comparable<?> key, UUID id) {
+
+    static HotelListingCursor after(HotelListingSort sort, Hotel hotel) {
+        Comparable<?> key = switch (sort) {
+            case NAME -> hotel.getName();
+            case NEWEST -> hotel.getCreatedAt();
+        };
+        return new HotelListingCursor(sort, key, hotel.getId());
+    }
+
+    String encode() {
+        String value = sort.value() + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a cursor returned by a listing with the same sort.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    static HotelListingCursor decode(String cursor, HotelListingSort sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid hotel listing cursor");
+        }
+        if (parts.length != 3 || !sort.value().equals(parts[0])) {
+            throw new IllegalArgumentException("Hotel listing cursor does not belong to sort '" + sort.value() + "'");
+        }
+        try {
+            UUID id = UUID.fromString(parts[1]);
+            Comparable<?> key = switch (sort) {
+                case NAME -> parts[2];
+                case NEWEST -> LocalDateTime.parse(parts[2]);
+            };
+            return new HotelListingCursor(sort, key, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid hotel listing cursor");
+        }
+    }
+}
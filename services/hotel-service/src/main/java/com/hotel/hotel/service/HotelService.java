@@ -2,10 +2,14 @@ package com.hotel.hotel.service;
 
 import com.hotel.hotel.dto.HotelRequest;
 import com.hotel.hotel.dto.HotelResponse;
+import com.hotel.hotel.dto.HotelChangesResponse;
 import com.hotel.hotel.dto.HotelExportResponse;
+import com.hotel.hotel.dto.HotelListingSort;
+import com.hotel.hotel.dto.HotelSliceResponse;
 import com.hotel.hotel.dto.RoomTypeResponse;
 import com.hotel.hotel.dto.SearchCriteria;
 import com.hotel.hotel.entity.Hotel;
+import com.hotel.hotel.entity.HotelChange;
 import com.hotel.hotel.entity.RoomType;
 import com.hotel.hotel.event.EventPublisher;
 import com.hotel.hotel.event.HotelCreatedEvent;
@@ -13,21 +17,47 @@ import com.hotel.hotel.event.HotelDeletedEvent;
 import com.hotel.hotel.event.HotelUpdatedEvent;
 import com.hotel.hotel.exception.HotelNotFoundException;
 import com.hotel.hotel.exception.RoomTypeNotFoundException;
+import com.hotel.hotel.repository.HotelCountEstimator;
 import com.hotel.hotel.repository.HotelRepository;
+import com.hotel.hotel.repository.HotelTextSearch;
 import com.hotel.hotel.repository.RoomTypeRepository;
 import com.hotel.hotel.repository.UserFavoriteRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -40,19 +70,44 @@ public class HotelService {
     private final RoomService roomService;
     private final RoomTypeRepository roomTypeRepository;
     private final EventPublisher eventPublisher;
+    private final HotelChangeLog hotelChangeLog;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
 
+    private final ExecutorService enrichmentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired(required = false)
+    private HotelDetailCache detailCache;
+
+    @Autowired(required = false)
+    private HotelCountEstimator countEstimator;
+
+    @Value("${app.enrichment.availability-timeout:2s}")
+    private String availabilityTimeout = "2s";
+
+    @Value("${app.enrichment.favorites-timeout:1s}")
+    private String favoritesTimeout = "1s";
+
+    @Transactional(readOnly = true)
     public HotelResponse getHotelById(UUID hotelId) {
         log.info("Getting hotel by id: {}", hotelId);
         
+        if (detailCache != null) {
+            return getCachedHotel(hotelId, null);
+        }
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new HotelNotFoundException("Hotel not found with id: " + hotelId));
         
         return mapToResponse(hotel, null);
     }
 
+    @Transactional(readOnly = true)
     public HotelResponse getHotelById(UUID hotelId, UUID userId) {
         log.info("Getting hotel by id: {} for user: {}", hotelId, userId);
         
+        if (detailCache != null) {
+            return getCachedHotel(hotelId, userId);
+        }
         Hotel hotel = hotelRepository.findById(hotelId)
                 .orElseThrow(() -> new HotelNotFoundException("Hotel not found with id: " + hotelId));
         
@@ -89,6 +144,53 @@ public class HotelService {
         Page<Hotel> hotels = hotelRepository.findAll(spec, pageable);
         return mapSearchResults(hotels, userId);
     }
+
+    /**
+     * Lists hotels matching {@code criteria} a page at a time, continuing after {@code cursor}.
+     * Pages are read by keyset on the sort key and the hotel id, so neither a count nor an offset
+     * is computed and every page costs the same however deep it is. {@code includeTotal} adds the
+     * planner's estimate of all matching hotels.
+     */
+    @Transactional(readOnly = true)
+    public HotelSliceResponse listHotels(
+            SearchCriteria criteria,
+            HotelListingSort sort,
+            String cursor,
+            int size,
+            boolean includeTotal,
+            UUID userId) {
+        log.info("Listing hotels with criteria: {} sorted by {}", criteria, sort.value());
+
+        HotelListingCursor after = cursor == null || cursor.isBlank() ? null : HotelListingCursor.decode(cursor, sort);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Hotel> query = cb.createQuery(Hotel.class);
+        Root<Hotel> root = query.from(Hotel.class);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = buildSearchSpecification(criteria).toPredicate(root, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(keysetAfter(cb, root, after));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        // Replaces the relevance order a keyword adds: a keyset needs a stable, indexed order
+        query.orderBy(sort.ascending()
+                ? List.of(cb.asc(root.get(sort.attribute())), cb.asc(root.get("id")))
+                : List.of(cb.desc(root.get(sort.attribute())), cb.desc(root.get("id"))));
+
+        // One extra row tells whether another page follows
+        List<Hotel> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasMore = rows.size() > size;
+        List<Hotel> hotels = hasMore ? rows.subList(0, size) : rows;
+
+        return HotelSliceResponse.builder()
+                .hotels(hotels.stream().map(searchResultMapper(hotels, userId)).toList())
+                .nextCursor(hasMore ? HotelListingCursor.after(sort, hotels.getLast()).encode() : null)
+                .hasMore(hasMore)
+                .approximateTotal(includeTotal ? estimateCount(criteria) : null)
+                .build();
+    }
     
     public HotelResponse createHotel(HotelRequest request) {
         log.info("Creating new hotel: {}", request.getName());
@@ -108,11 +210,11 @@ public class HotelService {
         Hotel saved = hotelRepository.save(hotel);
         
         eventPublisher.publishHotelCreated(toHotelCreatedEvent(saved));
+        hotelChangeLog.recordChange(saved.getId());
         
         return mapToResponse(saved, null);
     }
     
-    @CacheEvict(value = "hotels", key = "#hotelId")
     public HotelResponse updateHotel(UUID hotelId, HotelRequest request) {
         log.info("Updating hotel: {}", hotelId);
         
@@ -132,11 +234,12 @@ public class HotelService {
         Hotel updated = hotelRepository.save(hotel);
         
         eventPublisher.publishHotelUpdated(toHotelUpdatedEvent(updated));
+        hotelChangeLog.recordChange(updated.getId());
+        evictDetail(updated.getId());
         
         return mapToResponse(updated, null);
     }
     
-    @CacheEvict(value = "hotels", key = "#hotelId")
     public void deleteHotel(UUID hotelId) {
         log.info("Deleting hotel: {}", hotelId);
         
@@ -153,6 +256,8 @@ public class HotelService {
         hotelRepository.flush();
         eventPublisher.publishHotelDeleted(
                 HotelDeletedEvent.builder().hotelId(hotel.getId()).build());
+        hotelChangeLog.recordDeletion(hotel.getId());
+        evictDetail(hotel.getId());
         roomService.deleteInventories(inventoryCapacities);
     }
     
@@ -166,11 +271,118 @@ public class HotelService {
 
     @Transactional(readOnly = true)
     public List<HotelExportResponse> exportHotels() {
-        return hotelRepository.findAll().stream()
-                .map(this::mapToExportResponse)
+        return mapToExportResponses(hotelRepository.findAll());
+    }
+
+    /**
+     * Streams the export to {@code chunkConsumer} in chunks of {@code chunkSize} hotels. Hotels are
+     * read through a database cursor, room types and availability are loaded once per chunk, and
+     * the persistence context is cleared after each chunk, so memory use does not grow with the
+     * size of the catalog.
+     */
+    @Transactional(readOnly = true)
+    public long streamExport(int chunkSize, Consumer<List<HotelExportResponse>> chunkConsumer) {
+        long exported = 0;
+        try (Stream<Hotel> hotels = hotelRepository.streamAll()) {
+            Iterator<Hotel> iterator = hotels.iterator();
+            List<Hotel> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    chunkConsumer.accept(mapToExportResponses(chunk));
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * Returns the hotels changed after {@code position} in the change feed, collapsed to their
+     * current state: hotels that still exist are exported in full, everything else is reported
+     * as deleted. The returned cursor is the position to resume from.
+     */
+    @Transactional(readOnly = true)
+    public HotelChangesResponse exportChanges(long position, int limit) {
+        List<HotelChange> changes = hotelChangeLog.settledChangesAfter(position, limit);
+        if (changes.isEmpty()) {
+            return HotelChangesResponse.builder()
+                    .hotels(List.of())
+                    .deletedHotelIds(List.of())
+                    .cursor(position)
+                    .hasMore(false)
+                    .build();
+        }
+
+        Map<UUID, Boolean> latestDeletion = new LinkedHashMap<>();
+        changes.forEach(change -> latestDeletion.put(change.getHotelId(), change.isDeleted()));
+        List<UUID> changedHotelIds = latestDeletion.entrySet().stream()
+                .filter(entry -> !entry.getValue())
+                .map(Map.Entry::getKey)
                 .toList();
+        Map<UUID, Hotel> hotels = changedHotelIds.isEmpty()
+                ? Map.of()
+                : hotelRepository.findAllById(changedHotelIds).stream()
+                        .collect(Collectors.toMap(Hotel::getId, hotel -> hotel));
+
+        List<Hotel> existing = new ArrayList<>();
+        List<UUID> deletedHotelIds = new ArrayList<>();
+        latestDeletion.keySet().forEach(hotelId -> {
+            Hotel hotel = hotels.get(hotelId);
+            if (hotel == null) {
+                deletedHotelIds.add(hotelId);
+            } else {
+                existing.add(hotel);
+            }
+        });
+        return HotelChangesResponse.builder()
+                .hotels(mapToExportResponses(existing))
+                .deletedHotelIds(deletedHotelIds)
+                .cursor(changes.getLast().getId())
+                .hasMore(changes.size() >= limit)
+                .build();
+    }
+
+    /**
+     * Position of the newest settled change. A full export taken after reading it covers every
+     * change up to this position.
+     */
+    @Transactional(readOnly = true)
+    public long exportCursor() {
+        return hotelChangeLog.latestSettledPosition();
     }
     
+    /**
+     * Rows after the cursor in listing order. The redundant bound on the sort key alone lets
+     * Postgres start an index range scan at the cursor.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate keysetAfter(CriteriaBuilder cb, Root<Hotel> root, HotelListingCursor after) {
+        Expression key = root.get(after.sort().attribute());
+        Expression<UUID> id = root.get("id");
+        Comparable value = after.key();
+        if (after.sort().ascending()) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.greaterThan(id, after.id())));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.lessThan(id, after.id())));
+    }
+
+    private Long estimateCount(SearchCriteria criteria) {
+        if (countEstimator == null) {
+            return null;
+        }
+        try {
+            return countEstimator.estimate(criteria);
+        } catch (RuntimeException e) {
+            log.warn("Failed to estimate hotel count: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private Specification<Hotel> buildSearchSpecification(SearchCriteria criteria) {
         Specification<Hotel> spec = Specification.where(null);
         
@@ -195,28 +407,34 @@ public class HotelService {
         }
         
         if (criteria.getKeyword() != null && !criteria.getKeyword().trim().isEmpty()) {
-            spec = spec.and((root, query, cb) -> {
-                String pattern = "%" + criteria.getKeyword().toLowerCase() + "%";
-                return cb.or(
-                        cb.like(cb.lower(root.get("name")), pattern),
-                        cb.like(cb.lower(root.get("description")), pattern)
-                );
-            });
+            spec = spec.and(HotelTextSearch.matches(criteria.getKeyword()));
         }
         
         return spec;
     }
 
     private Page<HotelResponse> mapSearchResults(Page<Hotel> hotels, UUID userId) {
-        List<Hotel> hotelList = hotels.getContent();
+        return hotels.map(searchResultMapper(hotels.getContent(), userId));
+    }
+
+    /**
+     * Enriches a page of hotels. Availability, the favorite counts, and the caller's favorites each
+     * run on a virtual thread; the favorite lookups query in read-only transactions of their own, so
+     * a failed query cannot doom the caller's transaction. Each lookup is awaited up to its timeout
+     * and then cancelled; a source that fails or times out leaves its fields unknown instead of
+     * failing the page.
+     */
+    private Function<Hotel, HotelResponse> searchResultMapper(List<Hotel> hotelList, UUID userId) {
         if (hotelList.isEmpty()) {
-            return hotels.map(hotel -> mapToResponse(hotel, userId));
+            return hotel -> mapToResponse(hotel, userId);
         }
 
         List<UUID> hotelIds = hotelList.stream()
                 .map(Hotel::getId)
                 .filter(Objects::nonNull)
                 .toList();
+
+        // Room types stay on the calling thread: their hotels are read through its persistence context
         List<RoomType> pageRoomTypes = roomTypeRepository.findByHotelIdIn(hotelIds);
         if (pageRoomTypes == null) {
             pageRoomTypes = List.of();
@@ -229,20 +447,65 @@ public class HotelService {
                 .map(RoomType::getId)
                 .filter(Objects::nonNull)
                 .toList();
-        Map<UUID, Integer> availabilityMap = roomTypeIds.isEmpty()
-                ? Map.of()
-                : roomService.getRoomAvailabilities(roomTypeIds);
+        Future<Map<UUID, Integer>> availabilityLookup = roomTypeIds.isEmpty()
+                ? null
+                : enrichmentExecutor.submit(() -> roomService.getRoomAvailabilities(roomTypeIds));
+
+        Duration favoritesLimit = DurationStyle.detectAndParse(favoritesTimeout);
+        Future<Map<UUID, Long>> favoriteCountsLookup = enrichmentExecutor.submit(
+                readOnlyQuery(favoritesLimit, () -> getFavoriteCounts(hotelIds)));
+        Future<Set<UUID>> favoritesLookup = userId == null
+                ? null
+                : enrichmentExecutor.submit(readOnlyQuery(favoritesLimit, () -> getFavoriteHotelIds(userId, hotelIds)));
 
-        Map<UUID, Long> favoriteCounts = getFavoriteCounts(hotelIds);
-        Set<UUID> favoriteHotelIds = getFavoriteHotelIds(userId, hotelIds);
+        Map<UUID, Long> favoriteCounts = await("favorite counts", favoriteCountsLookup, favoritesLimit, null);
+        Set<UUID> favoriteHotelIds = favoritesLookup == null
+                ? Set.of()
+                : await("favorites", favoritesLookup, favoritesLimit, null);
+        Map<UUID, Integer> availabilityMap = availabilityLookup == null
+                ? Map.of()
+                : await("availability", availabilityLookup, DurationStyle.detectAndParse(availabilityTimeout), Map.of());
 
-        return hotels.map(hotel -> {
+        return hotel -> {
             UUID hotelId = hotel.getId();
             List<RoomType> roomTypes = roomTypesByHotelId.getOrDefault(hotelId, List.of());
-            Boolean isFavorite = userId == null ? null : favoriteHotelIds.contains(hotelId);
-            Long favoriteCount = favoriteCounts.getOrDefault(hotelId, 0L);
+            Boolean isFavorite = userId == null || favoriteHotelIds == null
+                    ? null
+                    : favoriteHotelIds.contains(hotelId);
+            Long favoriteCount = favoriteCounts == null ? null : favoriteCounts.getOrDefault(hotelId, 0L);
             return mapToResponse(hotel, roomTypes, availabilityMap, favoriteCount, isFavorite);
-        });
+        };
+    }
+
+    private <T> Callable<T> readOnlyQuery(Duration timeout, Supplier<T> query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        // Cancelling the future does not stop a running statement; the statement timeout does
+        transaction.setTimeout((int) Math.max(1, Math.ceil(timeout.toMillis() / 1000.0)));
+        return () -> transaction.execute(status -> query.get());
+    }
+
+    private <T> T await(String source, Future<T> lookup, Duration timeout, T fallback) {
+        try {
+            return lookup.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException error) {
+            lookup.cancel(true);
+            log.warn("Hotel {} lookup timed out; returning the page without it", source);
+            return fallback;
+        } catch (InterruptedException error) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException error) {
+            log.warn("Hotel {} lookup failed; returning the page without it", source, error.getCause());
+            return fallback;
+        }
+    }
+
+    @PreDestroy
+    void shutdownEnrichment() {
+        enrichmentExecutor.shutdownNow();
     }
 
     private Map<UUID, Long> getFavoriteCounts(List<UUID> hotelIds) {
@@ -269,6 +532,55 @@ public class HotelService {
         return favoriteHotelIds == null ? Set.of() : new HashSet<>(favoriteHotelIds);
     }
 
+    /**
+     * Serves a hotel from the detail cache: the catalog part is loaded from the database only on
+     * a miss, and today's availability and the favorites are merged in from their own caches.
+     */
+    private HotelResponse getCachedHotel(UUID hotelId, UUID userId) {
+        HotelResponse catalog = detailCache.catalog(hotelId, () -> {
+            Hotel hotel = hotelRepository.findById(hotelId)
+                    .orElseThrow(() -> new HotelNotFoundException("Hotel not found with id: " + hotelId));
+            List<RoomType> roomTypes = hotel.getRoomTypes() == null ? List.of() : hotel.getRoomTypes();
+            return mapToResponse(hotel, roomTypes, Map.of(), null, null);
+        });
+
+        List<RoomTypeResponse> catalogRoomTypes = catalog.getRoomTypes() == null ? List.of() : catalog.getRoomTypes();
+        List<UUID> roomTypeIds = catalogRoomTypes.stream()
+                .map(RoomTypeResponse::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<UUID, Integer> availabilityMap = roomTypeIds.isEmpty()
+                ? Map.of()
+                : detailCache.availability(roomTypeIds, roomService::getRoomAvailabilities);
+        Long favoriteCount = detailCache.favoriteCount(
+                hotelId, () -> favoriteRepository.countFavoritesByHotelId(hotelId));
+        Boolean isFavorite = userId == null
+                ? null
+                : detailCache.isFavorite(userId, hotelId,
+                        () -> favoriteRepository.existsByUserIdAndHotelId(userId, hotelId));
+
+        List<RoomTypeResponse> roomTypes = catalogRoomTypes.stream()
+                .map(roomType -> {
+                    Integer availableRooms = availabilityMap.get(roomType.getId());
+                    return roomType.toBuilder()
+                            .availableRooms(availableRooms)
+                            .isAvailable(availableRooms == null ? null : availableRooms > 0)
+                            .build();
+                })
+                .toList();
+        return catalog.toBuilder()
+                .roomTypes(roomTypes)
+                .favoriteCount(favoriteCount)
+                .isFavorite(isFavorite)
+                .build();
+    }
+
+    private void evictDetail(UUID hotelId) {
+        if (detailCache != null) {
+            detailCache.evictHotel(hotelId);
+        }
+    }
+
     private HotelResponse mapToResponse(Hotel hotel, UUID userId) {
         List<RoomType> hotelRoomTypes = hotel.getRoomTypes() == null ? List.of() : hotel.getRoomTypes();
         List<UUID> roomTypeIds = hotelRoomTypes.stream()
@@ -341,8 +653,40 @@ public class HotelService {
                 .build();
     }
 
-    private HotelExportResponse mapToExportResponse(Hotel hotel) {
-        HotelResponse response = mapToResponse(hotel, null);
+    private List<HotelExportResponse> mapToExportResponses(List<Hotel> hotels) {
+        List<UUID> hotelIds = hotels.stream()
+                .map(Hotel::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        List<RoomType> roomTypes = hotelIds.isEmpty() ? List.of() : roomTypeRepository.findByHotelIdIn(hotelIds);
+        if (roomTypes == null) {
+            roomTypes = List.of();
+        }
+
+        Map<UUID, List<RoomType>> roomTypesByHotelId = roomTypes.stream()
+                .filter(roomType -> roomType.getHotel() != null && roomType.getHotel().getId() != null)
+                .collect(Collectors.groupingBy(roomType -> roomType.getHotel().getId()));
+        List<UUID> roomTypeIds = roomTypesByHotelId.values().stream()
+                .flatMap(List::stream)
+                .map(RoomType::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<UUID, Integer> availabilityMap = roomTypeIds.isEmpty()
+                ? Map.of()
+                : roomService.getRoomAvailabilities(roomTypeIds);
+        Map<UUID, Long> favoriteCounts = hotelIds.isEmpty() ? Map.of() : getFavoriteCounts(hotelIds);
+
+        return hotels.stream()
+                .map(hotel -> mapToExportResponse(mapToResponse(
+                        hotel,
+                        roomTypesByHotelId.getOrDefault(hotel.getId(), List.of()),
+                        availabilityMap,
+                        favoriteCounts.getOrDefault(hotel.getId(), 0L),
+                        null)))
+                .toList();
+    }
+
+    private HotelExportResponse mapToExportResponse(HotelResponse response) {
         List<RoomTypeResponse> rooms = response.getRoomTypes();
         int totalRooms = rooms.stream()
                 .mapToInt(room -> room.getTotalInventory() == null ? 0 : room.getTotalInventory())
@@ -369,12 +713,13 @@ public class HotelService {
                 .availableRooms(availableRooms)
                 .averageRating(null)
                 .reviewCount(null)
+                .favoriteCount(response.getFavoriteCount())
                 .isActive(true)
                 .roomTypes(rooms)
                 .build();
     }
 
-    private HotelCreatedEvent toHotelCreatedEvent(Hotel hotel) {
+    static HotelCreatedEvent toHotelCreatedEvent(Hotel hotel) {
         return HotelCreatedEvent.builder()
                 .hotelId(hotel.getId())
                 .name(hotel.getName())
@@ -407,7 +752,7 @@ public class HotelService {
                 .build();
     }
 
-    private Double toDouble(BigDecimal value) {
+    private static Double toDouble(BigDecimal value) {
         return value == null ? null : value.doubleValue();
     }
 }
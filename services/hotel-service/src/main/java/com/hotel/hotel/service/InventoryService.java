@@ -6,6 +6,7 @@ import com.hotel.hotel.security.InternalServiceTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
@@ -25,12 +26,17 @@ import java.util.UUID;
 public class InventoryService {
 
     public static final int BOOKING_HORIZON_DAYS = 395;
+    // Most room types booking-service initializes per call
+    static final int INITIALIZE_BATCH_LIMIT = 1000;
     
     private final WebClient.Builder webClientBuilder;
     private final InternalServiceTokenService tokenService;
 
     @Value("${services.booking-service.url:http://booking-service:8083}")
     private String bookingServiceUrl;
+
+    @Value("${services.booking-service.batch-timeout:60s}")
+    private String batchTimeout = "60s";
     
     public Integer getAvailableRooms(UUID roomTypeId, LocalDate date) {
         try {
@@ -114,6 +120,29 @@ public class InventoryService {
                         .build()));
     }
 
+    /**
+     * Initializes the inventory of many new room types with one booking-service call per
+     * {@value #INITIALIZE_BATCH_LIMIT} room types; each call writes all of its rows in one
+     * transaction.
+     */
+    public void initializeInventories(Map<UUID, Integer> totalRoomsByRoomType) {
+        if (totalRoomsByRoomType == null || totalRoomsByRoomType.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> roomTypes = totalRoomsByRoomType.entrySet().stream()
+                .map(entry -> Map.<String, Object>of("roomTypeId", entry.getKey(), "totalRooms", entry.getValue()))
+                .toList();
+        Duration timeout = DurationStyle.detectAndParse(batchTimeout);
+        for (int from = 0; from < roomTypes.size(); from += INITIALIZE_BATCH_LIMIT) {
+            List<Map<String, Object>> batch =
+                    roomTypes.subList(from, Math.min(from + INITIALIZE_BATCH_LIMIT, roomTypes.size()));
+            executeLifecycleRequest(inventoryWebClient().post()
+                    .uri("/api/v1/inventory/initialize-batch")
+                    .bodyValue(Map.of("roomTypes", batch, "daysAhead", BOOKING_HORIZON_DAYS)),
+                    timeout);
+        }
+    }
+
     public void setDesiredCapacity(UUID roomTypeId, int totalRooms) {
         executeLifecycleRequest(inventoryWebClient().put()
                 .uri(uriBuilder -> uriBuilder.path("/api/v1/inventory/{roomTypeId}/capacity")
@@ -144,12 +173,16 @@ public class InventoryService {
     }
 
     private void executeLifecycleRequest(WebClient.RequestHeadersSpec<?> request) {
+        executeLifecycleRequest(request, Duration.ofSeconds(5));
+    }
+
+    private void executeLifecycleRequest(WebClient.RequestHeadersSpec<?> request, Duration timeout) {
         try {
             request.retrieve()
                     .onStatus(status -> status.value() == 409, response -> response.createException())
                     .onStatus(HttpStatusCode::isError, response -> response.createException())
                     .toBodilessEntity()
-                    .timeout(Duration.ofSeconds(5))
+                    .timeout(timeout)
                     .block();
         } catch (WebClientResponseException.Conflict e) {
             throw new InventoryLifecycleConflictException(
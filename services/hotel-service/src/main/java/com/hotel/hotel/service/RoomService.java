@@ -10,6 +10,7 @@ import com.hotel.hotel.repository.HotelRepository;
 import com.hotel.hotel.repository.RoomTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
@@ -30,6 +31,10 @@ public class RoomService {
     private final RoomTypeRepository roomTypeRepository;
     private final HotelRepository hotelRepository;
     private final InventoryService inventoryService;
+    private final HotelChangeLog hotelChangeLog;
+
+    @Autowired(required = false)
+    private HotelDetailCache detailCache;
     
     public List<RoomTypeResponse> getRoomsByHotel(UUID hotelId) {
         log.info("Getting rooms for hotel: {}", hotelId);
@@ -127,6 +132,8 @@ public class RoomService {
                 .build();
         
         RoomType saved = roomTypeRepository.saveAndFlush(roomType);
+        hotelChangeLog.recordChange(hotelId);
+        evictDetail(hotelId);
 
         compensateOnRollback(
                 "remove inventory for rolled-back room creation " + saved.getId(),
@@ -151,6 +158,8 @@ public class RoomService {
         roomType.setTotalInventory(request.getTotalInventory());
         
         RoomType updated = roomTypeRepository.saveAndFlush(roomType);
+        hotelChangeLog.recordChange(updated.getHotel().getId());
+        evictDetail(updated.getHotel().getId());
 
         compensateOnRollback(
                 "restore capacity for rolled-back room update " + roomTypeId,
@@ -168,6 +177,8 @@ public class RoomService {
 
         roomTypeRepository.delete(roomType);
         roomTypeRepository.flush();
+        hotelChangeLog.recordChange(roomType.getHotel().getId());
+        evictDetail(roomType.getHotel().getId());
 
         compensateOnRollback(
                 "restore inventory for rolled-back room deletion " + roomTypeId,
@@ -221,6 +232,12 @@ public class RoomService {
         return mapToResponse(roomType, availableRooms);
     }
 
+    private void evictDetail(UUID hotelId) {
+        if (detailCache != null) {
+            detailCache.evictHotel(hotelId);
+        }
+    }
+
     private void compensateOnRollback(String description, Runnable compensation) {
         if (!TransactionSynchronizationManager.isSynchronizationActive()) {
             log.debug("No active transaction; rollback compensation not registered for {}", description);
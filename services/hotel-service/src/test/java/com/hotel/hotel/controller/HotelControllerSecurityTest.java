@@ -1,8 +1,16 @@
 package com.hotel.hotel.controller;
 
 import com.hotel.hotel.config.SecurityConfig;
+import com.hotel.hotel.dto.HotelChangesResponse;
+import com.hotel.hotel.dto.HotelExportResponse;
+import com.hotel.hotel.dto.HotelImportResponse;
+import com.hotel.hotel.dto.HotelListingSort;
+import com.hotel.hotel.dto.HotelSliceResponse;
+import com.hotel.hotel.entity.HotelImportFormat;
+import com.hotel.hotel.entity.HotelImportStatus;
 import com.hotel.hotel.security.InternalServiceTokenService;
 import com.hotel.hotel.security.TrustedHeaderAuthenticationFilter;
+import com.hotel.hotel.service.HotelImportService;
 import com.hotel.hotel.service.HotelService;
 import com.hotel.hotel.service.RoomService;
 import org.junit.jupiter.api.Test;
@@ -10,12 +18,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(HotelController.class)
@@ -31,6 +54,9 @@ class HotelControllerSecurityTest {
     @MockBean
     private RoomService roomService;
 
+    @MockBean
+    private HotelImportService hotelImportService;
+
     @MockBean
     private InternalServiceTokenService tokenService;
 
@@ -60,4 +86,118 @@ class HotelControllerSecurityTest {
                         .header("X-Internal-Token", "valid-token"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void exportChangesAllowsSearchServiceAndClampsPageSize() throws Exception {
+        when(tokenService.isValid("search-service", "valid-token")).thenReturn(true);
+        when(hotelService.exportChanges(7L, 1000)).thenReturn(HotelChangesResponse.builder()
+                .hotels(List.of())
+                .deletedHotelIds(List.of())
+                .cursor(7L)
+                .build());
+
+        mockMvc.perform(get("/api/v1/hotels/export/changes")
+                        .param("after", "7")
+                        .param("limit", "100000")
+                        .header("X-Internal-Service", "search-service")
+                        .header("X-Internal-Token", "valid-token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursor").value(7));
+    }
+
+    @Test
+    void exportChangesRejectsAnonymousCaller() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/export/changes"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void importReadsCsvForAdminsAndReportsAFailedImport() throws Exception {
+        UUID importId = UUID.randomUUID();
+        when(tokenService.isValid("api-gateway", "valid-token")).thenReturn(true);
+        when(hotelImportService.importHotels(eq(HotelImportFormat.CSV), any(), eq(importId)))
+                .thenReturn(HotelImportResponse.builder()
+                        .id(importId)
+                        .status(HotelImportStatus.FAILED)
+                        .recordsCommitted(50)
+                        .error("Record 51: City is required")
+                        .build());
+
+        mockMvc.perform(post("/api/v1/hotels/imports")
+                        .header("X-Internal-Service", "api-gateway")
+                        .header("X-Internal-Token", "valid-token")
+                        .header("X-User-Role", "ADMIN")
+                        .param("importId", importId.toString())
+                        .contentType("text/csv; charset=UTF-8")
+                        .content("name,city,country\n"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.recordsCommitted").value(50))
+                .andExpect(jsonPath("$.error").value("Record 51: City is required"));
+    }
+
+    @Test
+    void importRejectsNonAdminCallers() throws Exception {
+        when(tokenService.isValid("api-gateway", "valid-token")).thenReturn(true);
+
+        mockMvc.perform(post("/api/v1/hotels/imports")
+                        .header("X-Internal-Service", "api-gateway")
+                        .header("X-Internal-Token", "valid-token")
+                        .header("X-User-Role", "USER")
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(hotelImportService);
+    }
+
+    @Test
+    void scrollIsPublicAndClampsPageSize() throws Exception {
+        when(hotelService.listHotels(any(), eq(HotelListingSort.NEWEST), eq("abc"), eq(100), eq(true), isNull()))
+                .thenReturn(HotelSliceResponse.builder()
+                        .hotels(List.of())
+                        .nextCursor("def")
+                        .hasMore(true)
+                        .approximateTotal(1200L)
+                        .build());
+
+        mockMvc.perform(get("/api/v1/hotels/scroll")
+                        .param("city", "Taipei")
+                        .param("cursor", "abc")
+                        .param("size", "5000")
+                        .param("sort", "Newest")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.approximateTotal").value(1200));
+    }
+
+    @Test
+    void scrollRejectsUnknownSort() throws Exception {
+        mockMvc.perform(get("/api/v1/hotels/scroll").param("sort", "price"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStreamsNdjsonWhenRequested() throws Exception {
+        when(tokenService.isValid("search-service", "valid-token")).thenReturn(true);
+        when(hotelService.streamExport(anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<HotelExportResponse>> chunkConsumer = invocation.getArgument(1);
+            chunkConsumer.accept(List.of(
+                    HotelExportResponse.builder().name("One").build(),
+                    HotelExportResponse.builder().name("Two").build()));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/hotels/export")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header("X-Internal-Service", "search-service")
+                        .header("X-Internal-Token", "valid-token"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("\\{.*\"name\":\"One\".*}\n\\{.*\"name\":\"Two\".*}\n")));
+    }
 }
@@ -0,0 +1,43 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.dto.SearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotelCountEstimatorTest {
+
+    @Test
+    void explainsTheFilteredQueryAndReadsTheTopRowEstimate() {
+        EntityManager entityManager = mock(EntityManager.class);
+        Query explain = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(explain);
+        when(explain.getResultList()).thenReturn(List.of(
+                "Bitmap Heap Scan on hotels  (cost=12.20..80.41 rows=37 width=4)",
+                "  Recheck Cond: (lower((city)::text) = 'taipei'::text)"));
+
+        Long estimate = new HotelCountEstimator(entityManager).estimate(
+                SearchCriteria.builder().city("Taipei").keyword("grand").build());
+
+        assertEquals(37L, estimate);
+        verify(entityManager).createNativeQuery("EXPLAIN SELECT 1 FROM hotel_svc.hotels WHERE lower(city) = :city AND "
+                + HotelTextSearch.NATIVE_MATCH);
+        verify(explain).setParameter("city", "taipei");
+        verify(explain).setParameter("query", "grand:*");
+    }
+
+    @Test
+    void planLinesWithoutEstimateGiveNoTotal() {
+        assertEquals(120L, HotelCountEstimator.estimatedRows("Seq Scan on hotels  (cost=0.00..4.50 rows=120 width=4)"));
+        assertNull(HotelCountEstimator.estimatedRows("Result"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.hotel.hotel.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HotelTextSearchTest {
+
+    @Test
+    void requiresEveryTermAsAWordPrefix() {
+        assertEquals("grand:* & hôtel:*", HotelTextSearch.toPrefixQuery("  Grand  Hôtel! "));
+        assertEquals("台北:* & 101:*", HotelTextSearch.toPrefixQuery("台北 101"));
+    }
+
+    @Test
+    void dropsQueryOperatorsAndQuotesFromTheKeyword() {
+        assertEquals("spa:* & pool:* & x:*", HotelTextSearch.toPrefixQuery("spa & !pool | 'x':*"));
+        assertEquals("o:* & reilly:*", HotelTextSearch.toPrefixQuery("O'Reilly"));
+    }
+
+    @Test
+    void keywordsWithoutTermsDoNotFilter() {
+        assertNull(HotelTextSearch.toPrefixQuery("%%  -"));
+        assertNull(HotelTextSearch.toPrefixQuery(null));
+        assertNull(HotelTextSearch.matches("***"));
+        assertNotNull(HotelTextSearch.matches("harbour"));
+    }
+}
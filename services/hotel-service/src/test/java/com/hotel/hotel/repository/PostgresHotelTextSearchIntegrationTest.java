@@ -0,0 +1,93 @@
+package com.hotel.hotel.repository;
+
+import com.hotel.hotel.entity.Hotel;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresHotelTextSearchIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("hotel_test")
+            .withUsername("hotel_user")
+            .withPassword("hotel_pass");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.properties.hibernate.default_schema", () -> "public");
+    }
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // Same expression as idx_hotels_text_search in init-db/init.sql, in the test schema
+        entityManager.createNativeQuery("CREATE INDEX IF NOT EXISTS idx_hotels_text_search ON hotels "
+                + "USING GIN ((to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))))")
+                .executeUpdate();
+        hotelRepository.saveAll(List.of(
+                hotel("Harbour View Inn", "Steps from the grand canal"),
+                hotel("Grand Harbour Hotel", "Rooms over the bay"),
+                hotel("Mountain Lodge", "Quiet cabins above the harbour town")));
+        hotelRepository.flush();
+    }
+
+    @Test
+    void matchesEveryTermAsAWordPrefixWithNameMatchesFirst() {
+        List<String> names = hotelRepository.findAll(HotelTextSearch.matches("grand harb"), PageRequest.of(0, 10))
+                .map(Hotel::getName)
+                .getContent();
+
+        assertEquals(List.of("Grand Harbour Hotel", "Harbour View Inn"), names);
+    }
+
+    @Test
+    void looksMatchesUpInTheTextSearchIndex() {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+
+        List<?> plan = entityManager.createNativeQuery("EXPLAIN SELECT id FROM hotels WHERE " + HotelTextSearch.NATIVE_MATCH)
+                .setParameter("query", HotelTextSearch.toPrefixQuery("harb"))
+                .getResultList();
+
+        assertTrue(plan.stream().anyMatch(line -> line.toString().contains("idx_hotels_text_search")),
+                () -> "Plan does not use the text search index: " + plan);
+    }
+
+    private static Hotel hotel(String name, String description) {
+        return Hotel.builder()
+                .name(name)
+                .description(description)
+                .city("Lisbon")
+                .country("Portugal")
+                .starRating(4)
+                .build();
+    }
+}
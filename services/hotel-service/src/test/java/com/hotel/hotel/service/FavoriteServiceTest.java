@@ -36,6 +36,9 @@ class FavoriteServiceTest {
     @Mock
     private HotelService hotelService;
     
+    @Mock
+    private HotelChangeLog changeLog;
+    
     @InjectMocks
     private FavoriteService favoriteService;
     
@@ -69,6 +72,7 @@ class FavoriteServiceTest {
         verify(hotelRepository).existsById(testHotelId);
         verify(favoriteRepository).existsByUserIdAndHotelId(testUserId, testHotelId);
         verify(favoriteRepository).save(any(UserFavorite.class));
+        verify(changeLog).recordChange(testHotelId);
     }
     
     @Test
@@ -114,6 +118,7 @@ class FavoriteServiceTest {
         // Then
         verify(favoriteRepository).findByUserIdAndHotelId(testUserId, testHotelId);
         verify(favoriteRepository).delete(testFavorite);
+        verify(changeLog).recordChange(testHotelId);
     }
     
     @Test
@@ -0,0 +1,76 @@
+package com.hotel.hotel.service;
+
+import com.hotel.hotel.entity.HotelChange;
+import com.hotel.hotel.repository.HotelChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotelChangeLogTest {
+
+    @Mock
+    private HotelChangeRepository changeRepository;
+
+    @InjectMocks
+    private HotelChangeLog changeLog;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(changeLog);
+    }
+
+    @Test
+    void recordChange_WritesImmediatelyWithoutTransaction() {
+        UUID hotelId = UUID.randomUUID();
+
+        changeLog.recordChange(hotelId);
+
+        verify(changeRepository).save(any(HotelChange.class));
+    }
+
+    @Test
+    void recordChange_DefersWriteUntilJustBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        UUID hotelId = UUID.randomUUID();
+        UUID deletedHotelId = UUID.randomUUID();
+
+        changeLog.recordChange(hotelId);
+        changeLog.recordChange(hotelId);
+        changeLog.recordChange(deletedHotelId);
+        changeLog.recordDeletion(deletedHotelId);
+
+        verifyNoInteractions(changeRepository);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        ArgumentCaptor<HotelChange> changes = ArgumentCaptor.forClass(HotelChange.class);
+        verify(changeRepository, times(2)).save(changes.capture());
+        assertEquals(hotelId, changes.getAllValues().get(0).getHotelId());
+        assertFalse(changes.getAllValues().get(0).isDeleted());
+        assertEquals(deletedHotelId, changes.getAllValues().get(1).getHotelId());
+        assertTrue(changes.getAllValues().get(1).isDeleted());
+
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertFalse(TransactionSynchronizationManager.hasResource(changeLog));
+    }
+}
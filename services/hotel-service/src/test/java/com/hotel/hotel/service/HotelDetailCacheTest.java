@@ -0,0 +1,203 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelResponse;
+import com.hotel.hotel.dto.RoomTypeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotelDetailCacheTest {
+
+    private static final Duration NEAR_TTL = Duration.ofSeconds(30);
+    private static final Duration EVICTION_TTL = Duration.ofSeconds(20);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private AtomicLong clock;
+    private HotelDetailCache cache;
+    private UUID hotelId;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        clock = new AtomicLong();
+        cache = new HotelDetailCache(objectMapper, redisTemplate, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), NEAR_TTL, Duration.ofSeconds(15), Duration.ofSeconds(60), EVICTION_TTL,
+                clock::get);
+        hotelId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadsTheCatalogOnceAndSharesItThroughRedis() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        HotelResponse catalog = catalog();
+
+        assertSame(catalog, cache.catalog(hotelId, () -> {
+            loads.incrementAndGet();
+            return catalog;
+        }));
+        assertSame(catalog, cache.catalog(hotelId, () -> {
+            loads.incrementAndGet();
+            return catalog;
+        }));
+
+        assertEquals(1, loads.get());
+        verify(valueOperations).setIfAbsent(
+                eq(HotelDetailCache.REDIS_KEY_PREFIX + hotelId), anyString(), eq(Duration.ofMinutes(10)));
+
+        clock.addAndGet(NEAR_TTL.toNanos());
+        when(valueOperations.get(HotelDetailCache.REDIS_KEY_PREFIX + hotelId))
+                .thenReturn(objectMapper.writeValueAsString(catalog));
+        HotelResponse shared = cache.catalog(hotelId, () -> {
+            loads.incrementAndGet();
+            return catalog;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals("Harbour Hotel", shared.getName());
+        assertEquals(catalog.getCreatedAt(), shared.getCreatedAt());
+        assertEquals(1, shared.getRoomTypes().size());
+    }
+
+    @Test
+    void evictsTheCatalogOnlyAfterTheWriteCommits() {
+        cache.catalog(hotelId, this::catalog);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictHotel(hotelId);
+
+        assertEquals(1, cache.size());
+        verify(valueOperations, never()).set(anyString(), eq(HotelDetailCache.EVICTED), any(Duration.class));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(0, cache.size());
+        verify(valueOperations).set(HotelDetailCache.REDIS_KEY_PREFIX + hotelId, HotelDetailCache.EVICTED, EVICTION_TTL);
+    }
+
+    @Test
+    void treatsTheEvictionMarkerAsAMissAndNeverOverwritesIt() {
+        when(valueOperations.get(HotelDetailCache.REDIS_KEY_PREFIX + hotelId)).thenReturn(HotelDetailCache.EVICTED);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.catalog(hotelId, () -> {
+            loads.incrementAndGet();
+            return catalog();
+        });
+
+        assertEquals(1, loads.get());
+        verify(valueOperations).setIfAbsent(
+                eq(HotelDetailCache.REDIS_KEY_PREFIX + hotelId), anyString(), eq(Duration.ofMinutes(10)));
+        verify(valueOperations, never()).set(anyString(), anyString(), eq(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void doesNotCacheACatalogLoadedWhileAnEvictionCommitted() {
+        HotelResponse stale = cache.catalog(hotelId, () -> {
+            cache.evictHotel(hotelId);
+            return catalog();
+        });
+
+        assertEquals("Harbour Hotel", stale.getName());
+        assertEquals(0, cache.size());
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    void loadsOnlyMissingAvailabilityAndKeepsUnknownCountsUncached() {
+        UUID cached = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        List<List<UUID>> requested = new ArrayList<>();
+
+        cache.availability(List.of(cached, unknown), ids -> {
+            requested.add(ids);
+            return Map.of(cached, 4);
+        });
+        Map<UUID, Integer> availability = cache.availability(List.of(cached, unknown), ids -> {
+            requested.add(ids);
+            return Map.of();
+        });
+
+        assertEquals(List.of(List.of(cached, unknown), List.of(unknown)), requested);
+        assertEquals(Map.of(cached, 4), availability);
+
+        clock.addAndGet(Duration.ofSeconds(15).toNanos());
+        cache.availability(List.of(cached), ids -> {
+            requested.add(ids);
+            return Map.of(cached, 3);
+        });
+        assertEquals(List.of(cached), requested.get(2));
+    }
+
+    @Test
+    void favoritesAreEvictedPerUserAndHotel() {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+        cache.favoriteCount(hotelId, () -> 2L);
+        cache.isFavorite(userId, hotelId, () -> false);
+        cache.isFavorite(otherUserId, hotelId, () -> true);
+
+        cache.evictFavorite(userId, hotelId);
+
+        assertEquals(3L, cache.favoriteCount(hotelId, () -> 3L));
+        assertEquals(true, cache.isFavorite(userId, hotelId, () -> true));
+        assertEquals(true, cache.isFavorite(otherUserId, hotelId, () -> false));
+        assertNull(cache.isFavorite(UUID.randomUUID(), hotelId, () -> null));
+    }
+
+    private HotelResponse catalog() {
+        return HotelResponse.builder()
+                .id(hotelId)
+                .name("Harbour Hotel")
+                .city("Keelung")
+                .createdAt(LocalDateTime.of(2026, 3, 1, 9, 30))
+                .minPrice(new BigDecimal("120.00"))
+                .maxPrice(new BigDecimal("120.00"))
+                .roomTypes(List.of(RoomTypeResponse.builder()
+                        .id(UUID.randomUUID())
+                        .hotelId(hotelId)
+                        .name("Twin")
+                        .pricePerNight(new BigDecimal("120.00"))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelImportRecord;
+import com.hotel.hotel.entity.HotelImportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void csvRowsOfTheSameHotelFormOneRecord() throws Exception {
+        HotelImportReader reader = reader(HotelImportFormat.CSV, """
+                name,city,country,address,amenities,room_name,room_description,capacity,price_per_night,total_inventory
+                Harbour Hotel,Keelung,Taiwan,1 Pier Rd,WiFi | Pool,Twin,"Two beds, sea view",2,120.00,10
+                Harbour Hotel,Keelung,Taiwan,1 Pier Rd,WiFi | Pool,Suite,"Says ""hello""
+                on two lines",4,300.50,2
+
+                Inn,Keelung,Taiwan,,,,,,,
+                """);
+
+        HotelImportRecord harbour = reader.read();
+        HotelImportRecord inn = reader.read();
+
+        assertEquals("Harbour Hotel", harbour.getHotel().getName());
+        assertEquals(List.of("WiFi", "Pool"), harbour.getHotel().getAmenities());
+        assertEquals(List.of("Twin", "Suite"), harbour.getRoomTypes().stream().map(room -> room.getName()).toList());
+        assertEquals("Two beds, sea view", harbour.getRoomTypes().get(0).getDescription());
+        assertEquals("Says \"hello\"\non two lines", harbour.getRoomTypes().get(1).getDescription());
+        assertEquals(new BigDecimal("300.50"), harbour.getRoomTypes().get(1).getPricePerNight());
+        assertEquals(2, harbour.getRoomTypes().get(1).getTotalInventory());
+        assertEquals("Inn", inn.getHotel().getName());
+        assertNull(inn.getHotel().getAddress());
+        assertTrue(inn.getRoomTypes().isEmpty());
+        assertNull(reader.read());
+    }
+
+    @Test
+    void ndjsonLinesHoldTheHotelNextToItsRoomTypes() throws Exception {
+        HotelImportReader reader = reader(HotelImportFormat.NDJSON, """
+                {"name":"Harbour Hotel","city":"Keelung","country":"Taiwan","starRating":4,"roomTypes":[{"name":"Twin","capacity":2,"pricePerNight":120,"totalInventory":10}]}
+
+                {"name":"Inn","city":"Keelung","country":"Taiwan"}
+                """);
+
+        HotelImportRecord harbour = reader.read();
+        HotelImportRecord inn = reader.read();
+
+        assertEquals("Harbour Hotel", harbour.getHotel().getName());
+        assertEquals(4, harbour.getHotel().getStarRating());
+        assertEquals(10, harbour.getRoomTypes().get(0).getTotalInventory());
+        assertEquals("Inn", inn.getHotel().getName());
+        assertNull(inn.getRoomTypes());
+        assertNull(reader.read());
+    }
+
+    @Test
+    void csvRejectsUnknownColumnsAndBadNumbers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> reader(HotelImportFormat.CSV, "name,city,country,stars\n").read());
+
+        HotelImportReader reader = reader(HotelImportFormat.CSV,
+                "name,city,country,room_name,capacity\nInn,Keelung,Taiwan,Twin,two\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, reader::read);
+        assertEquals("Invalid capacity: two", error.getMessage());
+    }
+
+    private HotelImportReader reader(HotelImportFormat format, String body) {
+        return new HotelImportReader(format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), objectMapper);
+    }
+}
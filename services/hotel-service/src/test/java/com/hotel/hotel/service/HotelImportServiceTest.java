@@ -0,0 +1,153 @@
+package com.hotel.hotel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.hotel.dto.HotelImportResponse;
+import com.hotel.hotel.entity.Hotel;
+import com.hotel.hotel.entity.HotelImport;
+import com.hotel.hotel.entity.HotelImportFormat;
+import com.hotel.hotel.entity.HotelImportStatus;
+import com.hotel.hotel.entity.RoomType;
+import com.hotel.hotel.event.EventPublisher;
+import com.hotel.hotel.event.HotelCreatedEvent;
+import com.hotel.hotel.repository.HotelImportRepository;
+import com.hotel.hotel.repository.HotelImportWriter;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HotelImportServiceTest {
+
+    private HotelImportRepository importRepository;
+    private HotelImportWriter importWriter;
+    private EventPublisher eventPublisher;
+    private InventoryService inventoryService;
+    private HotelImportService service;
+    private HotelImport hotelImport;
+
+    @BeforeEach
+    void setUp() {
+        importRepository = mock(HotelImportRepository.class);
+        importWriter = mock(HotelImportWriter.class);
+        eventPublisher = mock(EventPublisher.class);
+        inventoryService = mock(InventoryService.class);
+        service = new HotelImportService(importRepository, importWriter, eventPublisher, inventoryService,
+                TransactionOperations.withoutTransaction(), new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+
+        hotelImport = HotelImport.builder()
+                .id(UUID.randomUUID())
+                .format(HotelImportFormat.NDJSON)
+                .status(HotelImportStatus.RUNNING)
+                .runId(UUID.randomUUID())
+                .build();
+        when(importRepository.save(any(HotelImport.class))).thenReturn(hotelImport);
+        when(importRepository.findByIdForUpdate(hotelImport.getId())).thenReturn(Optional.of(hotelImport));
+        when(importRepository.advance(eq(hotelImport.getId()), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> hotelImport.getRunId().equals(invocation.getArgument(1)) ? 1 : 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesChunksWithOneBatchPerTableAndOneInventoryCall() {
+        HotelImportResponse response = service.importHotels(HotelImportFormat.NDJSON, body(
+                hotel("One", 10), hotel("Two", 5), hotel("Three", 3)), null);
+
+        assertEquals(HotelImportStatus.COMPLETED, response.getStatus());
+        assertNull(response.getError());
+        verify(importRepository).advance(eq(hotelImport.getId()), any(), eq(0L), eq(2L), eq(2L), eq(2L), any());
+        verify(importRepository).advance(eq(hotelImport.getId()), any(), eq(2L), eq(3L), eq(1L), eq(1L), any());
+
+        ArgumentCaptor<List<Hotel>> hotels = ArgumentCaptor.forClass(List.class);
+        verify(importWriter, times(2)).insertHotels(hotels.capture());
+        assertEquals(List.of("One", "Two"), hotels.getAllValues().get(0).stream().map(Hotel::getName).toList());
+        ArgumentCaptor<List<RoomType>> roomTypes = ArgumentCaptor.forClass(List.class);
+        verify(importWriter, times(2)).insertRoomTypes(roomTypes.capture());
+        RoomType twin = roomTypes.getAllValues().get(0).get(0);
+        assertEquals(hotels.getAllValues().get(0).get(0).getId(), twin.getHotel().getId());
+
+        ArgumentCaptor<List<HotelCreatedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisher, times(2)).publishHotelsCreated(events.capture());
+        assertEquals(2, events.getAllValues().get(0).size());
+        ArgumentCaptor<Map<UUID, Integer>> inventory = ArgumentCaptor.forClass(Map.class);
+        verify(inventoryService, times(2)).initializeInventories(inventory.capture());
+        assertEquals(10, inventory.getAllValues().get(0).get(twin.getId()));
+    }
+
+    @Test
+    void resumeSkipsCommittedRecordsAndStopsAtAnInvalidOne() {
+        hotelImport.setStatus(HotelImportStatus.FAILED);
+        hotelImport.setRecordsCommitted(1);
+
+        HotelImportResponse response = service.importHotels(HotelImportFormat.NDJSON, body(
+                hotel("One", 10), hotel("Two", 5), "{\"name\":\"\",\"city\":\"Keelung\",\"country\":\"Taiwan\"}",
+                hotel("Four", 1)), hotelImport.getId());
+
+        // Record two is written before the import stops at record three
+        verify(importRepository).advance(eq(hotelImport.getId()), any(), eq(1L), eq(2L), eq(1L), eq(1L), any());
+        verify(importRepository, times(1)).advance(any(), any(), anyLong(), anyLong(), anyLong(), anyLong(), any());
+        assertEquals(HotelImportStatus.FAILED, response.getStatus());
+        assertEquals("Record 3: Hotel name is required", response.getError());
+    }
+
+    @Test
+    void runTakenOverByAResumeStopsWithoutWritingOrFinishing() {
+        // Another request resumes the import before the first chunk is written
+        when(importRepository.advance(eq(hotelImport.getId()), any(), anyLong(), anyLong(), anyLong(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    hotelImport.setRunId(UUID.randomUUID());
+                    return 0;
+                });
+
+        HotelImportResponse response = service.importHotels(HotelImportFormat.NDJSON, body(hotel("One", 10)), null);
+
+        assertEquals(HotelImportStatus.RUNNING, response.getStatus());
+        assertNull(response.getError());
+        verify(importWriter, never()).insertHotels(anyList());
+        verify(inventoryService, never()).initializeInventories(anyMap());
+    }
+
+    @Test
+    void writesChangeFeedEntriesAfterProvisioningInventory() {
+        service.importHotels(HotelImportFormat.NDJSON, body(hotel("One", 10)), null);
+
+        InOrder order = inOrder(importWriter, inventoryService);
+        order.verify(importWriter).insertHotels(anyList());
+        order.verify(inventoryService).initializeInventories(anyMap());
+        order.verify(importWriter).insertChanges(anyList());
+    }
+
+    private String hotel(String name, int rooms) {
+        return "{\"name\":\"" + name + "\",\"city\":\"Keelung\",\"country\":\"Taiwan\",\"roomTypes\":"
+                + "[{\"name\":\"Twin\",\"capacity\":2,\"pricePerNight\":120,\"totalInventory\":" + rooms + "}]}";
+    }
+
+    private ByteArrayInputStream body(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
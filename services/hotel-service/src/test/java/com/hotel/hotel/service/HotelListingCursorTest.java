@@ -0,0 +1,47 @@
+package com.hotel.hotel.service;
+
+import com.hotel.hotel.dto.HotelListingSort;
+import com.hotel.hotel.entity.Hotel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelListingCursorTest {
+
+    @Test
+    void roundTripsTheKeyOfEachSort() {
+        UUID id = UUID.randomUUID();
+        Hotel hotel = Hotel.builder()
+                .id(id)
+                .name("Inn | by the sea")
+                .createdAt(LocalDateTime.of(2026, 4, 2, 10, 15, 30, 123_456_000))
+                .build();
+
+        String byName = HotelListingCursor.after(HotelListingSort.NAME, hotel).encode();
+        String byNewest = HotelListingCursor.after(HotelListingSort.NEWEST, hotel).encode();
+
+        assertTrue(byName.matches("[A-Za-z0-9_-]+"));
+        assertEquals(new HotelListingCursor(HotelListingSort.NAME, "Inn | by the sea", id),
+                HotelListingCursor.decode(byName, HotelListingSort.NAME));
+        assertEquals(new HotelListingCursor(HotelListingSort.NEWEST, hotel.getCreatedAt(), id),
+                HotelListingCursor.decode(byNewest, HotelListingSort.NEWEST));
+    }
+
+    @Test
+    void rejectsCursorsOfAnotherSortOrMalformedOnes() {
+        Hotel hotel = Hotel.builder().id(UUID.randomUUID()).name("Inn").build();
+        String byName = HotelListingCursor.after(HotelListingSort.NAME, hotel).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> HotelListingCursor.decode(byName, HotelListingSort.NEWEST));
+        assertThrows(IllegalArgumentException.class,
+                () -> HotelListingCursor.decode("not a cursor!", HotelListingSort.NAME));
+        assertThrows(IllegalArgumentException.class,
+                () -> HotelListingCursor.decode("bmFtZXxub3QtYS11dWlkfElubg", HotelListingSort.NAME));
+    }
+}
@@ -1,20 +1,26 @@
 package com.hotel.hotel.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hotel.hotel.dto.HotelRequest;
 import com.hotel.hotel.dto.HotelResponse;
+import com.hotel.hotel.dto.HotelChangesResponse;
 import com.hotel.hotel.dto.HotelExportResponse;
 import com.hotel.hotel.dto.RoomTypeResponse;
 import com.hotel.hotel.dto.SearchCriteria;
 import com.hotel.hotel.entity.Hotel;
+import com.hotel.hotel.entity.HotelChange;
 import com.hotel.hotel.entity.RoomType;
 import com.hotel.hotel.event.EventPublisher;
 import com.hotel.hotel.exception.HotelNotFoundException;
 import com.hotel.hotel.repository.HotelRepository;
 import com.hotel.hotel.repository.RoomTypeRepository;
 import com.hotel.hotel.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,14 +33,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -66,6 +77,15 @@ class HotelServiceTest {
 
     @Mock
     private EventPublisher eventPublisher;
+
+    @Mock
+    private HotelChangeLog hotelChangeLog;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
     
     @InjectMocks
     private HotelService hotelService;
@@ -153,6 +173,45 @@ class HotelServiceTest {
         verify(hotelRepository).findById(testHotelId);
     }
     
+    @Test
+    void testGetHotelById_ServesCatalogFromDetailCacheWithLiveAvailability() {
+        UUID roomTypeId = UUID.randomUUID();
+        testHotel.setRoomTypes(List.of(RoomType.builder()
+                .id(roomTypeId)
+                .hotel(testHotel)
+                .name("King")
+                .capacity(2)
+                .pricePerNight(new BigDecimal("125.00"))
+                .totalInventory(5)
+                .build()));
+        ReflectionTestUtils.setField(hotelService, "detailCache", new HotelDetailCache(
+                new ObjectMapper(), null, new SimpleMeterRegistry(), 10, Duration.ofMinutes(10),
+                Duration.ofSeconds(30), Duration.ZERO, Duration.ofSeconds(60), Duration.ofSeconds(30),
+                System::nanoTime));
+        when(hotelRepository.findById(testHotelId)).thenReturn(Optional.of(testHotel));
+        when(roomService.getRoomAvailabilities(List.of(roomTypeId)))
+                .thenReturn(Map.of(roomTypeId, 2), Map.of(roomTypeId, 0));
+        when(favoriteRepository.countFavoritesByHotelId(testHotelId)).thenReturn(4L);
+        when(favoriteRepository.existsByUserIdAndHotelId(testUserId, testHotelId)).thenReturn(true);
+        when(roomService.mapToResponse(any(RoomType.class), any())).thenAnswer(invocation -> {
+            RoomType roomType = invocation.getArgument(0);
+            return RoomTypeResponse.builder().id(roomType.getId()).name(roomType.getName()).build();
+        });
+
+        HotelResponse first = hotelService.getHotelById(testHotelId, testUserId);
+        HotelResponse second = hotelService.getHotelById(testHotelId, testUserId);
+
+        verify(hotelRepository, times(1)).findById(testHotelId);
+        verify(favoriteRepository, times(1)).countFavoritesByHotelId(testHotelId);
+        verify(favoriteRepository, times(1)).existsByUserIdAndHotelId(testUserId, testHotelId);
+        assertEquals(new BigDecimal("125.00"), second.getMinPrice());
+        assertEquals(4L, second.getFavoriteCount());
+        assertTrue(second.getIsFavorite());
+        assertEquals(2, first.getRoomTypes().get(0).getAvailableRooms());
+        assertEquals(0, second.getRoomTypes().get(0).getAvailableRooms());
+        assertFalse(second.getRoomTypes().get(0).getIsAvailable());
+    }
+
     @Test
     void testSearchHotels_WithCityFilter() {
         // Given
@@ -227,6 +286,112 @@ class HotelServiceTest {
         verify(favoriteRepository, never()).countFavoritesByHotelId(any());
     }
 
+    @Test
+    void testSearchHotels_RunsEnrichmentLookupsConcurrently() {
+        UUID roomTypeId = UUID.randomUUID();
+        RoomType roomType = roomType(roomTypeId, testHotel, "Deluxe");
+        CountDownLatch availabilityStarted = new CountDownLatch(1);
+        when(hotelRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testHotel)));
+        when(roomTypeRepository.findByHotelIdIn(any())).thenReturn(List.of(roomType));
+        when(roomService.getRoomAvailabilities(any())).thenAnswer(invocation -> {
+            availabilityStarted.countDown();
+            return Map.of(roomTypeId, 3);
+        });
+        // Only returns once availability is being looked up at the same time
+        when(favoriteRepository.countFavoritesByHotelIds(any())).thenAnswer(invocation -> {
+            assertTrue(availabilityStarted.await(5, TimeUnit.SECONDS));
+            return List.<Object[]>of(new Object[]{testHotelId, 6L});
+        });
+        when(roomService.mapToResponse(roomType, 3))
+                .thenReturn(RoomTypeResponse.builder().id(roomTypeId).availableRooms(3).build());
+
+        Page<HotelResponse> result = hotelService.searchHotels(SearchCriteria.builder().build(), PageRequest.of(0, 20));
+
+        assertEquals(6L, result.getContent().getFirst().getFavoriteCount());
+        assertEquals(3, result.getContent().getFirst().getRoomTypes().getFirst().getAvailableRooms());
+    }
+
+    @Test
+    void testSearchHotels_FailedFavoriteLookupLeavesFavoritesUnknown() {
+        UUID roomTypeId = UUID.randomUUID();
+        RoomType roomType = roomType(roomTypeId, testHotel, "Deluxe");
+        when(hotelRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testHotel)));
+        when(roomTypeRepository.findByHotelIdIn(any())).thenReturn(List.of(roomType));
+        when(roomService.getRoomAvailabilities(any())).thenReturn(Map.of(roomTypeId, 3));
+        when(favoriteRepository.countFavoritesByHotelIds(any())).thenReturn(List.of());
+        when(favoriteRepository.findFavoriteHotelIdsByUserIdAndHotelIdIn(any(), any()))
+                .thenThrow(new IllegalStateException("favorites unavailable"));
+        when(roomService.mapToResponse(roomType, 3))
+                .thenReturn(RoomTypeResponse.builder().id(roomTypeId).availableRooms(3).build());
+
+        Page<HotelResponse> result = hotelService.searchHotels(
+                SearchCriteria.builder().build(), PageRequest.of(0, 20), testUserId);
+
+        HotelResponse hotel = result.getContent().getFirst();
+        assertNull(hotel.getIsFavorite());
+        assertEquals(0L, hotel.getFavoriteCount());
+        assertEquals(3, hotel.getRoomTypes().getFirst().getAvailableRooms());
+        ArgumentCaptor<TransactionDefinition> transactions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(transactions.capture());
+        assertTrue(transactions.getAllValues().stream().allMatch(definition -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void testSearchHotels_StalledFavoriteLookupIsCancelledAndLeftUnknown() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(hotelRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testHotel)));
+        when(roomTypeRepository.findByHotelIdIn(any())).thenReturn(List.of());
+        when(favoriteRepository.countFavoritesByHotelIds(any())).thenReturn(List.<Object[]>of(new Object[]{testHotelId, 4L}));
+        when(favoriteRepository.findFavoriteHotelIdsByUserIdAndHotelIdIn(any(), any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return List.of(testHotelId);
+        });
+        ReflectionTestUtils.setField(hotelService, "favoritesTimeout", "50ms");
+
+        Page<HotelResponse> result = hotelService.searchHotels(
+                SearchCriteria.builder().build(), PageRequest.of(0, 20), testUserId);
+
+        HotelResponse hotel = result.getContent().getFirst();
+        assertNull(hotel.getIsFavorite());
+        assertEquals(4L, hotel.getFavoriteCount());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSearchHotels_SlowAvailabilityLookupIsCancelledAndLeftUnknown() throws Exception {
+        UUID roomTypeId = UUID.randomUUID();
+        RoomType roomType = roomType(roomTypeId, testHotel, "Deluxe");
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(hotelRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testHotel)));
+        when(roomTypeRepository.findByHotelIdIn(any())).thenReturn(List.of(roomType));
+        when(roomService.getRoomAvailabilities(any())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Map.of(roomTypeId, 3);
+        });
+        ReflectionTestUtils.setField(hotelService, "availabilityTimeout", "50ms");
+        when(roomService.mapToResponse(roomType, null))
+                .thenReturn(RoomTypeResponse.builder().id(roomTypeId).build());
+
+        Page<HotelResponse> result = hotelService.searchHotels(SearchCriteria.builder().build(), PageRequest.of(0, 20));
+
+        assertNull(result.getContent().getFirst().getRoomTypes().getFirst().getAvailableRooms());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
     @Test
     void testSearchHotels_InventoryOutagePreservesUnknownAvailability() {
         SearchCriteria criteria = SearchCriteria.builder().city("Test City").build();
@@ -377,6 +542,58 @@ class HotelServiceTest {
         verify(hotelRepository).findById(testHotelId);
         verify(hotelRepository).delete(testHotel);
         verify(eventPublisher).publishHotelDeleted(any());
+        verify(hotelChangeLog).recordDeletion(testHotelId);
+    }
+
+    @Test
+    void streamExport_EnrichesPerChunkAndClearsPersistenceContext() {
+        List<Hotel> hotels = List.of(
+                Hotel.builder().id(UUID.randomUUID()).name("One").build(),
+                Hotel.builder().id(UUID.randomUUID()).name("Two").build(),
+                Hotel.builder().id(UUID.randomUUID()).name("Three").build());
+        when(hotelRepository.streamAll()).thenReturn(hotels.stream());
+        List<List<HotelExportResponse>> chunks = new java.util.ArrayList<>();
+
+        long exported = hotelService.streamExport(2, chunk -> chunks.add(List.copyOf(chunk)));
+
+        assertEquals(3, exported);
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        verify(roomTypeRepository).findByHotelIdIn(List.of(hotels.get(0).getId(), hotels.get(1).getId()));
+        verify(roomTypeRepository).findByHotelIdIn(List.of(hotels.get(2).getId()));
+        verify(entityManager, times(2)).clear();
+        verify(favoriteRepository, never()).countFavoritesByHotelId(any());
+    }
+
+    @Test
+    void exportChanges_CollapsesFeedToCurrentStatePerHotel() {
+        UUID deletedHotelId = UUID.randomUUID();
+        UUID vanishedHotelId = UUID.randomUUID();
+        testHotel.setRoomTypes(List.of());
+        when(hotelChangeLog.settledChangesAfter(10L, 4)).thenReturn(List.of(
+                change(11L, testHotelId, false),
+                change(12L, deletedHotelId, false),
+                change(13L, deletedHotelId, true),
+                change(14L, vanishedHotelId, false)));
+        when(hotelRepository.findAllById(List.of(testHotelId, vanishedHotelId))).thenReturn(List.of(testHotel));
+
+        HotelChangesResponse changes = hotelService.exportChanges(10L, 4);
+
+        assertEquals(1, changes.getHotels().size());
+        assertEquals(testHotelId, changes.getHotels().getFirst().getId());
+        assertEquals(List.of(deletedHotelId, vanishedHotelId), changes.getDeletedHotelIds());
+        assertEquals(14L, changes.getCursor());
+        assertTrue(changes.isHasMore());
+    }
+
+    @Test
+    void exportChanges_KeepsCursorWhenNothingChanged() {
+        when(hotelChangeLog.settledChangesAfter(10L, 500)).thenReturn(List.of());
+
+        HotelChangesResponse changes = hotelService.exportChanges(10L, 500);
+
+        assertEquals(10L, changes.getCursor());
+        assertFalse(changes.isHasMore());
+        verify(hotelRepository, never()).findAllById(any());
     }
 
     @Test
@@ -402,14 +619,17 @@ class HotelServiceTest {
                 .isAvailable(true)
                 .build();
         when(hotelRepository.findAll()).thenReturn(List.of(testHotel));
+        when(roomTypeRepository.findByHotelIdIn(List.of(testHotelId))).thenReturn(List.of(roomType));
         when(roomService.getRoomAvailabilities(List.of(roomTypeId)))
                 .thenReturn(java.util.Map.of(roomTypeId, 3));
         when(roomService.mapToResponse(roomType, 3)).thenReturn(roomResponse);
-        when(favoriteRepository.countFavoritesByHotelId(testHotelId)).thenReturn(0L);
+        when(favoriteRepository.countFavoritesByHotelIds(List.of(testHotelId)))
+                .thenReturn(List.<Object[]>of(new Object[]{testHotelId, 4L}));
 
         List<HotelExportResponse> exported = hotelService.exportHotels();
 
         assertEquals(1, exported.size());
+        assertEquals(4L, exported.get(0).getFavoriteCount());
         assertEquals(5, exported.get(0).getTotalRooms());
         assertEquals(3, exported.get(0).getAvailableRooms());
         assertEquals(new BigDecimal("125.00"), exported.get(0).getMinPrice());
@@ -436,6 +656,7 @@ class HotelServiceTest {
                 .isAvailable(null)
                 .build();
         when(hotelRepository.findAll()).thenReturn(List.of(testHotel));
+        when(roomTypeRepository.findByHotelIdIn(List.of(testHotelId))).thenReturn(List.of(roomType));
         when(roomService.getRoomAvailabilities(List.of(roomTypeId))).thenReturn(java.util.Map.of());
         when(roomService.mapToResponse(roomType, null)).thenReturn(roomResponse);
 
@@ -447,6 +668,10 @@ class HotelServiceTest {
         assertEquals(roomResponse, exported.getFirst().getRoomTypes().getFirst());
     }
     
+    private HotelChange change(long position, UUID hotelId, boolean deleted) {
+        return HotelChange.builder().id(position).hotelId(hotelId).deleted(deleted).build();
+    }
+
     @Test
     void testGetAllCities() {
         // Given
@@ -12,6 +12,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -54,6 +58,23 @@ class InventoryServiceContractTest {
                 () -> service.getAvailableRooms(UUID.randomUUID(), LocalDate.now()));
     }
 
+    @Test
+    void initializeInventories_SendsOneBatchPerThousandRoomTypes() {
+        List<String> paths = new ArrayList<>();
+        InventoryService service = service(request -> {
+            paths.add(request.url().getPath());
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+        Map<UUID, Integer> rooms = new LinkedHashMap<>();
+        for (int i = 0; i < 1001; i++) {
+            rooms.put(UUID.randomUUID(), 3);
+        }
+
+        service.initializeInventories(rooms);
+
+        assertEquals(List.of("/api/v1/inventory/initialize-batch", "/api/v1/inventory/initialize-batch"), paths);
+    }
+
     @Test
     void deleteInventory_RemoteConflictIsExplicit() {
         InventoryService service = service(request -> Mono.just(
@@ -38,6 +38,8 @@ class RoomServiceTest {
     private HotelRepository hotelRepository;
     @Mock
     private InventoryService inventoryService;
+    @Mock
+    private HotelChangeLog hotelChangeLog;
     @InjectMocks
     private RoomService roomService;
 
@@ -1,48 +1,74 @@
 package com.hotel.notification.listener;
 
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.inbox.ListenerContainerConfiguration;
 import com.hotel.notification.config.RabbitMQConfig;
 import com.hotel.notification.service.NotificationService;
 import com.hotel.notification.service.NotificationService.BookingCreatedEvent;
 import com.hotel.notification.service.NotificationService.BookingCancelledEvent;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BookingEventListener {
     
     private final NotificationService notificationService;
+    private final InboxService inboxService;
+    private final MessageConverter messageConverter;
+    private final BatchAcknowledger batchAcknowledger;
+    
+    @RabbitListener(id = "booking-created", queues = RabbitMQConfig.BOOKING_CREATED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onBookingCreatedBatch(List<Message> messages, Channel channel) throws IOException {
+        batchAcknowledger.acknowledge(channel, messages, message -> handleBookingCreated(
+                BatchAcknowledger.payload(messageConverter, message, BookingCreatedEvent.class),
+                InboxService.eventId(message)));
+    }
+    
+    @RabbitListener(id = "booking-cancelled", queues = RabbitMQConfig.BOOKING_CANCELLED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onBookingCancelledBatch(List<Message> messages, Channel channel) throws IOException {
+        batchAcknowledger.acknowledge(channel, messages, message -> handleBookingCancelled(
+                BatchAcknowledger.payload(messageConverter, message, BookingCancelledEvent.class),
+                InboxService.eventId(message)));
+    }
     
-    @RabbitListener(queues = RabbitMQConfig.BOOKING_CREATED_QUEUE)
-    public void handleBookingCreated(BookingCreatedEvent event) {
+    public void handleBookingCreated(BookingCreatedEvent event, String eventId) {
         log.info("Received booking created event: {}", event.getBookingId());
         
         try {
-            notificationService.sendBookingConfirmation(event);
-            log.info("Successfully processed booking created event: {}", event.getBookingId());
+            if (inboxService.processOnce(RabbitMQConfig.BOOKING_CREATED_QUEUE, eventId,
+                    () -> notificationService.sendBookingConfirmation(event))) {
+                log.info("Successfully processed booking created event: {}", event.getBookingId());
+            }
         } catch (Exception e) {
             log.error("Failed to process booking created event: {}", event.getBookingId(), e);
-            // In production, you might want to:
-            // 1. Send to dead letter queue
-            // 2. Store in database for retry
-            // 3. Send alert to monitoring system
-            throw e; // This will trigger RabbitMQ retry mechanism
+            throw e; // Retried by BatchAcknowledger after a growing delay, dead-lettered once retry.max-attempts is used up
         }
     }
     
-    @RabbitListener(queues = RabbitMQConfig.BOOKING_CANCELLED_QUEUE)
-    public void handleBookingCancelled(BookingCancelledEvent event) {
+    public void handleBookingCancelled(BookingCancelledEvent event, String eventId) {
         log.info("Received booking cancelled event: {}", event.getBookingId());
         
         try {
-            notificationService.sendCancellationConfirmation(event);
-            log.info("Successfully processed booking cancelled event: {}", event.getBookingId());
+            if (inboxService.processOnce(RabbitMQConfig.BOOKING_CANCELLED_QUEUE, eventId,
+                    () -> notificationService.sendCancellationConfirmation(event))) {
+                log.info("Successfully processed booking cancelled event: {}", event.getBookingId());
+            }
         } catch (Exception e) {
             log.error("Failed to process booking cancelled event: {}", event.getBookingId(), e);
-            throw e; // This will trigger RabbitMQ retry mechanism
+            throw e; // Retried by BatchAcknowledger after a growing delay, dead-lettered once retry.max-attempts is used up
         }
     }
 }
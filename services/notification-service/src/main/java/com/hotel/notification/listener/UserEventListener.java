@@ -1,5 +1,6 @@
 package com.hotel.notification.listener;
 
+import com.hotel.inbox.InboxService;
 import com.hotel.notification.config.RabbitMQConfig;
 import com.hotel.notification.service.NotificationService;
 import com.hotel.notification.service.NotificationService.UserRegisteredEvent;
@@ -8,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.dao.DataAccessException;
 import org.springframework.web.reactive.function.client.WebClientException;
@@ -18,16 +20,21 @@ import org.springframework.web.reactive.function.client.WebClientException;
 public class UserEventListener {
     
     private final NotificationService notificationService;
+    private final InboxService inboxService;
     
-    @RabbitListener(queues = RabbitMQConfig.USER_REGISTERED_QUEUE)
-    public void handleUserRegistered(UserRegisteredEvent event) {
+    @RabbitListener(id = "user-registered", queues = RabbitMQConfig.USER_REGISTERED_QUEUE)
+    public void handleUserRegistered(
+            UserRegisteredEvent event,
+            @Header(name = InboxService.EVENT_ID_HEADER, required = false) String eventId) {
         Object userId = event == null ? null : event.getUserId();
         log.info("Received user registered event: {}", userId);
         
         try {
             validateEvent(event);
-            notificationService.sendWelcomeMessage(event);
-            log.info("Successfully processed user registered event: {}", userId);
+            if (inboxService.processOnce(RabbitMQConfig.USER_REGISTERED_QUEUE, eventId,
+                    () -> notificationService.sendWelcomeMessage(event))) {
+                log.info("Successfully processed user registered event: {}", userId);
+            }
             
         } catch (ServiceCommunicationException e) {
             // 服務通信失敗 - 這是臨時性錯誤，應該重試
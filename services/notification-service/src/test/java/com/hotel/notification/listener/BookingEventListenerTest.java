@@ -1,25 +1,73 @@
 package com.hotel.notification.listener;
 
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.notification.config.RabbitMQConfig;
 import com.hotel.notification.service.NotificationService;
 import com.hotel.notification.service.NotificationService.BookingCancelledEvent;
 import com.hotel.notification.service.NotificationService.BookingCreatedEvent;
+import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class BookingEventListenerTest {
 
     private NotificationService notificationService;
+    private InboxService inboxService;
     private BookingEventListener listener;
 
     @BeforeEach
     void setUp() {
         notificationService = mock(NotificationService.class);
-        listener = new BookingEventListener(notificationService);
+        inboxService = mock(InboxService.class);
+        when(inboxService.processOnce(anyString(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, Runnable.class).run();
+            return true;
+        });
+        listener = new BookingEventListener(
+                notificationService, inboxService, new RabbitMQConfig().jsonMessageConverter(),
+                new BatchAcknowledger("notification-service.retry.v2", 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void onBookingCreatedBatch_AcknowledgesWholeBatchWithOneFrame() throws Exception {
+        Channel channel = mock(Channel.class);
+
+        listener.onBookingCreatedBatch(List.of(
+                bookingMessage(1, "{\"bookingId\":\"%s\",\"checkInDate\":\"2026-11-01\"}"
+                        .formatted(UUID.randomUUID()), false),
+                bookingMessage(2, "{\"bookingId\":\"%s\"}".formatted(UUID.randomUUID()), false)), channel);
+
+        verify(notificationService, times(2)).sendBookingConfirmation(any());
+        verify(channel).basicAck(2, true);
+        verifyNoMoreInteractions(channel);
+    }
+
+    @Test
+    void onBookingCreatedBatch_DeadLettersLastAttemptFailuresAndUnreadablePayloads() throws Exception {
+        Channel channel = mock(Channel.class);
+        doThrow(new RuntimeException("mail down")).when(notificationService).sendBookingConfirmation(any());
+
+        listener.onBookingCreatedBatch(List.of(
+                bookingMessage(1, "{\"bookingId\":\"%s\"}".formatted(UUID.randomUUID()), true),
+                bookingMessage(2, "not-json", false)), channel);
+
+        verify(channel).basicNack(1, false, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
     }
 
     @Test
@@ -27,7 +75,7 @@ class BookingEventListenerTest {
         BookingCreatedEvent event = new BookingCreatedEvent();
         event.setBookingId(UUID.randomUUID());
 
-        listener.handleBookingCreated(event);
+        listener.handleBookingCreated(event, "evt-1");
 
         verify(notificationService).sendBookingConfirmation(event);
     }
@@ -40,7 +88,7 @@ class BookingEventListenerTest {
         doThrow(failure).when(notificationService).sendBookingConfirmation(event);
 
         RuntimeException thrown = assertThrows(RuntimeException.class,
-                () -> listener.handleBookingCreated(event));
+                () -> listener.handleBookingCreated(event, "evt-1"));
 
         verify(notificationService).sendBookingConfirmation(event);
         org.junit.jupiter.api.Assertions.assertSame(failure, thrown);
@@ -51,8 +99,32 @@ class BookingEventListenerTest {
         BookingCancelledEvent event = new BookingCancelledEvent();
         event.setBookingId(UUID.randomUUID());
 
-        listener.handleBookingCancelled(event);
+        listener.handleBookingCancelled(event, "evt-2");
 
         verify(notificationService).sendCancellationConfirmation(event);
+        verify(inboxService).processOnce(eq(RabbitMQConfig.BOOKING_CANCELLED_QUEUE), eq("evt-2"), any());
+    }
+
+    @Test
+    void handleBookingCreated_SkipsEventAlreadyProcessed() {
+        BookingCreatedEvent event = new BookingCreatedEvent();
+        event.setBookingId(UUID.randomUUID());
+        when(inboxService.processOnce(eq(RabbitMQConfig.BOOKING_CREATED_QUEUE), eq("evt-1"), any()))
+                .thenReturn(false);
+
+        listener.handleBookingCreated(event, "evt-1");
+
+        verifyNoInteractions(notificationService);
+    }
+
+    private Message bookingMessage(long deliveryTag, String payload, boolean lastAttempt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setConsumerQueue(RabbitMQConfig.BOOKING_CREATED_QUEUE);
+        if (lastAttempt) {
+            properties.setHeader(BatchAcknowledger.RETRY_COUNT_HEADER, 2);
+        }
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
     }
 }
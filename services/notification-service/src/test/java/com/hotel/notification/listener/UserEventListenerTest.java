@@ -1,5 +1,7 @@
 package com.hotel.notification.listener;
 
+import com.hotel.inbox.InboxService;
+import com.hotel.notification.config.RabbitMQConfig;
 import com.hotel.notification.exception.ServiceCommunicationException;
 import com.hotel.notification.service.NotificationService;
 import com.hotel.notification.service.NotificationService.UserRegisteredEvent;
@@ -10,29 +12,51 @@ import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 class UserEventListenerTest {
 
     private NotificationService notificationService;
+    private InboxService inboxService;
     private UserEventListener listener;
 
     @BeforeEach
     void setUp() {
         notificationService = mock(NotificationService.class);
-        listener = new UserEventListener(notificationService);
+        inboxService = mock(InboxService.class);
+        when(inboxService.processOnce(anyString(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, Runnable.class).run();
+            return true;
+        });
+        listener = new UserEventListener(notificationService, inboxService);
     }
 
     @Test
     void handleUserRegistered_DelegatesToNotificationService() {
         UserRegisteredEvent event = userRegisteredEvent();
 
-        listener.handleUserRegistered(event);
+        listener.handleUserRegistered(event, "evt-1");
 
         verify(notificationService).sendWelcomeMessage(event);
+        verify(inboxService).processOnce(eq(RabbitMQConfig.USER_REGISTERED_QUEUE), eq("evt-1"), any());
+    }
+
+    @Test
+    void handleUserRegistered_SkipsEventAlreadyProcessed() {
+        UserRegisteredEvent event = userRegisteredEvent();
+        when(inboxService.processOnce(eq(RabbitMQConfig.USER_REGISTERED_QUEUE), eq("evt-1"), any()))
+                .thenReturn(false);
+
+        listener.handleUserRegistered(event, "evt-1");
+
+        verifyNoInteractions(notificationService);
     }
 
     @Test
@@ -42,7 +66,7 @@ class UserEventListenerTest {
                 new ServiceCommunicationException("user-service unavailable");
         doThrow(failure).when(notificationService).sendWelcomeMessage(event);
 
-        assertThatThrownBy(() -> listener.handleUserRegistered(event)).isSameAs(failure);
+        assertThatThrownBy(() -> listener.handleUserRegistered(event, "evt-1")).isSameAs(failure);
     }
 
     @Test
@@ -51,7 +75,7 @@ class UserEventListenerTest {
         RuntimeException failure = new RuntimeException("smtp unavailable");
         doThrow(failure).when(notificationService).sendWelcomeMessage(event);
 
-        assertThatThrownBy(() -> listener.handleUserRegistered(event)).isSameAs(failure);
+        assertThatThrownBy(() -> listener.handleUserRegistered(event, "evt-1")).isSameAs(failure);
     }
 
     @Test
@@ -59,7 +83,7 @@ class UserEventListenerTest {
         UserRegisteredEvent event = new UserRegisteredEvent();
         event.setUserId(UUID.randomUUID());
 
-        assertThatThrownBy(() -> listener.handleUserRegistered(event))
+        assertThatThrownBy(() -> listener.handleUserRegistered(event, "evt-1"))
                 .isInstanceOf(AmqpRejectAndDontRequeueException.class)
                 .hasRootCauseInstanceOf(IllegalArgumentException.class);
         verifyNoInteractions(notificationService);
@@ -0,0 +1,55 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.SearchRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing one natural-language query, with and without the memo. Run with
+ * {@code ./gradlew :services:search-service:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NaturalLanguageQueryParserBenchmark {
+
+    private static final String[] QUERIES = {
+            "cheapest 4 star hotel in new york with pool under $200",
+            "luxury spa in taipei from $100 to $300, top rated",
+            "pet friendly budget hotel near amsterdam with parking",
+            "business center and gym in singapore over 150",
+    };
+
+    private NaturalLanguageQueryParser uncached;
+    private NaturalLanguageQueryParser memoized;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        uncached = new NaturalLanguageQueryParser((SuggestionService) null, 0);
+        memoized = new NaturalLanguageQueryParser((SuggestionService) null, 1024);
+    }
+
+    @Benchmark
+    public SearchRequest parse() {
+        return uncached.parse(QUERIES[next++ & 3]);
+    }
+
+    @Benchmark
+    public SearchRequest parseMemoized() {
+        return memoized.parse(QUERIES[next++ & 3]);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.search.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -16,24 +17,29 @@ public class RabbitMQConfig {
     // Exchange definitions
     public static final String HOTEL_EXCHANGE = "hotel.exchange";
     public static final String SEARCH_EXCHANGE = "search.exchange";
+    public static final String BOOKING_EXCHANGE = "booking.exchange";
     
     // Queue definitions
     public static final String HOTEL_CREATED_QUEUE = "hotel.created.queue.v2";
     public static final String HOTEL_UPDATED_QUEUE = "hotel.updated.queue.v2";
     public static final String HOTEL_DELETED_QUEUE = "hotel.deleted.queue.v2";
     public static final String SEARCH_HISTORY_QUEUE = "search.history.queue.v2";
+    public static final String INVENTORY_CHANGED_QUEUE = "inventory.changed.queue.v2";
     
     // Routing keys
     public static final String HOTEL_CREATED_KEY = "hotel.created.v2";
     public static final String HOTEL_UPDATED_KEY = "hotel.updated.v2";
     public static final String HOTEL_DELETED_KEY = "hotel.deleted.v2";
     public static final String SEARCH_HISTORY_KEY = "search.history.v2";
+    public static final String INVENTORY_CHANGED_KEY = "inventory.changed.v2";
     public static final String HOTEL_DLX = HOTEL_EXCHANGE + ".dlx.v2";
     public static final String SEARCH_DLX = SEARCH_EXCHANGE + ".dlx.v2";
+    public static final String BOOKING_DLX = BOOKING_EXCHANGE + ".dlx.v2";
     public static final String HOTEL_CREATED_DLQ = "hotel.created.dlq.v2";
     public static final String HOTEL_UPDATED_DLQ = "hotel.updated.dlq.v2";
     public static final String HOTEL_DELETED_DLQ = "hotel.deleted.dlq.v2";
     public static final String SEARCH_HISTORY_DLQ = "search.history.dlq.v2";
+    public static final String INVENTORY_CHANGED_DLQ = "inventory.changed.dlq.v2";
     
     // Exchanges
     @Bean
@@ -46,6 +52,11 @@ public class RabbitMQConfig {
         return new TopicExchange(SEARCH_EXCHANGE);
     }
     
+    @Bean
+    public TopicExchange bookingExchange() {
+        return new TopicExchange(BOOKING_EXCHANGE);
+    }
+    
     // Queues for hotel events
     @Bean
     public Queue hotelCreatedQueue() {
@@ -83,6 +94,15 @@ public class RabbitMQConfig {
                 .build();
     }
     
+    @Bean
+    public Queue inventoryChangedQueue() {
+        return QueueBuilder.durable(INVENTORY_CHANGED_QUEUE)
+                .withArgument("x-dead-letter-exchange", BOOKING_DLX)
+                .withArgument("x-dead-letter-routing-key", INVENTORY_CHANGED_DLQ)
+                .withArgument("x-message-ttl", 3600000)
+                .build();
+    }
+    
     // Bindings
     @Bean
     public Binding hotelCreatedBinding() {
@@ -116,6 +136,14 @@ public class RabbitMQConfig {
                 .with(SEARCH_HISTORY_KEY);
     }
     
+    @Bean
+    public Binding inventoryChangedBinding() {
+        return BindingBuilder
+                .bind(inventoryChangedQueue())
+                .to(bookingExchange())
+                .with(INVENTORY_CHANGED_KEY);
+    }
+    
     // Dead Letter Queue setup
     @Bean
     public DirectExchange deadLetterExchange() {
@@ -127,6 +155,11 @@ public class RabbitMQConfig {
         return new DirectExchange(SEARCH_DLX);
     }
     
+    @Bean
+    public DirectExchange bookingDeadLetterExchange() {
+        return new DirectExchange(BOOKING_DLX);
+    }
+    
     @Bean
     public Queue hotelCreatedDeadLetterQueue() {
         return new Queue(HOTEL_CREATED_DLQ, true);
@@ -179,16 +212,30 @@ public class RabbitMQConfig {
                 .with(SEARCH_HISTORY_DLQ);
     }
     
+    @Bean
+    public Queue inventoryChangedDeadLetterQueue() {
+        return new Queue(INVENTORY_CHANGED_DLQ, true);
+    }
+    
+    @Bean
+    public Binding inventoryChangedDLQBinding() {
+        return BindingBuilder
+                .bind(inventoryChangedDeadLetterQueue())
+                .to(bookingDeadLetterExchange())
+                .with(INVENTORY_CHANGED_DLQ);
+    }
+    
     // Message converter
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        // Spring Boot's mapper, so inventory events with java.time fields can be read
+        return new Jackson2JsonMessageConverter(objectMapper);
     }
     
     @Bean
-    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
+    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory, MessageConverter jsonMessageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setMessageConverter(jsonMessageConverter);
         return rabbitTemplate;
     }
 }
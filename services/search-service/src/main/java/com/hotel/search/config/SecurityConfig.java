@@ -0,0 +1,35 @@
+package com.hotel.search.config;
+
+import com.hotel.inbox.DeadLetterEndpoint;
+import com.hotel.search.service.SearchIndexEndpoint;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Restricts the operator endpoints that change queues or the index to the
+ * {@code spring.security.user} account, over HTTP basic; searches and the other actuator
+ * endpoints stay open.
+ */
+@Configuration
+public class SecurityConfig {
+
+    @Bean
+    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(EndpointRequest.to(DeadLetterEndpoint.class, SearchIndexEndpoint.class))
+                        .hasRole("OPERATOR")
+                        .anyRequest().permitAll())
+                .build();
+    }
+}
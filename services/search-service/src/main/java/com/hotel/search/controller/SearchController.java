@@ -1,15 +1,23 @@
 package com.hotel.search.controller;
 
+import com.hotel.search.dto.MapViewResponse;
 import com.hotel.search.dto.NaturalLanguageSearchRequest;
+import com.hotel.search.dto.NearbyHotel;
+import com.hotel.search.dto.SearchFields;
 import com.hotel.search.dto.SearchRequest;
 import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.service.HotelGeoIndex;
 import com.hotel.search.service.SearchService;
+import com.hotel.search.service.SuggestionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/v1/search")
 @RequiredArgsConstructor
@@ -17,6 +25,8 @@ import org.springframework.web.bind.annotation.*;
 public class SearchController {
     
     private final SearchService searchService;
+    private final SuggestionService suggestionService;
+    private final HotelGeoIndex geoIndex;
     
     @PostMapping("/hotels")
     public ResponseEntity<SearchResponse> searchHotels(@Valid @RequestBody SearchRequest request) {
@@ -34,10 +44,14 @@ public class SearchController {
             @RequestParam(required = false) Integer maxRating,
             @RequestParam(required = false) java.math.BigDecimal minPrice,
             @RequestParam(required = false) java.math.BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) Integer guests,
             @RequestParam(defaultValue = "0") Integer offset,
             @RequestParam(defaultValue = "20") Integer limit,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(defaultValue = "asc") String sortOrder,
+            @RequestParam(defaultValue = "detail") SearchFields fields) {
         
         SearchRequest request = SearchRequest.builder()
                 .query(query)
@@ -47,10 +61,14 @@ public class SearchController {
                 .maxRating(maxRating)
                 .minPrice(minPrice)
                 .maxPrice(maxPrice)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .guests(guests)
                 .offset(offset)
                 .limit(limit)
                 .sortBy(sortBy)
                 .sortOrder(sortOrder)
+                .fields(fields)
                 .build();
         
         log.info("Searching hotels with GET request: {}", request);
@@ -77,21 +95,38 @@ public class SearchController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Clustered hotel markers for a map viewport, answered from the in-memory geo grid. A
+     * {@code west} greater than {@code east} crosses the antimeridian.
+     */
+    @GetMapping("/hotels/map")
+    public ResponseEntity<MapViewResponse> searchMapViewport(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(geoIndex.viewport(south, west, north, east, zoom));
+    }
+
+    @GetMapping("/hotels/nearby")
+    public ResponseEntity<java.util.List<NearbyHotel>> nearbyHotels(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "10") Integer limit,
+            @RequestParam(required = false) Double maxDistanceKm) {
+        return ResponseEntity.ok(geoIndex.nearest(latitude, longitude, limit, maxDistanceKm));
+    }
+
+    /**
+     * Search-as-you-type suggestions from the in-memory suggestion index; Meilisearch is not
+     * queried per keystroke.
+     */
     @PostMapping("/suggestions")
     public ResponseEntity<java.util.List<String>> getSearchSuggestions(
             @RequestParam String query,
             @RequestParam(defaultValue = "5") Integer limit) {
-        log.info("Getting search suggestions for: {}", query);
-        
-        // Simple suggestion implementation
-        java.util.List<String> suggestions = java.util.Arrays.asList(
-            query + " hotels",
-            query + " luxury hotels",
-            query + " budget hotels",
-            query + " business hotels",
-            query + " resort"
-        );
-        
-        return ResponseEntity.ok(suggestions.subList(0, Math.min(limit, suggestions.size())));
+        log.debug("Getting search suggestions for: {}", query);
+        return ResponseEntity.ok(suggestionService.suggest(query, limit));
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.hotel.search.controller;
+
+import com.hotel.search.dto.SearchFields;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the {@code fields} request parameter case-insensitively. An unknown value fails the
+ * conversion, which Spring MVC answers with 400 Bad Request.
+ */
+@Component
+public class SearchFieldsConverter implements Converter<String, SearchFields> {
+
+    @Override
+    public SearchFields convert(String value) {
+        return SearchFields.fromValue(value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.hotel.search.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.hotel.search.model.HotelDocument;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A hotel as a result list shows it. Search hits are read into it straight from the Meilisearch
+ * response, so the description, the image gallery, and the room types are neither transferred
+ * nor deserialized.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HotelCard {
+
+    private UUID id;
+
+    private String name;
+
+    private String city;
+
+    private String country;
+
+    private Integer starRating;
+
+    private BigDecimal minPrice;
+
+    private Double averageRating;
+
+    private Integer reviewCount;
+
+    /**
+     * The first image of the hotel.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String imageUrl;
+
+    /**
+     * Lowest price of an available room type for the requested stay; only set on results of a
+     * search with check-in and check-out dates.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal stayPrice;
+
+    /**
+     * Reads the gallery of an index document and keeps its first image.
+     */
+    @JsonProperty(value = "imageUrls", access = JsonProperty.Access.WRITE_ONLY)
+    void setImageUrls(List<String> imageUrls) {
+        imageUrl = imageUrls == null || imageUrls.isEmpty() ? null : imageUrls.get(0);
+    }
+
+    public static HotelCard of(HotelDocument hotel) {
+        HotelCard card = HotelCard.builder()
+                .id(hotel.getId())
+                .name(hotel.getName())
+                .city(hotel.getCity())
+                .country(hotel.getCountry())
+                .starRating(hotel.getStarRating())
+                .minPrice(hotel.getMinPrice())
+                .averageRating(hotel.getAverageRating())
+                .reviewCount(hotel.getReviewCount())
+                .stayPrice(hotel.getStayPrice())
+                .build();
+        card.setImageUrls(hotel.getImageUrls());
+        return card;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.search.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapViewResponse {
+
+    private List<MapCluster> clusters;
+
+    /**
+     * Hotels inside the viewport, summed over all clusters.
+     */
+    private Long total;
+
+    private Integer zoom;
+
+    private Long processingTime;
+
+    /**
+     * A marker for the hotels of one cluster cell, placed at their mean position. The hotel
+     * fields are only set when the cluster holds a single hotel.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class MapCluster {
+        private double latitude;
+        private double longitude;
+        private long count;
+        private BigDecimal minPrice;
+        private UUID hotelId;
+        private String name;
+        private Integer starRating;
+    }
+}
@@ -0,0 +1,33 @@
+package com.hotel.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyHotel {
+
+    private UUID hotelId;
+
+    private String name;
+
+    private double latitude;
+
+    private double longitude;
+
+    private BigDecimal minPrice;
+
+    private Integer starRating;
+
+    /**
+     * Great-circle distance from the requested point.
+     */
+    private double distanceKm;
+}
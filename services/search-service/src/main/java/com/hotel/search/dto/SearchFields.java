@@ -0,0 +1,42 @@
+package com.hotel.search.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * The hotel fields a search returns. {@link #DETAIL} returns whole hotel documents in
+ * {@code hotels}; {@link #CARD} returns {@link HotelCard}s in {@code cards}, with only the fields
+ * a result list shows, and asks Meilisearch for those fields alone.
+ */
+public enum SearchFields {
+
+    CARD(new String[]{"id", "name", "city", "country", "starRating", "minPrice", "averageRating",
+            "reviewCount", "imageUrls"}),
+    DETAIL(null);
+
+    private final String[] attributes;
+
+    SearchFields(String[] attributes) {
+        this.attributes = attributes;
+    }
+
+    /**
+     * The Meilisearch {@code attributesToRetrieve}; {@code null} retrieves every displayed
+     * attribute.
+     */
+    public String[] attributes() {
+        return attributes == null ? null : attributes.clone();
+    }
+
+    @JsonCreator
+    public static SearchFields fromValue(String value) {
+        return valueOf(value.strip().toUpperCase(Locale.ROOT));
+    }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
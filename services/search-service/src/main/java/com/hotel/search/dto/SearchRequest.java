@@ -57,4 +57,7 @@ public class SearchRequest {
     private Double longitude;
     
     private Double radiusKm;
+
+    @Builder.Default
+    private SearchFields fields = SearchFields.DETAIL;
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.hotel.search.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hotel.search.model.HotelDocument;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -14,7 +17,17 @@ import java.util.List;
 @AllArgsConstructor
 public class SearchResponse {
     
+    /**
+     * Whole hotel documents; not set when the request asked for {@link SearchFields#CARD}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<HotelDocument> hotels;
+
+    /**
+     * Set instead of {@code hotels} when the request asked for {@link SearchFields#CARD}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<HotelCard> cards;
     
     private Long total;
     
@@ -27,8 +40,24 @@ public class SearchResponse {
     private String query;
     
     private List<String> appliedFilters;
+
+    /**
+     * Matching hotels per value of city, country, starRating, and amenities.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Map<String, Long>> facets;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<PriceRange> priceRanges;
     
     private Boolean hasMore;
+
+    /**
+     * Set when Meilisearch was unreachable and the results come from the in-process fallback
+     * index, which matches whole words only and ranks less precisely.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean degraded;
     
     public Boolean getHasMore() {
         if (total == null || offset == null || limit == null) {
@@ -36,4 +65,19 @@ public class SearchResponse {
         }
         return (offset + limit) < total;
     }
-}
\ No newline at end of file
+
+    /**
+     * Matching hotels whose cheapest room type costs at least {@code min} and less than
+     * {@code max}; the last range has no {@code max}.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceRange {
+        private BigDecimal min;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -1,64 +1,85 @@
 package com.hotel.search.listener;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.inbox.ListenerContainerConfiguration;
 import com.hotel.search.config.RabbitMQConfig;
 import com.hotel.search.model.HotelDocument;
-import com.hotel.search.service.IndexService;
+import com.hotel.search.service.HotelIndexWriter;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class HotelEventListener {
     
-    private final IndexService indexService;
+    private final HotelIndexWriter indexWriter;
+    private final InboxService inboxService;
+    private final MessageConverter messageConverter;
+    private final BatchAcknowledger batchAcknowledger;
     
-    @RabbitListener(queues = RabbitMQConfig.HOTEL_CREATED_QUEUE)
-    public void handleHotelCreated(HotelCreatedEvent event) {
-        log.info("Received hotel created event: {}", event.getHotelId());
-        
-        try {
-            HotelDocument document = mapToHotelDocument(event);
-            indexService.indexHotel(document);
-            log.info("Successfully indexed new hotel: {}", event.getHotelId());
-        } catch (Exception e) {
-            log.error("Failed to index new hotel: {}", event.getHotelId(), e);
-            throw e;
-        }
+    @Value("${search.index.ack-timeout:60s}")
+    private String ackTimeout = "60s";
+    
+    @RabbitListener(id = "hotel-created", queues = RabbitMQConfig.HOTEL_CREATED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onHotelCreatedBatch(List<Message> messages, Channel channel) throws IOException {
+        acknowledgeAfterIndexing(RabbitMQConfig.HOTEL_CREATED_QUEUE, messages, channel, message -> {
+            HotelCreatedEvent event = BatchAcknowledger.payload(messageConverter, message, HotelCreatedEvent.class);
+            log.info("Received hotel created event: {}", event.getHotelId());
+            return indexWriter.add(mapToHotelDocument(event));
+        });
     }
     
-    @RabbitListener(queues = RabbitMQConfig.HOTEL_UPDATED_QUEUE)
-    public void handleHotelUpdated(HotelUpdatedEvent event) {
-        log.info("Received hotel updated event: {}", event.getHotelId());
-        
-        try {
-            HotelDocument document = mapToHotelDocument(event);
-            indexService.updateHotel(document);
-            log.info("Successfully updated hotel index: {}", event.getHotelId());
-        } catch (Exception e) {
-            log.error("Failed to update hotel index: {}", event.getHotelId(), e);
-            throw e;
-        }
+    @RabbitListener(id = "hotel-updated", queues = RabbitMQConfig.HOTEL_UPDATED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onHotelUpdatedBatch(List<Message> messages, Channel channel) throws IOException {
+        acknowledgeAfterIndexing(RabbitMQConfig.HOTEL_UPDATED_QUEUE, messages, channel, message -> {
+            HotelUpdatedEvent event = BatchAcknowledger.payload(messageConverter, message, HotelUpdatedEvent.class);
+            log.info("Received hotel updated event: {}", event.getHotelId());
+            return indexWriter.update(mapToHotelDocument(event));
+        });
     }
     
-    @RabbitListener(queues = RabbitMQConfig.HOTEL_DELETED_QUEUE)
-    public void handleHotelDeleted(HotelDeletedEvent event) {
-        log.info("Received hotel deleted event: {}", event.getHotelId());
-        
-        try {
-            indexService.deleteHotel(event.getHotelId().toString());
-            log.info("Successfully removed hotel from index: {}", event.getHotelId());
-        } catch (Exception e) {
-            log.error("Failed to remove hotel from index: {}", event.getHotelId(), e);
-            throw e;
-        }
+    @RabbitListener(id = "hotel-deleted", queues = RabbitMQConfig.HOTEL_DELETED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onHotelDeletedBatch(List<Message> messages, Channel channel) throws IOException {
+        acknowledgeAfterIndexing(RabbitMQConfig.HOTEL_DELETED_QUEUE, messages, channel, message -> {
+            HotelDeletedEvent event = BatchAcknowledger.payload(messageConverter, message, HotelDeletedEvent.class);
+            log.info("Received hotel deleted event: {}", event.getHotelId());
+            return indexWriter.delete(event.getHotelId().toString());
+        });
+    }
+    
+    /**
+     * Hands every new event of the batch to the coalescing index writer and acknowledges the batch
+     * once the Meilisearch tasks carrying it have succeeded. Events are recorded in the inbox only
+     * after that, so a failed flush is redelivered rather than skipped.
+     */
+    private void acknowledgeAfterIndexing(String queue, List<Message> messages, Channel channel,
+                                          BatchAcknowledger.AsyncMessageHandler write) throws IOException {
+        BatchAcknowledger.BatchResult result = batchAcknowledger.acknowledgeAsync(channel, messages,
+                message -> inboxService.isProcessed(queue, InboxService.eventId(message))
+                        ? CompletableFuture.completedFuture(null)
+                        : write.handle(message),
+                message -> inboxService.markProcessed(queue, InboxService.eventId(message)),
+                DurationStyle.detectAndParse(ackTimeout));
+        log.debug("Indexed batch from {}: {}", queue, result);
     }
     
     private HotelDocument mapToHotelDocument(HotelCreatedEvent event) {
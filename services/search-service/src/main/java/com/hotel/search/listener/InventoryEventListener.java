@@ -0,0 +1,90 @@
+package com.hotel.search.listener;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.inbox.ListenerContainerConfiguration;
+import com.hotel.search.config.RabbitMQConfig;
+import com.hotel.search.service.AvailabilityProjector;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryEventListener {
+
+    private final AvailabilityProjector availabilityProjector;
+    private final InboxService inboxService;
+    private final MessageConverter messageConverter;
+    private final BatchAcknowledger batchAcknowledger;
+
+    @Value("${search.index.ack-timeout:60s}")
+    private String ackTimeout = "60s";
+
+    /**
+     * Projects today's availability of changed room types into the index. Events that did not
+     * change today's inventory, or that were published before midnight and arrive after it, are
+     * acknowledged without an index write.
+     */
+    @RabbitListener(id = "inventory-changed", queues = RabbitMQConfig.INVENTORY_CHANGED_QUEUE,
+            containerFactory = ListenerContainerConfiguration.BATCH_CONTAINER_FACTORY)
+    public void onInventoryChangedBatch(List<Message> messages, Channel channel) throws IOException {
+        String queue = RabbitMQConfig.INVENTORY_CHANGED_QUEUE;
+        BatchAcknowledger.BatchResult result = batchAcknowledger.acknowledgeAsync(channel, messages,
+                message -> {
+                    if (inboxService.isProcessed(queue, InboxService.eventId(message))) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    InventoryChangedEvent event =
+                            BatchAcknowledger.payload(messageConverter, message, InventoryChangedEvent.class);
+                    if (!event.changesToday(LocalDate.now())) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    log.debug("Received inventory change for room type {}: {} rooms today",
+                            event.getRoomTypeId(), event.getAvailableToday());
+                    return availabilityProjector.apply(event.getRoomTypeId(), event.getAvailableToday());
+                },
+                message -> inboxService.markProcessed(queue, InboxService.eventId(message)),
+                DurationStyle.detectAndParse(ackTimeout));
+        log.debug("Projected inventory batch from {}: {}", queue, result);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class InventoryChangedEvent {
+        private UUID roomTypeId;
+        private LocalDate fromDate;
+        private LocalDate toDate;
+        private Integer minAvailableRooms;
+        private Integer availableToday;
+
+        boolean changesToday(LocalDate today) {
+            return roomTypeId != null && availableToday != null && fromDate != null && toDate != null
+                    && !fromDate.isAfter(today) && !toDate.isBefore(today);
+        }
+
+        public UUID getRoomTypeId() { return roomTypeId; }
+        public void setRoomTypeId(UUID roomTypeId) { this.roomTypeId = roomTypeId; }
+        public LocalDate getFromDate() { return fromDate; }
+        public void setFromDate(LocalDate fromDate) { this.fromDate = fromDate; }
+        public LocalDate getToDate() { return toDate; }
+        public void setToDate(LocalDate toDate) { this.toDate = toDate; }
+        public Integer getMinAvailableRooms() { return minAvailableRooms; }
+        public void setMinAvailableRooms(Integer minAvailableRooms) { this.minAvailableRooms = minAvailableRooms; }
+        public Integer getAvailableToday() { return availableToday; }
+        public void setAvailableToday(Integer availableToday) { this.availableToday = availableToday; }
+    }
+}
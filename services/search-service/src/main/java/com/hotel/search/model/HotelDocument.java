@@ -1,6 +1,7 @@
 package com.hotel.search.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -65,16 +67,60 @@ public class HotelDocument {
 
     @JsonProperty("roomTypes")
     private List<RoomTypeProjection> roomTypes;
+
+    /**
+     * Rooms left today per room type, written only by the availability projector so it never
+     * rewrites {@code roomTypes}; folded into the room types when a document is read, see
+     * {@link #applyRoomAvailability()}.
+     */
+    @JsonProperty("roomAvailability")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<UUID, Integer> roomAvailability;
     
     @JsonProperty("averageRating")
     private Double averageRating;
     
     @JsonProperty("reviewCount")
     private Integer reviewCount;
+
+    /**
+     * Only present in the hotel service export; hotel events leave the indexed value alone.
+     */
+    @JsonProperty("favoriteCount")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long favoriteCount;
     
     @JsonProperty("isActive")
     private Boolean isActive;
 
+    /**
+     * Lowest price of an available room type for the requested stay; only set on results of a
+     * search with check-in and check-out dates, never indexed.
+     */
+    @JsonProperty("stayPrice")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal stayPrice;
+
+    /**
+     * Copies the projected availability onto the room types it belongs to and drops it, so
+     * callers and clients only see {@code roomTypes}.
+     */
+    public void applyRoomAvailability() {
+        if (roomAvailability == null) {
+            return;
+        }
+        if (roomTypes != null) {
+            for (RoomTypeProjection roomType : roomTypes) {
+                Integer available = roomType.getId() == null ? null : roomAvailability.get(roomType.getId());
+                if (available != null) {
+                    roomType.setAvailableRooms(available);
+                    roomType.setIsAvailable(available > 0);
+                }
+            }
+        }
+        roomAvailability = null;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -88,5 +134,7 @@ public class HotelDocument {
         private Integer totalInventory;
         private Integer availableRooms;
         private Boolean isAvailable;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private BigDecimal stayPrice;
     }
 }
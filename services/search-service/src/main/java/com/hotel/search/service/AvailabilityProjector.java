@@ -0,0 +1,163 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.hotel.search.model.HotelDocument.RoomTypeProjection;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps today's room availability in the index current between syncs, from booking-service
+ * inventory events.
+ *
+ * <p>Changes are debounced: the latest availability per room type is buffered for
+ * {@code search.availability.projection.debounce}, then the owning hotels are looked up in one
+ * search and only their {@code roomAvailability} and {@code availableRooms} fields are written
+ * through the {@link HotelIndexWriter}. A burst of bookings on one hotel therefore costs one
+ * partial update. The projector never writes {@code roomTypes}, so a concurrent catalog update
+ * cannot be overwritten with the room types read before it. Each flush waits for its writes, so
+ * the next one reads the availability it wrote. Room types that are not indexed yet are skipped;
+ * the next sync indexes them with current availability.
+ */
+@Component
+@Slf4j
+public class AvailabilityProjector {
+
+    private final IndexService indexService;
+    private final HotelIndexWriter indexWriter;
+    private final ScheduledExecutorService flusher;
+    private final Object lock = new Object();
+    private Map<UUID, PendingAvailability> pending = new LinkedHashMap<>();
+
+    @Autowired
+    AvailabilityProjector(
+            IndexService indexService,
+            HotelIndexWriter indexWriter,
+            @Value("${search.availability.projection.debounce:1s}") String debounce) {
+        this(indexService, indexWriter, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "availability-projector");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long debounceMillis = DurationStyle.detectAndParse(debounce).toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, debounceMillis, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    AvailabilityProjector(IndexService indexService, HotelIndexWriter indexWriter, ScheduledExecutorService flusher) {
+        this.indexService = indexService;
+        this.indexWriter = indexWriter;
+        this.flusher = flusher;
+    }
+
+    /**
+     * Records the rooms left today for a room type. The returned future completes once the index
+     * reflects it, or right away if the room type is not indexed.
+     */
+    public CompletableFuture<Void> apply(UUID roomTypeId, int availableToday) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        synchronized (lock) {
+            PendingAvailability current = pending.get(roomTypeId);
+            List<CompletableFuture<Void>> completions = current == null ? new ArrayList<>() : current.completions();
+            completions.add(completion);
+            pending.put(roomTypeId, new PendingAvailability(availableToday, completions));
+        }
+        return completion;
+    }
+
+    /**
+     * Writes everything buffered so far. Runs on the flusher thread; tests call it directly.
+     */
+    void flush() {
+        Map<UUID, PendingAvailability> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        List<CompletableFuture<Void>> completions = new ArrayList<>();
+        batch.values().forEach(availability -> completions.addAll(availability.completions()));
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (HotelDocument hotel : indexService.findHotelsByRoomTypes(batch.keySet())) {
+                if (project(hotel, batch)) {
+                    Map<String, Object> fields = new HashMap<>();
+                    fields.put("roomAvailability", availability(hotel.getRoomTypes()));
+                    fields.put("availableRooms", totalAvailable(hotel.getRoomTypes()));
+                    writes.add(indexWriter.updateFields(hotel.getId().toString(), fields));
+                }
+            }
+            CompletableFuture<Void> written = CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new))
+                    .whenComplete((ignored, failure) -> completions.forEach(completion -> {
+                        if (failure == null) {
+                            completion.complete(null);
+                        } else {
+                            completion.completeExceptionally(failure);
+                        }
+                    }));
+            log.debug("Projected availability of {} room types onto {} hotels", batch.size(), writes.size());
+            written.exceptionally(failure -> null).join();
+        } catch (Exception e) {
+            log.error("Failed to project availability of {} room types", batch.size(), e);
+            completions.forEach(completion -> completion.completeExceptionally(e));
+        }
+    }
+
+    private static boolean project(HotelDocument hotel, Map<UUID, PendingAvailability> batch) {
+        if (hotel.getId() == null || hotel.getRoomTypes() == null) {
+            return false;
+        }
+        boolean changed = false;
+        for (RoomTypeProjection roomType : hotel.getRoomTypes()) {
+            PendingAvailability availability = roomType.getId() == null ? null : batch.get(roomType.getId());
+            if (availability != null) {
+                roomType.setAvailableRooms(availability.availableToday());
+                roomType.setIsAvailable(availability.availableToday() > 0);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static Map<UUID, Integer> availability(List<RoomTypeProjection> roomTypes) {
+        Map<UUID, Integer> availability = new HashMap<>();
+        for (RoomTypeProjection roomType : roomTypes) {
+            if (roomType.getId() != null && roomType.getAvailableRooms() != null) {
+                availability.put(roomType.getId(), roomType.getAvailableRooms());
+            }
+        }
+        return availability;
+    }
+
+    private static Integer totalAvailable(List<RoomTypeProjection> roomTypes) {
+        if (roomTypes.stream().anyMatch(roomType -> roomType.getAvailableRooms() == null)) {
+            return null;
+        }
+        return roomTypes.stream().mapToInt(RoomTypeProjection::getAvailableRooms).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private record PendingAvailability(int availableToday, List<CompletableFuture<Void>> completions) {
+    }
+}
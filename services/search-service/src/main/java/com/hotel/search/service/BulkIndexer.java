@@ -0,0 +1,275 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.Task;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pipelined bulk loader for hotel documents.
+ *
+ * <p>Hotels are serialized to JSON bytes on a worker pool, a chunk at a time, while the caller
+ * keeps reading its source. The bytes are packed into {@code addDocuments} payloads of at most
+ * {@code search.bulk.max-batch-bytes}, so batch size follows document size rather than a fixed
+ * document count. Up to {@code search.bulk.max-in-flight-tasks} tasks stay enqueued in Meilisearch
+ * at once; {@link MeilisearchTaskTracker} polls their statuses together with every other tracked
+ * task, and the next payload is only submitted once a slot frees up. Reading, serializing, and
+ * indexing therefore overlap, and the amount of buffered work stays bounded however large the
+ * source is.
+ */
+@Component
+@Slf4j
+public class BulkIndexer {
+
+    private static final int SERIALIZE_CHUNK_SIZE = 100;
+
+    private final Client meilisearchClient;
+    private final MeilisearchTaskTracker taskTracker;
+    private final ObjectWriter documentWriter;
+    private final ExecutorService serializers;
+    private final int maxPendingChunks;
+    private final int maxInFlightTasks;
+    private final long maxBatchBytes;
+    private final Duration taskTimeout;
+
+    @Autowired(required = false)
+    private SearchFacets searchFacets;
+
+    @Autowired
+    public BulkIndexer(
+            Client meilisearchClient,
+            ObjectMapper objectMapper,
+            MeilisearchTaskTracker taskTracker,
+            @Value("${search.bulk.serializer-threads:2}") int serializerThreads,
+            @Value("${search.bulk.max-in-flight-tasks:4}") int maxInFlightTasks,
+            @Value("${search.bulk.max-batch-bytes:8MB}") String maxBatchBytes,
+            @Value("${search.bulk.task-timeout:5m}") String taskTimeout) {
+        this(meilisearchClient, objectMapper, taskTracker,
+                Executors.newFixedThreadPool(serializerThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "hotel-bulk-serializer");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                serializerThreads * 2,
+                maxInFlightTasks,
+                DataSize.parse(maxBatchBytes).toBytes(),
+                DurationStyle.detectAndParse(taskTimeout));
+    }
+
+    BulkIndexer(
+            Client meilisearchClient,
+            ObjectMapper objectMapper,
+            MeilisearchTaskTracker taskTracker,
+            ExecutorService serializers,
+            int maxPendingChunks,
+            int maxInFlightTasks,
+            long maxBatchBytes,
+            Duration taskTimeout) {
+        this.meilisearchClient = meilisearchClient;
+        this.taskTracker = taskTracker;
+        this.documentWriter = objectMapper.writerFor(IndexDocument.class);
+        this.serializers = serializers;
+        this.maxPendingChunks = maxPendingChunks;
+        this.maxInFlightTasks = maxInFlightTasks;
+        this.maxBatchBytes = maxBatchBytes;
+        this.taskTimeout = taskTimeout;
+    }
+
+    /**
+     * Replaces the given hotels in the index and returns once every task has succeeded. Fails
+     * with the first failed task; documents of tasks that already succeeded stay indexed.
+     *
+     * @return the number of hotels read from {@code hotels}
+     */
+    public long index(String indexName, Iterable<HotelDocument> hotels) throws Exception {
+        Index index = meilisearchClient.index(indexName);
+        Deque<CompletableFuture<List<byte[]>>> serializing = new ArrayDeque<>();
+        List<CompletableFuture<Task>> inFlight = new ArrayList<>();
+        PayloadBuilder payload = new PayloadBuilder();
+        long count = 0;
+
+        List<HotelDocument> chunk = new ArrayList<>(SERIALIZE_CHUNK_SIZE);
+        for (HotelDocument hotel : hotels) {
+            chunk.add(hotel);
+            count++;
+            if (chunk.size() == SERIALIZE_CHUNK_SIZE) {
+                serializing.addLast(serializeAsync(chunk));
+                chunk = new ArrayList<>(SERIALIZE_CHUNK_SIZE);
+                if (serializing.size() >= maxPendingChunks) {
+                    append(index, payload, inFlight, join(serializing.removeFirst()));
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            serializing.addLast(serializeAsync(chunk));
+        }
+        while (!serializing.isEmpty()) {
+            append(index, payload, inFlight, join(serializing.removeFirst()));
+        }
+        if (!payload.isEmpty()) {
+            submit(index, payload, inFlight);
+        }
+        while (!inFlight.isEmpty()) {
+            awaitAnyFinished(inFlight);
+        }
+
+        log.debug("Bulk indexed {} hotels into '{}'", count, indexName);
+        return count;
+    }
+
+    private CompletableFuture<List<byte[]>> serializeAsync(List<HotelDocument> chunk) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<byte[]> documents = new ArrayList<>(chunk.size());
+            for (HotelDocument hotel : chunk) {
+                documents.add(serialize(hotel));
+            }
+            return documents;
+        }, serializers);
+    }
+
+    byte[] serialize(HotelDocument hotel) {
+        try {
+            Integer priceBucket = searchFacets != null ? searchFacets.priceBucket(hotel.getMinPrice()) : null;
+            return documentWriter.writeValueAsBytes(new IndexDocument(hotel, System.currentTimeMillis(), priceBucket));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize hotel " + hotel.getId(), e);
+        }
+    }
+
+    private void append(Index index, PayloadBuilder payload, List<CompletableFuture<Task>> inFlight,
+                        List<byte[]> documents)
+            throws Exception {
+        for (byte[] document : documents) {
+            if (!payload.isEmpty() && !payload.fits(document, maxBatchBytes)) {
+                submit(index, payload, inFlight);
+            }
+            payload.add(document);
+        }
+    }
+
+    private void submit(Index index, PayloadBuilder payload, List<CompletableFuture<Task>> inFlight)
+            throws Exception {
+        while (inFlight.size() >= maxInFlightTasks) {
+            awaitAnyFinished(inFlight);
+        }
+        inFlight.add(taskTracker.track(index.addDocuments(payload.drain()).getTaskUid(), taskTimeout));
+    }
+
+    /**
+     * Waits until at least one in-flight task has finished and removes the finished ones; fails
+     * with the first failed task.
+     */
+    private static void awaitAnyFinished(List<CompletableFuture<Task>> inFlight) throws Exception {
+        CompletableFuture.anyOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(failure -> null).join();
+        for (CompletableFuture<Task> task : inFlight) {
+            if (task.isCompletedExceptionally()) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                }
+            }
+        }
+        inFlight.removeIf(CompletableFuture::isDone);
+    }
+
+    private static List<byte[]> join(CompletableFuture<List<byte[]>> serialized) {
+        try {
+            return serialized.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        serializers.shutdown();
+    }
+
+    /**
+     * Accumulates serialized documents into one JSON array.
+     */
+    private static final class PayloadBuilder {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private int documents;
+
+        boolean isEmpty() {
+            return documents == 0;
+        }
+
+        boolean fits(byte[] document, long maxBytes) {
+            // opening bracket or separator, the document, and the closing bracket
+            return buffer.size() + document.length + 2 <= maxBytes;
+        }
+
+        void add(byte[] document) {
+            buffer.write(documents == 0 ? '[' : ',');
+            buffer.writeBytes(document);
+            documents++;
+        }
+
+        String drain() {
+            buffer.write(']');
+            String json = buffer.toString(StandardCharsets.UTF_8);
+            buffer.reset();
+            documents = 0;
+            return json;
+        }
+    }
+
+    /**
+     * The stored form of a hotel: its own fields, the {@code _geo} field used for geo filtering
+     * and sorting, its price range for facet counts, and the time it was written, without an
+     * intermediate map.
+     */
+    record IndexDocument(
+            @JsonUnwrapped HotelDocument hotel,
+            @JsonProperty(IndexService.INDEXED_AT_FIELD) long indexedAt,
+            @JsonProperty(SearchFacets.PRICE_BUCKET_ATTRIBUTE) @JsonInclude(JsonInclude.Include.NON_NULL)
+            Integer priceBucket) {
+
+        @JsonProperty("_geo")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Map<String, Double> geo() {
+            if (hotel.getLatitude() == null || hotel.getLongitude() == null) {
+                return null;
+            }
+            return Map.of("lat", hotel.getLatitude(), "lng", hotel.getLongitude());
+        }
+    }
+}
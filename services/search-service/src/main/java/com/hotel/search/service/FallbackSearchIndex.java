@@ -0,0 +1,568 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.health.MeilisearchHealthIndicator;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * In-process copy of the hotel index that answers searches while Meilisearch is unreachable, so
+ * search degrades in relevance instead of failing.
+ *
+ * <p>It is fed by the same write paths as the index, after Meilisearch accepted each write, and
+ * loaded once from the index at startup. Each hotel is kept as its serialized document plus the
+ * fields searches filter and sort by. Every {@code search.fallback.refresh-interval-ms} a changed
+ * set of hotels is compiled into an immutable {@link Snapshot}: one array per numeric field and
+ * sorted postings per city, country, amenity, and word of the searchable fields. A search
+ * intersects postings, scans the columns of the remaining hotels, and only deserializes the
+ * page it returns.
+ *
+ * <p>The same refresh asks {@link MeilisearchHealthIndicator} whether Meilisearch is up;
+ * {@link SearchService} also reports a search that could not reach it. While it is down,
+ * searches are served from here. Text matching is by whole words, and by prefix for the last
+ * word, ranked by the number of query words matched; there are no typos or synonyms.
+ */
+@Component
+@Slf4j
+public class FallbackSearchIndex extends IndexedHotelMap<FallbackSearchIndex.Row> {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final ObjectMapper objectMapper;
+    private final MeilisearchHealthIndicator meilisearchHealth;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean meilisearchDown;
+
+    @Autowired(required = false)
+    private SearchFacets searchFacets;
+
+    FallbackSearchIndex(Client meilisearchClient, ObjectMapper objectMapper,
+                        MeilisearchHealthIndicator meilisearchHealth) {
+        super(meilisearchClient, null, "fallback documents");
+        this.objectMapper = objectMapper;
+        this.meilisearchHealth = meilisearchHealth;
+    }
+
+    /**
+     * Whether searches should be served from here instead of Meilisearch.
+     */
+    public boolean isServing() {
+        return meilisearchDown;
+    }
+
+    /**
+     * Switches searches here until the next health check finds Meilisearch up again.
+     */
+    public void meilisearchUnavailable() {
+        if (!meilisearchDown) {
+            meilisearchDown = true;
+            log.warn("Meilisearch is unreachable, serving searches from the fallback index of {} hotels",
+                    snapshot.size());
+        }
+    }
+
+    /**
+     * The hotel's row; a write without a favorite count keeps the stored one.
+     */
+    @Override
+    Row entry(HotelDocument hotel, Row previous) {
+        Long favoriteCount = hotel.getFavoriteCount() != null || previous == null
+                ? hotel.getFavoriteCount() : previous.favoriteCount();
+        return Row.of(objectMapper, hotel, favoriteCount);
+    }
+
+    @Override
+    Row loadedEntry(HotelDocument hotel) {
+        hotel.applyRoomAvailability();
+        return entry(hotel, null);
+    }
+
+    @Override
+    public void update(HotelDocument hotel, Map<String, Object> document) {
+        updateFields(hotel.getId().toString(), document);
+    }
+
+    /**
+     * Merges the fields into the stored document, as a partial index update does. A hotel that
+     * is not stored yet is left out: a partial document has no name or other fields to match, and
+     * the hotel arrives whole with its next full write, reconciliation, or load.
+     */
+    @Override
+    public void updateFields(String hotelId, Map<String, Object> fields) {
+        Row row = hotels.get(UUID.fromString(hotelId));
+        if (row == null) {
+            log.debug("Ignoring partial update of hotel {} that is not in the fallback index", hotelId);
+            return;
+        }
+        try {
+            HotelDocument hotel = objectMapper.readerForUpdating(row.document(objectMapper))
+                    .readValue(objectMapper.writeValueAsBytes(fields));
+            hotel.setId(UUID.fromString(hotelId));
+            hotel.applyRoomAvailability();
+            put(hotel);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to update hotel {} in the fallback index: {}", hotelId, e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${search.fallback.initial-delay-ms:5000}",
+            fixedDelayString = "${search.fallback.refresh-interval-ms:5000}")
+    public void refresh() {
+        boolean up = Status.UP.equals(meilisearchHealth.health().getStatus());
+        if (up && meilisearchDown) {
+            log.info("Meilisearch is reachable again, leaving the fallback index");
+        } else if (!up) {
+            meilisearchUnavailable();
+        }
+        meilisearchDown = !up;
+        refresh(up);
+    }
+
+    @Override
+    void rebuild() {
+        snapshot = Snapshot.build(hotels.values());
+    }
+
+    public SearchResponse search(SearchRequest request) {
+        return search(request,
+                request.getOffset() != null ? request.getOffset() : 0,
+                request.getLimit() != null ? request.getLimit() : 20);
+    }
+
+    /**
+     * Returns the page of matching hotels; the total is exact.
+     */
+    public SearchResponse search(SearchRequest request, int offset, int limit) {
+        long startedAt = System.nanoTime();
+        Snapshot current = snapshot;
+        int[] matches = current.match(request);
+
+        List<HotelDocument> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.length - offset)));
+        for (int i = offset; i < matches.length && i < offset + limit; i++) {
+            try {
+                page.add(current.rows[matches[i]].document(objectMapper));
+            } catch (IOException e) {
+                log.warn("Failed to read hotel {} from the fallback index: {}",
+                        current.rows[matches[i]].id(), e.getMessage());
+            }
+        }
+        SearchFacets.Facets facets = searchFacets != null
+                ? searchFacets.fromDistribution(current.distribution(matches)) : null;
+
+        return SearchResponse.builder()
+                .hotels(page)
+                .total((long) matches.length)
+                .offset(offset)
+                .limit(limit)
+                .processingTime((System.nanoTime() - startedAt) / 1_000_000)
+                .query(request.getQuery())
+                .facets(facets != null ? facets.counts() : null)
+                .priceRanges(facets != null ? facets.priceRanges() : null)
+                .degraded(true)
+                .build();
+    }
+
+    int size() {
+        return snapshot.size();
+    }
+
+    static String[] words(String text) {
+        String normalized = SuggestionTrie.normalize(text);
+        return normalized.isEmpty() ? new String[0] : WORD_SEPARATOR.split(normalized);
+    }
+
+    /**
+     * One hotel: its serialized document, the filter keys normalized as query values are, and
+     * the facet values as indexed.
+     */
+    record Row(UUID id, byte[] json, boolean active, String name, String city, String country,
+               String[] amenities, String cityKey, String countryKey, String[] amenityKeys, String[] words,
+               int starRating, double minPrice, double maxPrice, double averageRating, int reviewCount,
+               double latitude, double longitude, Long favoriteCount) {
+
+        static Row of(ObjectMapper objectMapper, HotelDocument hotel, Long favoriteCount) {
+            ObjectNode stored = objectMapper.valueToTree(hotel);
+            stored.remove("stayPrice");
+            if (favoriteCount != null) {
+                stored.put("favoriteCount", favoriteCount);
+            }
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(stored);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Hotel " + hotel.getId() + " cannot be serialized", e);
+            }
+            List<String> amenities = hotel.getAmenities() == null ? List.of() : hotel.getAmenities();
+            Set<String> words = new LinkedHashSet<>();
+            for (String field : new String[]{hotel.getName(), hotel.getDescription(), hotel.getCity(),
+                    hotel.getCountry(), hotel.getAddress()}) {
+                words.addAll(Arrays.asList(FallbackSearchIndex.words(field)));
+            }
+            amenities.forEach(amenity -> words.addAll(Arrays.asList(FallbackSearchIndex.words(amenity))));
+            return new Row(hotel.getId(), json, !Boolean.FALSE.equals(hotel.getIsActive()),
+                    hotel.getName() == null ? "" : hotel.getName(),
+                    hotel.getCity(), hotel.getCountry(),
+                    amenities.stream().filter(amenity -> amenity != null).distinct().toArray(String[]::new),
+                    SuggestionTrie.normalize(hotel.getCity()), SuggestionTrie.normalize(hotel.getCountry()),
+                    amenities.stream().map(SuggestionTrie::normalize).distinct().toArray(String[]::new),
+                    words.toArray(new String[0]),
+                    hotel.getStarRating() != null ? hotel.getStarRating() : -1,
+                    decimal(hotel.getMinPrice()), decimal(hotel.getMaxPrice()),
+                    hotel.getAverageRating() != null ? hotel.getAverageRating() : Double.NaN,
+                    hotel.getReviewCount() != null ? hotel.getReviewCount() : 0,
+                    hotel.getLatitude() != null ? hotel.getLatitude() : Double.NaN,
+                    hotel.getLongitude() != null ? hotel.getLongitude() : Double.NaN,
+                    favoriteCount);
+        }
+
+        HotelDocument document(ObjectMapper objectMapper) throws IOException {
+            return objectMapper.readValue(json, HotelDocument.class);
+        }
+
+        private static double decimal(BigDecimal value) {
+            return value != null ? value.doubleValue() : Double.NaN;
+        }
+    }
+
+    /**
+     * Immutable search structure over the active hotels; rows are numbered by name, so postings
+     * are sorted and results without a sort or query come in name order.
+     */
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = build(List.of());
+
+        private final Row[] rows;
+        private final int[] starRating;
+        private final double[] minPrice;
+        private final double[] maxPrice;
+        private final double[] averageRating;
+        private final int[] reviewCount;
+        private final double[] latitude;
+        private final double[] longitude;
+        private final Map<String, int[]> byCity;
+        private final Map<String, int[]> byCountry;
+        private final Map<String, int[]> byAmenity;
+        private final String[] terms;
+        private final int[][] termPostings;
+
+        private Snapshot(Row[] rows, Map<String, int[]> byCity, Map<String, int[]> byCountry,
+                         Map<String, int[]> byAmenity, String[] terms, int[][] termPostings) {
+            this.rows = rows;
+            this.starRating = new int[rows.length];
+            this.minPrice = new double[rows.length];
+            this.maxPrice = new double[rows.length];
+            this.averageRating = new double[rows.length];
+            this.reviewCount = new int[rows.length];
+            this.latitude = new double[rows.length];
+            this.longitude = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                starRating[i] = rows[i].starRating();
+                minPrice[i] = rows[i].minPrice();
+                maxPrice[i] = rows[i].maxPrice();
+                averageRating[i] = rows[i].averageRating();
+                reviewCount[i] = rows[i].reviewCount();
+                latitude[i] = rows[i].latitude();
+                longitude[i] = rows[i].longitude();
+            }
+            this.byCity = byCity;
+            this.byCountry = byCountry;
+            this.byAmenity = byAmenity;
+            this.terms = terms;
+            this.termPostings = termPostings;
+        }
+
+        static Snapshot build(Collection<Row> hotels) {
+            Row[] rows = hotels.stream()
+                    .filter(Row::active)
+                    .sorted(Comparator.comparing(Row::name).thenComparing(Row::id))
+                    .toArray(Row[]::new);
+            Map<String, List<Integer>> byCity = new HashMap<>();
+            Map<String, List<Integer>> byCountry = new HashMap<>();
+            Map<String, List<Integer>> byAmenity = new HashMap<>();
+            TreeMap<String, List<Integer>> byWord = new TreeMap<>();
+            for (int i = 0; i < rows.length; i++) {
+                Row row = rows[i];
+                addPosting(byCity, row.cityKey(), i);
+                addPosting(byCountry, row.countryKey(), i);
+                for (String amenity : row.amenityKeys()) {
+                    addPosting(byAmenity, amenity, i);
+                }
+                for (String word : row.words()) {
+                    addPosting(byWord, word, i);
+                }
+            }
+            String[] terms = byWord.keySet().toArray(new String[0]);
+            int[][] termPostings = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                termPostings[i] = toArray(byWord.get(terms[i]));
+            }
+            return new Snapshot(rows, postings(byCity), postings(byCountry), postings(byAmenity),
+                    terms, termPostings);
+        }
+
+        int size() {
+            return rows.length;
+        }
+
+        /**
+         * Returns the rows matching the request's filters and query, in result order.
+         */
+        int[] match(SearchRequest request) {
+            int[] candidates = null;
+            if (request.getCity() != null && !request.getCity().isBlank()) {
+                candidates = intersect(candidates, byCity.getOrDefault(SuggestionTrie.normalize(request.getCity()), new int[0]));
+            }
+            if (request.getCountry() != null && !request.getCountry().isBlank()) {
+                candidates = intersect(candidates, byCountry.getOrDefault(SuggestionTrie.normalize(request.getCountry()), new int[0]));
+            }
+            if (request.getAmenities() != null && !request.getAmenities().isEmpty()) {
+                boolean[] any = new boolean[rows.length];
+                for (String amenity : request.getAmenities()) {
+                    for (int row : byAmenity.getOrDefault(SuggestionTrie.normalize(amenity), new int[0])) {
+                        any[row] = true;
+                    }
+                }
+                candidates = intersect(candidates, rowsOf(any));
+            }
+
+            int[] score = textScores(request.getQuery());
+            List<Integer> matches = new ArrayList<>();
+            int end = candidates != null ? candidates.length : rows.length;
+            for (int i = 0; i < end; i++) {
+                int row = candidates != null ? candidates[i] : i;
+                if ((score == null || score[row] > 0) && passesColumns(request, row)) {
+                    matches.add(row);
+                }
+            }
+            matches.sort(order(request, score));
+            return toArray(matches);
+        }
+
+        private boolean passesColumns(SearchRequest request, int row) {
+            if (request.getMinRating() != null && starRating[row] < request.getMinRating()) {
+                return false;
+            }
+            if (request.getMaxRating() != null && (starRating[row] < 0 || starRating[row] > request.getMaxRating())) {
+                return false;
+            }
+            if (request.getMinPrice() != null && !(minPrice[row] >= request.getMinPrice().doubleValue())) {
+                return false;
+            }
+            if (request.getMaxPrice() != null && !(maxPrice[row] <= request.getMaxPrice().doubleValue())) {
+                return false;
+            }
+            if (request.getLatitude() != null && request.getLongitude() != null && request.getRadiusKm() != null) {
+                return !Double.isNaN(latitude[row]) && distanceKm(request.getLatitude(), request.getLongitude(),
+                        latitude[row], longitude[row]) <= request.getRadiusKm();
+            }
+            return true;
+        }
+
+        /**
+         * Counts the distinct query words each row contains; the last word also matches as a
+         * prefix, since it may still be being typed. Null when there is no query.
+         */
+        private int[] textScores(String query) {
+            String[] queryWords = words(query);
+            if (queryWords.length == 0) {
+                return null;
+            }
+            int[] score = new int[rows.length];
+            Set<String> seen = new LinkedHashSet<>(Arrays.asList(queryWords));
+            int position = 0;
+            for (String word : seen) {
+                boolean last = ++position == seen.size();
+                int from = lowerBound(word);
+                int to = from;
+                if (last) {
+                    to = lowerBound(word + Character.MAX_VALUE);
+                } else if (from < terms.length && terms[from].equals(word)) {
+                    to = from + 1;
+                }
+                boolean[] counted = new boolean[rows.length];
+                for (int term = from; term < to; term++) {
+                    for (int row : termPostings[term]) {
+                        if (!counted[row]) {
+                            counted[row] = true;
+                            score[row]++;
+                        }
+                    }
+                }
+            }
+            return score;
+        }
+
+        /**
+         * Sorts like {@code SearchService#buildSortParameter}: an unknown field sorts by star
+         * rating descending, and anything but {@code asc} is descending. Without a sort field,
+         * hotels matching more query words come first.
+         */
+        private Comparator<Integer> order(SearchRequest request, int[] score) {
+            Comparator<Integer> byScore = score == null
+                    ? (a, b) -> 0 : (a, b) -> Integer.compare(score[b], score[a]);
+            if (request.getSortBy() == null || request.getSortBy().isEmpty()) {
+                return byScore.thenComparing(Comparator.naturalOrder());
+            }
+            double[] column = switch (request.getSortBy()) {
+                case "starRating" -> stars();
+                case "minPrice" -> minPrice;
+                case "maxPrice" -> maxPrice;
+                case "averageRating" -> averageRating;
+                case "reviewCount" -> Arrays.stream(reviewCount).asDoubleStream().toArray();
+                default -> null;
+            };
+            boolean descending = column == null || !"asc".equalsIgnoreCase(request.getSortOrder());
+            double[] values = column != null ? column : stars();
+            // Hotels without the value sort last in both directions, as in Meilisearch
+            Comparator<Integer> sorted = (a, b) -> {
+                boolean missingA = Double.isNaN(values[a]);
+                boolean missingB = Double.isNaN(values[b]);
+                if (missingA || missingB) {
+                    return Boolean.compare(missingA, missingB);
+                }
+                int compared = Double.compare(values[a], values[b]);
+                return descending ? -compared : compared;
+            };
+            return sorted.thenComparing(byScore).thenComparing(Comparator.naturalOrder());
+        }
+
+        private double[] stars() {
+            return Arrays.stream(starRating).mapToDouble(stars -> stars < 0 ? Double.NaN : stars).toArray();
+        }
+
+        /**
+         * Facet distribution of the matching rows, shaped like the one Meilisearch returns.
+         */
+        Map<String, Object> distribution(int[] matches) {
+            Map<String, Long> cities = new TreeMap<>();
+            Map<String, Long> countries = new TreeMap<>();
+            Map<String, Long> ratings = new TreeMap<>();
+            Map<String, Long> amenities = new TreeMap<>();
+            Map<String, Long> prices = new HashMap<>();
+            for (int row : matches) {
+                if (rows[row].city() != null) {
+                    cities.merge(rows[row].city(), 1L, Long::sum);
+                }
+                if (rows[row].country() != null) {
+                    countries.merge(rows[row].country(), 1L, Long::sum);
+                }
+                if (starRating[row] >= 0) {
+                    ratings.merge(Integer.toString(starRating[row]), 1L, Long::sum);
+                }
+                for (String amenity : rows[row].amenities()) {
+                    amenities.merge(amenity, 1L, Long::sum);
+                }
+                if (!Double.isNaN(minPrice[row])) {
+                    prices.merge(BigDecimal.valueOf(minPrice[row]).toPlainString(), 1L, Long::sum);
+                }
+            }
+            Map<String, Object> distribution = new LinkedHashMap<>();
+            distribution.put("city", cities);
+            distribution.put("country", countries);
+            distribution.put("starRating", ratings);
+            distribution.put("amenities", amenities);
+            distribution.put(SearchFacets.PRICE_ATTRIBUTE, prices);
+            return distribution;
+        }
+
+        private int lowerBound(String word) {
+            int index = Arrays.binarySearch(terms, word);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private int[] rowsOf(boolean[] flags) {
+            int count = 0;
+            for (boolean flag : flags) {
+                if (flag) {
+                    count++;
+                }
+            }
+            int[] result = new int[count];
+            for (int i = 0, j = 0; i < flags.length; i++) {
+                if (flags[i]) {
+                    result[j++] = i;
+                }
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] current, int[] postings) {
+            if (current == null) {
+                return postings;
+            }
+            int[] result = new int[Math.min(current.length, postings.length)];
+            int count = 0;
+            for (int i = 0, j = 0; i < current.length && j < postings.length; ) {
+                if (current[i] < postings[j]) {
+                    i++;
+                } else if (current[i] > postings[j]) {
+                    j++;
+                } else {
+                    result[count++] = current[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+            double dLat = Math.toRadians(lat2 - lat1);
+            double dLng = Math.toRadians(lng2 - lng1);
+            double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                    + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                    * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+            return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+        }
+
+        private static void addPosting(Map<String, List<Integer>> postings, String key, int row) {
+            if (key != null && !key.isEmpty()) {
+                List<Integer> rows = postings.computeIfAbsent(key, k -> new ArrayList<>());
+                if (rows.isEmpty() || rows.getLast() != row) {
+                    rows.add(row);
+                }
+            }
+        }
+
+        private static Map<String, int[]> postings(Map<String, List<Integer>> lists) {
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+            lists.forEach((key, rows) -> postings.put(key, toArray(rows)));
+            return postings;
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            int[] array = new int[values.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = values.get(i);
+            }
+            return array;
+        }
+    }
+}
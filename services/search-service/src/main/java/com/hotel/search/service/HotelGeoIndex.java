@@ -0,0 +1,383 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.MapViewResponse;
+import com.hotel.search.dto.NearbyHotel;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory grid of hotel coordinates for map viewports and nearest-hotel lookups, answered
+ * without calling Meilisearch.
+ *
+ * <p>Every hotel is keyed by a geohash-style cell code: the bits of its longitude and latitude
+ * cells, interleaved, so a cell at any coarser level is a prefix of the code and its hotels are
+ * one contiguous run of the sorted codes. A bounding box is covered by at most 5 × 5 cells of
+ * the level matching its size; each cell is two binary searches, and only the hotels in those
+ * runs are checked against the box.
+ *
+ * <p>Hotels are kept per id and updated by the same write paths as {@link SuggestionService}; the
+ * grid is rebuilt off the request path every {@code search.geo.rebuild-interval-ms} and swapped
+ * in whole. Inactive hotels and hotels without coordinates are left out.
+ */
+@Service
+@Slf4j
+public class HotelGeoIndex extends IndexedHotelMap<HotelGeoIndex.Location> {
+
+    /**
+     * Cell bits per axis at the finest level, about 0.6 m of longitude at the equator.
+     */
+    static final int MAX_LEVEL = 26;
+    static final int MAX_ZOOM = 22;
+    private static final String[] LOAD_FIELDS = {
+            "id", "name", "latitude", "longitude", "minPrice", "starRating", "isActive"};
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final double HALF_CIRCUMFERENCE_KM = Math.PI * EARTH_RADIUS_KM;
+    private static final double FIRST_NEARBY_RADIUS_KM = 2;
+
+    private final int clusterPrecision;
+    private final int maxNearby;
+    private volatile Grid grid = Grid.EMPTY;
+
+    HotelGeoIndex(
+            Client meilisearchClient,
+            @Value("${search.geo.cluster-precision:3}") int clusterPrecision,
+            @Value("${search.geo.max-nearby:100}") int maxNearby) {
+        super(meilisearchClient, LOAD_FIELDS, "locations");
+        if (clusterPrecision < 0 || clusterPrecision > 8 || maxNearby < 1) {
+            throw new IllegalArgumentException("Geo cluster precision must be 0-8 and the nearby limit positive");
+        }
+        this.clusterPrecision = clusterPrecision;
+        this.maxNearby = maxNearby;
+    }
+
+    /**
+     * Returns the hotels inside the viewport, grouped into clusters for the zoom level. A cluster
+     * cell is 2<sup>n</sup> times narrower than a map tile at that zoom, n being
+     * {@code search.geo.cluster-precision}; a cluster of one hotel carries that hotel. A viewport
+     * whose west edge is east of its east edge crosses the antimeridian.
+     */
+    public MapViewResponse viewport(double south, double west, double north, double east, int zoom) {
+        if (south < -90 || north > 90 || south > north) {
+            throw new IllegalArgumentException("Viewport latitudes must be within -90..90 with south <= north");
+        }
+        if (west < -180 || west > 180 || east < -180 || east > 180) {
+            throw new IllegalArgumentException("Viewport longitudes must be within -180..180");
+        }
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom must be within 0.." + MAX_ZOOM);
+        }
+        long startedAt = System.nanoTime();
+        Grid current = grid;
+        int[] matches = current.within(south, west, north, east);
+
+        int shift = 2 * (MAX_LEVEL - Math.min(MAX_LEVEL, zoom + clusterPrecision));
+        Map<Long, ClusterBuilder> clusters = new LinkedHashMap<>();
+        for (int match : matches) {
+            clusters.computeIfAbsent(current.codes[match] >>> shift, cell -> new ClusterBuilder())
+                    .add(current.locations[match]);
+        }
+        List<MapViewResponse.MapCluster> markers = new ArrayList<>(clusters.size());
+        clusters.values().forEach(cluster -> markers.add(cluster.build()));
+
+        return MapViewResponse.builder()
+                .clusters(markers)
+                .total((long) matches.length)
+                .zoom(zoom)
+                .processingTime((System.nanoTime() - startedAt) / 1_000_000)
+                .build();
+    }
+
+    /**
+     * Returns up to {@code limit} hotels nearest to the point, closest first, capped at
+     * {@code search.geo.max-nearby}. Searches boxes of growing radius until enough hotels lie
+     * within the radius, so only the neighbourhood of the point is scanned.
+     */
+    public List<NearbyHotel> nearest(double latitude, double longitude, int limit, Double maxDistanceKm) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates must be within -90..90 and -180..180");
+        }
+        if (limit < 1 || (maxDistanceKm != null && maxDistanceKm <= 0)) {
+            throw new IllegalArgumentException("Limit and maximum distance must be positive");
+        }
+        int wanted = Math.min(limit, maxNearby);
+        double maxRadius = maxDistanceKm != null ? Math.min(maxDistanceKm, HALF_CIRCUMFERENCE_KM) : HALF_CIRCUMFERENCE_KM;
+        Grid current = grid;
+
+        double radius = Math.min(FIRST_NEARBY_RADIUS_KM, maxRadius);
+        while (true) {
+            List<NearbyHotel> found = new ArrayList<>();
+            for (int match : current.around(latitude, longitude, radius)) {
+                Location location = current.locations[match];
+                double distance = distanceKm(latitude, longitude, location.latitude(), location.longitude());
+                if (distance <= radius) {
+                    found.add(location.toNearby(distance));
+                }
+            }
+            if (found.size() >= wanted || radius >= maxRadius || found.size() == current.size()) {
+                found.sort(Comparator.comparingDouble(NearbyHotel::getDistanceKm));
+                return found.size() > wanted ? new ArrayList<>(found.subList(0, wanted)) : found;
+            }
+            radius = Math.min(radius * 4, maxRadius);
+        }
+    }
+
+    /**
+     * The location of a hotel that can be shown on a map.
+     */
+    @Override
+    Location entry(HotelDocument hotel, Location previous) {
+        return Location.of(hotel);
+    }
+
+    @Scheduled(
+            initialDelayString = "${search.geo.initial-delay-ms:5000}",
+            fixedDelayString = "${search.geo.rebuild-interval-ms:5000}")
+    public void refresh() {
+        refresh(true);
+    }
+
+    @Override
+    void rebuild() {
+        grid = Grid.build(hotels.values());
+    }
+
+    int size() {
+        return grid.size();
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Cell code of a point at the finest level: longitude bits in the even positions from the
+     * top, as in a geohash, so codes sort cell by cell at every level.
+     */
+    static long cellCode(double latitude, double longitude) {
+        return interleave(cell(longitude + 180, 360, MAX_LEVEL), cell(latitude + 90, 180, MAX_LEVEL));
+    }
+
+    private static long cell(double offset, double span, int level) {
+        long cells = 1L << level;
+        return Math.max(0, Math.min(cells - 1, (long) Math.floor(offset / span * cells)));
+    }
+
+    private static long interleave(long x, long y) {
+        return spread(x) << 1 | spread(y);
+    }
+
+    private static long spread(long value) {
+        long v = value & 0xFFFFFFFFL;
+        v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+        v = (v | (v << 8)) & 0x00FF00FF00FF00FFL;
+        v = (v | (v << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        v = (v | (v << 2)) & 0x3333333333333333L;
+        v = (v | (v << 1)) & 0x5555555555555555L;
+        return v;
+    }
+
+    record Location(UUID id, String name, double latitude, double longitude, BigDecimal minPrice,
+                    Integer starRating) {
+
+        /**
+         * Null for hotels that cannot be shown on a map.
+         */
+        static Location of(HotelDocument hotel) {
+            if (Boolean.FALSE.equals(hotel.getIsActive()) || hotel.getLatitude() == null
+                    || hotel.getLongitude() == null
+                    || Math.abs(hotel.getLatitude()) > 90 || Math.abs(hotel.getLongitude()) > 180) {
+                return null;
+            }
+            return new Location(hotel.getId(), hotel.getName(), hotel.getLatitude(), hotel.getLongitude(),
+                    hotel.getMinPrice(), hotel.getStarRating());
+        }
+
+        NearbyHotel toNearby(double distanceKm) {
+            return NearbyHotel.builder()
+                    .hotelId(id)
+                    .name(name)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .minPrice(minPrice)
+                    .starRating(starRating)
+                    .distanceKm(distanceKm)
+                    .build();
+        }
+    }
+
+    private static final class ClusterBuilder {
+
+        private Location first;
+        private long count;
+        private double latitudeSum;
+        private double longitudeSum;
+        private BigDecimal minPrice;
+
+        void add(Location location) {
+            if (first == null) {
+                first = location;
+            }
+            count++;
+            latitudeSum += location.latitude();
+            longitudeSum += location.longitude();
+            if (location.minPrice() != null && (minPrice == null || location.minPrice().compareTo(minPrice) < 0)) {
+                minPrice = location.minPrice();
+            }
+        }
+
+        MapViewResponse.MapCluster build() {
+            MapViewResponse.MapCluster.MapClusterBuilder cluster = MapViewResponse.MapCluster.builder()
+                    .latitude(latitudeSum / count)
+                    .longitude(longitudeSum / count)
+                    .count(count)
+                    .minPrice(minPrice);
+            if (count == 1) {
+                cluster.hotelId(first.id()).name(first.name()).starRating(first.starRating());
+            }
+            return cluster.build();
+        }
+    }
+
+    /**
+     * Immutable grid: locations sorted by cell code, with the codes alongside for binary search.
+     */
+    static final class Grid {
+
+        static final Grid EMPTY = build(List.of());
+
+        private final long[] codes;
+        private final Location[] locations;
+
+        private Grid(long[] codes, Location[] locations) {
+            this.codes = codes;
+            this.locations = locations;
+        }
+
+        static Grid build(Collection<Location> hotels) {
+            Location[] locations = hotels.toArray(new Location[0]);
+            long[] unsorted = new long[locations.length];
+            Integer[] order = new Integer[locations.length];
+            for (int i = 0; i < locations.length; i++) {
+                unsorted[i] = cellCode(locations[i].latitude(), locations[i].longitude());
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> unsorted[i]));
+            long[] codes = new long[locations.length];
+            Location[] sorted = new Location[locations.length];
+            for (int i = 0; i < order.length; i++) {
+                codes[i] = unsorted[order[i]];
+                sorted[i] = locations[order[i]];
+            }
+            return new Grid(codes, sorted);
+        }
+
+        int size() {
+            return locations.length;
+        }
+
+        /**
+         * Locations inside the box; one whose west is east of its east crosses the antimeridian.
+         */
+        int[] within(double south, double west, double north, double east) {
+            if (west > east) {
+                int[] eastern = withinBox(south, west, north, 180);
+                int[] western = withinBox(south, -180, north, east);
+                int[] both = Arrays.copyOf(eastern, eastern.length + western.length);
+                System.arraycopy(western, 0, both, eastern.length, western.length);
+                return both;
+            }
+            return withinBox(south, west, north, east);
+        }
+
+        /**
+         * Locations in the box around the point that holds a circle of the radius; callers still
+         * check the distance.
+         */
+        int[] around(double latitude, double longitude, double radiusKm) {
+            double latitudeDelta = radiusKm / KM_PER_DEGREE;
+            double south = Math.max(-90, latitude - latitudeDelta);
+            double north = Math.min(90, latitude + latitudeDelta);
+            double cosine = Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north))));
+            double longitudeDelta = cosine <= 0 ? 180 : radiusKm / (KM_PER_DEGREE * cosine);
+            if (longitudeDelta >= 180 || north >= 90 || south <= -90) {
+                return withinBox(south, -180, north, 180);
+            }
+            double west = longitude - longitudeDelta;
+            double east = longitude + longitudeDelta;
+            return within(south, west < -180 ? west + 360 : west, north, east > 180 ? east - 360 : east);
+        }
+
+        private int[] withinBox(double south, double west, double north, double east) {
+            // Cells at least a quarter of the box wide keep the cover within 5 x 5 cells
+            int level = Math.min(levelFor(east - west, 360), levelFor(north - south, 180));
+            int shift = 2 * (MAX_LEVEL - level);
+            long westCell = cell(west + 180, 360, level);
+            long eastCell = cell(east + 180, 360, level);
+            long southCell = cell(south + 90, 180, level);
+            long northCell = cell(north + 90, 180, level);
+
+            int[] found = new int[16];
+            int count = 0;
+            for (long x = westCell; x <= eastCell; x++) {
+                for (long y = southCell; y <= northCell; y++) {
+                    long prefix = interleave(x, y);
+                    int from = lowerBound(prefix << shift);
+                    int to = lowerBound((prefix + 1) << shift);
+                    for (int i = from; i < to; i++) {
+                        Location location = locations[i];
+                        if (location.latitude() >= south && location.latitude() <= north
+                                && location.longitude() >= west && location.longitude() <= east) {
+                            if (count == found.length) {
+                                found = Arrays.copyOf(found, count * 2);
+                            }
+                            found[count++] = i;
+                        }
+                    }
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+
+        private static int levelFor(double extent, double span) {
+            if (extent <= 0) {
+                return MAX_LEVEL;
+            }
+            int level = (int) Math.floor(Math.log(span / extent) / Math.log(2)) + 2;
+            return Math.max(0, Math.min(MAX_LEVEL, level));
+        }
+
+        private int lowerBound(long code) {
+            int low = 0;
+            int high = codes.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (codes[middle] < code) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
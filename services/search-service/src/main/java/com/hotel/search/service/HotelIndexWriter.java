@@ -0,0 +1,261 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers hotel index writes and flushes them as at most three Meilisearch tasks: one
+ * {@code addDocuments}, one {@code updateDocuments}, and one {@code deleteDocuments}.
+ *
+ * <p>Writes are coalesced by hotel id in arrival order. A later replacement or delete wins over
+ * earlier writes, a later partial update is merged over the pending document, and a partial update
+ * after a pending delete is dropped. The in-process indexes follow the coalesced write, so they
+ * never keep a hotel that Meilisearch dropped. The returned future completes once the task that
+ * carries the write has succeeded, so a listener can acknowledge its messages only after the index
+ * reflects them.
+ */
+@Component
+@Slf4j
+public class HotelIndexWriter {
+
+    private final IndexService indexService;
+    private final int maxBatchDocuments;
+    private final Duration taskTimeout;
+    private final ScheduledExecutorService flusher;
+    private final Object lock = new Object();
+    private Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private boolean flushRequested;
+
+    @Autowired(required = false)
+    private List<IndexedHotelListener> listeners = List.of();
+
+    @Autowired
+    HotelIndexWriter(
+            IndexService indexService,
+            @Value("${search.index.flush-interval:200ms}") String flushInterval,
+            @Value("${search.index.max-batch-documents:1000}") int maxBatchDocuments,
+            @Value("${search.index.task-timeout:30s}") String taskTimeout) {
+        this(indexService, maxBatchDocuments, DurationStyle.detectAndParse(taskTimeout),
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "hotel-index-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+        long intervalMillis = DurationStyle.detectAndParse(flushInterval).toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    HotelIndexWriter(
+            IndexService indexService,
+            int maxBatchDocuments,
+            Duration taskTimeout,
+            ScheduledExecutorService flusher) {
+        this.indexService = indexService;
+        this.maxBatchDocuments = maxBatchDocuments;
+        this.taskTimeout = taskTimeout;
+        this.flusher = flusher;
+    }
+
+    /**
+     * Replaces the whole document through {@code addDocuments}.
+     */
+    public CompletableFuture<Void> add(HotelDocument hotel) {
+        return enqueue(hotel.getId().toString(), WriteKind.ADD, indexService.toIndexDocument(hotel),
+                () -> listeners.forEach(listener -> listener.put(hotel)));
+    }
+
+    /**
+     * Merges the document fields into the stored document through {@code updateDocuments}.
+     */
+    public CompletableFuture<Void> update(HotelDocument hotel) {
+        String hotelId = hotel.getId().toString();
+        Map<String, Object> document = indexService.toIndexDocument(hotel);
+        return enqueue(hotelId, WriteKind.UPDATE, document,
+                () -> listeners.forEach(listener -> listener.update(hotel, document)));
+    }
+
+    /**
+     * Merges only the given fields into the stored document; other fields keep their indexed value.
+     */
+    public CompletableFuture<Void> updateFields(String hotelId, Map<String, Object> fields) {
+        Map<String, Object> document = new LinkedHashMap<>(fields);
+        document.put("id", hotelId);
+        return enqueue(hotelId, WriteKind.UPDATE, document,
+                () -> listeners.forEach(listener -> listener.updateFields(hotelId, document)));
+    }
+
+    public CompletableFuture<Void> delete(String hotelId) {
+        UUID id = UUID.fromString(hotelId);
+        return enqueue(hotelId, WriteKind.DELETE, null, () -> listeners.forEach(listener -> listener.remove(id)));
+    }
+
+    private CompletableFuture<Void> enqueue(
+            String hotelId, WriteKind kind, Map<String, Object> document, Runnable onWritten) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        synchronized (lock) {
+            PendingWrite current = pending.get(hotelId);
+            pending.put(hotelId, current == null
+                    ? new PendingWrite(kind, document, completion, onWritten)
+                    : current.merge(kind, document, completion, onWritten));
+            if (pending.size() >= maxBatchDocuments && !flushRequested) {
+                flushRequested = true;
+                flusher.execute(this::flush);
+            }
+        }
+        return completion;
+    }
+
+    /**
+     * Submits everything buffered so far; the writes complete when the task tracker reports their
+     * task, so the flusher thread never waits for Meilisearch. Runs on the flusher thread; tests
+     * call it directly.
+     */
+    void flush() {
+        Map<String, PendingWrite> batch;
+        synchronized (lock) {
+            flushRequested = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        Map<WriteKind, List<PendingWrite>> byKind = new HashMap<>();
+        Map<WriteKind, List<String>> idsByKind = new HashMap<>();
+        batch.forEach((hotelId, write) -> {
+            byKind.computeIfAbsent(write.kind, kind -> new ArrayList<>()).add(write);
+            idsByKind.computeIfAbsent(write.kind, kind -> new ArrayList<>()).add(hotelId);
+        });
+
+        Map<WriteKind, Integer> taskUids = new HashMap<>();
+        Map<WriteKind, Exception> failures = new HashMap<>();
+        for (WriteKind kind : WriteKind.values()) {
+            List<PendingWrite> writes = byKind.get(kind);
+            if (writes == null) {
+                continue;
+            }
+            try {
+                taskUids.put(kind, switch (kind) {
+                    case ADD, UPDATE -> indexService.submitDocuments(
+                            writes.stream().map(write -> write.document).toList(), kind == WriteKind.ADD);
+                    case DELETE -> indexService.submitDeletes(idsByKind.get(kind));
+                });
+            } catch (Exception e) {
+                failures.put(kind, e);
+            }
+        }
+        byKind.forEach((kind, writes) -> {
+            Integer taskUid = taskUids.get(kind);
+            if (taskUid == null) {
+                completeAll(kind, writes, failures.get(kind));
+                return;
+            }
+            indexService.taskCompletion(taskUid, taskTimeout).whenComplete((ignored, failure) ->
+                    completeAll(kind, writes, failure instanceof CompletionException ? failure.getCause() : failure));
+        });
+        log.debug("Flushed {} coalesced hotel index writes", batch.size());
+    }
+
+    private static void completeAll(WriteKind kind, List<PendingWrite> writes, Throwable failure) {
+        if (failure != null) {
+            log.error("Failed to flush {} hotel {} writes", writes.size(), kind, failure);
+        }
+        writes.forEach(write -> write.complete(failure));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private enum WriteKind {
+        ADD,
+        UPDATE,
+        DELETE
+    }
+
+    private static final class PendingWrite {
+
+        private final WriteKind kind;
+        private final Map<String, Object> document;
+        private final List<CompletableFuture<Void>> completions;
+        private final List<Runnable> onWritten;
+
+        private PendingWrite(
+                WriteKind kind,
+                Map<String, Object> document,
+                CompletableFuture<Void> completion,
+                Runnable onWritten) {
+            this(kind, document, new ArrayList<>(List.of(completion)), new ArrayList<>(List.of(onWritten)));
+        }
+
+        private PendingWrite(
+                WriteKind kind,
+                Map<String, Object> document,
+                List<CompletableFuture<Void>> completions,
+                List<Runnable> onWritten) {
+            this.kind = kind;
+            this.document = document;
+            this.completions = completions;
+            this.onWritten = onWritten;
+        }
+
+        private PendingWrite merge(
+                WriteKind nextKind,
+                Map<String, Object> nextDocument,
+                CompletableFuture<Void> completion,
+                Runnable nextOnWritten) {
+            completions.add(completion);
+            if (nextKind != WriteKind.UPDATE) {
+                return new PendingWrite(nextKind, nextDocument, completions, new ArrayList<>(List.of(nextOnWritten)));
+            }
+            if (kind == WriteKind.DELETE) {
+                // Updating a deleted hotel would bring back a partial document
+                return this;
+            }
+            Map<String, Object> merged = new LinkedHashMap<>(document);
+            merged.putAll(nextDocument);
+            onWritten.add(nextOnWritten);
+            return new PendingWrite(kind, merged, completions, onWritten);
+        }
+
+        private void complete(Throwable failure) {
+            if (failure == null) {
+                for (Runnable action : onWritten) {
+                    try {
+                        action.run();
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to apply a written hotel to the in-process indexes", e);
+                    }
+                }
+            }
+            for (CompletableFuture<Void> completion : completions) {
+                if (failure == null) {
+                    completion.complete(null);
+                } else {
+                    completion.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.hotel.search.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Counter that changes after every successful write to the hotel index. Cached search results
+ * remember the generation they were computed under and are ignored once it differs.
+ *
+ * <p>With Redis enabled the counter is shared by all search-service instances, so a write
+ * indexed by one instance invalidates the caches of the others. Instances re-read the shared
+ * value at most every {@code search.cache.generation-refresh}, which bounds how long another
+ * instance may serve a result from before the write. If Redis is unavailable the local counter
+ * keeps working for this instance.
+ */
+@Component
+@Slf4j
+public class IndexGeneration {
+
+    static final String REDIS_KEY = "search:index-generation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long refreshNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long refreshedAt;
+    private volatile boolean unsharedBump;
+
+    @Autowired
+    IndexGeneration(
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            @Value("${search.cache.redis.enabled:false}") boolean redisEnabled,
+            @Value("${search.cache.generation-refresh:1s}") String refresh) {
+        this(redisEnabled ? redisTemplate.getIfAvailable() : null,
+                DurationStyle.detectAndParse(refresh), System::nanoTime);
+    }
+
+    IndexGeneration(StringRedisTemplate redisTemplate, Duration refresh, LongSupplier nanoClock) {
+        this.redisTemplate = redisTemplate;
+        this.refreshNanos = refresh.toNanos();
+        this.nanoClock = nanoClock;
+        this.refreshedAt = nanoClock.getAsLong() - refreshNanos;
+    }
+
+    public long current() {
+        if (redisTemplate != null && nanoClock.getAsLong() - refreshedAt >= refreshNanos) {
+            try {
+                if (unsharedBump) {
+                    publishBump();
+                } else {
+                    String shared = redisTemplate.opsForValue().get(REDIS_KEY);
+                    generation.set(shared == null ? 0 : Long.parseLong(shared));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read the shared index generation, using the local one: {}", e.getMessage());
+            }
+            refreshedAt = nanoClock.getAsLong();
+        }
+        return generation.get();
+    }
+
+    public void bump() {
+        if (redisTemplate == null) {
+            generation.incrementAndGet();
+            return;
+        }
+        try {
+            publishBump();
+        } catch (RuntimeException e) {
+            // Invalidate locally now and publish the bump once Redis answers again, so results
+            // cached under the shared value before this write are not served afterwards.
+            generation.incrementAndGet();
+            unsharedBump = true;
+            log.warn("Failed to bump the shared index generation", e);
+        }
+    }
+
+    private void publishBump() {
+        Long shared = redisTemplate.opsForValue().increment(REDIS_KEY);
+        generation.set(shared == null ? generation.get() + 1 : shared);
+        unsharedBump = false;
+        refreshedAt = nanoClock.getAsLong();
+    }
+}
@@ -2,33 +2,41 @@ package com.hotel.search.service;
 
 import com.meilisearch.sdk.Client;
 import com.meilisearch.sdk.Index;
-import com.meilisearch.sdk.model.DocumentsQuery;
-import com.meilisearch.sdk.model.Results;
+import com.meilisearch.sdk.SearchRequest;
+import com.meilisearch.sdk.model.Faceting;
+import com.meilisearch.sdk.model.SearchResult;
 import com.meilisearch.sdk.model.Settings;
-import com.meilisearch.sdk.model.Task;
+import com.meilisearch.sdk.model.SwapIndexesParams;
 import com.meilisearch.sdk.model.TaskInfo;
-import com.meilisearch.sdk.model.TaskStatus;
 import com.hotel.search.model.HotelDocument;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -37,10 +45,36 @@ public class IndexService {
     
     private final Client meilisearchClient;
     private final ObjectMapper objectMapper;
+    private final BulkIndexer bulkIndexer;
+    private final MeilisearchTaskTracker taskTracker;
     
+    @Autowired(required = false)
+    private MeilisearchIndexes indexes;
+
     @Autowired(required = false)
     private WebClient.Builder webClientBuilder;
 
+    @Autowired(required = false)
+    private SyncCursorStore syncCursorStore;
+
+    @Autowired(required = false)
+    private IndexGeneration indexGeneration;
+
+    @Autowired(required = false)
+    private List<IndexedHotelListener> listeners = List.of();
+
+    @Autowired(required = false)
+    private SearchFacets searchFacets;
+
+    @Value("${search.index.task-timeout:30s}")
+    private String taskTimeout = "30s";
+
+    @Value("${search.sync.changes-page-size:500}")
+    private int changesPageSize = 500;
+
+    @Value("${search.facets.max-values-per-facet:1000}")
+    private int maxValuesPerFacet = 1000;
+
     @Value("${services.hotel-service.url:http://hotel-service:8082}")
     private String hotelServiceUrl;
 
@@ -57,9 +91,46 @@ public class IndexService {
     private String tokenHeader;
     
     public static final String HOTEL_INDEX = "hotels";
-    private static final int BATCH_SIZE = 100;
+    static final String HOTEL_CHANGES_CURSOR = "hotel-changes";
+    // Epoch millis of the last full write of a document
+    static final String INDEXED_AT_FIELD = "indexedAt";
+    private static final int EXPORT_PREFETCH = 200;
+    private static final int STALE_PAGE_SIZE = 1000;
+    private static final Duration SYNC_LOCK_WAIT = Duration.ofSeconds(30);
+    private static final DateTimeFormatter REBUILD_SUFFIX =
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
     private static final TypeReference<Map<String, Object>> HOTEL_MAP_TYPE = new TypeReference<>() {
     };
+
+    /**
+     * Index synonyms; the natural-language query parser also reads the amenity ones.
+     */
+    static final Map<String, String[]> SYNONYMS = Map.of(
+            "hotel", new String[]{"accommodation", "lodge", "inn", "resort", "motel"},
+            "luxury", new String[]{"premium", "deluxe", "high-end", "upscale", "5-star"},
+            "budget", new String[]{"cheap", "affordable", "economic", "value", "low-cost"},
+            "wifi", new String[]{"wi-fi", "internet", "wireless", "connection"},
+            "pool", new String[]{"swimming pool", "swim", "aquatic"},
+            "gym", new String[]{"fitness", "workout", "exercise", "fitness center"},
+            "restaurant", new String[]{"dining", "food", "cuisine", "eatery"},
+            "parking", new String[]{"car park", "garage", "valet"});
+
+    /**
+     * Serializes full reconciliation, delta sync, and rebuilds, so a delta page cannot be written
+     * to the index a rebuild is about to swap out and then have its cursor saved after the swap.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile boolean rebuildRequired;
+
+    /**
+     * Runs what follows a tracked task, in task order, so the Redis round trip of a generation
+     * bump never holds the task tracker's poller thread.
+     */
+    private final ExecutorService completionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hotel-index-completions");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     @PostConstruct
     public void initializeIndex() {
@@ -92,100 +163,20 @@ public class IndexService {
             }
             
             // Only configure settings for newly created index or if settings need update
-            if (!indexExists || shouldUpdateSettings(index)) {
+            if (!indexExists) {
                 log.info("Configuring index settings for '{}'", HOTEL_INDEX);
-                
-                Settings settings = new Settings();
-                
-                // Searchable attributes (fields that can be searched)
-                settings.setSearchableAttributes(new String[]{
-                    "name",
-                    "description", 
-                    "city",
-                    "country",
-                    "amenities",
-                    "address"
-                });
-                
-                // Displayed attributes (fields returned in search results)
-                settings.setDisplayedAttributes(new String[]{
-                    "id",
-                    "name",
-                    "description",
-                    "city",
-                    "country",
-                    "address",
-                    "starRating",
-                    "minPrice",
-                    "maxPrice",
-                    "amenities",
-                    "latitude",
-                    "longitude",
-                    "imageUrls",
-                    "roomTypes",
-                    "totalRooms",
-                    "availableRooms",
-                    "averageRating",
-                    "reviewCount",
-                    "isActive",
-                    "_geo"
-                });
-                
-                // Filterable attributes (fields that can be filtered)
-                settings.setFilterableAttributes(new String[]{
-                    "city",
-                    "country",
-                    "starRating",
-                    "minPrice",
-                    "maxPrice",
-                    "amenities",
-                    "isActive",
-                    "averageRating",
-                    "reviewCount",
-                    "_geo"  // Enable geo filtering
-                });
-                
-                // Sortable attributes (fields that can be sorted)
-                settings.setSortableAttributes(new String[]{
-                    "starRating",
-                    "minPrice",
-                    "maxPrice",
-                    "averageRating",
-                    "reviewCount",
-                    "name",
-                    "_geo"  // Enable geo sorting (distance)
-                });
-                
-                // Ranking rules (order matters!)
-                settings.setRankingRules(new String[]{
-                    "words",        // Number of words matching
-                    "typo",         // Typo tolerance
-                    "proximity",    // Proximity of words to each other
-                    "attribute",    // Attribute order importance
-                    "sort",         // Custom sorting
-                    "exactness"     // Exact match bonus
-                });
-                
-                // Configure synonyms for better search experience (simplified for SDK 0.11.1)
-                HashMap<String, String[]> synonyms = new HashMap<>();
-                synonyms.put("hotel", new String[]{"accommodation", "lodge", "inn", "resort", "motel"});
-                synonyms.put("luxury", new String[]{"premium", "deluxe", "high-end", "upscale", "5-star"});
-                synonyms.put("budget", new String[]{"cheap", "affordable", "economic", "value", "low-cost"});
-                synonyms.put("wifi", new String[]{"wi-fi", "internet", "wireless", "connection"});
-                synonyms.put("pool", new String[]{"swimming pool", "swim", "aquatic"});
-                synonyms.put("gym", new String[]{"fitness", "workout", "exercise", "fitness center"});
-                synonyms.put("restaurant", new String[]{"dining", "food", "cuisine", "eatery"});
-                synonyms.put("parking", new String[]{"car park", "garage", "valet"});
-                
-                settings.setSynonyms(synonyms);
-                
-                // Note: TypoTolerance configuration not available in SDK 0.11.1
-                log.debug("Advanced typo tolerance configuration skipped for SDK 0.11.1 compatibility");
-                
-                // Apply settings to index
-                TaskInfo settingsTask = index.updateSettings(settings);
-                waitForTask(settingsTask);
+                waitForTask(index.updateSettings(hotelIndexSettings()));
                 log.info("Index settings updated successfully for '{}'", HOTEL_INDEX);
+            } else if (shouldUpdateSettings(index)) {
+                if (webClientBuilder != null && syncCursorStore != null) {
+                    // Changing settings of the live index reindexes it in place; build a new one instead
+                    rebuildRequired = true;
+                    log.info("Index '{}' settings are outdated, scheduling a blue/green rebuild", HOTEL_INDEX);
+                } else {
+                    log.info("Configuring index settings for '{}'", HOTEL_INDEX);
+                    waitForTask(index.updateSettings(hotelIndexSettings()));
+                    log.info("Index settings updated successfully for '{}'", HOTEL_INDEX);
+                }
             } else {
                 log.info("Index '{}' settings are up to date, skipping configuration", HOTEL_INDEX);
             }
@@ -201,246 +192,407 @@ public class IndexService {
         }
     }
     
-    public void indexHotel(HotelDocument hotel) {
-        try {
-            Index index = meilisearchClient.index(HOTEL_INDEX);
-            
-            // Add geo coordinates if available
-            if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
-                Map<String, Object> hotelMap = objectMapper.convertValue(hotel, HOTEL_MAP_TYPE);
-                hotelMap.put("_geo", Map.of(
-                    "lat", hotel.getLatitude(),
-                    "lng", hotel.getLongitude()
-                ));
-                
-                String json = objectMapper.writeValueAsString(List.of(hotelMap));
-                waitForSuccessfulTask(index, index.addDocuments(json));
-            } else {
-                String json = objectMapper.writeValueAsString(List.of(hotel));
-                waitForSuccessfulTask(index, index.addDocuments(json));
-            }
-            
-            log.info("Hotel indexed successfully: {}", hotel.getId());
-        } catch (Exception e) {
-            log.error("Failed to index hotel: {}", hotel.getId(), e);
-            throw new RuntimeException("Hotel indexing failed", e);
-        }
-    }
-    
     public void indexHotels(List<HotelDocument> hotels) {
         try {
             if (hotels == null || hotels.isEmpty()) {
                 return;
             }
             
-            Index index = meilisearchClient.index(HOTEL_INDEX);
-            
-            // Process in batches
-            for (int i = 0; i < hotels.size(); i += BATCH_SIZE) {
-                int end = Math.min(i + BATCH_SIZE, hotels.size());
-                List<HotelDocument> batch = hotels.subList(i, end).stream()
-                        .map(this::normalizeProjection)
-                        .toList();
-                
-                // Add geo coordinates to each hotel
-                List<Map<String, Object>> hotelMaps = batch.stream()
-                    .map(hotel -> {
-                        Map<String, Object> hotelMap = objectMapper.convertValue(hotel, HOTEL_MAP_TYPE);
-                        if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
-                            hotelMap.put("_geo", Map.of(
-                                "lat", hotel.getLatitude(),
-                                "lng", hotel.getLongitude()
-                            ));
-                        }
-                        return hotelMap;
-                    })
-                    .collect(Collectors.toList());
-                
-                String json = objectMapper.writeValueAsString(hotelMaps);
-                waitForSuccessfulTask(index, index.addDocuments(json));
-                
-                log.info("Indexed batch of {} hotels", batch.size());
-            }
+            Stream<HotelDocument> normalized = hotels.stream().map(this::normalizeProjection);
+            long indexed = bulkIndexer.index(HOTEL_INDEX, normalized::iterator);
+            indexChanged();
+            listeners.forEach(listener -> listener.putAll(hotels));
             
-            log.info("Indexed {} hotels successfully", hotels.size());
+            log.info("Indexed {} hotels successfully", indexed);
         } catch (Exception e) {
             log.error("Failed to index hotels batch", e);
             throw new RuntimeException("Batch hotel indexing failed", e);
         }
     }
     
-    public void updateHotel(HotelDocument hotel) {
+    /**
+     * Full reconciliation against the hotel service export. It runs rarely, as a safety net for
+     * changes the delta sync missed, and when no change cursor has been stored yet. The cursor is
+     * read before the export, so changes made while the export runs are applied again by the
+     * next delta sync.
+     */
+    @Scheduled(cron = "${search.sync.full-reconcile-cron:0 0 4 * * *}")
+    public void syncWithHotelService() {
+        if (webClientBuilder == null) {
+            log.debug("WebClient not configured, skipping hotel sync");
+            return;
+        }
+        
+        if (!syncLock.tryLock()) {
+            log.info("Hotel sync or rebuild already running, skipping full reconciliation");
+            return;
+        }
         try {
-            Index index = meilisearchClient.index(HOTEL_INDEX);
+            log.info("Starting hotel data synchronization");
             
-            // Add geo coordinates if available
-            if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
-                Map<String, Object> hotelMap = objectMapper.convertValue(hotel, HOTEL_MAP_TYPE);
-                hotelMap.put("_geo", Map.of(
-                    "lat", hotel.getLatitude(),
-                    "lng", hotel.getLongitude()
-                ));
-                
-                String json = objectMapper.writeValueAsString(List.of(hotelMap));
-                waitForSuccessfulTask(index, index.updateDocuments(json));
-            } else {
-                String json = objectMapper.writeValueAsString(List.of(hotel));
-                waitForSuccessfulTask(index, index.updateDocuments(json));
+            WebClient webClient = webClientBuilder.build();
+            HotelChanges head = syncCursorStore == null
+                    ? null
+                    : fetchFromHotelService(webClient, "/api/v1/hotels/export/cursor", HotelChanges.class);
+            
+            long reconciled = reconcileHotels(streamExport(webClient));
+            if (head != null) {
+                syncCursorStore.save(HOTEL_CHANGES_CURSOR, head.cursor());
             }
+            log.info("Reconciled {} hotels from hotel service", reconciled);
             
-            log.info("Hotel updated successfully: {}", hotel.getId());
         } catch (Exception e) {
-            log.error("Failed to update hotel: {}", hotel.getId(), e);
-            throw new RuntimeException("Hotel update failed", e);
+            log.error("Failed to sync hotels from hotel service", e);
+        } finally {
+            syncLock.unlock();
         }
     }
-    
-    public void deleteHotel(String hotelId) {
-        try {
-            Index index = meilisearchClient.index(HOTEL_INDEX);
-            waitForSuccessfulTask(index, index.deleteDocument(hotelId));
-            log.info("Hotel deleted successfully: {}", hotelId);
-        } catch (Exception e) {
-            log.error("Failed to delete hotel: {}", hotelId, e);
-            throw new RuntimeException("Hotel deletion failed", e);
+
+    /**
+     * Applies the hotel changes recorded after the stored cursor, page by page, and moves the
+     * cursor after each applied page. The cost scales with the number of changes, not with the
+     * size of the catalog.
+     */
+    @Scheduled(
+            initialDelayString = "${search.sync.initial-delay-ms:15000}",
+            fixedDelayString = "${search.sync.delta-interval-ms:30000}")
+    public void syncChanges() {
+        if (webClientBuilder == null || syncCursorStore == null) {
+            log.debug("WebClient or sync cursor store not configured, skipping hotel delta sync");
+            return;
+        }
+
+        if (!syncLock.tryLock()) {
+            log.debug("Hotel sync or rebuild already running, skipping hotel delta sync");
+            return;
         }
-    }
-    
-    public void clearIndex() {
         try {
-            Index index = meilisearchClient.index(HOTEL_INDEX);
-            waitForSuccessfulTask(index, index.deleteAllDocuments());
-            log.info("Hotel index cleared successfully");
+            if (rebuildRequired) {
+                rebuildFromHotelService();
+                return;
+            }
+
+            OptionalLong storedCursor = syncCursorStore.load(HOTEL_CHANGES_CURSOR);
+            if (storedCursor.isEmpty()) {
+                log.info("No hotel change cursor stored, starting with a full reconciliation");
+                syncWithHotelService();
+                return;
+            }
+
+            WebClient webClient = webClientBuilder.build();
+            long cursor = storedCursor.getAsLong();
+            int applied = 0;
+            HotelChanges changes;
+            do {
+                long previousCursor = cursor;
+                changes = fetchFromHotelService(webClient,
+                        "/api/v1/hotels/export/changes?after=" + cursor + "&limit=" + changesPageSize,
+                        HotelChanges.class);
+                applied += applyChanges(changes);
+                cursor = changes.cursor();
+                if (cursor == previousCursor) {
+                    break;
+                }
+                syncCursorStore.save(HOTEL_CHANGES_CURSOR, cursor);
+            } while (changes.hasMore());
+
+            if (applied > 0) {
+                log.info("Applied {} hotel changes from hotel service, cursor now {}", applied, cursor);
+            }
         } catch (Exception e) {
-            log.error("Failed to clear hotel index", e);
-            throw new RuntimeException("Index clearing failed", e);
+            log.error("Failed to apply hotel changes from hotel service", e);
+        } finally {
+            syncLock.unlock();
         }
     }
-    
-    @Scheduled(fixedDelay = 3600000) // Sync every hour
-    public void syncWithHotelService() {
+
+    /**
+     * Rebuilds the hotel index from the hotel service export without touching the live index:
+     * the export is loaded into a fresh {@code hotels_<timestamp>} index, which is swapped in
+     * atomically once its document count matches the export. Searches keep hitting the complete
+     * old index until the swap. Changes made during the rebuild land in the old index; the change
+     * cursor is read before the export and stored after the swap, so the next delta sync applies
+     * them again to the new one.
+     */
+    public RebuildReport rebuildFromHotelService() {
         if (webClientBuilder == null) {
-            log.debug("WebClient not configured, skipping hotel sync");
-            return;
+            throw new IllegalStateException("WebClient not configured, cannot rebuild the hotel index");
+        }
+
+        boolean locked;
+        try {
+            locked = syncLock.tryLock(SYNC_LOCK_WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the hotel sync to finish", e);
+        }
+        if (!locked) {
+            throw new IllegalStateException("A hotel sync or rebuild is already running");
         }
-        
         try {
-            log.info("Starting hotel data synchronization");
-            
             WebClient webClient = webClientBuilder.build();
-            
-            JsonNode exportPayload = webClient.get()
-                .uri(hotelServiceUrl + "/api/v1/hotels/export")
-                .header(serviceHeader, serviceName)
-                .header(tokenHeader, generateInternalToken())
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .timeout(Duration.ofSeconds(10))
-                .block();
+            HotelChanges head = syncCursorStore == null
+                    ? null
+                    : fetchFromHotelService(webClient, "/api/v1/hotels/export/cursor", HotelChanges.class);
 
-            List<HotelDocument> hotels = parseExportPayload(exportPayload);
-            reconcileHotels(hotels);
-            log.info("Reconciled {} hotels from hotel service", hotels.size());
-            
+            RebuildReport report = rebuildIndex(streamExport(webClient));
+            if (head != null) {
+                syncCursorStore.save(HOTEL_CHANGES_CURSOR, head.cursor());
+            }
+            rebuildRequired = false;
+            return report;
         } catch (Exception e) {
-            log.error("Failed to sync hotels from hotel service", e);
+            log.error("Failed to rebuild the hotel index", e);
+            throw new RuntimeException("Hotel index rebuild failed", e);
+        } finally {
+            syncLock.unlock();
         }
     }
 
-    void reconcileHotels(List<HotelDocument> hotels) throws Exception {
-        Index index = meilisearchClient.index(HOTEL_INDEX);
-        Set<String> existingHotelIds = fetchExistingHotelIds(index);
+    /**
+     * Loads the hotels into a new index with the settings applied before any document, so the
+     * documents are indexed once, and bulk-loads it through {@link BulkIndexer}. The build index
+     * is dropped if anything fails before the swap; after the swap it holds the previous
+     * documents and is dropped as well.
+     */
+    RebuildReport rebuildIndex(Flux<HotelDocument> hotels) throws Exception {
+        long startedAt = System.nanoTime();
+        String buildIndexName = HOTEL_INDEX + "_" + REBUILD_SUFFIX.format(Instant.now());
+        log.info("Rebuilding hotel index into '{}'", buildIndexName);
+
+        waitForTask(meilisearchClient.createIndex(buildIndexName, "id"));
+        long loaded;
+        try {
+            Index buildIndex = meilisearchClient.index(buildIndexName);
+            waitForSuccessfulTask(buildIndex.updateSettings(hotelIndexSettings()));
+
+            List<IndexedHotelListener.Reload> reloads = reloadListeners();
+            Stream<HotelDocument> normalized = hotels.toStream(EXPORT_PREFETCH)
+                    .map(this::normalizeProjection)
+                    .peek(hotel -> reloads.forEach(reload -> reload.add(hotel)));
+            loaded = bulkIndexer.index(buildIndexName, normalized::iterator);
 
+            long indexed = buildIndex.getStats().getNumberOfDocuments();
+            if (indexed != loaded) {
+                throw new IllegalStateException("Index '" + buildIndexName + "' holds " + indexed
+                        + " documents but the export contained " + loaded);
+            }
+
+            waitForTask(meilisearchClient.swapIndexes(new SwapIndexesParams[]{
+                    new SwapIndexesParams().setIndexes(new String[]{HOTEL_INDEX, buildIndexName})}));
+            indexChanged();
+            reloads.forEach(IndexedHotelListener.Reload::commit);
+        } catch (Exception e) {
+            dropIndex(buildIndexName);
+            throw e;
+        }
+
+        dropIndex(buildIndexName);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("Swapped rebuilt hotel index into '{}' with {} documents in {} ms",
+                HOTEL_INDEX, loaded, durationMillis);
+        return new RebuildReport(buildIndexName, loaded, durationMillis);
+    }
+
+    private void dropIndex(String indexName) {
+        try {
+            meilisearchClient.deleteIndex(indexName);
+        } catch (Exception e) {
+            log.warn("Failed to drop index '{}'", indexName, e);
+        }
+    }
+
+    private int applyChanges(HotelChanges changes) throws Exception {
+        List<HotelDocument> hotels = changes.hotels() == null ? List.of() : changes.hotels();
+        List<String> deletedHotelIds = changes.deletedHotelIds() == null ? List.of() : changes.deletedHotelIds();
         if (!hotels.isEmpty()) {
             indexHotels(hotels);
         }
-
-        Set<String> exportedHotelIds = hotels.stream()
-                .map(HotelDocument::getId)
-                .filter(Objects::nonNull)
-                .map(UUID::toString)
-                .collect(Collectors.toSet());
-        existingHotelIds.removeAll(exportedHotelIds);
-
-        if (!existingHotelIds.isEmpty()) {
-            List<String> staleHotelIds = new ArrayList<>(existingHotelIds);
-            waitForSuccessfulTask(index, index.deleteDocuments(staleHotelIds));
-            log.info("Deleted {} stale hotels from the search index", staleHotelIds.size());
+        if (!deletedHotelIds.isEmpty()) {
+            Index index = hotelIndex();
+            waitForSuccessfulTask(index.deleteDocuments(deletedHotelIds));
+            listeners.forEach(listener -> listener.removeAll(deletedHotelIds));
         }
+        return hotels.size() + deletedHotelIds.size();
     }
 
-    private Set<String> fetchExistingHotelIds(Index index) throws Exception {
-        final int pageSize = 1000;
-        int offset = 0;
-        Set<String> hotelIds = new HashSet<>();
+    private <T> T fetchFromHotelService(WebClient webClient, String path, Class<T> type) {
+        return webClient.get()
+                .uri(hotelServiceUrl + path)
+                .header(serviceHeader, serviceName)
+                .header(tokenHeader, generateInternalToken())
+                .retrieve()
+                .bodyToMono(type)
+                .timeout(Duration.ofSeconds(10))
+                .block();
+    }
 
-        while (true) {
-            DocumentsQuery query = new DocumentsQuery()
-                    .setOffset(offset)
-                    .setLimit(pageSize)
-                    .setFields(new String[]{"id"});
-            Results<HotelDocument> page = index.getDocuments(query, HotelDocument.class);
-            HotelDocument[] documents = page.getResults();
-
-            if (documents == null || documents.length == 0) {
-                break;
-            }
+    /**
+     * Indexes the exported hotels through the bulk indexer as they arrive and then removes
+     * documents the export no longer contains. Every full write stamps {@code indexedAt}, so a
+     * document not written since the run started was not exported and is deleted by filter; a
+     * failed task aborts the run before anything is deleted.
+     */
+    long reconcileHotels(Flux<HotelDocument> hotels) throws Exception {
+        Index index = hotelIndex();
+        long startedAt = System.currentTimeMillis();
+        List<IndexedHotelListener.Reload> reloads = reloadListeners();
 
-            Arrays.stream(documents)
-                    .map(HotelDocument::getId)
-                    .filter(Objects::nonNull)
-                    .map(UUID::toString)
-                    .forEach(hotelIds::add);
-            offset += documents.length;
+        Stream<HotelDocument> exported = hotels.toStream(EXPORT_PREFETCH)
+                .map(this::normalizeProjection)
+                .peek(hotel -> reloads.forEach(reload -> reload.add(hotel)));
+        long exportedCount = bulkIndexer.index(HOTEL_INDEX, exported::iterator);
+        indexChanged();
+        reloads.forEach(IndexedHotelListener.Reload::commit);
 
-            if (offset >= page.getTotal()) {
-                break;
+        long deleted = deleteWrittenBefore(index, startedAt);
+        if (deleted > 0) {
+            log.info("Deleted {} stale hotels from the search index", deleted);
+        }
+        return exportedCount;
+    }
+
+    /**
+     * Deletes the documents last fully written before {@code writtenBefore}, a page of ids at a
+     * time. Documents without the stamp were written by an older version or are fragments left by
+     * a partial update, and are deleted as well.
+     */
+    private long deleteWrittenBefore(Index index, long writtenBefore) throws Exception {
+        SearchRequest request = new SearchRequest("")
+                .setFilter(new String[]{INDEXED_AT_FIELD + " < " + writtenBefore
+                        + " OR " + INDEXED_AT_FIELD + " NOT EXISTS"})
+                .setAttributesToRetrieve(new String[]{"id"})
+                .setLimit(STALE_PAGE_SIZE);
+        long deleted = 0;
+        while (true) {
+            SearchResult page = (SearchResult) index.search(request);
+            if (page.getHits() == null || page.getHits().isEmpty()) {
+                return deleted;
             }
+            List<String> staleIds = page.getHits().stream()
+                    .map(hit -> String.valueOf(hit.get("id")))
+                    .toList();
+            waitForSuccessfulTask(index.deleteDocuments(staleIds));
+            deleted += staleIds.size();
         }
+    }
 
-        return hotelIds;
+    /**
+     * Requests the export as NDJSON. The decoder parses it incrementally with Jackson's
+     * non-blocking parser, so hotels are emitted one at a time instead of buffering the whole
+     * payload; the timeout applies to the gap between two hotels, not to the whole export.
+     */
+    private Flux<HotelDocument> streamExport(WebClient webClient) {
+        return webClient.get()
+                .uri(hotelServiceUrl + "/api/v1/hotels/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .header(serviceHeader, serviceName)
+                .header(tokenHeader, generateInternalToken())
+                .retrieve()
+                .bodyToFlux(HotelDocument.class)
+                .timeout(Duration.ofSeconds(10));
     }
 
-    private void waitForSuccessfulTask(Index index, TaskInfo taskInfo) throws Exception {
-        int taskUid = taskInfo.getTaskUid();
-        index.waitForTask(taskUid);
-        Task task = index.getTask(taskUid);
-        if (task.getStatus() != TaskStatus.SUCCEEDED) {
-            throw new IllegalStateException(
-                    "Meilisearch task " + taskUid + " failed: " + task.getError());
+    /**
+     * Returns the id and room types, with projected availability applied, of the indexed hotels
+     * that own any of the room types.
+     */
+    List<HotelDocument> findHotelsByRoomTypes(Collection<UUID> roomTypeIds) throws Exception {
+        String ids = roomTypeIds.stream()
+                .map(id -> "\"" + id + "\"")
+                .collect(Collectors.joining(", "));
+        SearchRequest request = new SearchRequest("")
+                .setFilter(new String[]{"roomTypes.id IN [" + ids + "]"})
+                .setAttributesToRetrieve(new String[]{"id", "roomTypes", "roomAvailability"})
+                .setLimit(roomTypeIds.size());
+        SearchResult result = (SearchResult) hotelIndex().search(request);
+        List<HotelDocument> hotels = new ArrayList<>();
+        if (result.getHits() != null) {
+            for (Map<String, Object> hit : result.getHits()) {
+                HotelDocument hotel = objectMapper.convertValue(hit, HotelDocument.class);
+                hotel.applyRoomAvailability();
+                hotels.add(hotel);
+            }
         }
+        return hotels;
     }
 
-    private String generateInternalToken() {
-        try {
-            long currentMinute = Instant.now().getEpochSecond() / 60;
-            String payload = serviceName + ":" + serviceSecret + ":" + currentMinute;
-            byte[] digest = MessageDigest.getInstance("SHA-256")
-                    .digest(payload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(digest).substring(0, 32);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 is unavailable", e);
+    /**
+     * Converts a hotel into the document stored in Meilisearch, including the {@code _geo} field
+     * used for geo filtering and sorting, the price range counted by facets, and the
+     * {@code indexedAt} write time.
+     */
+    Map<String, Object> toIndexDocument(HotelDocument hotel) {
+        Map<String, Object> hotelMap = objectMapper.convertValue(hotel, HOTEL_MAP_TYPE);
+        hotelMap.put(INDEXED_AT_FIELD, System.currentTimeMillis());
+        if (searchFacets != null) {
+            // Written even when null, so a merge clears the range of a hotel that lost its prices
+            hotelMap.put(SearchFacets.PRICE_BUCKET_ATTRIBUTE, searchFacets.priceBucket(hotel.getMinPrice()));
+        }
+        if (hotel.getLatitude() != null && hotel.getLongitude() != null) {
+            hotelMap.put("_geo", Map.of(
+                "lat", hotel.getLatitude(),
+                "lng", hotel.getLongitude()
+            ));
         }
+        return hotelMap;
     }
 
-    private List<HotelDocument> parseExportPayload(JsonNode exportPayload) {
-        if (exportPayload == null) {
-            throw new IllegalArgumentException("Hotel export returned an empty response");
-        }
+    /**
+     * Enqueues one Meilisearch task for the documents; {@code replace} selects between
+     * {@code addDocuments} (full replacement) and {@code updateDocuments} (field merge).
+     */
+    int submitDocuments(List<Map<String, Object>> documents, boolean replace) throws Exception {
+        Index index = hotelIndex();
+        String json = objectMapper.writeValueAsString(documents);
+        TaskInfo taskInfo = replace ? index.addDocuments(json) : index.updateDocuments(json);
+        return taskInfo.getTaskUid();
+    }
+
+    int submitDeletes(List<String> hotelIds) throws Exception {
+        return hotelIndex().deleteDocuments(hotelIds).getTaskUid();
+    }
+
+    /**
+     * Completes once the task has succeeded, without holding the caller's thread; the search
+     * caches are invalidated before dependent stages run, off the poller thread.
+     */
+    CompletableFuture<Void> taskCompletion(int taskUid, Duration timeout) {
+        return taskTracker.track(taskUid, timeout).thenRunAsync(this::indexChanged, completionExecutor);
+    }
 
-        JsonNode hotelsNode;
-        if (exportPayload.isArray()) {
-            hotelsNode = exportPayload;
-        } else if (exportPayload.isObject() && exportPayload.path("content").isArray()) {
-            hotelsNode = exportPayload.path("content");
-        } else {
-            throw new IllegalArgumentException("Hotel export must be a JSON array or a page with content");
+    @PreDestroy
+    void shutdownCompletions() {
+        completionExecutor.shutdown();
+    }
+
+    private void waitForSuccessfulTask(TaskInfo taskInfo) throws Exception {
+        waitForTask(taskInfo);
+        indexChanged();
+    }
+
+    private Index hotelIndex() throws Exception {
+        return indexes != null ? indexes.hotels() : meilisearchClient.index(HOTEL_INDEX);
+    }
+
+    /**
+     * Invalidates cached search results; called after every successful write task.
+     */
+    private void indexChanged() {
+        if (indexGeneration != null) {
+            indexGeneration.bump();
         }
+    }
 
-        List<HotelDocument> hotels = new ArrayList<>();
-        hotelsNode.forEach(node -> hotels.add(
-                normalizeProjection(objectMapper.convertValue(node, HotelDocument.class))));
-        return hotels;
+    /**
+     * Collects every listener's copy of the hotels during a full export.
+     */
+    private List<IndexedHotelListener.Reload> reloadListeners() {
+        return listeners.stream().map(IndexedHotelListener::reload).toList();
+    }
+
+    private String generateInternalToken() {
+        return InternalServiceToken.generate(serviceName, serviceSecret);
     }
 
     private HotelDocument normalizeProjection(HotelDocument hotel) {
@@ -565,9 +717,102 @@ public class IndexService {
         );
     }
     
+    private Settings hotelIndexSettings() {
+        Settings settings = new Settings();
+        
+        // Searchable attributes (fields that can be searched)
+        settings.setSearchableAttributes(new String[]{
+            "name",
+            "description", 
+            "city",
+            "country",
+            "amenities",
+            "address"
+        });
+        
+        // Displayed attributes (fields returned in search results)
+        settings.setDisplayedAttributes(new String[]{
+            "id",
+            "name",
+            "description",
+            "city",
+            "country",
+            "address",
+            "starRating",
+            "minPrice",
+            "maxPrice",
+            "amenities",
+            "latitude",
+            "longitude",
+            "imageUrls",
+            "roomTypes",
+            "roomAvailability",
+            "totalRooms",
+            "availableRooms",
+            "averageRating",
+            "reviewCount",
+            "isActive",
+            "_geo"
+        });
+        
+        // Filterable attributes (fields that can be filtered)
+        settings.setFilterableAttributes(new String[]{
+            "city",
+            "country",
+            "starRating",
+            "minPrice",
+            "maxPrice",
+            "amenities",
+            "isActive",
+            "averageRating",
+            "reviewCount",
+            SearchFacets.PRICE_BUCKET_ATTRIBUTE,  // Count hotels per price range
+            "roomTypes.id",  // Locate the hotel of a room type for inventory updates
+            INDEXED_AT_FIELD,  // Find documents a full reconciliation did not rewrite
+            "_geo"  // Enable geo filtering
+        });
+        
+        // Sortable attributes (fields that can be sorted)
+        settings.setSortableAttributes(new String[]{
+            "starRating",
+            "minPrice",
+            "maxPrice",
+            "averageRating",
+            "reviewCount",
+            "name",
+            "_geo"  // Enable geo sorting (distance)
+        });
+        
+        // Ranking rules (order matters!)
+        settings.setRankingRules(new String[]{
+            "words",        // Number of words matching
+            "typo",         // Typo tolerance
+            "proximity",    // Proximity of words to each other
+            "attribute",    // Attribute order importance
+            "sort",         // Custom sorting
+            "exactness"     // Exact match bonus
+        });
+        
+        // Facet values Meilisearch counts per attribute; responses keep only the most frequent
+        Faceting faceting = new Faceting();
+        faceting.setMaxValuesPerFacet(maxValuesPerFacet);
+        settings.setFaceting(faceting);
+        
+        // Configure synonyms for better search experience (simplified for SDK 0.11.1)
+        settings.setSynonyms(new HashMap<>(SYNONYMS));
+        
+        // Note: TypoTolerance configuration not available in SDK 0.11.1
+        log.debug("Advanced typo tolerance configuration skipped for SDK 0.11.1 compatibility");
+        return settings;
+    }
+
     private boolean shouldUpdateSettings(Index index) {
         try {
-            return !Arrays.asList(index.getDisplayedAttributesSettings()).contains("roomTypes");
+            return !Arrays.asList(index.getDisplayedAttributesSettings()).contains("roomAvailability")
+                    || !Arrays.asList(index.getFilterableAttributesSettings()).contains("roomTypes.id")
+                    || !Arrays.asList(index.getFilterableAttributesSettings()).contains(INDEXED_AT_FIELD)
+                    || !Arrays.asList(index.getFilterableAttributesSettings()).contains(SearchFacets.PRICE_BUCKET_ATTRIBUTE)
+                    || index.getFacetingSettings().getMaxValuesPerFacet() != maxValuesPerFacet;
         } catch (Exception e) {
             log.warn("Failed to check index settings, will update settings", e);
             return true;
@@ -577,13 +822,16 @@ public class IndexService {
         if (taskInfo == null) {
             throw new IllegalStateException("Meilisearch did not return a task");
         }
+        taskTracker.await(taskInfo.getTaskUid(), DurationStyle.detectAndParse(taskTimeout));
+    }
 
-        int taskUid = taskInfo.getTaskUid();
-        meilisearchClient.waitForTask(taskUid);
-        Task task = meilisearchClient.getTask(taskUid);
-        if (task.getStatus() != TaskStatus.SUCCEEDED) {
-            throw new IllegalStateException(
-                    "Meilisearch task " + taskUid + " failed: " + task.getError());
-        }
+    public record RebuildReport(String buildIndex, long documents, long durationMillis) {
+    }
+
+    record HotelChanges(
+            List<HotelDocument> hotels,
+            List<String> deletedHotelIds,
+            long cursor,
+            boolean hasMore) {
     }
 }
@@ -0,0 +1,53 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An in-process index that follows every write to the hotel index: suggestions, the fallback
+ * index, and the map grid. {@link IndexService} and {@link HotelIndexWriter} call each listener
+ * once Meilisearch has accepted the write.
+ */
+public interface IndexedHotelListener {
+
+    void put(HotelDocument hotel);
+
+    default void putAll(Collection<HotelDocument> hotels) {
+        hotels.forEach(this::put);
+    }
+
+    /**
+     * Merges a whole document into the stored one, as {@code updateDocuments} does.
+     */
+    default void update(HotelDocument hotel, Map<String, Object> document) {
+        put(hotel);
+    }
+
+    /**
+     * Merges only the given fields; listeners that keep none of them ignore the update.
+     */
+    default void updateFields(String hotelId, Map<String, Object> fields) {
+    }
+
+    void remove(UUID hotelId);
+
+    default void removeAll(Collection<String> hotelIds) {
+        hotelIds.forEach(hotelId -> remove(UUID.fromString(hotelId)));
+    }
+
+    /**
+     * Starts replacing every hotel, e.g. while a full export streams by. Nothing changes until
+     * {@link Reload#commit()}, so an export that fails halfway leaves the current hotels.
+     */
+    Reload reload();
+
+    interface Reload {
+
+        void add(HotelDocument hotel);
+
+        void commit();
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.DocumentsQuery;
+import com.meilisearch.sdk.model.Results;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one entry per hotel, derived from its document, for a listener that compiles the entries
+ * into an immutable structure on its own schedule. Entries are loaded once from the index, a page
+ * of documents at a time, for instances that started without a full reconciliation; hotels put
+ * meanwhile keep their newer entries.
+ *
+ * @param <V> the entry kept per hotel
+ */
+@Slf4j
+abstract class IndexedHotelMap<V> implements IndexedHotelListener {
+
+    static final int LOAD_PAGE_SIZE = 1000;
+
+    final Map<UUID, V> hotels = new ConcurrentHashMap<>();
+    private final Client meilisearchClient;
+    private final String[] loadFields;
+    private final String contents;
+    private volatile boolean dirty;
+    private volatile boolean loaded;
+
+    /**
+     * @param loadFields the document fields the entries need, or null for whole documents
+     * @param contents   what the entries are, for the load log
+     */
+    IndexedHotelMap(Client meilisearchClient, String[] loadFields, String contents) {
+        this.meilisearchClient = meilisearchClient;
+        this.loadFields = loadFields;
+        this.contents = contents;
+    }
+
+    /**
+     * The entry for the hotel, or null if it is left out. {@code previous} is the current entry
+     * when a single write replaces it, and null when entries are loaded or reloaded.
+     */
+    abstract V entry(HotelDocument hotel, V previous);
+
+    /**
+     * Compiles the entries; runs on the next refresh after any change.
+     */
+    abstract void rebuild();
+
+    /**
+     * The entry for a document read from the index.
+     */
+    V loadedEntry(HotelDocument hotel) {
+        return entry(hotel, null);
+    }
+
+    @Override
+    public void put(HotelDocument hotel) {
+        if (hotel.getId() == null) {
+            return;
+        }
+        V entry = entry(hotel, hotels.get(hotel.getId()));
+        if (entry == null) {
+            remove(hotel.getId());
+            return;
+        }
+        hotels.put(hotel.getId(), entry);
+        changed();
+    }
+
+    @Override
+    public void remove(UUID hotelId) {
+        if (hotels.remove(hotelId) != null) {
+            changed();
+        }
+    }
+
+    @Override
+    public Reload reload() {
+        return new MapReload();
+    }
+
+    /**
+     * Marks the entries for a rebuild on the next refresh.
+     */
+    void changed() {
+        dirty = true;
+    }
+
+    /**
+     * Loads the entries if they were not loaded yet and {@code loadable}, then rebuilds if
+     * anything changed since the last refresh.
+     */
+    void refresh(boolean loadable) {
+        if (loadable && !loaded) {
+            loadFromIndex();
+        }
+        if (dirty) {
+            dirty = false;
+            rebuild();
+        }
+    }
+
+    private void loadFromIndex() {
+        try {
+            Index index = meilisearchClient.index(IndexService.HOTEL_INDEX);
+            Map<UUID, V> indexed = new HashMap<>();
+            int offset = 0;
+            while (true) {
+                DocumentsQuery query = new DocumentsQuery().setOffset(offset).setLimit(LOAD_PAGE_SIZE);
+                if (loadFields != null) {
+                    query.setFields(loadFields);
+                }
+                Results<HotelDocument> page = index.getDocuments(query, HotelDocument.class);
+                HotelDocument[] documents = page.getResults();
+                if (documents == null || documents.length == 0) {
+                    break;
+                }
+                for (HotelDocument hotel : documents) {
+                    V entry = hotel.getId() != null ? loadedEntry(hotel) : null;
+                    if (entry != null) {
+                        indexed.put(hotel.getId(), entry);
+                    }
+                }
+                offset += documents.length;
+                if (offset >= page.getTotal()) {
+                    break;
+                }
+            }
+            indexed.forEach(hotels::putIfAbsent);
+            loaded = true;
+            changed();
+            log.info("Loaded {} of {} hotels from the index", contents, indexed.size());
+        } catch (Exception e) {
+            log.warn("Failed to load {} from the index, retrying on the next refresh: {}", contents, e.getMessage());
+        }
+    }
+
+    private void replaceAll(Map<UUID, V> replacement) {
+        hotels.keySet().retainAll(replacement.keySet());
+        hotels.putAll(replacement);
+        loaded = true;
+        changed();
+    }
+
+    private final class MapReload implements Reload {
+
+        private final Map<UUID, V> replacement = new HashMap<>();
+
+        @Override
+        public void add(HotelDocument hotel) {
+            V entry = hotel.getId() != null ? entry(hotel, null) : null;
+            if (entry != null) {
+                replacement.put(hotel.getId(), entry);
+            }
+        }
+
+        @Override
+        public void commit() {
+            replaceAll(replacement);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.hotel.search.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Token sent with calls to other services, checked there against the shared secret for the
+ * current minute.
+ */
+final class InternalServiceToken {
+
+    private InternalServiceToken() {
+    }
+
+    static String generate(String serviceName, String serviceSecret) {
+        try {
+            long currentMinute = Instant.now().getEpochSecond() / 60;
+            String payload = serviceName + ":" + serviceSecret + ":" + currentMinute;
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.hotel.search.model.HotelDocument.RoomTypeProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Narrows search candidates to hotels that can be booked for a stay, using live inventory from
+ * booking-service instead of the availability snapshot stored in the index.
+ *
+ * <p>Rooms left per room type and night, and the pricing multiplier per stay, are cached for
+ * {@code search.availability.cache-ttl}, so paging through results or repeating a popular search
+ * only asks booking-service for nights it has not seen recently, in one batched request per
+ * page of candidates. If booking-service cannot be reached, candidates are filtered by the
+ * snapshot instead.
+ */
+@Component
+@Slf4j
+public class LiveAvailabilityFilter {
+
+    private final StayAvailabilityClient availabilityClient;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<NightKey, CachedValue<Integer>> nightlyRooms;
+    private final Map<StayKey, CachedValue<BigDecimal>> multipliers;
+
+    @Autowired
+    LiveAvailabilityFilter(
+            StayAvailabilityClient availabilityClient,
+            @Value("${search.availability.cache-ttl:15s}") String cacheTtl,
+            @Value("${search.availability.cache-max-entries:50000}") int maxEntries) {
+        this(availabilityClient, DurationStyle.detectAndParse(cacheTtl), maxEntries, System::nanoTime);
+    }
+
+    LiveAvailabilityFilter(
+            StayAvailabilityClient availabilityClient,
+            Duration cacheTtl,
+            int maxEntries,
+            LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Availability cache size must be positive");
+        }
+        this.availabilityClient = availabilityClient;
+        this.ttlNanos = cacheTtl.toNanos();
+        this.nanoClock = nanoClock;
+        this.nightlyRooms = lruMap(maxEntries);
+        this.multipliers = lruMap(Math.max(1, maxEntries / 100));
+    }
+
+    /**
+     * Returns the candidates, in order, that have a room type for {@code guests} with a room left
+     * every night of the stay. Each returned hotel and its room types are annotated with the
+     * rooms left for the whole stay and the stay price: the nightly price times the nights times
+     * the pricing multiplier.
+     */
+    public List<HotelDocument> retainAvailable(
+            List<HotelDocument> candidates, LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        List<LocalDate> nights = checkIn.datesUntil(checkOut).toList();
+        Set<UUID> roomTypeIds = new LinkedHashSet<>();
+        for (HotelDocument hotel : candidates) {
+            for (RoomTypeProjection roomType : roomTypes(hotel)) {
+                if (roomType.getId() != null && fits(roomType, guests)) {
+                    roomTypeIds.add(roomType.getId());
+                }
+            }
+        }
+
+        if (roomTypeIds.isEmpty()) {
+            return List.of();
+        }
+
+        StayView stay;
+        try {
+            stay = load(roomTypeIds, checkIn, checkOut, nights);
+        } catch (RuntimeException e) {
+            log.warn("Live availability unavailable, filtering {} candidates by the index snapshot: {}",
+                    candidates.size(), e.getMessage());
+            return candidates.stream()
+                    .filter(hotel -> hotel.getAvailableRooms() == null || hotel.getAvailableRooms() > 0)
+                    .toList();
+        }
+
+        List<HotelDocument> available = new ArrayList<>();
+        for (HotelDocument hotel : candidates) {
+            if (annotate(hotel, guests, nights.size(), stay)) {
+                available.add(hotel);
+            }
+        }
+        return available;
+    }
+
+    private boolean annotate(HotelDocument hotel, Integer guests, int nightCount, StayView stay) {
+        int hotelRooms = 0;
+        BigDecimal lowestStayPrice = null;
+        for (RoomTypeProjection roomType : roomTypes(hotel)) {
+            Integer roomsLeft = roomType.getId() == null ? null : stay.roomsLeft().get(roomType.getId());
+            boolean bookable = roomsLeft != null && roomsLeft > 0 && fits(roomType, guests);
+            roomType.setAvailableRooms(roomsLeft == null ? 0 : roomsLeft);
+            roomType.setIsAvailable(bookable);
+            if (roomType.getPricePerNight() != null) {
+                roomType.setStayPrice(roomType.getPricePerNight()
+                        .multiply(BigDecimal.valueOf(nightCount))
+                        .multiply(stay.multiplier())
+                        .setScale(2, RoundingMode.HALF_UP));
+            }
+            if (bookable) {
+                hotelRooms += roomsLeft;
+                if (roomType.getStayPrice() != null
+                        && (lowestStayPrice == null || roomType.getStayPrice().compareTo(lowestStayPrice) < 0)) {
+                    lowestStayPrice = roomType.getStayPrice();
+                }
+            }
+        }
+        hotel.setAvailableRooms(hotelRooms);
+        hotel.setStayPrice(lowestStayPrice);
+        return hotelRooms > 0;
+    }
+
+    /**
+     * Resolves the rooms left for the whole stay per room type (the minimum over its nights),
+     * fetching every room type with an uncached night in one request.
+     */
+    private StayView load(Set<UUID> roomTypeIds, LocalDate checkIn, LocalDate checkOut, List<LocalDate> nights) {
+        long now = nanoClock.getAsLong();
+        Map<UUID, Integer> roomsLeft = new HashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        synchronized (nightlyRooms) {
+            for (UUID roomTypeId : roomTypeIds) {
+                Integer stayMinimum = null;
+                for (LocalDate night : nights) {
+                    Integer rooms = fresh(nightlyRooms, new NightKey(roomTypeId, night), now);
+                    if (rooms == null) {
+                        stayMinimum = null;
+                        missing.add(roomTypeId);
+                        break;
+                    }
+                    stayMinimum = stayMinimum == null ? rooms : Math.min(stayMinimum, rooms);
+                }
+                if (stayMinimum != null) {
+                    roomsLeft.put(roomTypeId, stayMinimum);
+                }
+            }
+        }
+        BigDecimal multiplier;
+        synchronized (multipliers) {
+            multiplier = fresh(multipliers, new StayKey(checkIn, checkOut), now);
+        }
+        if (missing.isEmpty() && multiplier != null) {
+            return new StayView(multiplier, roomsLeft);
+        }
+        if (multiplier == null) {
+            // The multiplier comes with the nights, so refresh every room type along with it.
+            missing = roomTypeIds;
+        }
+
+        StayAvailabilityClient.StayAvailability fetched = availabilityClient.fetch(missing, checkIn, checkOut);
+        long expiresAt = nanoClock.getAsLong() + ttlNanos;
+        Map<UUID, Map<LocalDate, Integer>> fetchedRooms =
+                fetched.availableRooms() == null ? Map.of() : fetched.availableRooms();
+        synchronized (nightlyRooms) {
+            for (UUID roomTypeId : missing) {
+                Map<LocalDate, Integer> byNight = fetchedRooms.getOrDefault(roomTypeId, Map.of());
+                int stayMinimum = Integer.MAX_VALUE;
+                for (LocalDate night : nights) {
+                    // A night without inventory cannot be booked; cache it as sold out too.
+                    int rooms = byNight.getOrDefault(night, 0);
+                    nightlyRooms.put(new NightKey(roomTypeId, night), new CachedValue<>(rooms, expiresAt));
+                    stayMinimum = Math.min(stayMinimum, rooms);
+                }
+                roomsLeft.put(roomTypeId, stayMinimum);
+            }
+        }
+        synchronized (multipliers) {
+            multipliers.put(new StayKey(checkIn, checkOut), new CachedValue<>(fetched.priceMultiplier(), expiresAt));
+        }
+        return new StayView(fetched.priceMultiplier(), roomsLeft);
+    }
+
+    private static <T> T fresh(Map<?, CachedValue<T>> cache, Object key, long now) {
+        CachedValue<T> cached = cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (now >= cached.expiresAt()) {
+            cache.remove(key);
+            return null;
+        }
+        return cached.value();
+    }
+
+    private static boolean fits(RoomTypeProjection roomType, Integer guests) {
+        return guests == null || roomType.getCapacity() == null || roomType.getCapacity() >= guests;
+    }
+
+    private static List<RoomTypeProjection> roomTypes(HotelDocument hotel) {
+        return hotel.getRoomTypes() == null ? List.of() : hotel.getRoomTypes();
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record NightKey(UUID roomTypeId, LocalDate night) {
+    }
+
+    private record StayKey(LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private record CachedValue<T>(T value, long expiresAt) {
+    }
+
+    private record StayView(BigDecimal multiplier, Map<UUID, Integer> roomsLeft) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotel.search.service;
+
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares one {@link Index} handle per index name. {@link Client#index} builds a new handle with
+ * its own document, search, and settings handlers on every call; the handles are stateless and
+ * share the client's HTTP connections, so the search and write paths reuse them instead.
+ *
+ * <p>Only long-lived indexes belong here; the temporary indexes of a rebuild are opened through
+ * the client so their handles do not outlive them.
+ */
+@Component
+public class MeilisearchIndexes {
+
+    private final Client meilisearchClient;
+    private final Map<String, Index> indexes = new ConcurrentHashMap<>();
+
+    public MeilisearchIndexes(Client meilisearchClient) {
+        this.meilisearchClient = meilisearchClient;
+    }
+
+    public Index get(String indexName) {
+        return indexes.computeIfAbsent(indexName, name -> {
+            try {
+                return meilisearchClient.index(name);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to open Meilisearch index '" + name + "'", e);
+            }
+        });
+    }
+
+    public Index hotels() {
+        return get(IndexService.HOTEL_INDEX);
+    }
+}
@@ -0,0 +1,162 @@
+package com.hotel.search.service;
+
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.model.Task;
+import com.meilisearch.sdk.model.TaskStatus;
+import com.meilisearch.sdk.model.TasksQuery;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Turns enqueued Meilisearch tasks into futures, so callers stop blocking a thread per task.
+ *
+ * <p>One poller thread asks for the status of every tracked task with a single {@code /tasks}
+ * request every {@code search.meilisearch.task-poll-interval}, up to
+ * {@code search.meilisearch.max-tasks-per-poll} tasks at a time, oldest first. A task that
+ * succeeded completes its future; one that failed or was canceled, or that did not finish within
+ * its timeout, completes it exceptionally. Futures complete in task order on the poller thread,
+ * so callbacks see the writes in the order Meilisearch applied them and must not block.
+ */
+@Component
+@Slf4j
+public class MeilisearchTaskTracker {
+
+    private final Client meilisearchClient;
+    private final int maxTasksPerPoll;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService poller;
+    private final Map<Integer, Tracked> tracked = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public MeilisearchTaskTracker(
+            Client meilisearchClient,
+            @Value("${search.meilisearch.task-poll-interval:50ms}") String pollInterval,
+            @Value("${search.meilisearch.max-tasks-per-poll:500}") int maxTasksPerPoll) {
+        this(meilisearchClient, maxTasksPerPoll, System::nanoTime,
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "meilisearch-task-poller");
+                    thread.setDaemon(true);
+                    return thread;
+                }), DurationStyle.detectAndParse(pollInterval));
+    }
+
+    MeilisearchTaskTracker(
+            Client meilisearchClient,
+            int maxTasksPerPoll,
+            LongSupplier nanoClock,
+            ScheduledExecutorService poller,
+            Duration pollInterval) {
+        if (maxTasksPerPoll < 1) {
+            throw new IllegalArgumentException("Tasks per poll must be positive");
+        }
+        this.meilisearchClient = meilisearchClient;
+        this.maxTasksPerPoll = maxTasksPerPoll;
+        this.nanoClock = nanoClock;
+        this.poller = poller;
+        long intervalMillis = Math.max(1, pollInterval.toMillis());
+        poller.scheduleWithFixedDelay(this::poll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a future for the task that completes once it succeeded, or fails once it failed,
+     * was canceled, or is still unfinished after the timeout.
+     */
+    public CompletableFuture<Task> track(int taskUid, Duration timeout) {
+        Tracked entry = tracked.computeIfAbsent(taskUid,
+                uid -> new Tracked(new CompletableFuture<>(), nanoClock.getAsLong() + timeout.toNanos()));
+        return entry.future();
+    }
+
+    /**
+     * Blocks until the task succeeded, for callers that cannot continue before it did; rethrows
+     * the failure of the task.
+     */
+    public Task await(int taskUid, Duration timeout) throws Exception {
+        try {
+            return track(taskUid, timeout).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int tracked() {
+        return tracked.size();
+    }
+
+    /**
+     * Looks up every tracked task with one request; runs on the poller thread, tests call it
+     * directly.
+     */
+    void poll() {
+        if (tracked.isEmpty()) {
+            return;
+        }
+        int[] uids = tracked.keySet().stream().limit(maxTasksPerPoll).mapToInt(Integer::intValue).toArray();
+        try {
+            Task[] tasks = meilisearchClient.getTasks(new TasksQuery().setUids(uids).setLimit(uids.length))
+                    .getResults();
+            if (tasks != null) {
+                Arrays.sort(tasks, Comparator.comparingInt(Task::getUid));
+                for (Task task : tasks) {
+                    complete(task);
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Failed to poll {} Meilisearch tasks: {}", uids.length, e.getMessage());
+        }
+        expireOverdue();
+    }
+
+    private void complete(Task task) {
+        TaskStatus status = task.getStatus();
+        if (status == TaskStatus.SUCCEEDED) {
+            Tracked entry = tracked.remove(task.getUid());
+            if (entry != null) {
+                entry.future().complete(task);
+            }
+        } else if (status == TaskStatus.FAILED || status == TaskStatus.CANCELED) {
+            Tracked entry = tracked.remove(task.getUid());
+            if (entry != null) {
+                entry.future().completeExceptionally(new IllegalStateException(
+                        "Meilisearch task " + task.getUid() + " failed: " + task.getError()));
+            }
+        }
+    }
+
+    private void expireOverdue() {
+        long now = nanoClock.getAsLong();
+        tracked.forEach((uid, entry) -> {
+            if (now - entry.deadline() > 0 && tracked.remove(uid, entry)) {
+                entry.future().completeExceptionally(new IllegalStateException(
+                        "Meilisearch task " + uid + " did not finish in time"));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdown();
+    }
+
+    private record Tracked(CompletableFuture<Task> future, long deadline) {
+    }
+}
@@ -0,0 +1,572 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.SearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Turns a free-text query such as "cheapest 4 star hotel in new york with pool under $200" into
+ * a {@link SearchRequest}.
+ *
+ * <p>All phrases the parser understands - cities, amenity keywords and the index's amenity
+ * synonyms, quality words, sort phrases, and price operators - are compiled into one Aho-Corasick
+ * automaton. A query is read once: the automaton reports every whole-word phrase and the same loop
+ * picks out the numbers, after which prices, ratings, and the city are resolved from neighbouring
+ * matches instead of further passes over the text. Cities come from the hotels known to the
+ * {@link SuggestionService}; the automaton is recompiled when that set changes.
+ *
+ * <p>Parsed queries are memoized in a small LRU of {@code search.natural-language.cache-max-entries}
+ * entries, since the same phrases tend to be searched over and over.
+ */
+@Component
+@Slf4j
+public class NaturalLanguageQueryParser {
+
+    /**
+     * Fallback cities, recognised before the suggestion index has loaded any hotel.
+     */
+    private static final List<String> KNOWN_CITIES = List.of(
+            "Tokyo", "Paris", "London", "New York", "Singapore",
+            "Taipei", "Hong Kong", "Bangkok", "Dubai", "Amsterdam");
+
+    private static final Map<String, List<String>> AMENITY_KEYWORDS = amenityKeywords();
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SuggestionService suggestionService;
+    private final Map<String, Parsed> memo;
+    private final int memoMaxEntries;
+    private volatile Dictionary dictionary;
+
+    @Autowired
+    NaturalLanguageQueryParser(
+            ObjectProvider<SuggestionService> suggestionService,
+            @Value("${search.natural-language.cache-max-entries:1024}") int cacheMaxEntries) {
+        this(suggestionService.getIfAvailable(), cacheMaxEntries);
+    }
+
+    NaturalLanguageQueryParser(SuggestionService suggestionService, int cacheMaxEntries) {
+        this.suggestionService = suggestionService;
+        this.memoMaxEntries = cacheMaxEntries;
+        this.memo = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Parsed> eldest) {
+                return size() > memoMaxEntries;
+            }
+        };
+        this.dictionary = Dictionary.compile(cities());
+    }
+
+    public SearchRequest parse(String query) {
+        Dictionary current = currentDictionary();
+        Parsed parsed = memoGet(query, current);
+        if (parsed == null) {
+            parsed = current.parse(query);
+            memoPut(query, parsed);
+        }
+        return parsed.toRequest(query);
+    }
+
+    private Dictionary currentDictionary() {
+        Dictionary current = dictionary;
+        if (suggestionService == null || suggestionService.cities() == current.cities) {
+            return current;
+        }
+        synchronized (this) {
+            if (suggestionService.cities() != dictionary.cities) {
+                long startedAt = System.nanoTime();
+                dictionary = Dictionary.compile(cities());
+                synchronized (memo) {
+                    memo.clear();
+                }
+                log.debug("Compiled query dictionary with {} cities in {} ms",
+                        dictionary.cities.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            }
+            return dictionary;
+        }
+    }
+
+    private Set<String> cities() {
+        return suggestionService != null ? suggestionService.cities() : Set.of();
+    }
+
+    private Parsed memoGet(String query, Dictionary current) {
+        if (memoMaxEntries < 1) {
+            return null;
+        }
+        synchronized (memo) {
+            Parsed parsed = memo.get(query);
+            return parsed != null && parsed.dictionary == current ? parsed : null;
+        }
+    }
+
+    private void memoPut(String query, Parsed parsed) {
+        if (memoMaxEntries < 1) {
+            return;
+        }
+        synchronized (memo) {
+            memo.put(query, parsed);
+        }
+    }
+
+    private static Map<String, List<String>> amenityKeywords() {
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        keywords.put("WiFi", List.of("wifi", "wi-fi", "internet", "wireless"));
+        keywords.put("Pool", List.of("pool", "swimming pool", "swimming", "swim"));
+        keywords.put("Spa", List.of("spa", "wellness", "massage"));
+        keywords.put("Gym", List.of("gym", "fitness", "workout", "exercise"));
+        keywords.put("Parking", List.of("parking", "car park", "garage"));
+        keywords.put("Restaurant", List.of("restaurant", "dining", "food"));
+        keywords.put("Bar", List.of("bar", "lounge", "drinks"));
+        keywords.put("Breakfast", List.of("breakfast", "morning meal"));
+        keywords.put("Business Center", List.of("business center", "conference", "meeting room"));
+        keywords.put("Pet Friendly", List.of("pet", "pets", "dog", "cat", "pet-friendly"));
+
+        // The index treats these as the same word; so does the parser
+        keywords.replaceAll((amenity, words) -> {
+            String[] synonyms = IndexService.SYNONYMS.get(amenity.toLowerCase(Locale.ROOT));
+            if (synonyms == null) {
+                return words;
+            }
+            Set<String> merged = new LinkedHashSet<>(words);
+            merged.addAll(Arrays.asList(synonyms));
+            return List.copyOf(merged);
+        });
+        return keywords;
+    }
+
+    private enum Kind {
+        CITY, AMENITY, QUALITY, SORT, ASCENDING, MAX_PRICE, MIN_PRICE, IN, STAR
+    }
+
+    /**
+     * What a phrase means. {@code rank} orders competing quality words and sort phrases: the
+     * lowest rank found in the query wins.
+     */
+    private record Term(Kind kind, String value, int number, int rank) {
+
+        static Term of(Kind kind) {
+            return new Term(kind, null, 0, 0);
+        }
+    }
+
+    /**
+     * The compiled phrases. The automaton is a dense transition table over the characters that
+     * occur in any phrase; other characters lead back to the root.
+     */
+    private static final class Dictionary {
+
+        private final Set<String> cities;
+        private final char[] alphabet;
+        private final int[] asciiClass = new int[128];
+        private final int[] transitions;
+        private final int[][] outputs;
+        private final int[] phraseLength;
+        private final Term[][] phraseTerms;
+
+        private Dictionary(Set<String> cities, Map<String, List<Term>> phrases) {
+            this.cities = cities;
+            TreeSet<Character> characters = new TreeSet<>();
+            phrases.keySet().forEach(phrase -> phrase.chars().forEach(c -> characters.add((char) c)));
+            alphabet = new char[characters.size()];
+            int index = 0;
+            for (char c : characters) {
+                alphabet[index++] = c;
+            }
+            Arrays.fill(asciiClass, -1);
+            for (int i = 0; i < alphabet.length; i++) {
+                if (alphabet[i] < 128) {
+                    asciiClass[alphabet[i]] = i;
+                }
+            }
+
+            phraseLength = new int[phrases.size()];
+            phraseTerms = new Term[phrases.size()][];
+            List<Map<Character, Integer>> children = new ArrayList<>();
+            List<List<Integer>> ends = new ArrayList<>();
+            children.add(new HashMap<>());
+            ends.add(new ArrayList<>());
+            int phraseId = 0;
+            for (Map.Entry<String, List<Term>> phrase : phrases.entrySet()) {
+                int state = 0;
+                for (char c : phrase.getKey().toCharArray()) {
+                    Integer next = children.get(state).get(c);
+                    if (next == null) {
+                        next = children.size();
+                        children.get(state).put(c, next);
+                        children.add(new HashMap<>());
+                        ends.add(new ArrayList<>());
+                    }
+                    state = next;
+                }
+                ends.get(state).add(phraseId);
+                phraseLength[phraseId] = phrase.getKey().length();
+                phraseTerms[phraseId] = phrase.getValue().toArray(new Term[0]);
+                phraseId++;
+            }
+
+            // Breadth first, so a state's failure link is complete before its children need it
+            int states = children.size();
+            int width = alphabet.length;
+            transitions = new int[states * width];
+            outputs = new int[states][];
+            int[] failure = new int[states];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            outputs[0] = new int[0];
+            for (int c = 0; c < width; c++) {
+                Integer child = children.get(0).get(alphabet[c]);
+                if (child != null) {
+                    transitions[c] = child;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                int[] own = ends.get(state).stream().mapToInt(Integer::intValue).toArray();
+                int[] inherited = outputs[failure[state]];
+                outputs[state] = Arrays.copyOf(own, own.length + inherited.length);
+                System.arraycopy(inherited, 0, outputs[state], own.length, inherited.length);
+                for (int c = 0; c < width; c++) {
+                    Integer child = children.get(state).get(alphabet[c]);
+                    int fallback = transitions[failure[state] * width + c];
+                    if (child == null) {
+                        transitions[state * width + c] = fallback;
+                    } else {
+                        transitions[state * width + c] = child;
+                        failure[child] = fallback;
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+
+        static Dictionary compile(Set<String> indexedCities) {
+            Map<String, List<Term>> phrases = new LinkedHashMap<>();
+            Set<String> cities = new LinkedHashSet<>(KNOWN_CITIES);
+            cities.addAll(indexedCities);
+            for (String city : cities) {
+                String phrase = SuggestionTrie.normalize(city);
+                if (phrase.isEmpty()) {
+                    continue;
+                }
+                // The first spelling wins, so "New York" from the fallback list stays capitalized
+                List<Term> terms = phrases.computeIfAbsent(phrase, key -> new ArrayList<>());
+                if (terms.isEmpty()) {
+                    terms.add(new Term(Kind.CITY, city, 0, 0));
+                }
+            }
+            AMENITY_KEYWORDS.forEach((amenity, keywords) -> keywords.forEach(keyword ->
+                    add(phrases, keyword, new Term(Kind.AMENITY, amenity, 0, 0))));
+
+            // Quality words set a minimum rating; luxury outranks budget, which outranks mid-range
+            for (String word : List.of("luxury", "premium", "deluxe")) {
+                add(phrases, word, new Term(Kind.QUALITY, null, 4, 0));
+            }
+            for (String word : List.of("budget", "cheap", "economy")) {
+                add(phrases, word, new Term(Kind.QUALITY, null, 2, 1));
+            }
+            for (String word : List.of("mid-range", "moderate")) {
+                add(phrases, word, new Term(Kind.QUALITY, null, 3, 2));
+            }
+
+            for (String phrase : List.of("cheapest", "lowest price")) {
+                add(phrases, phrase, new Term(Kind.SORT, "minPrice", 0, 0));
+            }
+            for (String phrase : List.of("best rated", "highest rated", "top rated")) {
+                add(phrases, phrase, new Term(Kind.SORT, "averageRating", 0, 1));
+            }
+            for (String phrase : List.of("most popular", "most reviewed")) {
+                add(phrases, phrase, new Term(Kind.SORT, "reviewCount", 0, 2));
+            }
+            for (String phrase : List.of("luxury", "highest quality")) {
+                add(phrases, phrase, new Term(Kind.SORT, "starRating", 0, 3));
+            }
+            for (String word : List.of("cheapest", "lowest")) {
+                add(phrases, word, Term.of(Kind.ASCENDING));
+            }
+
+            for (String phrase : List.of("under", "below", "less than", "cheaper than")) {
+                add(phrases, phrase, Term.of(Kind.MAX_PRICE));
+            }
+            for (String phrase : List.of("over", "above", "more than")) {
+                add(phrases, phrase, Term.of(Kind.MIN_PRICE));
+            }
+            add(phrases, "in", Term.of(Kind.IN));
+            add(phrases, "star", Term.of(Kind.STAR));
+            add(phrases, "stars", Term.of(Kind.STAR));
+            return new Dictionary(indexedCities, phrases);
+        }
+
+        private static void add(Map<String, List<Term>> phrases, String phrase, Term term) {
+            phrases.computeIfAbsent(SuggestionTrie.normalize(phrase), key -> new ArrayList<>()).add(term);
+        }
+
+        private int characterClass(char c) {
+            if (c < 128) {
+                return asciiClass[c];
+            }
+            int index = Arrays.binarySearch(alphabet, c);
+            return index >= 0 ? index : -1;
+        }
+
+        /**
+         * Reads the query once, collecting whole-word phrase matches and numbers, then resolves
+         * the request from them.
+         */
+        Parsed parse(String query) {
+            String text = SuggestionTrie.normalize(query);
+            Scan scan = new Scan(text);
+            int state = 0;
+            int numberStart = -1;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+
+                boolean digit = c >= '0' && c <= '9';
+                if (digit && numberStart < 0 && (i == 0 || !Character.isLetter(text.charAt(i - 1)))) {
+                    numberStart = i;
+                } else if (!digit && numberStart >= 0) {
+                    scan.addNumber(numberStart, i);
+                    numberStart = -1;
+                }
+
+                int characterClass = characterClass(c);
+                state = characterClass < 0 ? 0 : transitions[state * alphabet.length + characterClass];
+                for (int phrase : outputs[state]) {
+                    int start = i + 1 - phraseLength[phrase];
+                    if ((start == 0 || !Character.isLetter(text.charAt(start - 1)))
+                            && (i + 1 == text.length() || !Character.isLetter(text.charAt(i + 1)))) {
+                        scan.addMatch(start, i + 1, phraseTerms[phrase]);
+                    }
+                }
+            }
+            if (numberStart >= 0) {
+                scan.addNumber(numberStart, text.length());
+            }
+            return scan.resolve(this);
+        }
+    }
+
+    /**
+     * Matches and numbers of one query, in the order they end.
+     */
+    private static final class Scan {
+
+        private final String text;
+        private final List<Match> matches = new ArrayList<>();
+        private final List<int[]> numbers = new ArrayList<>();
+
+        private Scan(String text) {
+            this.text = text;
+        }
+
+        void addMatch(int start, int end, Term[] terms) {
+            matches.add(new Match(start, end, terms));
+        }
+
+        void addNumber(int start, int end) {
+            numbers.add(new int[]{start, end});
+        }
+
+        Parsed resolve(Dictionary dictionary) {
+            String city = null;
+            String cityAfterIn = null;
+            String wordAfterIn = null;
+            Integer starRating = null;
+            Term quality = null;
+            Term sort = null;
+            boolean ascending = false;
+            BigDecimal minPrice = null;
+            BigDecimal maxPrice = null;
+            Set<String> amenities = new LinkedHashSet<>();
+
+            for (Match match : matches) {
+                for (Term term : match.terms()) {
+                    switch (term.kind()) {
+                        case CITY -> {
+                            if (city == null) {
+                                city = term.value();
+                            }
+                        }
+                        case AMENITY -> amenities.add(term.value());
+                        case QUALITY -> {
+                            if (quality == null || term.rank() < quality.rank()) {
+                                quality = term;
+                            }
+                        }
+                        case SORT -> {
+                            if (sort == null || term.rank() < sort.rank()) {
+                                sort = term;
+                            }
+                        }
+                        case ASCENDING -> ascending = true;
+                        case MAX_PRICE -> {
+                            if (maxPrice == null) {
+                                maxPrice = numberAt(skipPrice(match.end()));
+                            }
+                        }
+                        case MIN_PRICE -> {
+                            if (minPrice == null) {
+                                minPrice = numberAt(skipPrice(match.end()));
+                            }
+                        }
+                        case IN -> {
+                            if (cityAfterIn == null && wordAfterIn == null) {
+                                int next = skipSpaces(match.end());
+                                cityAfterIn = cityStartingAt(next);
+                                wordAfterIn = cityAfterIn == null ? wordAt(next) : null;
+                            }
+                        }
+                        case STAR -> {
+                            if (starRating == null) {
+                                starRating = ratingBefore(match.start());
+                            }
+                        }
+                    }
+                }
+            }
+
+            // "$100 to $200" or "100-200" sets both bounds
+            for (int[] number : numbers) {
+                int next = skipSpaces(number[1]);
+                if (text.startsWith("to", next) && (next + 2 == text.length() || !Character.isLetter(text.charAt(next + 2)))) {
+                    next += 2;
+                } else if (next < text.length() && text.charAt(next) == '-') {
+                    next++;
+                } else {
+                    continue;
+                }
+                BigDecimal upper = numberAt(skipPrice(next));
+                if (upper != null) {
+                    minPrice = number(number);
+                    maxPrice = upper;
+                    break;
+                }
+            }
+
+            String resolvedCity = cityAfterIn != null ? cityAfterIn : city != null ? city : wordAfterIn;
+            Integer minRating = starRating != null ? starRating : quality != null ? quality.number() : null;
+            String sortBy = sort != null ? sort.value() : null;
+            String sortOrder = sortBy == null ? null : ascending ? "asc" : "desc";
+            return new Parsed(dictionary, resolvedCity, minRating, minPrice, maxPrice,
+                    List.copyOf(amenities), sortBy, sortOrder);
+        }
+
+        private String cityStartingAt(int position) {
+            String longest = null;
+            int longestEnd = -1;
+            for (Match match : matches) {
+                if (match.start() != position || match.end() <= longestEnd) {
+                    continue;
+                }
+                for (Term term : match.terms()) {
+                    if (term.kind() == Kind.CITY) {
+                        longest = term.value();
+                        longestEnd = match.end();
+                    }
+                }
+            }
+            return longest;
+        }
+
+        /**
+         * The word after "in" when it is no known city, as the query has nothing better.
+         */
+        private String wordAt(int position) {
+            int end = position;
+            while (end < text.length() && Character.isLetter(text.charAt(end))) {
+                end++;
+            }
+            return end > position ? text.substring(position, end) : null;
+        }
+
+        /**
+         * A rating directly before "star": "4 star", "4star", or "4-star".
+         */
+        private Integer ratingBefore(int starStart) {
+            int position = starStart;
+            if (position > 0 && text.charAt(position - 1) == '-') {
+                position--;
+            }
+            while (position > 0 && text.charAt(position - 1) == ' ') {
+                position--;
+            }
+            for (int[] number : numbers) {
+                if (number[1] == position) {
+                    BigDecimal rating = number(number);
+                    return rating.compareTo(BigDecimal.TEN) < 0 ? rating.intValue() : null;
+                }
+            }
+            return null;
+        }
+
+        private int skipSpaces(int position) {
+            while (position < text.length() && text.charAt(position) == ' ') {
+                position++;
+            }
+            return position;
+        }
+
+        private int skipPrice(int position) {
+            position = skipSpaces(position);
+            return position < text.length() && text.charAt(position) == '$' ? position + 1 : position;
+        }
+
+        private BigDecimal numberAt(int position) {
+            for (int[] number : numbers) {
+                if (number[0] == position) {
+                    return number(number);
+                }
+            }
+            return null;
+        }
+
+        private BigDecimal number(int[] number) {
+            return new BigDecimal(text.substring(number[0], number[1]));
+        }
+    }
+
+    private record Match(int start, int end, Term[] terms) {
+    }
+
+    /**
+     * A parsed query, independent of the query string so it can be shared from the memo.
+     */
+    private record Parsed(Dictionary dictionary, String city, Integer minRating, BigDecimal minPrice,
+                          BigDecimal maxPrice, List<String> amenities, String sortBy, String sortOrder) {
+
+        SearchRequest toRequest(String query) {
+            SearchRequest.SearchRequestBuilder builder = SearchRequest.builder()
+                    .query(query)
+                    .limit(DEFAULT_LIMIT)
+                    .offset(0)
+                    .city(city)
+                    .minRating(minRating)
+                    .minPrice(minPrice)
+                    .maxPrice(maxPrice)
+                    .sortBy(sortBy);
+            if (!amenities.isEmpty()) {
+                builder.amenities(new ArrayList<>(amenities));
+            }
+            if (sortOrder != null) {
+                builder.sortOrder(sortOrder);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse.PriceRange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns the Meilisearch facet distribution of a search into the facet counts of the response:
+ * hotels per city, country, star rating, and amenity, plus hotels per price range. Only the
+ * {@code search.facets.max-values} most frequent values of each attribute are returned.
+ *
+ * <p>Price ranges are split at {@code search.facets.price-buckets}; the last range is open-ended.
+ * Hotels are counted by their cheapest room type. Meilisearch returns at most
+ * {@code maxValuesPerFacet} distinct prices, so every document is indexed with the number of its
+ * range, see {@link #priceBucket}, and the search that returns the hits counts the ranges with the
+ * distribution of that number. Changing the buckets takes effect for the counts once the index is
+ * rebuilt. The fallback index sums its complete {@code minPrice} distribution instead.
+ *
+ * <p>The facets of unfiltered searches, e.g. the landing page or a plain text query, are cached
+ * per query text for the current {@link IndexGeneration}, so paging through such a search, or
+ * repeating it with a different sort, does not ask Meilisearch for the distribution again.
+ */
+@Component
+public class SearchFacets {
+
+    static final String PRICE_ATTRIBUTE = "minPrice";
+    static final String PRICE_BUCKET_ATTRIBUTE = "priceBucket";
+    static final String[] ATTRIBUTES = {"city", "country", "starRating", "amenities"};
+    // What a search asks Meilisearch to count: the response attributes and the price ranges
+    static final String[] DISTRIBUTION = {"city", "country", "starRating", "amenities", PRICE_BUCKET_ATTRIBUTE};
+
+    private final IndexGeneration indexGeneration;
+    private final BigDecimal[] priceBoundaries;
+    private final int maxValues;
+    private final Map<String, Entry> unfiltered;
+
+    @Autowired
+    SearchFacets(
+            IndexGeneration indexGeneration,
+            @Value("${search.facets.price-buckets:50,100,200,300,500}") String priceBuckets,
+            @Value("${search.facets.max-values:20}") int maxValues,
+            @Value("${search.facets.cache-max-entries:500}") int cacheMaxEntries) {
+        this(indexGeneration, Arrays.stream(priceBuckets.split(","))
+                .map(String::strip)
+                .filter(boundary -> !boundary.isEmpty())
+                .map(BigDecimal::new)
+                .toList(), maxValues, cacheMaxEntries);
+    }
+
+    SearchFacets(IndexGeneration indexGeneration, List<BigDecimal> priceBoundaries, int maxValues,
+                 int cacheMaxEntries) {
+        if (cacheMaxEntries < 1 || maxValues < 1) {
+            throw new IllegalArgumentException("Facet cache size and values per facet must be positive");
+        }
+        BigDecimal[] boundaries = priceBoundaries.toArray(new BigDecimal[0]);
+        for (int i = 0; i < boundaries.length; i++) {
+            if (boundaries[i].signum() <= 0 || (i > 0 && boundaries[i].compareTo(boundaries[i - 1]) <= 0)) {
+                throw new IllegalArgumentException("Price buckets must be positive and ascending: " + priceBoundaries);
+            }
+        }
+        this.indexGeneration = indexGeneration;
+        this.priceBoundaries = boundaries;
+        this.maxValues = maxValues;
+        this.unfiltered = new LinkedHashMap<>(Math.min(cacheMaxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheMaxEntries;
+            }
+        };
+    }
+
+    /**
+     * The index generation to pass to {@link #collect}; read it before searching, so facets of a
+     * search that overlaps an index write are never cached as current.
+     */
+    public long generation() {
+        return indexGeneration.current();
+    }
+
+    /**
+     * Returns the cached facets of an unfiltered search, or null when the search has to request
+     * the distribution of {@link #DISTRIBUTION}.
+     */
+    public Facets cached(SearchRequest request, long generation) {
+        if (!isUnfiltered(request)) {
+            return null;
+        }
+        synchronized (unfiltered) {
+            Entry entry = unfiltered.get(cacheKey(request.getQuery()));
+            return entry != null && entry.generation() == generation ? entry.facets() : null;
+        }
+    }
+
+    /**
+     * The price range of a hotel's cheapest room type, indexed as {@link #PRICE_BUCKET_ATTRIBUTE};
+     * null for a hotel without prices.
+     */
+    public Integer priceBucket(BigDecimal minPrice) {
+        if (minPrice == null) {
+            return null;
+        }
+        int bucket = Arrays.binarySearch(priceBoundaries, minPrice, BigDecimal::compareTo);
+        // A price equal to a boundary opens the next range
+        return bucket >= 0 ? bucket + 1 : -bucket - 1;
+    }
+
+    /**
+     * Reads the facet distribution of a search result, including the hotels per price range, and
+     * caches the facets if the search was unfiltered.
+     */
+    public Facets collect(SearchRequest request, Object facetDistribution, long generation) {
+        long[] priceCounts = new long[priceBoundaries.length + 1];
+        if (facetDistribution instanceof Map<?, ?> distribution
+                && distribution.get(PRICE_BUCKET_ATTRIBUTE) instanceof Map<?, ?> buckets) {
+            buckets.forEach((bucket, count) -> addBucket(priceCounts, bucket, count));
+        }
+        Facets facets = fromDistribution(facetDistribution, priceCounts);
+        if (isUnfiltered(request)) {
+            synchronized (unfiltered) {
+                unfiltered.put(cacheKey(request.getQuery()), new Entry(generation, facets));
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * Reads a complete distribution that includes every {@code minPrice} value, as the fallback
+     * index computes it, and sums the prices into ranges.
+     */
+    Facets fromDistribution(Object facetDistribution) {
+        long[] priceCounts = new long[priceBoundaries.length + 1];
+        if (facetDistribution instanceof Map<?, ?> distribution
+                && distribution.get(PRICE_ATTRIBUTE) instanceof Map<?, ?> prices) {
+            prices.forEach((value, count) -> addPrice(priceCounts, value, count));
+        }
+        return fromDistribution(facetDistribution, priceCounts);
+    }
+
+    Facets fromDistribution(Object facetDistribution, long[] priceCounts) {
+        if (priceCounts.length != priceBoundaries.length + 1) {
+            throw new IllegalArgumentException("Expected one count per price range");
+        }
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        if (facetDistribution instanceof Map<?, ?> distribution) {
+            for (String attribute : ATTRIBUTES) {
+                if (distribution.get(attribute) instanceof Map<?, ?> values) {
+                    counts.put(attribute, mostFrequent(values));
+                }
+            }
+        }
+        return new Facets(Collections.unmodifiableMap(counts), priceRanges(priceCounts));
+    }
+
+    private Map<String, Long> mostFrequent(Map<?, ?> values) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(values.size());
+        values.forEach((value, count) -> {
+            if (value != null && count instanceof Number number) {
+                entries.add(Map.entry(value.toString(), number.longValue()));
+            }
+        });
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> attributeCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(maxValues, entries.size()))) {
+            attributeCounts.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(attributeCounts);
+    }
+
+    private void addPrice(long[] priceCounts, Object value, Object count) {
+        if (value == null || !(count instanceof Number number)) {
+            return;
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        priceCounts[priceBucket(price)] += number.longValue();
+    }
+
+    private static void addBucket(long[] priceCounts, Object bucket, Object count) {
+        if (bucket == null || !(count instanceof Number number)) {
+            return;
+        }
+        int range;
+        try {
+            range = Integer.parseInt(bucket.toString());
+        } catch (NumberFormatException e) {
+            return;
+        }
+        // Documents indexed before the buckets changed may name a range that no longer exists
+        if (range >= 0 && range < priceCounts.length) {
+            priceCounts[range] += number.longValue();
+        }
+    }
+
+    private List<PriceRange> priceRanges(long[] priceCounts) {
+        List<PriceRange> ranges = new ArrayList<>(priceCounts.length);
+        for (int i = 0; i < priceCounts.length; i++) {
+            ranges.add(PriceRange.builder()
+                    .min(i == 0 ? BigDecimal.ZERO : priceBoundaries[i - 1])
+                    .max(i < priceBoundaries.length ? priceBoundaries[i] : null)
+                    .count(priceCounts[i])
+                    .build());
+        }
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Filters narrow the distribution, so only searches by text alone share cached facets.
+     */
+    static boolean isUnfiltered(SearchRequest request) {
+        return (request.getCity() == null || request.getCity().isBlank())
+                && (request.getCountry() == null || request.getCountry().isBlank())
+                && request.getMinRating() == null && request.getMaxRating() == null
+                && request.getMinPrice() == null && request.getMaxPrice() == null
+                && (request.getAmenities() == null || request.getAmenities().isEmpty())
+                && (request.getLatitude() == null || request.getLongitude() == null
+                        || request.getRadiusKm() == null);
+    }
+
+    private static String cacheKey(String query) {
+        return query == null ? "" : query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public record Facets(Map<String, Map<String, Long>> counts, List<PriceRange> priceRanges) {
+    }
+
+    private record Entry(long generation, Facets facets) {
+    }
+}
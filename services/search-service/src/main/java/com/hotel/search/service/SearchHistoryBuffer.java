@@ -0,0 +1,80 @@
+package com.hotel.search.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer with many producers and one consumer. Producers claim a slot with a single
+ * compare-and-set on the tail and never wait: when the buffer is full the element is dropped and
+ * counted. The consumer takes elements in claim order and stops at a claimed slot whose element
+ * has not been published yet; it picks that one up on its next drain.
+ */
+final class SearchHistoryBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    SearchHistoryBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Search history buffer capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds the element unless the buffer is full; never blocks.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.lazySet((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Hands up to {@code max} elements to the consumer, oldest first, and returns how many.
+     * Only one thread may drain at a time.
+     */
+    synchronized int drainTo(Consumer<? super E> consumer, int max) {
+        long next = head.get();
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) next & mask;
+            E element = slots.get(slot);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            next++;
+            head.lazySet(next);
+            consumer.accept(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
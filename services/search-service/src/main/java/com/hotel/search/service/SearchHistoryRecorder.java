@@ -0,0 +1,249 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Records searches into {@code search_history} and per-bucket query counts, off the request path.
+ *
+ * <p>{@link #record} only puts an entry into a bounded {@link SearchHistoryBuffer}; when the
+ * buffer is full the entry is dropped rather than slowing the search down. Every
+ * {@code search.history.flush-interval-ms} the buffer is drained in batches of
+ * {@code search.history.batch-size}: each batch is one JDBC batch insert into the history table
+ * plus one batch upsert of the counts of queries that found hotels, summed per
+ * {@code search.history.bucket}. A batch that fails to write is logged and dropped.
+ *
+ * <p>The counts of the last {@code search.history.popularity-window}, summed over all instances,
+ * replace the query counts behind the search suggestions every
+ * {@code search.history.popularity-refresh-ms}. A nightly cleanup deletes history older than
+ * {@code search.history.retention} and counts that fell out of the popularity window.
+ */
+@Service
+@Slf4j
+public class SearchHistoryRecorder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final SearchHistoryBuffer<Entry> buffer;
+    private final int batchSize;
+    private final long bucketMillis;
+    private final Duration popularityWindow;
+    private final Duration retention;
+    private final int maxPopularQueries;
+    private final LongSupplier wallClock;
+    private final String historyTable;
+    private final String countsTable;
+    private long droppedReported;
+
+    @Autowired(required = false)
+    private SuggestionService suggestionService;
+
+    @Autowired
+    SearchHistoryRecorder(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${search.history.schema:search_svc}") String schema,
+            @Value("${search.history.buffer-capacity:8192}") int bufferCapacity,
+            @Value("${search.history.batch-size:500}") int batchSize,
+            @Value("${search.history.bucket:1h}") String bucket,
+            @Value("${search.history.popularity-window:7d}") String popularityWindow,
+            @Value("${search.history.retention:30d}") String retention,
+            @Value("${search.suggestions.max-tracked-queries:10000}") int maxPopularQueries) {
+        this(jdbcTemplate, objectMapper, schema, bufferCapacity, batchSize,
+                DurationStyle.detectAndParse(bucket), DurationStyle.detectAndParse(popularityWindow),
+                DurationStyle.detectAndParse(retention), maxPopularQueries, System::currentTimeMillis);
+    }
+
+    SearchHistoryRecorder(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            String schema,
+            int bufferCapacity,
+            int batchSize,
+            Duration bucket,
+            Duration popularityWindow,
+            Duration retention,
+            int maxPopularQueries,
+            LongSupplier wallClock) {
+        if (schema == null || !schema.matches("[a-z][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid search history schema: " + schema);
+        }
+        if (batchSize < 1 || bucket.toMillis() < 1) {
+            throw new IllegalArgumentException("Search history batch size and bucket must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.buffer = new SearchHistoryBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.bucketMillis = bucket.toMillis();
+        this.popularityWindow = popularityWindow;
+        this.retention = retention;
+        this.maxPopularQueries = maxPopularQueries;
+        this.wallClock = wallClock;
+        this.historyTable = schema + ".search_history";
+        this.countsTable = schema + ".search_query_counts";
+    }
+
+    /**
+     * Queues a search for the history. Paging through results is not a new search, so only first
+     * pages are recorded. Never blocks and never throws.
+     */
+    public void record(SearchRequest request, SearchResponse response) {
+        if (request.getOffset() != null && request.getOffset() > 0) {
+            return;
+        }
+        long total = response.getTotal() == null ? 0 : response.getTotal();
+        buffer.offer(new Entry(request.getQuery(), response.getAppliedFilters(),
+                (int) Math.min(total, Integer.MAX_VALUE), wallClock.getAsLong()));
+    }
+
+    @Scheduled(fixedDelayString = "${search.history.flush-interval-ms:1000}")
+    public void flush() {
+        while (true) {
+            List<Entry> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+            if (buffer.drainTo(batch::add, batchSize) == 0) {
+                break;
+            }
+            write(batch);
+        }
+        long dropped = buffer.dropped();
+        if (dropped > droppedReported) {
+            log.warn("Dropped {} search history entries because the buffer was full", dropped - droppedReported);
+            droppedReported = dropped;
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${search.history.popularity-initial-delay-ms:5000}",
+            fixedDelayString = "${search.history.popularity-refresh-ms:60000}")
+    public void refreshPopularQueries() {
+        if (suggestionService == null) {
+            return;
+        }
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            jdbcTemplate.query("""
+                    SELECT query, SUM(search_count) AS searches FROM %s
+                    WHERE bucket_start >= ?
+                    GROUP BY query
+                    ORDER BY searches DESC
+                    LIMIT ?
+                    """.formatted(countsTable),
+                    row -> {
+                        counts.put(row.getString("query"), row.getLong("searches"));
+                    },
+                    new Timestamp(bucketStart(wallClock.getAsLong() - popularityWindow.toMillis())),
+                    maxPopularQueries);
+            suggestionService.replaceQueryCounts(counts);
+        } catch (DataAccessException e) {
+            log.warn("Failed to load popular search queries: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${search.history.cleanup-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        try {
+            long now = wallClock.getAsLong();
+            int history = jdbcTemplate.update("DELETE FROM %s WHERE created_at < ?".formatted(historyTable),
+                    new Timestamp(now - retention.toMillis()));
+            int counts = jdbcTemplate.update("DELETE FROM %s WHERE bucket_start < ?".formatted(countsTable),
+                    new Timestamp(bucketStart(now - popularityWindow.toMillis())));
+            log.debug("Removed {} search history entries older than {} and {} expired query counts",
+                    history, retention, counts);
+        } catch (DataAccessException e) {
+            log.warn("Failed to remove expired search history: {}", e.getMessage());
+        }
+    }
+
+    private void write(List<Entry> batch) {
+        Map<QueryBucket, Long> counts = new LinkedHashMap<>();
+        for (Entry entry : batch) {
+            String query = SuggestionTrie.normalize(entry.query());
+            if (entry.resultsCount() > 0 && !query.isEmpty()) {
+                counts.merge(new QueryBucket(bucketStart(entry.searchedAt()), query), 1L, Long::sum);
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO %s (user_id, search_query, search_filters, results_count, created_at)
+                    VALUES (NULL, ?, CAST(? AS jsonb), ?, ?)
+                    """.formatted(historyTable), batch, batch.size(), (statement, entry) -> {
+                statement.setString(1, entry.query());
+                String filters = filtersJson(entry.filters());
+                if (filters == null) {
+                    statement.setNull(2, Types.VARCHAR);
+                } else {
+                    statement.setString(2, filters);
+                }
+                statement.setInt(3, entry.resultsCount());
+                statement.setTimestamp(4, new Timestamp(entry.searchedAt()));
+            });
+            if (!counts.isEmpty()) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO %s (bucket_start, query, search_count)
+                        VALUES (?, ?, ?)
+                        ON CONFLICT (bucket_start, query)
+                        DO UPDATE SET search_count = %s.search_count + EXCLUDED.search_count
+                        """.formatted(countsTable, countsTable), List.copyOf(counts.entrySet()), counts.size(),
+                        (statement, count) -> {
+                            statement.setTimestamp(1, new Timestamp(count.getKey().bucketStart()));
+                            statement.setString(2, count.getKey().query());
+                            statement.setLong(3, count.getValue());
+                        });
+            }
+        } catch (DataAccessException e) {
+            log.warn("Dropped {} search history entries that failed to write: {}", batch.size(), e.getMessage());
+            return;
+        }
+        if (suggestionService != null) {
+            counts.forEach((bucket, searches) -> suggestionService.recordSearch(bucket.query(), searches));
+        }
+    }
+
+    private String filtersJson(List<String> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(filters);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private long bucketStart(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, bucketMillis);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private record Entry(String query, List<String> filters, int resultsCount, long searchedAt) {
+    }
+
+    private record QueryBucket(long bucketStart, String query) {
+    }
+}
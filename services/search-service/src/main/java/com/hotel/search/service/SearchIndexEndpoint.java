@@ -0,0 +1,28 @@
+package com.hotel.search.service;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the hotel index from the hotel service export into a new index and swaps it in, see
+ * {@link IndexService#rebuildFromHotelService()}. The request returns once the swap is done.
+ * Only registered when the endpoint is exposed; {@code SecurityConfig} restricts it to operators.
+ */
+@Component
+@ConditionalOnAvailableEndpoint(endpoint = SearchIndexEndpoint.class)
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+    private final IndexService indexService;
+
+    SearchIndexEndpoint(IndexService indexService) {
+        this.indexService = indexService;
+    }
+
+    @WriteOperation
+    public IndexService.RebuildReport rebuild() {
+        return indexService.rebuildFromHotelService();
+    }
+}
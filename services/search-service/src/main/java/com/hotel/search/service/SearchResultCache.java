@@ -0,0 +1,266 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caches search responses by a canonical hash of the {@link SearchRequest}, in a bounded
+ * in-process LRU and, when {@code search.cache.redis.enabled} is set, in Redis shared by all
+ * instances.
+ *
+ * <p>Every entry records the {@link IndexGeneration} it was computed under and is only served
+ * while the generation is unchanged, so results never outlive a write indexed through this
+ * service. {@code search.cache.ttl} bounds the age of an entry regardless, which covers writes
+ * indexed by another instance while Redis is disabled.
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    static final String REDIS_KEY_PREFIX = "search:results:";
+
+    private final IndexGeneration indexGeneration;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> nearCache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter missCounter;
+
+    @Autowired
+    SearchResultCache(
+            IndexGeneration indexGeneration,
+            ObjectMapper objectMapper,
+            ObjectProvider<StringRedisTemplate> redisTemplate,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${search.cache.redis.enabled:false}") boolean redisEnabled,
+            @Value("${search.cache.max-entries:1000}") int maxEntries,
+            @Value("${search.cache.ttl:60s}") String ttl) {
+        this(indexGeneration, objectMapper,
+                redisEnabled ? redisTemplate.getIfAvailable() : null,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                maxEntries, DurationStyle.detectAndParse(ttl), System::nanoTime);
+    }
+
+    SearchResultCache(
+            IndexGeneration indexGeneration,
+            ObjectMapper objectMapper,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            int maxEntries,
+            Duration ttl,
+            LongSupplier nanoClock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Search cache size must be positive");
+        }
+        this.indexGeneration = indexGeneration;
+        this.objectMapper = objectMapper;
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.nanoClock = nanoClock;
+        this.nearCache = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.nearHits = requests(meterRegistry, "near_hit");
+        this.redisHits = requests(meterRegistry, "redis_hit");
+        this.missCounter = requests(meterRegistry, "miss");
+        Gauge.builder("search.cache.hit.ratio", this, SearchResultCache::hitRatio)
+                .description("Share of searches answered from the result cache since startup")
+                .register(meterRegistry);
+        Gauge.builder("search.cache.entries", this, SearchResultCache::size)
+                .description("Search responses held in the in-process result cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response for an equivalent request, or runs the search and caches its
+     * response.
+     */
+    public SearchResponse get(SearchRequest request, Supplier<SearchResponse> search) {
+        // Read before searching: if the index changes while the search runs, the entry is stored
+        // under the old generation and is never served.
+        long generation = indexGeneration.current();
+        String key = key(request);
+
+        SearchResponse cached = nearGet(key, generation);
+        if (cached != null) {
+            hits.incrementAndGet();
+            nearHits.increment();
+            return forRequest(cached, request);
+        }
+        cached = redisGet(key, generation);
+        if (cached != null) {
+            nearPut(key, generation, cached);
+            hits.incrementAndGet();
+            redisHits.increment();
+            return forRequest(cached, request);
+        }
+
+        misses.incrementAndGet();
+        missCounter.increment();
+        SearchResponse response = search.get();
+        nearPut(key, generation, response);
+        redisPut(key, generation, response);
+        return response;
+    }
+
+    /**
+     * Hashes the request fields in a fixed order. The free-text query is compared case- and
+     * whitespace-insensitively, as Meilisearch tokenizes it; every other field is taken as is
+     * because it ends up verbatim in the filter or in the response.
+     */
+    static String key(SearchRequest request) {
+        StringBuilder canonical = new StringBuilder()
+                .append("q=").append(normalizeQuery(request.getQuery()))
+                .append("|city=").append(request.getCity())
+                .append("|country=").append(request.getCountry())
+                .append("|minRating=").append(request.getMinRating())
+                .append("|maxRating=").append(request.getMaxRating())
+                .append("|minPrice=").append(request.getMinPrice() == null ? null : request.getMinPrice().toPlainString())
+                .append("|maxPrice=").append(request.getMaxPrice() == null ? null : request.getMaxPrice().toPlainString())
+                .append("|amenities=").append(request.getAmenities())
+                .append("|checkIn=").append(request.getCheckInDate())
+                .append("|checkOut=").append(request.getCheckOutDate())
+                .append("|guests=").append(request.getGuests())
+                .append("|offset=").append(request.getOffset())
+                .append("|limit=").append(request.getLimit())
+                .append("|sortBy=").append(request.getSortBy())
+                .append("|sortOrder=").append(request.getSortOrder())
+                .append("|lat=").append(request.getLatitude())
+                .append("|lng=").append(request.getLongitude())
+                .append("|radiusKm=").append(request.getRadiusKm())
+                .append("|fields=").append(request.getFields());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is unavailable", e);
+        }
+    }
+
+    private static String normalizeQuery(String query) {
+        return query == null ? "" : query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private SearchResponse nearGet(String key, long generation) {
+        synchronized (nearCache) {
+            Entry entry = nearCache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.generation() != generation || nanoClock.getAsLong() >= entry.expiresAt()) {
+                nearCache.remove(key);
+                return null;
+            }
+            return entry.response();
+        }
+    }
+
+    private void nearPut(String key, long generation, SearchResponse response) {
+        synchronized (nearCache) {
+            nearCache.put(key, new Entry(generation, nanoClock.getAsLong() + ttl.toNanos(), response));
+        }
+    }
+
+    private SearchResponse redisGet(String key, long generation) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey(key, generation));
+            return json == null ? null : objectMapper.readValue(json, SearchResponse.class);
+        } catch (Exception e) {
+            log.warn("Failed to read cached search result: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void redisPut(String key, long generation, SearchResponse response) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(
+                    redisKey(key, generation), objectMapper.writeValueAsString(response), ttl);
+        } catch (Exception e) {
+            log.warn("Failed to cache search result: {}", e.getMessage());
+        }
+    }
+
+    private static String redisKey(String key, long generation) {
+        return REDIS_KEY_PREFIX + generation + ":" + key;
+    }
+
+    /**
+     * Cached responses are shared between requests; each caller gets its own copy, carrying the
+     * query as it sent it.
+     */
+    private static SearchResponse forRequest(SearchResponse cached, SearchRequest request) {
+        return SearchResponse.builder()
+                .hotels(cached.getHotels())
+                .cards(cached.getCards())
+                .total(cached.getTotal())
+                .offset(cached.getOffset())
+                .limit(cached.getLimit())
+                .processingTime(cached.getProcessingTime())
+                .query(request.getQuery())
+                .appliedFilters(cached.getAppliedFilters())
+                .facets(cached.getFacets())
+                .priceRanges(cached.getPriceRanges())
+                .build();
+    }
+
+    double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    int size() {
+        synchronized (nearCache) {
+            return nearCache.size();
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("search.cache.requests")
+                .description("Search requests by result cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(long generation, long expiresAt, SearchResponse response) {
+    }
+}
@@ -2,20 +2,26 @@ package com.hotel.search.service;
 
 import com.meilisearch.sdk.Client;
 import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.exceptions.MeilisearchCommunicationException;
+import com.meilisearch.sdk.exceptions.MeilisearchTimeoutException;
 import com.meilisearch.sdk.model.SearchResult;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.HotelCard;
+import com.hotel.search.dto.SearchFields;
 import com.hotel.search.dto.SearchRequest;
 import com.hotel.search.dto.SearchResponse;
 import com.hotel.search.model.HotelDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,51 +30,160 @@ public class SearchService {
     
     private final Client meilisearchClient;
     private final ObjectMapper objectMapper;
+
+    private static final int MIN_CANDIDATE_PAGE_SIZE = 50;
+    private static final String[] STAY_CARD_ATTRIBUTES = Stream.concat(
+        Arrays.stream(SearchFields.CARD.attributes()), Stream.of("availableRooms", "roomTypes")).toArray(String[]::new);
+
+    @Autowired(required = false)
+    private SearchResultCache resultCache;
+
+    @Autowired(required = false)
+    private LiveAvailabilityFilter availabilityFilter;
+
+    @Autowired(required = false)
+    private SearchHistoryRecorder historyRecorder;
+
+    @Autowired(required = false)
+    private SearchFacets searchFacets;
+
+    @Autowired(required = false)
+    private FallbackSearchIndex fallbackIndex;
+
+    @Autowired(required = false)
+    private MeilisearchIndexes indexes;
+
+    @Autowired(required = false)
+    private volatile NaturalLanguageQueryParser queryParser;
+
+    @Value("${search.availability.max-candidates:500}")
+    private int maxAvailabilityCandidates = 500;
     
     public SearchResponse searchHotels(SearchRequest request) {
-        try {
-            Index index = meilisearchClient.index(IndexService.HOTEL_INDEX);
-            
-            // Build search parameters
-            String query = request.getQuery() != null ? request.getQuery() : "";
-            
-            // Create Meilisearch search request with all parameters
-            com.meilisearch.sdk.SearchRequest searchRequest = 
-                new com.meilisearch.sdk.SearchRequest(query);
-            
-            // Apply filters
-            String filterString = buildFilterString(request);
-            if (!filterString.isEmpty()) {
-                searchRequest.setFilter(new String[]{filterString});
-            }
-            
-            // Apply pagination
-            if (request.getLimit() != null) {
-                searchRequest.setLimit(request.getLimit());
+        SearchResponse response;
+        if (fallbackIndex != null && fallbackIndex.isServing()) {
+            response = searchFallback(request);
+        } else {
+            try {
+                response = searchMeilisearch(request);
+            } catch (RuntimeException e) {
+                if (fallbackIndex == null || !isMeilisearchUnreachable(e)) {
+                    throw e;
+                }
+                fallbackIndex.meilisearchUnavailable();
+                response = searchFallback(request);
             }
-            if (request.getOffset() != null) {
-                searchRequest.setOffset(request.getOffset());
+        }
+        recordSearch(request, response);
+        return response;
+    }
+
+    private SearchResponse searchMeilisearch(SearchRequest request) {
+        if (isStaySearch(request)) {
+            return searchAvailable(request, (offset, limit) -> {
+                Index index = hotelIndex();
+                com.meilisearch.sdk.SearchRequest candidates = buildMeilisearchRequest(request, offset, limit);
+                if (request.getFields() == SearchFields.CARD) {
+                    candidates.setAttributesToRetrieve(STAY_CARD_ATTRIBUTES);
+                }
+                SearchResult result = (SearchResult) index.search(candidates);
+                return new CandidatePage(processSearchResults(result),
+                    result.getHits() == null ? 0 : result.getHits().size(),
+                    result.getProcessingTimeMs(), result.getEstimatedTotalHits());
+            });
+        }
+        if (resultCache == null) {
+            return executeSearch(request);
+        }
+        return resultCache.get(request, () -> executeSearch(request));
+    }
+
+    /**
+     * Answers from the in-process fallback index while Meilisearch is unreachable. Its results
+     * are not cached, so the cache only ever holds Meilisearch results.
+     */
+    private SearchResponse searchFallback(SearchRequest request) {
+        SearchResponse response;
+        if (isStaySearch(request)) {
+            response = searchAvailable(request, (offset, limit) -> {
+                SearchResponse candidates = fallbackIndex.search(request, offset, limit);
+                return new CandidatePage(candidates.getHotels(), candidates.getHotels().size(),
+                    candidates.getProcessingTime(), candidates.getTotal());
+            });
+            response.setDegraded(true);
+        } else {
+            response = fallbackIndex.search(request);
+            response.setAppliedFilters(getAppliedFilters(request));
+        }
+        return project(request, response);
+    }
+
+    /**
+     * Moves the hotels of a card view response into {@code cards}, for the searches that need
+     * whole documents on the way: stay searches filter on room types, and the fallback index
+     * stores whole documents.
+     */
+    private static SearchResponse project(SearchRequest request, SearchResponse response) {
+        if (request.getFields() == SearchFields.CARD && response.getHotels() != null) {
+            response.setCards(response.getHotels().stream().map(HotelCard::of).toList());
+            response.setHotels(null);
+        }
+        return response;
+    }
+
+    private boolean isStaySearch(SearchRequest request) {
+        return availabilityFilter != null
+            && request.getCheckInDate() != null && request.getCheckOutDate() != null;
+    }
+
+    /**
+     * Only connection failures and timeouts switch to the fallback index; an error Meilisearch
+     * answered with would fail there too, or hide a bad request.
+     */
+    static boolean isMeilisearchUnreachable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MeilisearchCommunicationException || cause instanceof MeilisearchTimeoutException) {
+                return true;
             }
-            
-            // Apply sorting
-            if (request.getSortBy() != null && !request.getSortBy().isEmpty()) {
-                String sortParam = buildSortParameter(request.getSortBy(), request.getSortOrder());
-                searchRequest.setSort(new String[]{sortParam});
+        }
+        return false;
+    }
+
+    private Index hotelIndex() throws Exception {
+        return indexes != null ? indexes.hotels() : meilisearchClient.index(IndexService.HOTEL_INDEX);
+    }
+
+    private void recordSearch(SearchRequest request, SearchResponse response) {
+        if (historyRecorder != null) {
+            historyRecorder.record(request, response);
+        }
+    }
+
+    private SearchResponse executeSearch(SearchRequest request) {
+        try {
+            Index index = hotelIndex();
+            com.meilisearch.sdk.SearchRequest searchRequest =
+                buildMeilisearchRequest(request, request.getOffset(), request.getLimit());
+
+            // Unfiltered searches reuse the facets computed for their query text
+            long facetGeneration = searchFacets != null ? searchFacets.generation() : 0;
+            SearchFacets.Facets facets = searchFacets != null
+                ? searchFacets.cached(request, facetGeneration) : null;
+            if (searchFacets != null && facets == null) {
+                searchRequest.setFacets(SearchFacets.DISTRIBUTION);
             }
             
-            // Apply geo-radius filter if location is provided
-            if (request.getLatitude() != null && request.getLongitude() != null && 
-                request.getRadiusKm() != null) {
-                String geoFilter = String.format("_geoRadius(%f, %f, %f)", 
-                    request.getLatitude(), 
-                    request.getLongitude(), 
-                    request.getRadiusKm() * 1000); // Convert km to meters
-                    
-                if (!filterString.isEmpty()) {
-                    searchRequest.setFilter(new String[]{filterString + " AND " + geoFilter});
-                } else {
-                    searchRequest.setFilter(new String[]{geoFilter});
+            if (request.getFields() == SearchFields.CARD) {
+                searchRequest.setAttributesToRetrieve(SearchFields.CARD.attributes());
+                CardHits result = objectMapper.readValue(index.rawSearch(searchRequest), CardHits.class);
+                if (searchFacets != null && facets == null) {
+                    facets = searchFacets.collect(request, result.facetDistribution(), facetGeneration);
                 }
+                return buildResponse(request, facets)
+                    .cards(result.hits() != null ? result.hits() : List.of())
+                    .total(result.estimatedTotalHits())
+                    .processingTime(result.processingTimeMs())
+                    .build();
             }
             
             // Execute search (handle different return types in SDK 0.11.1)
@@ -76,16 +191,15 @@ public class SearchService {
             
             // Process results
             List<HotelDocument> hotels = processSearchResults(result);
+            if (searchFacets != null && facets == null) {
+                facets = searchFacets.collect(request, result.getFacetDistribution(), facetGeneration);
+            }
             
             // Build response
-            return SearchResponse.builder()
+            return buildResponse(request, facets)
                 .hotels(hotels)
                 .total((long) result.getEstimatedTotalHits())
-                .offset(request.getOffset())
-                .limit(request.getLimit())
                 .processingTime((long) result.getProcessingTimeMs())
-                .query(request.getQuery())
-                .appliedFilters(getAppliedFilters(request))
                 .build();
                 
         } catch (Exception e) {
@@ -93,17 +207,173 @@ public class SearchService {
             throw new RuntimeException("Search operation failed", e);
         }
     }
+
+    private SearchResponse.SearchResponseBuilder buildResponse(SearchRequest request, SearchFacets.Facets facets) {
+        return SearchResponse.builder()
+                .offset(request.getOffset())
+                .limit(request.getLimit())
+                .query(request.getQuery())
+                .appliedFilters(getAppliedFilters(request))
+                .facets(facets != null ? facets.counts() : null)
+                .priceRanges(facets != null ? facets.priceRanges() : null);
+    }
+
+    /**
+     * Searches a stay: pages through Meilisearch candidates in relevance order and keeps the
+     * hotels with rooms left every night, stopping as soon as the requested page is filled or
+     * {@code search.availability.max-candidates} candidates were checked. Results are not cached
+     * because availability changes with every booking; the availability filter caches per night.
+     *
+     * <p>The total is exact once the candidates run out. Otherwise it extrapolates the share of
+     * available candidates seen so far to the estimated hit count, and is at least one more
+     * than the hotels returned so the client keeps paging.
+     */
+    private SearchResponse searchAvailable(SearchRequest request, CandidateSource candidateSource) {
+        if (!request.getCheckOutDate().isAfter(request.getCheckInDate())) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        int offset = request.getOffset() != null ? request.getOffset() : 0;
+        int limit = request.getLimit() != null ? request.getLimit() : 20;
+        int wanted = offset + limit;
+        int pageSize = Math.max(limit * 2, MIN_CANDIDATE_PAGE_SIZE);
+
+        try {
+            List<HotelDocument> available = new ArrayList<>();
+            int scanned = 0;
+            long processingTime = 0;
+            long estimatedHits = 0;
+            boolean exhausted = false;
+
+            while (available.size() < wanted) {
+                if (scanned >= maxAvailabilityCandidates) {
+                    exhausted = true;
+                    break;
+                }
+                int page = Math.min(pageSize, maxAvailabilityCandidates - scanned);
+                CandidatePage candidates = candidateSource.fetch(scanned, page);
+                scanned += candidates.hits();
+                processingTime += candidates.processingTime();
+                estimatedHits = candidates.estimatedHits();
+                available.addAll(availabilityFilter.retainAvailable(
+                    candidates.hotels(), request.getCheckInDate(), request.getCheckOutDate(), request.getGuests()));
+                if (candidates.hits() < page) {
+                    exhausted = true;
+                    break;
+                }
+            }
+
+            long total = available.size();
+            if (!exhausted && scanned > 0) {
+                long extrapolated = Math.round((double) estimatedHits * available.size() / scanned);
+                total = Math.max(available.size() + 1L, extrapolated);
+            }
+            log.debug("Stay search checked {} candidates and found {} available hotels", scanned, available.size());
+
+            return project(request, SearchResponse.builder()
+                .hotels(new ArrayList<>(available.subList(Math.min(offset, available.size()), Math.min(wanted, available.size()))))
+                .total(total)
+                .offset(request.getOffset())
+                .limit(request.getLimit())
+                .processingTime(processingTime)
+                .query(request.getQuery())
+                .appliedFilters(getAppliedFilters(request))
+                .build());
+
+        } catch (Exception e) {
+            log.error("Stay search failed for request: {}", request, e);
+            throw new RuntimeException("Search operation failed", e);
+        }
+    }
+
+    /**
+     * A page of stay search candidates, from Meilisearch or the fallback index.
+     */
+    @FunctionalInterface
+    private interface CandidateSource {
+        CandidatePage fetch(int offset, int limit) throws Exception;
+    }
+
+    private record CandidatePage(List<HotelDocument> hotels, int hits, long processingTime, long estimatedHits) {
+    }
+
+    /**
+     * The parts of a Meilisearch search response a card view reads; hits are bound straight to
+     * {@link HotelCard}.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record CardHits(List<HotelCard> hits, long estimatedTotalHits, long processingTimeMs,
+                    Map<String, Map<String, Long>> facetDistribution) {
+    }
+
+    private com.meilisearch.sdk.SearchRequest buildMeilisearchRequest(
+            SearchRequest request, Integer offset, Integer limit) {
+        // Build search parameters
+        String query = request.getQuery() != null ? request.getQuery() : "";
+        
+        // Create Meilisearch search request with all parameters
+        com.meilisearch.sdk.SearchRequest searchRequest = 
+            new com.meilisearch.sdk.SearchRequest(query);
+        
+        // Apply filters
+        String filterString = buildFilterString(request);
+        if (!filterString.isEmpty()) {
+            searchRequest.setFilter(new String[]{filterString});
+        }
+        
+        // Apply pagination
+        if (limit != null) {
+            searchRequest.setLimit(limit);
+        }
+        if (offset != null) {
+            searchRequest.setOffset(offset);
+        }
+        
+        // Apply sorting
+        if (request.getSortBy() != null && !request.getSortBy().isEmpty()) {
+            String sortParam = buildSortParameter(request.getSortBy(), request.getSortOrder());
+            searchRequest.setSort(new String[]{sortParam});
+        }
+        
+        // Apply geo-radius filter if location is provided
+        if (request.getLatitude() != null && request.getLongitude() != null && 
+            request.getRadiusKm() != null) {
+            String geoFilter = String.format("_geoRadius(%f, %f, %f)", 
+                request.getLatitude(), 
+                request.getLongitude(), 
+                request.getRadiusKm() * 1000); // Convert km to meters
+                
+            if (!filterString.isEmpty()) {
+                searchRequest.setFilter(new String[]{filterString + " AND " + geoFilter});
+            } else {
+                searchRequest.setFilter(new String[]{geoFilter});
+            }
+        }
+        return searchRequest;
+    }
     
     public SearchResponse naturalLanguageSearch(String query) {
         log.info("Processing natural language search: {}", query);
         
         // Parse natural language query
-        SearchRequest processedRequest = parseNaturalLanguageQuery(query);
+        SearchRequest processedRequest = queryParser().parse(query);
         
         // Execute search with processed request
         return searchHotels(processedRequest);
     }
     
+    /**
+     * The injected parser, or one without suggestions built on first use, so a service that never
+     * parses a query does not compile the city dictionary.
+     */
+    private NaturalLanguageQueryParser queryParser() {
+        NaturalLanguageQueryParser parser = queryParser;
+        if (parser == null) {
+            parser = new NaturalLanguageQueryParser((SuggestionService) null, 0);
+            queryParser = parser;
+        }
+        return parser;
+    }
+
     private String buildFilterString(SearchRequest request) {
         List<String> filters = new ArrayList<>();
         
@@ -174,6 +444,7 @@ public class SearchService {
                     // Convert LinkedHashMap to HotelDocument
                     HotelDocument hotel = objectMapper.convertValue(hit, HotelDocument.class);
                     if (hotel != null) {
+                        hotel.applyRoomAvailability();
                         hotels.add(hotel);
                     }
                 } catch (Exception e) {
@@ -212,6 +483,12 @@ public class SearchService {
         if (request.getLatitude() != null && request.getLongitude() != null) {
             filters.add(String.format("location: within %.1f km", request.getRadiusKm()));
         }
+        if (request.getCheckInDate() != null && request.getCheckOutDate() != null) {
+            filters.add("stay: " + request.getCheckInDate() + " to " + request.getCheckOutDate());
+            if (request.getGuests() != null) {
+                filters.add("guests: " + request.getGuests());
+            }
+        }
         
         return filters;
     }
@@ -221,164 +498,4 @@ public class SearchService {
         return value.replace("\"", "\\\"")
                    .replace("\\", "\\\\");
     }
-    
-    private SearchRequest parseNaturalLanguageQuery(String query) {
-        SearchRequest.SearchRequestBuilder builder = SearchRequest.builder()
-            .query(query)
-            .limit(20)
-            .offset(0);
-        
-        String lowerQuery = query.toLowerCase();
-        
-        // Extract city
-        String city = extractCity(lowerQuery);
-        if (city != null) {
-            builder.city(city);
-        }
-        
-        // Extract star rating
-        Integer rating = extractRating(lowerQuery);
-        if (rating != null) {
-            builder.minRating(rating);
-        }
-        
-        // Extract price range
-        extractPriceRange(lowerQuery, builder);
-        
-        // Extract amenities
-        List<String> amenities = extractAmenities(lowerQuery);
-        if (!amenities.isEmpty()) {
-            builder.amenities(amenities);
-        }
-        
-        // Extract sorting preference
-        String sortBy = extractSortPreference(lowerQuery);
-        if (sortBy != null) {
-            builder.sortBy(sortBy);
-            builder.sortOrder(extractSortOrder(lowerQuery));
-        }
-        
-        return builder.build();
-    }
-    
-    private String extractCity(String query) {
-        // Pattern to find city after "in"
-        Pattern cityPattern = Pattern.compile("\\bin\\s+([a-zA-Z\\s]+?)(?:\\s|$|,|\\.)");
-        Matcher matcher = cityPattern.matcher(query);
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
-        
-        // Check for known cities
-        List<String> knownCities = Arrays.asList(
-            "tokyo", "paris", "london", "new york", "singapore", 
-            "taipei", "hong kong", "bangkok", "dubai", "amsterdam"
-        );
-        
-        for (String city : knownCities) {
-            if (query.contains(city)) {
-                return city.substring(0, 1).toUpperCase() + city.substring(1);
-            }
-        }
-        
-        return null;
-    }
-    
-    private Integer extractRating(String query) {
-        // Pattern to find star rating
-        Pattern ratingPattern = Pattern.compile("(\\d+)\\s*star");
-        Matcher matcher = ratingPattern.matcher(query);
-        if (matcher.find()) {
-            return Integer.parseInt(matcher.group(1));
-        }
-        
-        // Check for quality keywords
-        if (query.contains("luxury") || query.contains("premium") || query.contains("deluxe")) {
-            return 4;
-        }
-        if (query.contains("budget") || query.contains("cheap") || query.contains("economy")) {
-            return 2;
-        }
-        if (query.contains("mid-range") || query.contains("moderate")) {
-            return 3;
-        }
-        
-        return null;
-    }
-    
-    private void extractPriceRange(String query, SearchRequest.SearchRequestBuilder builder) {
-        // Pattern for "under $X" or "below $X"
-        Pattern maxPricePattern = Pattern.compile("(?:under|below|less than|cheaper than)\\s*\\$?(\\d+)");
-        Matcher maxMatcher = maxPricePattern.matcher(query);
-        if (maxMatcher.find()) {
-            builder.maxPrice(new BigDecimal(maxMatcher.group(1)));
-        }
-        
-        // Pattern for "over $X" or "above $X"
-        Pattern minPricePattern = Pattern.compile("(?:over|above|more than)\\s*\\$?(\\d+)");
-        Matcher minMatcher = minPricePattern.matcher(query);
-        if (minMatcher.find()) {
-            builder.minPrice(new BigDecimal(minMatcher.group(1)));
-        }
-        
-        // Pattern for price range "$X to $Y"
-        Pattern rangePattern = Pattern.compile("\\$?(\\d+)\\s*(?:to|-)\\s*\\$?(\\d+)");
-        Matcher rangeMatcher = rangePattern.matcher(query);
-        if (rangeMatcher.find()) {
-            builder.minPrice(new BigDecimal(rangeMatcher.group(1)));
-            builder.maxPrice(new BigDecimal(rangeMatcher.group(2)));
-        }
-    }
-    
-    private List<String> extractAmenities(String query) {
-        List<String> amenities = new ArrayList<>();
-        
-        Map<String, List<String>> amenityKeywords = Map.of(
-            "WiFi", Arrays.asList("wifi", "wi-fi", "internet", "wireless"),
-            "Pool", Arrays.asList("pool", "swimming pool", "swim"),
-            "Spa", Arrays.asList("spa", "wellness", "massage"),
-            "Gym", Arrays.asList("gym", "fitness", "workout", "exercise"),
-            "Parking", Arrays.asList("parking", "car park", "garage"),
-            "Restaurant", Arrays.asList("restaurant", "dining", "food"),
-            "Bar", Arrays.asList("bar", "lounge", "drinks"),
-            "Breakfast", Arrays.asList("breakfast", "morning meal"),
-            "Business Center", Arrays.asList("business center", "conference", "meeting room"),
-            "Pet Friendly", Arrays.asList("pet", "dog", "cat", "pet-friendly")
-        );
-        
-        for (Map.Entry<String, List<String>> entry : amenityKeywords.entrySet()) {
-            for (String keyword : entry.getValue()) {
-                if (query.contains(keyword)) {
-                    amenities.add(entry.getKey());
-                    break;
-                }
-            }
-        }
-        
-        return amenities;
-    }
-    
-    private String extractSortPreference(String query) {
-        if (query.contains("cheapest") || query.contains("lowest price")) {
-            return "minPrice";
-        }
-        if (query.contains("best rated") || query.contains("highest rated") || query.contains("top rated")) {
-            return "averageRating";
-        }
-        if (query.contains("most popular") || query.contains("most reviewed")) {
-            return "reviewCount";
-        }
-        if (query.contains("luxury") || query.contains("highest quality")) {
-            return "starRating";
-        }
-        
-        return null;
-    }
-    
-    private String extractSortOrder(String query) {
-        if (query.contains("cheapest") || query.contains("lowest")) {
-            return "asc";
-        }
-        return "desc"; // Default to descending for ratings and popularity
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.hotel.search.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads nightly room availability and the stay's pricing multiplier from booking-service, for many
+ * room types in one request.
+ */
+@Component
+@Slf4j
+public class StayAvailabilityClient {
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    @Value("${app.internal.service-name:search-service}")
+    private String serviceName = "search-service";
+
+    @Value("${app.internal.service-secret:secure-shared-secret-change-in-production}")
+    private String serviceSecret;
+
+    @Value("${app.internal.service-header:X-Internal-Service}")
+    private String serviceHeader = "X-Internal-Service";
+
+    @Value("${app.internal.token-header:X-Internal-Token}")
+    private String tokenHeader = "X-Internal-Token";
+
+    @Autowired
+    StayAvailabilityClient(
+            ObjectProvider<WebClient.Builder> webClientBuilder,
+            @Value("${services.booking-service.url:http://booking-service:8083}") String bookingServiceUrl,
+            @Value("${search.availability.timeout:2s}") String timeout) {
+        this(webClientBuilder.getIfAvailable(WebClient::builder).baseUrl(bookingServiceUrl).build(),
+                DurationStyle.detectAndParse(timeout));
+    }
+
+    StayAvailabilityClient(WebClient webClient, Duration timeout) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+    }
+
+    public StayAvailability fetch(Collection<UUID> roomTypeIds, LocalDate checkIn, LocalDate checkOut) {
+        StayAvailability availability = webClient.post()
+                .uri("/api/v1/inventory/stay-availability")
+                .header(serviceHeader, serviceName)
+                .header(tokenHeader, InternalServiceToken.generate(serviceName, serviceSecret))
+                .bodyValue(new StayAvailabilityQuery(List.copyOf(roomTypeIds), checkIn, checkOut))
+                .retrieve()
+                .bodyToMono(StayAvailability.class)
+                .timeout(timeout)
+                .block();
+        if (availability == null || availability.priceMultiplier() == null) {
+            throw new IllegalStateException("Booking service returned no stay availability");
+        }
+        log.debug("Fetched availability of {} room types from {} to {}", roomTypeIds.size(), checkIn, checkOut);
+        return availability;
+    }
+
+    record StayAvailabilityQuery(List<UUID> roomTypeIds, LocalDate checkInDate, LocalDate checkOutDate) {
+    }
+
+    /**
+     * Rooms left per room type and night; nights booking-service holds no inventory for are
+     * missing and count as sold out.
+     */
+    public record StayAvailability(BigDecimal priceMultiplier, Map<UUID, Map<LocalDate, Integer>> availableRooms) {
+    }
+}
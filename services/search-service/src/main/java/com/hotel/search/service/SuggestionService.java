@@ -0,0 +1,249 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Search-as-you-type suggestions for hotel names, cities, countries, amenities, and popular
+ * queries, answered from an in-memory {@link SuggestionTrie} without calling Meilisearch.
+ *
+ * <p>The hotel terms are kept per hotel id and updated as hotels are indexed: by hotel events,
+ * delta sync pages, and full reconciliations or rebuilds, which replace them all. Until one of
+ * those has run, they are loaded once from the index. Changes only mark the trie dirty; it is
+ * rebuilt off the request path every {@code search.suggestions.rebuild-interval-ms} and swapped in
+ * whole, so lookups never see a half-built trie.
+ *
+ * <p>A hotel weighs one, plus its favorites and reviews; a city, country, or amenity weighs the
+ * sum of its hotels. Queries that found hotels at least {@code search.suggestions.min-query-count}
+ * times become suggestions themselves and add to the weight of a catalog term with the same text.
+ * Their counts come from the {@link SearchHistoryRecorder}.
+ */
+@Service
+@Slf4j
+public class SuggestionService extends IndexedHotelMap<SuggestionService.HotelTerms> {
+
+    static final int FAVORITE_WEIGHT = 3;
+    static final int QUERY_WEIGHT = 2;
+    private static final String[] LOAD_FIELDS = {
+            "id", "name", "city", "country", "amenities", "reviewCount", "favoriteCount", "isActive"};
+
+    private final int maxResults;
+    private final int maxTrackedQueries;
+    private final int minQueryCount;
+    private final Map<String, LongAdder> queryCounts = new ConcurrentHashMap<>();
+    private volatile SuggestionTrie trie = SuggestionTrie.EMPTY;
+    private volatile Set<String> cities = Set.of();
+
+    SuggestionService(
+            Client meilisearchClient,
+            @Value("${search.suggestions.max-results:10}") int maxResults,
+            @Value("${search.suggestions.max-tracked-queries:10000}") int maxTrackedQueries,
+            @Value("${search.suggestions.min-query-count:3}") int minQueryCount) {
+        super(meilisearchClient, LOAD_FIELDS, "suggestion terms");
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("Suggestion limit must be positive");
+        }
+        this.maxResults = maxResults;
+        this.maxTrackedQueries = maxTrackedQueries;
+        this.minQueryCount = minQueryCount;
+    }
+
+    /**
+     * Returns up to {@code limit} suggestions starting with what the user has typed, most
+     * popular first. Capped at {@code search.suggestions.max-results}.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return trie.suggest(SuggestionTrie.normalizePrefix(prefix), Math.min(limit, maxResults));
+    }
+
+    /**
+     * Terms of an active hotel. Hotel events carry no popularity counts, so a single write keeps
+     * the ones the last sync delivered.
+     */
+    @Override
+    HotelTerms entry(HotelDocument hotel, HotelTerms previous) {
+        if (Boolean.FALSE.equals(hotel.getIsActive())) {
+            return null;
+        }
+        HotelTerms terms = HotelTerms.of(hotel);
+        return previous != null ? previous.updatedWith(terms) : terms;
+    }
+
+    /**
+     * Adds to the count of a query that found hotels. Only the first
+     * {@code search.suggestions.max-tracked-queries} distinct queries are tracked, so arbitrary
+     * input cannot grow the counts without bound.
+     */
+    public void recordSearch(String query, long searches) {
+        String normalized = SuggestionTrie.normalize(query);
+        if (normalized.isEmpty() || searches < 1) {
+            return;
+        }
+        LongAdder count = queryCounts.get(normalized);
+        if (count == null) {
+            if (queryCounts.size() >= maxTrackedQueries) {
+                return;
+            }
+            count = queryCounts.computeIfAbsent(normalized, key -> new LongAdder());
+        }
+        count.add(searches);
+        if (count.sum() >= minQueryCount) {
+            changed();
+        }
+    }
+
+    /**
+     * Replaces every query count, e.g. with the counts of all instances read from the search
+     * history. Queries beyond {@code search.suggestions.max-tracked-queries} are ignored.
+     */
+    public void replaceQueryCounts(Map<String, Long> counts) {
+        Map<String, LongAdder> replacement = new HashMap<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            String normalized = SuggestionTrie.normalize(entry.getKey());
+            if (normalized.isEmpty() || entry.getValue() == null || entry.getValue() < 1
+                    || (replacement.size() >= maxTrackedQueries && !replacement.containsKey(normalized))) {
+                continue;
+            }
+            replacement.computeIfAbsent(normalized, key -> new LongAdder()).add(entry.getValue());
+        }
+        if (!sameCounts(replacement)) {
+            queryCounts.keySet().retainAll(replacement.keySet());
+            queryCounts.putAll(replacement);
+            changed();
+        }
+    }
+
+    private boolean sameCounts(Map<String, LongAdder> replacement) {
+        if (replacement.size() != queryCounts.size()) {
+            return false;
+        }
+        for (Map.Entry<String, LongAdder> entry : replacement.entrySet()) {
+            LongAdder current = queryCounts.get(entry.getKey());
+            if (current == null || current.sum() != entry.getValue().sum()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Scheduled(
+            initialDelayString = "${search.suggestions.initial-delay-ms:5000}",
+            fixedDelayString = "${search.suggestions.rebuild-interval-ms:5000}")
+    public void refresh() {
+        refresh(true);
+    }
+
+    /**
+     * Cities of the known hotels, as of the last rebuild. The set is only replaced when its
+     * contents change, so callers can tell by identity whether to recompute what they derive.
+     */
+    public Set<String> cities() {
+        return cities;
+    }
+
+    @Override
+    void rebuild() {
+        long startedAt = System.nanoTime();
+        SuggestionTrie rebuilt = SuggestionTrie.build(collectSuggestions(), maxResults);
+        trie = rebuilt;
+        Set<String> currentCities = new TreeSet<>();
+        hotels.values().forEach(terms -> {
+            if (terms.city() != null && !terms.city().isBlank()) {
+                currentCities.add(terms.city().strip());
+            }
+        });
+        if (!currentCities.equals(cities)) {
+            cities = Collections.unmodifiableSet(currentCities);
+        }
+        log.debug("Rebuilt suggestion index with {} suggestions in {} ms",
+                rebuilt.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Sums the weights of every term by normalized text; the first catalog spelling seen is shown.
+     */
+    private List<SuggestionTrie.Suggestion> collectSuggestions() {
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (HotelTerms terms : hotels.values()) {
+            long weight = terms.weight();
+            add(candidates, terms.name(), weight);
+            add(candidates, terms.city(), weight);
+            add(candidates, terms.country(), weight);
+            for (String amenity : terms.amenities()) {
+                add(candidates, amenity, weight);
+            }
+        }
+        queryCounts.forEach((query, count) -> {
+            long searches = count.sum();
+            if (searches >= minQueryCount) {
+                add(candidates, query, searches * QUERY_WEIGHT);
+            }
+        });
+
+        List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>(candidates.size());
+        candidates.values().forEach(candidate ->
+                suggestions.add(new SuggestionTrie.Suggestion(candidate.text, candidate.weight)));
+        return suggestions;
+    }
+
+    private static void add(Map<String, Candidate> candidates, String text, long weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        candidates.computeIfAbsent(SuggestionTrie.normalize(text), key -> new Candidate(text.strip()))
+                .weight += weight;
+    }
+
+    private static final class Candidate {
+        private final String text;
+        private long weight;
+
+        private Candidate(String text) {
+            this.text = text;
+        }
+    }
+
+    record HotelTerms(String name, String city, String country, List<String> amenities,
+                      Integer reviewCount, Long favoriteCount) {
+
+        static HotelTerms of(HotelDocument hotel) {
+            return new HotelTerms(hotel.getName(), hotel.getCity(), hotel.getCountry(),
+                    hotel.getAmenities() == null
+                            ? List.of()
+                            : hotel.getAmenities().stream().filter(Objects::nonNull).toList(),
+                    hotel.getReviewCount(), hotel.getFavoriteCount());
+        }
+
+        HotelTerms updatedWith(HotelTerms newer) {
+            return new HotelTerms(newer.name, newer.city, newer.country, newer.amenities,
+                    newer.reviewCount != null ? newer.reviewCount : reviewCount,
+                    newer.favoriteCount != null ? newer.favoriteCount : favoriteCount);
+        }
+
+        long weight() {
+            return 1
+                    + (favoriteCount == null ? 0 : favoriteCount * FAVORITE_WEIGHT)
+                    + (reviewCount == null ? 0 : reviewCount);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.hotel.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over weighted suggestions, stored as a radix trie in flat arrays.
+ *
+ * <p>Every suggestion is indexed under its normalized text and under the suffix starting at each
+ * later word, so "par" finds both "Paris" and "Hotel Paris Opera". The keys are sorted, which
+ * makes the keys below any trie node one contiguous range. Nodes hold only that range and their
+ * depth; edge labels are read from the first key of the range. A node whose range holds more keys
+ * than {@code topK} also stores its best {@code topK} suggestions, computed when the trie is
+ * built. A lookup therefore walks at most one node per prefix character without allocating and
+ * then either copies the stored list or ranks a range of at most {@code topK} keys.
+ */
+final class SuggestionTrie {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    static final SuggestionTrie EMPTY = build(List.of(), 1);
+
+    private final int topK;
+    private final String[] texts;
+    private final long[] weights;
+    private final String[] keys;
+    private final int[] keySuggestion;
+    private final int[] depth;
+    private final int[] rangeStart;
+    private final int[] rangeEnd;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] top;
+
+    private SuggestionTrie(int topK, String[] texts, long[] weights, String[] keys, int[] keySuggestion,
+                           int[] depth, int[] rangeStart, int[] rangeEnd, int[] firstChild, int[] childCount,
+                           int[] topStart, int[] top) {
+        this.topK = topK;
+        this.texts = texts;
+        this.weights = weights;
+        this.keys = keys;
+        this.keySuggestion = keySuggestion;
+        this.depth = depth;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    record Suggestion(String text, long weight) {
+    }
+
+    /**
+     * Lowercases, strips accents, and collapses whitespace, so "Zürich  Old Town" and
+     * "zurich old town" share a key.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(decomposed.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalizes what the user has typed so far. A trailing space is kept: "new " only matches
+     * words that follow "new", not "newark".
+     */
+    static String normalizePrefix(String prefix) {
+        String normalized = normalize(prefix);
+        if (!normalized.isEmpty() && Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+            return normalized + ' ';
+        }
+        return normalized;
+    }
+
+    /**
+     * Builds the trie. Suggestions with the same normalized text must have been merged by the
+     * caller; {@code topK} is the most suggestions a lookup can return.
+     */
+    static SuggestionTrie build(List<Suggestion> suggestions, int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("Suggestion limit must be positive");
+        }
+        int count = suggestions.size();
+        String[] texts = new String[count];
+        long[] weights = new long[count];
+        List<KeyEntry> entries = new ArrayList<>(count * 2);
+        for (int id = 0; id < count; id++) {
+            Suggestion suggestion = suggestions.get(id);
+            texts[id] = suggestion.text();
+            weights[id] = suggestion.weight();
+            String key = normalize(suggestion.text());
+            if (key.isEmpty()) {
+                continue;
+            }
+            entries.add(new KeyEntry(key, id));
+            for (int i = 1; i < key.length(); i++) {
+                if (key.charAt(i - 1) == ' ') {
+                    entries.add(new KeyEntry(key.substring(i), id));
+                }
+            }
+        }
+        entries.sort(null);
+
+        String[] keys = new String[entries.size()];
+        int[] keySuggestion = new int[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = entries.get(i).key();
+            keySuggestion[i] = entries.get(i).suggestion();
+        }
+        return new Builder(topK, texts, weights, keys, keySuggestion).build();
+    }
+
+    /**
+     * Returns up to {@code limit} suggestion texts starting with the normalized prefix, highest
+     * weight first.
+     */
+    List<String> suggest(String normalizedPrefix, int limit) {
+        int node = find(normalizedPrefix);
+        if (node < 0 || limit < 1) {
+            return Collections.emptyList();
+        }
+        int wanted = Math.min(limit, topK);
+        List<String> result = new ArrayList<>(wanted);
+        if (topStart[node] >= 0) {
+            for (int i = topStart[node]; i < topStart[node] + topK && result.size() < wanted; i++) {
+                if (top[i] < 0) {
+                    break;
+                }
+                result.add(texts[top[i]]);
+            }
+            return result;
+        }
+
+        // Small range: rank its keys directly, skipping suggestions already taken
+        int[] picked = new int[wanted];
+        int pickedCount = 0;
+        while (pickedCount < wanted) {
+            int best = -1;
+            for (int key = rangeStart[node]; key < rangeEnd[node]; key++) {
+                int candidate = keySuggestion[key];
+                if (!contains(picked, pickedCount, candidate) && (best < 0 || ranksBefore(candidate, best))) {
+                    best = candidate;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            picked[pickedCount++] = best;
+            result.add(texts[best]);
+        }
+        return result;
+    }
+
+    int size() {
+        return texts.length;
+    }
+
+    /**
+     * Returns the node covering the prefix, which may end inside the node's edge, or -1.
+     */
+    private int find(String prefix) {
+        if (keys.length == 0) {
+            return -1;
+        }
+        int node = 0;
+        int position = 0;
+        while (position < prefix.length()) {
+            int child = findChild(node, prefix.charAt(position));
+            if (child < 0) {
+                return -1;
+            }
+            String edge = keys[rangeStart[child]];
+            int end = depth[child];
+            for (; position < end && position < prefix.length(); position++) {
+                if (edge.charAt(position) != prefix.charAt(position)) {
+                    return -1;
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Children are stored next to each other in label order, so they are binary searched.
+     */
+    private int findChild(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        int at = depth[node];
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleLabel = keys[rangeStart[middle]].charAt(at);
+            if (middleLabel < label) {
+                low = middle + 1;
+            } else if (middleLabel > label) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private boolean ranksBefore(int suggestion, int other) {
+        if (weights[suggestion] != weights[other]) {
+            return weights[suggestion] > weights[other];
+        }
+        int byText = texts[suggestion].compareTo(texts[other]);
+        return byText != 0 ? byText < 0 : suggestion < other;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record KeyEntry(String key, int suggestion) implements Comparable<KeyEntry> {
+        @Override
+        public int compareTo(KeyEntry other) {
+            int byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : Integer.compare(suggestion, other.suggestion);
+        }
+    }
+
+    /**
+     * Lays the trie out breadth first, so the children of a node get consecutive indexes, and then
+     * fills the top lists bottom up from the children's lists.
+     */
+    private static final class Builder {
+
+        private final int topK;
+        private final String[] texts;
+        private final long[] weights;
+        private final String[] keys;
+        private final int[] keySuggestion;
+        private int[] depth;
+        private int[] rangeStart;
+        private int[] rangeEnd;
+        private int[] firstChild;
+        private int[] childCount;
+        private int nodes;
+
+        Builder(int topK, String[] texts, long[] weights, String[] keys, int[] keySuggestion) {
+            this.topK = topK;
+            this.texts = texts;
+            this.weights = weights;
+            this.keys = keys;
+            this.keySuggestion = keySuggestion;
+            // A radix trie over n keys has fewer than 2n nodes
+            int capacity = 2 * keys.length + 1;
+            this.depth = new int[capacity];
+            this.rangeStart = new int[capacity];
+            this.rangeEnd = new int[capacity];
+            this.firstChild = new int[capacity];
+            this.childCount = new int[capacity];
+        }
+
+        SuggestionTrie build() {
+            addNode(0, 0, keys.length);
+            for (int node = 0; node < nodes; node++) {
+                addChildren(node);
+            }
+
+            int[] topStart = new int[nodes];
+            Arrays.fill(topStart, -1);
+            int stored = 0;
+            for (int node = 0; node < nodes; node++) {
+                if (rangeEnd[node] - rangeStart[node] > topK) {
+                    topStart[node] = stored;
+                    stored += topK;
+                }
+            }
+            int[] top = new int[stored];
+            Arrays.fill(top, -1);
+            for (int node = nodes - 1; node >= 0; node--) {
+                if (topStart[node] >= 0) {
+                    fillTop(collectCandidates(node, topStart, top), top, topStart[node]);
+                }
+            }
+
+            return new SuggestionTrie(topK, texts, weights, keys, keySuggestion,
+                    Arrays.copyOf(depth, nodes), Arrays.copyOf(rangeStart, nodes), Arrays.copyOf(rangeEnd, nodes),
+                    Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes), topStart, top);
+        }
+
+        private int addNode(int nodeDepth, int start, int end) {
+            int node = nodes++;
+            depth[node] = nodeDepth;
+            rangeStart[node] = start;
+            rangeEnd[node] = end;
+            return node;
+        }
+
+        /**
+         * Groups the node's range by the character after the node's depth; each group becomes a
+         * child whose edge runs to the longest prefix the group shares. Keys that end at the node
+         * sort first and stay on the node.
+         */
+        private void addChildren(int node) {
+            int at = depth[node];
+            int i = rangeStart[node];
+            int end = rangeEnd[node];
+            while (i < end && keys[i].length() == at) {
+                i++;
+            }
+            firstChild[node] = nodes;
+            while (i < end) {
+                char label = keys[i].charAt(at);
+                int j = i + 1;
+                while (j < end && keys[j].charAt(at) == label) {
+                    j++;
+                }
+                addNode(commonPrefixLength(keys[i], keys[j - 1]), i, j);
+                childCount[node]++;
+                i = j;
+            }
+        }
+
+        /**
+         * A node's best suggestions come from the keys ending at it and from its children: a
+         * child's stored list, or all keys of a child small enough to have none.
+         */
+        private Integer[] collectCandidates(int node, int[] topStart, int[] top) {
+            List<Integer> candidates = new ArrayList<>();
+            int at = depth[node];
+            for (int key = rangeStart[node]; key < rangeEnd[node] && keys[key].length() == at; key++) {
+                candidates.add(keySuggestion[key]);
+            }
+            for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+                if (topStart[child] >= 0) {
+                    for (int i = topStart[child]; i < topStart[child] + topK && top[i] >= 0; i++) {
+                        candidates.add(top[i]);
+                    }
+                } else {
+                    for (int key = rangeStart[child]; key < rangeEnd[child]; key++) {
+                        candidates.add(keySuggestion[key]);
+                    }
+                }
+            }
+            return candidates.toArray(new Integer[0]);
+        }
+
+        private void fillTop(Integer[] candidates, int[] top, int start) {
+            Arrays.sort(candidates, (a, b) -> {
+                if (weights[a] != weights[b]) {
+                    return Long.compare(weights[b], weights[a]);
+                }
+                int byText = texts[a].compareTo(texts[b]);
+                return byText != 0 ? byText : Integer.compare(a, b);
+            });
+            int filled = 0;
+            for (int i = 0; i < candidates.length && filled < topK; i++) {
+                if (i > 0 && candidates[i].intValue() == candidates[i - 1].intValue()) {
+                    continue;
+                }
+                top[start + filled++] = candidates[i];
+            }
+        }
+
+        private static int commonPrefixLength(String first, String second) {
+            int max = Math.min(first.length(), second.length());
+            int i = 0;
+            while (i < max && first.charAt(i) == second.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotel.search.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Persists how far this service has read external change feeds, so a restart resumes from the
+ * last applied position instead of reconciling the whole catalog again.
+ */
+@Component
+class SyncCursorStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+
+    SyncCursorStore(JdbcTemplate jdbcTemplate, @Value("${search.sync.schema:search_svc}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        if (schema == null || !schema.matches("[a-z][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid sync schema: " + schema);
+        }
+        this.tableName = schema + ".sync_cursors";
+    }
+
+    OptionalLong load(String name) {
+        List<Long> positions = jdbcTemplate.queryForList(
+                "SELECT position FROM " + tableName + " WHERE name = ?", Long.class, name);
+        return positions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(positions.getFirst());
+    }
+
+    void save(String name, long position) {
+        jdbcTemplate.update("""
+                INSERT INTO %s (name, position, updated_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (name) DO UPDATE SET position = EXCLUDED.position, updated_at = CURRENT_TIMESTAMP
+                """.formatted(tableName), name, position);
+    }
+}
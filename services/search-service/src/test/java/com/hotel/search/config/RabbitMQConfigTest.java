@@ -18,6 +18,8 @@ class RabbitMQConfigTest {
         assertThat(config.hotelUpdatedDLQBinding().getRoutingKey()).isEqualTo("hotel.updated.dlq.v2");
         assertThat(config.hotelDeletedDLQBinding().getRoutingKey()).isEqualTo("hotel.deleted.dlq.v2");
         assertThat(config.searchHistoryDLQBinding().getRoutingKey()).isEqualTo("search.history.dlq.v2");
+        assertThat(config.bookingDeadLetterExchange()).isInstanceOf(DirectExchange.class);
+        assertThat(config.inventoryChangedDLQBinding().getRoutingKey()).isEqualTo("inventory.changed.dlq.v2");
     }
 
     @Test
@@ -29,5 +31,9 @@ class RabbitMQConfigTest {
         assertThat(config.hotelCreatedBinding().getRoutingKey()).isEqualTo("hotel.created.v2");
         assertThat(config.hotelUpdatedBinding().getRoutingKey()).isEqualTo("hotel.updated.v2");
         assertThat(config.hotelDeletedBinding().getRoutingKey()).isEqualTo("hotel.deleted.v2");
+
+        assertThat(config.inventoryChangedQueue().getName()).isEqualTo("inventory.changed.queue.v2");
+        assertThat(config.inventoryChangedBinding().getExchange()).isEqualTo("booking.exchange");
+        assertThat(config.inventoryChangedBinding().getRoutingKey()).isEqualTo("inventory.changed.v2");
     }
 }
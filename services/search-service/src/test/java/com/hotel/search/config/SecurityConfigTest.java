@@ -0,0 +1,107 @@
+package com.hotel.search.config;
+
+import com.hotel.inbox.DeadLetterReplayConfiguration;
+import com.hotel.search.controller.SearchController;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.service.HotelGeoIndex;
+import com.hotel.search.service.IndexService;
+import com.hotel.search.service.SearchIndexEndpoint;
+import com.hotel.search.service.SearchService;
+import com.hotel.search.service.SuggestionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = SearchController.class, properties = {
+        "management.endpoints.web.exposure.include=deadletters,searchindex",
+        "app.dlq-replay.queues=",
+        "spring.security.user.name=operator",
+        "spring.security.user.password=secret",
+        "spring.security.user.roles=OPERATOR"
+})
+@Import({SecurityConfig.class, SearchIndexEndpoint.class})
+@ImportAutoConfiguration({
+        RabbitAutoConfiguration.class,
+        DeadLetterReplayConfiguration.class,
+        EndpointAutoConfiguration.class,
+        WebEndpointAutoConfiguration.class,
+        ManagementContextAutoConfiguration.class,
+        ServletManagementContextAutoConfiguration.class
+})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SearchService searchService;
+
+    @MockBean
+    private SuggestionService suggestionService;
+
+    @MockBean
+    private HotelGeoIndex geoIndex;
+
+    @MockBean
+    private IndexService indexService;
+
+    @Test
+    void searchesStayAnonymous() throws Exception {
+        when(searchService.searchHotels(any(SearchRequest.class))).thenReturn(SearchResponse.builder().build());
+
+        mockMvc.perform(get("/api/v1/search/hotels").param("q", "spa"))
+                .andExpect(status().isOk());
+
+        verify(searchService).searchHotels(any(SearchRequest.class));
+    }
+
+    @Test
+    void operatorEndpointsRejectAnonymousRequests() throws Exception {
+        mockMvc.perform(get("/actuator/deadletters"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/searchindex"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(indexService);
+    }
+
+    @Test
+    void operatorEndpointsRejectUsersWithoutTheOperatorRole() throws Exception {
+        mockMvc.perform(post("/actuator/searchindex").with(user("guest").roles("USER")))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(indexService);
+    }
+
+    @Test
+    void operatorEndpointsAcceptTheOperatorAccount() throws Exception {
+        when(indexService.rebuildFromHotelService()).thenReturn(new IndexService.RebuildReport("hotels_build", 0, 1));
+
+        mockMvc.perform(get("/actuator/deadletters").with(httpBasic("operator", "secret")))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/actuator/searchindex").with(httpBasic("operator", "secret")))
+                .andExpect(status().isOk());
+
+        verify(indexService).rebuildFromHotelService();
+    }
+}
@@ -1,28 +1,42 @@
 package com.hotel.search.controller;
 
+import com.hotel.search.dto.MapViewResponse;
 import com.hotel.search.dto.NaturalLanguageSearchRequest;
+import com.hotel.search.dto.SearchFields;
 import com.hotel.search.dto.SearchRequest;
 import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.service.HotelGeoIndex;
 import com.hotel.search.service.SearchService;
+import com.hotel.search.service.SuggestionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.format.support.FormattingConversionService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class SearchControllerTest {
 
     private SearchService searchService;
+    private SuggestionService suggestionService;
+    private HotelGeoIndex geoIndex;
     private SearchController controller;
 
     @BeforeEach
     void setUp() {
         searchService = mock(SearchService.class);
-        controller = new SearchController(searchService);
+        suggestionService = mock(SuggestionService.class);
+        geoIndex = mock(HotelGeoIndex.class);
+        controller = new SearchController(searchService, suggestionService, geoIndex);
     }
 
     @Test
@@ -43,10 +57,14 @@ class SearchControllerTest {
                 5,
                 BigDecimal.valueOf(100),
                 BigDecimal.valueOf(300),
+                LocalDate.of(2026, 5, 1),
+                LocalDate.of(2026, 5, 3),
+                2,
                 5,
                 10,
                 "minPrice",
-                "desc"
+                "desc",
+                SearchFields.CARD
         ).getBody();
 
         ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
@@ -60,10 +78,33 @@ class SearchControllerTest {
         assertEquals(5, request.getMaxRating());
         assertEquals(BigDecimal.valueOf(100), request.getMinPrice());
         assertEquals(BigDecimal.valueOf(300), request.getMaxPrice());
+        assertEquals(LocalDate.of(2026, 5, 1), request.getCheckInDate());
+        assertEquals(LocalDate.of(2026, 5, 3), request.getCheckOutDate());
+        assertEquals(2, request.getGuests());
         assertEquals(5, request.getOffset());
         assertEquals(10, request.getLimit());
         assertEquals("minPrice", request.getSortBy());
         assertEquals("desc", request.getSortOrder());
+        assertEquals(SearchFields.CARD, request.getFields());
+    }
+
+    @Test
+    void searchHotelsGet_BindsFieldsCaseInsensitivelyAndRejectsUnknownValues() throws Exception {
+        FormattingConversionService conversionService = new FormattingConversionService();
+        conversionService.addConverter(new SearchFieldsConverter());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setConversionService(conversionService)
+                .build();
+        when(searchService.searchHotels(any(SearchRequest.class))).thenReturn(SearchResponse.builder().build());
+
+        mockMvc.perform(get("/api/v1/search/hotels").param("fields", "Card"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/search/hotels").param("fields", "full"))
+                .andExpect(status().isBadRequest());
+
+        ArgumentCaptor<SearchRequest> captor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(searchService).searchHotels(captor.capture());
+        assertEquals(SearchFields.CARD, captor.getValue().getFields());
     }
 
     @Test
@@ -85,13 +126,23 @@ class SearchControllerTest {
     }
 
     @Test
-    void getSearchSuggestions_ClampsResultsToLimit() {
-        List<String> suggestions = controller.getSearchSuggestions("taipei", 3).getBody();
-
-        assertEquals(List.of(
-                "taipei hotels",
-                "taipei luxury hotels",
-                "taipei budget hotels"
-        ), suggestions);
+    void getSearchSuggestions_AnswersFromSuggestionIndex() {
+        when(suggestionService.suggest("tai", 3)).thenReturn(List.of("Taipei", "Taichung"));
+
+        List<String> suggestions = controller.getSearchSuggestions("tai", 3).getBody();
+
+        assertEquals(List.of("Taipei", "Taichung"), suggestions);
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    void searchMapViewport_AnswersFromGeoIndex() {
+        MapViewResponse expected = MapViewResponse.builder().total(0L).zoom(12).build();
+        when(geoIndex.viewport(24.9, 121.4, 25.2, 121.7, 12)).thenReturn(expected);
+
+        MapViewResponse response = controller.searchMapViewport(24.9, 121.4, 25.2, 121.7, 12).getBody();
+
+        assertEquals(expected, response);
+        verifyNoInteractions(searchService);
     }
 }
@@ -7,7 +7,9 @@ import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.hotel.search.dto.SearchRequest;
 import com.hotel.search.dto.SearchResponse;
 import com.hotel.search.model.HotelDocument;
+import com.hotel.search.service.BulkIndexer;
 import com.hotel.search.service.IndexService;
+import com.hotel.search.service.MeilisearchTaskTracker;
 import com.hotel.search.service.SearchService;
 import com.meilisearch.sdk.Client;
 import com.meilisearch.sdk.Config;
@@ -49,10 +51,11 @@ class MeilisearchIntegrationTest {
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                 .build();
         Client client = new Client(new Config(meilisearchUrl(), MASTER_KEY, new JacksonJsonHandler(objectMapper)));
-        indexService = new IndexService(client, objectMapper);
+        MeilisearchTaskTracker taskTracker = new MeilisearchTaskTracker(client, "50ms", 500);
+        indexService = new IndexService(client, objectMapper,
+                new BulkIndexer(client, objectMapper, taskTracker, 2, 4, "8MB", "1m"), taskTracker);
         searchService = new SearchService(client, objectMapper);
         indexService.initializeIndex();
-        indexService.clearIndex();
     }
 
     @Test
@@ -76,7 +79,7 @@ class MeilisearchIntegrationTest {
                 .reviewCount(42)
                 .isActive(true)
                 .build();
-        indexService.indexHotel(hotel);
+        indexService.indexHotels(List.of(hotel));
 
         SearchResponse response = waitForHotel("Taipei Integration", "Taipei");
 
@@ -1,60 +1,109 @@
 package com.hotel.search.listener;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hotel.search.service.IndexService;
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.search.config.RabbitMQConfig;
+import com.hotel.search.service.HotelIndexWriter;
+import com.rabbitmq.client.Channel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 class HotelEventListenerTest {
 
-    private IndexService indexService;
+    private HotelIndexWriter indexWriter;
+    private InboxService inboxService;
     private HotelEventListener listener;
 
     @BeforeEach
     void setUp() {
-        indexService = mock(IndexService.class);
-        listener = new HotelEventListener(indexService);
+        indexWriter = mock(HotelIndexWriter.class);
+        inboxService = mock(InboxService.class);
+        when(indexWriter.add(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(indexWriter.update(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(indexWriter.delete(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        listener = new HotelEventListener(indexWriter, inboxService, new Jackson2JsonMessageConverter(),
+                new BatchAcknowledger("search-service.retry.v2", 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(10)));
     }
 
     @Test
-    void handleHotelCreated_RethrowsIndexingFailureForRabbitRetry() {
-        HotelEventListener.HotelCreatedEvent event = new HotelEventListener.HotelCreatedEvent();
-        event.setHotelId(UUID.randomUUID());
-        event.setName("Retry Hotel");
-        RuntimeException failure = new RuntimeException("index unavailable");
-        doThrow(failure).when(indexService).indexHotel(any());
-
-        assertThatThrownBy(() -> listener.handleHotelCreated(event)).isSameAs(failure);
-        verify(indexService).indexHotel(any());
+    void onHotelUpdatedBatch_AcknowledgesSuccessesAndRetriesOnlyFailures() throws Exception {
+        UUID failingHotel = UUID.randomUUID();
+        when(indexWriter.update(argThat(document -> failingHotel.equals(document.getId()))))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("index unavailable")));
+        Channel channel = mock(Channel.class);
+
+        listener.onHotelUpdatedBatch(List.of(
+                hotelMessage(RabbitMQConfig.HOTEL_UPDATED_QUEUE, 1, UUID.randomUUID()),
+                hotelMessage(RabbitMQConfig.HOTEL_UPDATED_QUEUE, 2, failingHotel),
+                hotelMessage(RabbitMQConfig.HOTEL_UPDATED_QUEUE, 3, UUID.randomUUID())), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(3, false);
+        verify(channel).basicPublish(eq("search-service.retry.v2"), eq(RabbitMQConfig.HOTEL_UPDATED_QUEUE), any(), any());
+        verify(channel).basicAck(2, false);
+        verify(inboxService).markProcessed(RabbitMQConfig.HOTEL_UPDATED_QUEUE, "evt-3");
+        verify(inboxService, never()).markProcessed(RabbitMQConfig.HOTEL_UPDATED_QUEUE, "evt-2");
+    }
+
+    @Test
+    void onHotelCreatedBatch_AcknowledgesOnlyAfterIndexTaskSucceeds() throws Exception {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        when(indexWriter.add(any())).thenReturn(flushed);
+        Channel channel = mock(Channel.class);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> flushed.complete(null));
+
+        listener.onHotelCreatedBatch(List.of(hotelMessage(RabbitMQConfig.HOTEL_CREATED_QUEUE, 1, UUID.randomUUID())), channel);
+
+        assertThat(flushed).isDone();
+        verify(channel).basicAck(1, true);
+        verify(inboxService).markProcessed(RabbitMQConfig.HOTEL_CREATED_QUEUE, "evt-1");
     }
 
     @Test
-    void handleHotelUpdated_RethrowsIndexingFailure() {
-        HotelEventListener.HotelUpdatedEvent event = new HotelEventListener.HotelUpdatedEvent();
-        event.setHotelId(UUID.randomUUID());
-        RuntimeException failure = new RuntimeException("index unavailable");
-        doThrow(failure).when(indexService).updateHotel(any());
+    void onHotelCreatedBatch_SkipsEventAlreadyProcessed() throws Exception {
+        when(inboxService.isProcessed(RabbitMQConfig.HOTEL_CREATED_QUEUE, "evt-1")).thenReturn(true);
+        Channel channel = mock(Channel.class);
+
+        listener.onHotelCreatedBatch(List.of(hotelMessage(RabbitMQConfig.HOTEL_CREATED_QUEUE, 1, UUID.randomUUID())), channel);
 
-        assertThatThrownBy(() -> listener.handleHotelUpdated(event)).isSameAs(failure);
+        verifyNoInteractions(indexWriter);
+        verify(channel).basicAck(1, true);
     }
 
     @Test
-    void handleHotelDeleted_RethrowsIndexingFailure() {
-        HotelEventListener.HotelDeletedEvent event = new HotelEventListener.HotelDeletedEvent();
-        event.setHotelId(UUID.randomUUID());
-        RuntimeException failure = new RuntimeException("index unavailable");
-        doThrow(failure).when(indexService).deleteHotel(event.getHotelId().toString());
+    void onHotelDeletedBatch_RetriesWhenDeleteTaskFails() throws Exception {
+        UUID hotelId = UUID.randomUUID();
+        when(indexWriter.delete(hotelId.toString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("index unavailable")));
+        Channel channel = mock(Channel.class);
 
-        assertThatThrownBy(() -> listener.handleHotelDeleted(event)).isSameAs(failure);
+        listener.onHotelDeletedBatch(List.of(hotelMessage(RabbitMQConfig.HOTEL_DELETED_QUEUE, 1, hotelId)), channel);
+
+        verify(channel).basicPublish(eq("search-service.retry.v2"), eq(RabbitMQConfig.HOTEL_DELETED_QUEUE), any(), any());
+        verify(channel).basicAck(1, false);
+        verify(inboxService, never()).markProcessed(anyString(), anyString());
     }
 
     @Test
@@ -69,4 +118,14 @@ class HotelEventListenerTest {
 
         assertThat(event.getHotelId()).isEqualTo(hotelId);
     }
+
+    private Message hotelMessage(String queue, long deliveryTag, UUID hotelId) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setConsumerQueue(queue);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(InboxService.EVENT_ID_HEADER, "evt-" + deliveryTag);
+        String payload = "{\"hotelId\":\"%s\",\"name\":\"Hotel\"}".formatted(hotelId);
+        return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
+    }
 }
@@ -0,0 +1,81 @@
+package com.hotel.search.listener;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hotel.inbox.BatchAcknowledger;
+import com.hotel.inbox.InboxService;
+import com.hotel.search.config.RabbitMQConfig;
+import com.hotel.search.service.AvailabilityProjector;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class InventoryEventListenerTest {
+
+    private AvailabilityProjector projector;
+    private InboxService inboxService;
+    private InventoryEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        projector = mock(AvailabilityProjector.class);
+        inboxService = mock(InboxService.class);
+        when(projector.apply(any(), anyInt())).thenReturn(CompletableFuture.completedFuture(null));
+        listener = new InventoryEventListener(projector, inboxService,
+                new Jackson2JsonMessageConverter(JsonMapper.builder().findAndAddModules().build()),
+                new BatchAcknowledger("search-service.retry.v2", 3, Duration.ofSeconds(1), 2, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void projectsTodaysAvailabilityAndAcknowledgesAfterIndexing() throws Exception {
+        UUID roomTypeId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        Channel channel = mock(Channel.class);
+
+        listener.onInventoryChangedBatch(List.of(inventoryMessage(1, roomTypeId, today, today.plusDays(2), 4)), channel);
+
+        verify(projector).apply(roomTypeId, 4);
+        verify(channel).basicAck(1, true);
+        verify(inboxService).markProcessed(RabbitMQConfig.INVENTORY_CHANGED_QUEUE, "evt-1");
+    }
+
+    @Test
+    void acknowledgesChangesThatDoNotTouchTodayWithoutIndexing() throws Exception {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Channel channel = mock(Channel.class);
+
+        listener.onInventoryChangedBatch(List.of(
+                inventoryMessage(1, UUID.randomUUID(), yesterday, yesterday, 4),
+                inventoryMessage(2, UUID.randomUUID(), yesterday.plusDays(5), yesterday.plusDays(6), null)), channel);
+
+        verifyNoInteractions(projector);
+        verify(channel).basicAck(2, true);
+    }
+
+    private Message inventoryMessage(long deliveryTag, UUID roomTypeId, LocalDate from, LocalDate to, Integer today) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(InboxService.EVENT_ID_HEADER, "evt-" + deliveryTag);
+        String payload = """
+                {"roomTypeId":"%s","fromDate":"%s","toDate":"%s","minAvailableRooms":1,"availableToday":%s}
+                """.formatted(roomTypeId, from, to, today);
+        return new Message(payload.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
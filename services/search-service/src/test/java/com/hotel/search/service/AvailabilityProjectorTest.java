@@ -0,0 +1,106 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.hotel.search.model.HotelDocument.RoomTypeProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AvailabilityProjectorTest {
+
+    private final UUID hotelId = UUID.randomUUID();
+    private final UUID doubleRoom = UUID.randomUUID();
+    private final UUID suite = UUID.randomUUID();
+    private IndexService indexService;
+    private HotelIndexWriter indexWriter;
+    private AvailabilityProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        indexService = mock(IndexService.class);
+        indexWriter = mock(HotelIndexWriter.class);
+        projector = new AvailabilityProjector(indexService, indexWriter, mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    void writesOnlyRoomAvailabilityAndTotalOfTheOwningHotelWithTheLatestValue() throws Exception {
+        when(indexService.findHotelsByRoomTypes(any())).thenReturn(List.of(hotel()));
+        when(indexWriter.updateFields(anyString(), anyMap())).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> first = projector.apply(doubleRoom, 3);
+        CompletableFuture<Void> second = projector.apply(doubleRoom, 2);
+        projector.flush();
+
+        verify(indexService).findHotelsByRoomTypes(Set.of(doubleRoom));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> fields = ArgumentCaptor.forClass(Map.class);
+        verify(indexWriter).updateFields(eq(hotelId.toString()), fields.capture());
+        assertThat(fields.getValue()).containsOnlyKeys("roomAvailability", "availableRooms");
+        assertThat(fields.getValue()).containsEntry("availableRooms", 7);
+        assertThat(fields.getValue()).containsEntry("roomAvailability", Map.of(doubleRoom, 2, suite, 5));
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void completesWithoutWritingWhenTheRoomTypeIsNotIndexed() throws Exception {
+        when(indexService.findHotelsByRoomTypes(any())).thenReturn(List.of());
+
+        CompletableFuture<Void> completion = projector.apply(UUID.randomUUID(), 1);
+        projector.flush();
+
+        assertThat(completion).isCompleted();
+        verify(indexWriter, never()).updateFields(anyString(), anyMap());
+    }
+
+    @Test
+    void failsPendingChangesWhenTheWriteFails() throws Exception {
+        when(indexService.findHotelsByRoomTypes(any())).thenReturn(List.of(hotel()));
+        when(indexWriter.updateFields(anyString(), anyMap()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("task failed")));
+
+        CompletableFuture<Void> completion = projector.apply(suite, 0);
+        projector.flush();
+
+        assertThat(completion).isCompletedExceptionally();
+    }
+
+    @Test
+    void projectedAvailabilityIsFoldedIntoTheRoomTypesWhenRead() {
+        HotelDocument hotel = hotel();
+        hotel.setRoomAvailability(Map.of(suite, 0));
+
+        hotel.applyRoomAvailability();
+
+        assertThat(hotel.getRoomAvailability()).isNull();
+        assertThat(hotel.getRoomTypes().get(0).getAvailableRooms()).isEqualTo(4);
+        assertThat(hotel.getRoomTypes().get(1).getAvailableRooms()).isZero();
+        assertThat(hotel.getRoomTypes().get(1).getIsAvailable()).isFalse();
+    }
+
+    private HotelDocument hotel() {
+        return HotelDocument.builder()
+                .id(hotelId)
+                .roomTypes(List.of(
+                        RoomTypeProjection.builder().id(doubleRoom).availableRooms(4).isAvailable(true).build(),
+                        RoomTypeProjection.builder().id(suite).availableRooms(5).isAvailable(true).build()))
+                .build();
+    }
+}
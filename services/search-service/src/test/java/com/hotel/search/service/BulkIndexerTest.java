@@ -0,0 +1,186 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.Task;
+import com.meilisearch.sdk.model.TaskInfo;
+import com.meilisearch.sdk.model.TaskStatus;
+import com.meilisearch.sdk.model.TasksQuery;
+import com.meilisearch.sdk.model.TasksResults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkIndexerTest {
+
+    private static final String INDEX = "hotels";
+
+    private Client meilisearchClient;
+    private Index index;
+    private ObjectMapper objectMapper;
+    private ExecutorService serializers;
+    private MeilisearchTaskTracker taskTracker;
+    private Map<Integer, TaskStatus> taskStatuses;
+    private List<int[]> polledUids;
+    private AtomicInteger nextTaskUid;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meilisearchClient = mock(Client.class);
+        index = mock(Index.class);
+        objectMapper = new ObjectMapper();
+        serializers = Executors.newFixedThreadPool(2);
+        taskTracker = new MeilisearchTaskTracker(meilisearchClient, 100, System::nanoTime,
+                Executors.newSingleThreadScheduledExecutor(), Duration.ofMillis(1));
+        taskStatuses = new ConcurrentHashMap<>();
+        polledUids = new CopyOnWriteArrayList<>();
+        nextTaskUid = new AtomicInteger(1);
+        when(meilisearchClient.index(INDEX)).thenReturn(index);
+        when(index.addDocuments(anyString())).thenAnswer(invocation -> {
+            TaskInfo taskInfo = mock(TaskInfo.class);
+            when(taskInfo.getTaskUid()).thenReturn(nextTaskUid.getAndIncrement());
+            return taskInfo;
+        });
+        when(meilisearchClient.getTasks(any(TasksQuery.class)))
+                .thenAnswer(invocation -> tasksResults(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializers.shutdownNow();
+        taskTracker.shutdown();
+    }
+
+    @Test
+    void packsDocumentsIntoPayloadsBoundedByBytes() throws Exception {
+        BulkIndexer bulkIndexer = bulkIndexer(4, 2048);
+
+        long indexed = bulkIndexer.index(INDEX, hotels(250));
+
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(index, atLeast(2)).addDocuments(payloads.capture());
+        assertThat(indexed).isEqualTo(250);
+        assertThat(payloads.getAllValues())
+                .allSatisfy(json -> assertThat(json.getBytes(StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(2048));
+        List<String> names = new ArrayList<>();
+        for (String payload : payloads.getAllValues()) {
+            objectMapper.readTree(payload).forEach(document -> names.add(document.get("name").asText()));
+        }
+        assertThat(names).containsExactlyElementsOf(IntStream.range(0, 250).mapToObj(i -> "Hotel " + i).toList());
+    }
+
+    @Test
+    void keepsAtMostMaxInFlightTasksAndPollsThemTogether() throws Exception {
+        taskStatuses.put(1, TaskStatus.PROCESSING);
+        BulkIndexer bulkIndexer = bulkIndexer(2, 512);
+
+        bulkIndexer.index(INDEX, hotels(40));
+
+        assertThat(polledUids).isNotEmpty().allSatisfy(uids -> assertThat(uids.length).isLessThanOrEqualTo(2));
+        assertThat(polledUids).anySatisfy(uids -> assertThat(uids).containsExactly(1, 2));
+        assertThat(nextTaskUid.get() - 1).isGreaterThan(2);
+    }
+
+    @Test
+    void failsWhenATaskFails() {
+        taskStatuses.put(1, TaskStatus.FAILED);
+        BulkIndexer bulkIndexer = bulkIndexer(4, 8192);
+
+        assertThatThrownBy(() -> bulkIndexer.index(INDEX, hotels(10)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Meilisearch task 1 failed");
+    }
+
+    @Test
+    void writesGeoFieldAlongsideHotelFields() throws Exception {
+        HotelDocument hotel = HotelDocument.builder()
+                .id(UUID.randomUUID())
+                .name("Grand Hotel")
+                .latitude(25.03)
+                .longitude(121.56)
+                .build();
+        HotelDocument withoutLocation = HotelDocument.builder().id(UUID.randomUUID()).name("Inn").build();
+        BulkIndexer bulkIndexer = bulkIndexer(4, 8192);
+
+        JsonNode document = objectMapper.readTree(bulkIndexer.serialize(hotel));
+        JsonNode documentWithoutLocation = objectMapper.readTree(bulkIndexer.serialize(withoutLocation));
+
+        assertThat(document.get("id").asText()).isEqualTo(hotel.getId().toString());
+        assertThat(document.get("name").asText()).isEqualTo("Grand Hotel");
+        assertThat(document.get("latitude").asDouble()).isEqualTo(25.03);
+        assertThat(document.get("_geo").get("lat").asDouble()).isEqualTo(25.03);
+        assertThat(document.get("_geo").get("lng").asDouble()).isEqualTo(121.56);
+        assertThat(document.has("hotel")).isFalse();
+        assertThat(documentWithoutLocation.has("_geo")).isFalse();
+    }
+
+    @Test
+    void writesThePriceRangeCountedByFacets() throws Exception {
+        HotelDocument hotel = HotelDocument.builder().id(UUID.randomUUID()).minPrice(new BigDecimal("120")).build();
+        HotelDocument withoutPrices = HotelDocument.builder().id(UUID.randomUUID()).build();
+        BulkIndexer bulkIndexer = bulkIndexer(4, 8192);
+        ReflectionTestUtils.setField(bulkIndexer, "searchFacets", new SearchFacets(
+                new IndexGeneration(null, Duration.ZERO, System::nanoTime),
+                List.of(new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200")), 20, 10));
+
+        assertThat(objectMapper.readTree(bulkIndexer.serialize(hotel)).get("priceBucket").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(bulkIndexer.serialize(withoutPrices)).has("priceBucket")).isFalse();
+    }
+
+    private BulkIndexer bulkIndexer(int maxInFlightTasks, long maxBatchBytes) {
+        return new BulkIndexer(
+                meilisearchClient, objectMapper, taskTracker, serializers, 4, maxInFlightTasks, maxBatchBytes, Duration.ofSeconds(5));
+    }
+
+    private List<HotelDocument> hotels(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> HotelDocument.builder().id(UUID.randomUUID()).name("Hotel " + i).build())
+                .toList();
+    }
+
+    private TasksResults tasksResults(TasksQuery query) {
+        polledUids.add(query.getUids());
+        Task[] tasks = Arrays.stream(query.getUids()).mapToObj(uid -> {
+            Task task = mock(Task.class);
+            when(task.getUid()).thenReturn(uid);
+            // a task reported as processing finishes once it is polled together with a later task
+            when(task.getStatus()).thenReturn(taskStatuses.getOrDefault(uid, TaskStatus.SUCCEEDED));
+            if (Arrays.stream(query.getUids()).anyMatch(other -> other > uid)) {
+                taskStatuses.remove(uid, TaskStatus.PROCESSING);
+            }
+            return task;
+        }).toArray(Task[]::new);
+        TasksResults results = mock(TasksResults.class);
+        when(results.getResults()).thenReturn(tasks);
+        return results;
+    }
+}
@@ -0,0 +1,194 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.health.MeilisearchHealthIndicator;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FallbackSearchIndexTest {
+
+    private MeilisearchHealthIndicator health;
+    private FallbackSearchIndex fallback;
+
+    @BeforeEach
+    void setUp() {
+        health = mock(MeilisearchHealthIndicator.class);
+        fallback = new FallbackSearchIndex(mock(Client.class), new ObjectMapper(), health);
+        ReflectionTestUtils.setField(fallback, "searchFacets",
+                new SearchFacets(mock(IndexGeneration.class), List.of(new BigDecimal("100")), 20, 10));
+        ReflectionTestUtils.setField(fallback, "loaded", true);
+    }
+
+    @Test
+    void filtersLikeTheIndexAndCountsFacetsOfTheMatches() {
+        fallback.put(hotel("Harbour View", "Lisbon", 4, "80", "150", "WiFi", "Pool"));
+        fallback.put(hotel("Old Town Rooms", "lisbon", 3, "60", "90", "wifi"));
+        fallback.put(hotel("Alfama Palace", "Lisbon", 5, "250", "600", "Spa"));
+        fallback.put(hotel("Porto Lodge", "Porto", 4, "70", "120", "Pool"));
+        HotelDocument closed = hotel("Closed Inn", "Lisbon", 4, "80", "150", "Pool");
+        closed.setIsActive(false);
+        fallback.put(closed);
+        fallback.rebuild();
+
+        SearchResponse response = fallback.search(SearchRequest.builder()
+                .city("LISBON")
+                .minRating(3)
+                .maxPrice(new BigDecimal("200"))
+                .amenities(List.of("Pool", "WiFi"))
+                .build());
+
+        assertThat(response.getHotels()).extracting(HotelDocument::getName)
+                .containsExactly("Harbour View", "Old Town Rooms");
+        assertThat(response.getTotal()).isEqualTo(2);
+        assertThat(response.getDegraded()).isTrue();
+        assertThat(response.getFacets().get("city")).isEqualTo(Map.of("Lisbon", 1L, "lisbon", 1L));
+        assertThat(response.getFacets().get("amenities")).containsEntry("Pool", 1L).containsEntry("wifi", 1L);
+        assertThat(response.getPriceRanges()).extracting(SearchResponse.PriceRange::getCount)
+                .containsExactly(2L, 0L);
+    }
+
+    @Test
+    void ranksByMatchedWordsAndMatchesTheLastWordAsAPrefix() {
+        fallback.put(hotel("Seaside Spa Resort", "Nice", 4, "100", "200"));
+        fallback.put(hotel("Spa Hotel", "Paris", 4, "100", "200"));
+        fallback.put(hotel("Seafront Rooms", "Nice", 4, "100", "200"));
+        fallback.rebuild();
+
+        assertThat(fallback.search(SearchRequest.builder().query("spa sea").build()).getHotels())
+                .extracting(HotelDocument::getName)
+                .containsExactly("Seaside Spa Resort", "Seafront Rooms", "Spa Hotel");
+        assertThat(fallback.search(SearchRequest.builder().query("sea spa").build()).getHotels())
+                .extracting(HotelDocument::getName)
+                .containsExactly("Seaside Spa Resort", "Spa Hotel");
+    }
+
+    @Test
+    void sortsLikeTheIndexWithMissingValuesLast() {
+        fallback.put(hotel("Budget", "Rome", 2, "40", "80"));
+        fallback.put(hotel("Unpriced", "Rome", 3, null, null));
+        fallback.put(hotel("Luxury", "Rome", 5, "400", "900"));
+        fallback.rebuild();
+
+        SearchRequest ascending = SearchRequest.builder().sortBy("minPrice").sortOrder("asc").build();
+        SearchRequest unknownField = SearchRequest.builder().sortBy("distance").build();
+
+        assertThat(fallback.search(ascending).getHotels()).extracting(HotelDocument::getName)
+                .containsExactly("Budget", "Luxury", "Unpriced");
+        assertThat(fallback.search(unknownField).getHotels()).extracting(HotelDocument::getName)
+                .containsExactly("Luxury", "Unpriced", "Budget");
+    }
+
+    @Test
+    void filtersByGeoRadiusAndPagesWithAnExactTotal() {
+        HotelDocument near = hotel("Near", "Taipei", 4, "100", "200");
+        near.setLatitude(25.0330);
+        near.setLongitude(121.5654);
+        HotelDocument far = hotel("Far", "Taichung", 4, "100", "200");
+        far.setLatitude(24.1477);
+        far.setLongitude(120.6736);
+        fallback.putAll(List.of(near, far, hotel("Unplaced", "Taipei", 4, "100", "200")));
+        fallback.rebuild();
+
+        SearchRequest nearby = SearchRequest.builder().latitude(25.04).longitude(121.56).radiusKm(5.0).build();
+        SearchResponse secondPage = fallback.search(SearchRequest.builder().offset(1).limit(1).build());
+
+        assertThat(fallback.search(nearby).getHotels()).extracting(HotelDocument::getName).containsExactly("Near");
+        assertThat(secondPage.getHotels()).extracting(HotelDocument::getName).containsExactly("Near");
+        assertThat(secondPage.getTotal()).isEqualTo(3);
+        assertThat(secondPage.getHasMore()).isTrue();
+    }
+
+    @Test
+    void partialUpdatesMergeAndKeepTheFavoriteCount() {
+        HotelDocument hotel = hotel("Canal House", "Amsterdam", 4, "150", "300");
+        hotel.setFavoriteCount(12L);
+        fallback.put(hotel);
+        HotelDocument event = hotel("Canal House", "Amsterdam", 4, "150", "300");
+        event.setId(hotel.getId());
+        fallback.put(event);
+        fallback.updateFields(hotel.getId().toString(), Map.of("minPrice", 90, "starRating", 5));
+        fallback.rebuild();
+
+        HotelDocument stored = fallback.search(SearchRequest.builder().minRating(5).build()).getHotels().get(0);
+
+        assertThat(stored.getMinPrice()).isEqualByComparingTo("90");
+        assertThat(stored.getCity()).isEqualTo("Amsterdam");
+        assertThat(stored.getFavoriteCount()).isEqualTo(12L);
+    }
+
+    @Test
+    void partialUpdatesOfUnknownHotelsAreIgnored() {
+        fallback.updateFields(UUID.randomUUID().toString(), Map.of("minPrice", 90, "starRating", 5));
+        fallback.rebuild();
+
+        assertThat(fallback.size()).isZero();
+        assertThat(fallback.search(SearchRequest.builder().build()).getHotels()).isEmpty();
+    }
+
+    @Test
+    void reloadReplacesAllHotelsOnlyOnCommit() {
+        HotelDocument stale = hotel("Stale", "Oslo", 3, "100", "200");
+        fallback.put(stale);
+        fallback.rebuild();
+
+        IndexedHotelListener.Reload reload = fallback.reload();
+        reload.add(hotel("Fresh", "Oslo", 3, "100", "200"));
+        fallback.rebuild();
+        assertThat(fallback.size()).isEqualTo(1);
+        assertThat(fallback.search(SearchRequest.builder().build()).getHotels())
+                .extracting(HotelDocument::getName).containsExactly("Stale");
+
+        reload.commit();
+        fallback.rebuild();
+        assertThat(fallback.search(SearchRequest.builder().build()).getHotels())
+                .extracting(HotelDocument::getName).containsExactly("Fresh");
+
+        fallback.remove(fallback.search(SearchRequest.builder().build()).getHotels().get(0).getId());
+        fallback.rebuild();
+        assertThat(fallback.size()).isZero();
+    }
+
+    @Test
+    void servesWhileTheHealthCheckFindsMeilisearchDown() {
+        when(health.health()).thenReturn(Health.down().build(), Health.up().build());
+
+        fallback.refresh();
+        assertThat(fallback.isServing()).isTrue();
+
+        fallback.refresh();
+        assertThat(fallback.isServing()).isFalse();
+
+        fallback.meilisearchUnavailable();
+        assertThat(fallback.isServing()).isTrue();
+    }
+
+    private static HotelDocument hotel(String name, String city, int stars, String minPrice, String maxPrice,
+                                       String... amenities) {
+        return HotelDocument.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .city(city)
+                .country("Nowhere")
+                .starRating(stars)
+                .minPrice(minPrice != null ? new BigDecimal(minPrice) : null)
+                .maxPrice(maxPrice != null ? new BigDecimal(maxPrice) : null)
+                .amenities(List.of(amenities))
+                .isActive(true)
+                .build();
+    }
+}
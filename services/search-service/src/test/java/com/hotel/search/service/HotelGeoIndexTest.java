@@ -0,0 +1,150 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.MapViewResponse;
+import com.hotel.search.dto.NearbyHotel;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class HotelGeoIndexTest {
+
+    private HotelGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        geoIndex = new HotelGeoIndex(mock(Client.class), 3, 50);
+    }
+
+    @Test
+    void viewportClustersNearbyHotelsAndKeepsSingleHotelsAsMarkers() {
+        geoIndex.put(hotel("Taipei 101 Inn", 25.0340, 121.5645, "120"));
+        geoIndex.put(hotel("Xinyi Suites", 25.0330, 121.5654, "90"));
+        geoIndex.put(hotel("Tamsui Lodge", 25.1677, 121.4456, "60"));
+        geoIndex.put(hotel("Kaohsiung Harbour", 22.6273, 120.3014, "80"));
+        geoIndex.rebuild();
+
+        MapViewResponse view = geoIndex.viewport(24.9, 121.3, 25.3, 121.7, 11);
+
+        assertThat(view.getTotal()).isEqualTo(3);
+        assertThat(view.getClusters()).hasSize(2);
+        MapViewResponse.MapCluster xinyi = view.getClusters().stream()
+                .filter(cluster -> cluster.getCount() == 2).findFirst().orElseThrow();
+        assertThat(xinyi.getMinPrice()).isEqualByComparingTo("90");
+        assertThat(xinyi.getHotelId()).isNull();
+        MapViewResponse.MapCluster tamsui = view.getClusters().stream()
+                .filter(cluster -> cluster.getCount() == 1).findFirst().orElseThrow();
+        assertThat(tamsui.getName()).isEqualTo("Tamsui Lodge");
+
+        assertThat(geoIndex.viewport(24.9, 121.3, 25.3, 121.7, 18).getClusters()).hasSize(3);
+    }
+
+    @Test
+    void viewportsMayCrossTheAntimeridian() {
+        geoIndex.put(hotel("Suva", -18.14, 178.44, "100"));
+        geoIndex.put(hotel("Apia", -13.83, -171.76, "100"));
+        geoIndex.put(hotel("Sydney", -33.87, 151.21, "100"));
+        geoIndex.rebuild();
+
+        MapViewResponse view = geoIndex.viewport(-25, 170, -10, -165, 4);
+
+        assertThat(view.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void viewportMatchesABruteForceScan() {
+        Random random = new Random(42);
+        List<HotelDocument> hotels = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            hotels.add(hotel("Hotel " + i, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180, "100"));
+        }
+        geoIndex.putAll(hotels);
+        geoIndex.rebuild();
+
+        for (int i = 0; i < 50; i++) {
+            double south = random.nextDouble() * 170 - 90;
+            double north = Math.min(90, south + random.nextDouble() * 30);
+            double west = random.nextDouble() * 340 - 180;
+            double east = Math.min(180, west + random.nextDouble() * 40);
+            long expected = hotels.stream().filter(hotel -> hotel.getLatitude() >= south
+                    && hotel.getLatitude() <= north && hotel.getLongitude() >= west
+                    && hotel.getLongitude() <= east).count();
+
+            assertThat(geoIndex.viewport(south, west, north, east, 3).getTotal()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void nearestReturnsTheClosestHotelsInDistanceOrder() {
+        Random random = new Random(7);
+        List<HotelDocument> hotels = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            hotels.add(hotel("Hotel " + i, 48 + random.nextDouble() * 4, 0 + random.nextDouble() * 6, "100"));
+        }
+        geoIndex.putAll(hotels);
+        geoIndex.rebuild();
+
+        List<NearbyHotel> nearest = geoIndex.nearest(48.8566, 2.3522, 5, null);
+
+        List<UUID> expected = hotels.stream()
+                .sorted(Comparator.comparingDouble(hotel -> HotelGeoIndex.distanceKm(
+                        48.8566, 2.3522, hotel.getLatitude(), hotel.getLongitude())))
+                .limit(5)
+                .map(HotelDocument::getId)
+                .toList();
+        assertThat(nearest).extracting(NearbyHotel::getHotelId).containsExactlyElementsOf(expected);
+        assertThat(geoIndex.nearest(48.8566, 2.3522, 500, null)).hasSize(50);
+        assertThat(geoIndex.nearest(0, 0, 5, 100.0)).isEmpty();
+    }
+
+    @Test
+    void leavesOutInactiveAndUnplacedHotelsAndReloadsOnCommit() {
+        HotelDocument closed = hotel("Closed", 10, 10, "100");
+        closed.setIsActive(false);
+        HotelDocument unplaced = hotel("Unplaced", 10, 10, "100");
+        unplaced.setLatitude(null);
+        HotelDocument open = hotel("Open", 10, 10, "100");
+        geoIndex.putAll(List.of(closed, unplaced, open));
+        geoIndex.rebuild();
+        assertThat(geoIndex.size()).isEqualTo(1);
+
+        IndexedHotelListener.Reload reload = geoIndex.reload();
+        reload.add(hotel("Replacement", 20, 20, "100"));
+        reload.add(hotel("Second", 21, 21, "100"));
+        geoIndex.rebuild();
+        assertThat(geoIndex.size()).isEqualTo(1);
+
+        reload.commit();
+        geoIndex.rebuild();
+        assertThat(geoIndex.nearest(20, 20, 10, null)).extracting(NearbyHotel::getName)
+                .containsExactly("Replacement", "Second");
+    }
+
+    @Test
+    void rejectsInvalidViewports() {
+        assertThatThrownBy(() -> geoIndex.viewport(10, 0, 5, 1, 3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> geoIndex.viewport(0, 0, 1, 1, 30)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HotelDocument hotel(String name, double latitude, double longitude, String minPrice) {
+        return HotelDocument.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .latitude(latitude)
+                .longitude(longitude)
+                .minPrice(new BigDecimal(minPrice))
+                .isActive(true)
+                .build();
+    }
+}
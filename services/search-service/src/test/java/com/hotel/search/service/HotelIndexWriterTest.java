@@ -0,0 +1,191 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class HotelIndexWriterTest {
+
+    private static final Duration TASK_TIMEOUT = Duration.ofSeconds(5);
+
+    private IndexService indexService;
+    private ScheduledExecutorService flusher;
+    private HotelIndexWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        indexService = mock(IndexService.class);
+        flusher = mock(ScheduledExecutorService.class);
+        when(indexService.toIndexDocument(any())).thenAnswer(invocation -> {
+            HotelDocument hotel = invocation.getArgument(0);
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("id", hotel.getId().toString());
+            if (hotel.getName() != null) {
+                document.put("name", hotel.getName());
+            }
+            if (hotel.getCity() != null) {
+                document.put("city", hotel.getCity());
+            }
+            return document;
+        });
+        when(indexService.submitDocuments(anyList(), eq(true))).thenReturn(1);
+        when(indexService.submitDocuments(anyList(), eq(false))).thenReturn(2);
+        when(indexService.submitDeletes(anyList())).thenReturn(3);
+        when(indexService.taskCompletion(anyInt(), eq(TASK_TIMEOUT)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        writer = new HotelIndexWriter(indexService, 100, TASK_TIMEOUT, flusher);
+    }
+
+    @Test
+    void coalescesWritesPerHotelIntoOneTaskPerKind() throws Exception {
+        UUID created = UUID.randomUUID();
+        UUID updated = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        CompletableFuture<Void> first = writer.add(hotel(created, "Old Name", "Rome"));
+        CompletableFuture<Void> second = writer.update(hotel(created, "New Name", null));
+        writer.update(hotel(updated, "Updated", null));
+        writer.add(hotel(deleted, "Gone", "Oslo"));
+        writer.delete(deleted.toString());
+
+        writer.flush();
+
+        ArgumentCaptor<List<Map<String, Object>>> additions = documentsCaptor();
+        verify(indexService).submitDocuments(additions.capture(), eq(true));
+        assertThat(additions.getValue()).containsExactly(
+                Map.of("id", created.toString(), "name", "New Name", "city", "Rome"));
+        verify(indexService).submitDocuments(
+                List.of(Map.of("id", updated.toString(), "name", "Updated")), false);
+        verify(indexService).submitDeletes(List.of(deleted.toString()));
+        verify(indexService).taskCompletion(1, TASK_TIMEOUT);
+        verify(indexService).taskCompletion(2, TASK_TIMEOUT);
+        verify(indexService).taskCompletion(3, TASK_TIMEOUT);
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+    }
+
+    @Test
+    void laterReplacementWinsOverPendingUpdate() throws Exception {
+        UUID hotelId = UUID.randomUUID();
+        writer.update(hotel(hotelId, "Partial", "Rome"));
+        writer.add(hotel(hotelId, "Full", null));
+
+        writer.flush();
+
+        verify(indexService).submitDocuments(List.of(Map.of("id", hotelId.toString(), "name", "Full")), true);
+        verify(indexService, never()).submitDocuments(anyList(), eq(false));
+    }
+
+    @Test
+    void deleteWinsOverLaterPartialUpdateInSameWindow() throws Exception {
+        UUID hotelId = UUID.randomUUID();
+        writer.delete(hotelId.toString());
+        writer.update(hotel(hotelId, "Stale", null));
+
+        writer.flush();
+
+        verify(indexService).submitDeletes(List.of(hotelId.toString()));
+        verify(indexService, never()).submitDocuments(anyList(), anyBoolean());
+    }
+
+    @Test
+    void laterAddReplacesPendingDeleteInMeilisearchAndTheInProcessIndexes() throws Exception {
+        FallbackSearchIndex fallbackIndex = mock(FallbackSearchIndex.class);
+        HotelGeoIndex geoIndex = mock(HotelGeoIndex.class);
+        ReflectionTestUtils.setField(writer, "listeners", List.of(fallbackIndex, geoIndex));
+        UUID hotelId = UUID.randomUUID();
+        HotelDocument recreated = hotel(hotelId, "Recreated", "Rome");
+        CompletableFuture<Void> deletion = writer.delete(hotelId.toString());
+        CompletableFuture<Void> addition = writer.add(recreated);
+
+        writer.flush();
+
+        verify(indexService).submitDocuments(
+                List.of(Map.of("id", hotelId.toString(), "name", "Recreated", "city", "Rome")), true);
+        verify(indexService, never()).submitDeletes(anyList());
+        verify(fallbackIndex).put(recreated);
+        verify(geoIndex).put(recreated);
+        verify(fallbackIndex, never()).remove(any());
+        verify(geoIndex, never()).remove(any());
+        assertThat(deletion).isCompleted();
+        assertThat(addition).isCompleted();
+    }
+
+    @Test
+    void failsOnlyWritesCarriedByFailedTask() throws Exception {
+        UUID added = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+        when(indexService.taskCompletion(3, TASK_TIMEOUT))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("task 3 failed")));
+        CompletableFuture<Void> addition = writer.add(hotel(added, "Kept", null));
+        CompletableFuture<Void> deletion = writer.delete(deleted.toString());
+
+        writer.flush();
+
+        assertThat(addition).isCompleted();
+        assertThat(deletion).isCompletedExceptionally();
+    }
+
+    @Test
+    void completesWritesWhenTheirTaskFinishesWithoutBlockingTheFlush() {
+        CompletableFuture<Void> task = new CompletableFuture<>();
+        when(indexService.taskCompletion(1, TASK_TIMEOUT)).thenReturn(task);
+        CompletableFuture<Void> addition = writer.add(hotel(UUID.randomUUID(), "Pending", null));
+
+        writer.flush();
+        assertThat(addition).isNotDone();
+
+        task.complete(null);
+        assertThat(addition).isCompleted();
+    }
+
+    @Test
+    void requestsFlushWhenBatchIsFull() {
+        writer = new HotelIndexWriter(indexService, 2, TASK_TIMEOUT, flusher);
+        writer.add(hotel(UUID.randomUUID(), "One", null));
+        verifyNoInteractions(flusher);
+
+        writer.add(hotel(UUID.randomUUID(), "Two", null));
+        writer.add(hotel(UUID.randomUUID(), "Three", null));
+
+        verify(flusher).execute(any(Runnable.class));
+    }
+
+    @Test
+    void emptyFlushSubmitsNothing() throws Exception {
+        writer.flush();
+
+        verify(indexService, never()).submitDocuments(anyList(), anyBoolean());
+        verify(indexService, never()).taskCompletion(anyInt(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<Map<String, Object>>> documentsCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private HotelDocument hotel(UUID id, String name, String city) {
+        return HotelDocument.builder().id(id).name(name).city(city).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.hotel.search.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexGenerationTest {
+
+    private static final Duration REFRESH = Duration.ofSeconds(1);
+
+    private final AtomicLong clock = new AtomicLong();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> values;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+    }
+
+    @Test
+    void rereadsSharedGenerationAtMostOncePerRefreshInterval() {
+        when(values.get(IndexGeneration.REDIS_KEY)).thenReturn("7", "9");
+        IndexGeneration generation = new IndexGeneration(redisTemplate, REFRESH, clock::get);
+
+        assertThat(generation.current()).isEqualTo(7);
+        assertThat(generation.current()).isEqualTo(7);
+        clock.addAndGet(REFRESH.toNanos());
+        assertThat(generation.current()).isEqualTo(9);
+        verify(values, times(2)).get(IndexGeneration.REDIS_KEY);
+    }
+
+    @Test
+    void bumpTakesTheSharedCounterValue() {
+        when(values.increment(IndexGeneration.REDIS_KEY)).thenReturn(12L);
+        IndexGeneration generation = new IndexGeneration(redisTemplate, REFRESH, clock::get);
+
+        generation.bump();
+
+        assertThat(generation.current()).isEqualTo(12);
+    }
+
+    @Test
+    void publishesBumpMadeWhileRedisWasDown() {
+        when(values.get(IndexGeneration.REDIS_KEY)).thenReturn("4");
+        when(values.increment(IndexGeneration.REDIS_KEY))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(5L);
+        IndexGeneration generation = new IndexGeneration(redisTemplate, REFRESH, clock::get);
+        assertThat(generation.current()).isEqualTo(4);
+
+        generation.bump();
+        assertThat(generation.current()).isEqualTo(5);
+        clock.addAndGet(REFRESH.toNanos());
+
+        assertThat(generation.current()).isEqualTo(5);
+        verify(values, times(2)).increment(IndexGeneration.REDIS_KEY);
+    }
+
+    @Test
+    void countsLocallyWithoutRedis() {
+        IndexGeneration generation = new IndexGeneration(null, REFRESH, clock::get);
+
+        generation.bump();
+        generation.bump();
+
+        assertThat(generation.current()).isEqualTo(2);
+    }
+}
@@ -3,15 +3,21 @@ package com.hotel.search.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.meilisearch.sdk.Client;
 import com.meilisearch.sdk.Index;
-import com.meilisearch.sdk.model.DocumentsQuery;
-import com.meilisearch.sdk.model.Results;
+import com.meilisearch.sdk.SearchRequest;
+import com.meilisearch.sdk.model.IndexStats;
+import com.meilisearch.sdk.model.SearchResult;
+import com.meilisearch.sdk.model.Settings;
+import com.meilisearch.sdk.model.SwapIndexesParams;
 import com.meilisearch.sdk.model.Task;
 import com.meilisearch.sdk.model.TaskInfo;
 import com.meilisearch.sdk.model.TaskStatus;
-import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.model.TasksQuery;
+import com.meilisearch.sdk.model.TasksResults;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,19 +27,38 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -41,54 +66,53 @@ import static org.mockito.Mockito.when;
 
 class IndexServiceReconciliationTest {
 
+    private static final int MAX_BATCH_BYTES = 4096;
+
     private Client meilisearchClient;
     private Index index;
     private ObjectMapper objectMapper;
-    private Results<HotelDocument> existingDocuments;
     private TaskInfo upsertTask;
     private TaskInfo deleteTask;
-    private Task upsertResult;
-    private Task deleteResult;
+    private Map<Integer, TaskStatus> taskStatuses;
+    private ExecutorService serializers;
+    private MeilisearchTaskTracker taskTracker;
 
     @BeforeEach
-    @SuppressWarnings("unchecked")
     void setUp() throws Exception {
         meilisearchClient = mock(Client.class);
         index = mock(Index.class);
         objectMapper = new ObjectMapper();
-        existingDocuments = mock(Results.class);
         upsertTask = mock(TaskInfo.class);
         deleteTask = mock(TaskInfo.class);
-        upsertResult = mock(Task.class);
-        deleteResult = mock(Task.class);
+        taskStatuses = new ConcurrentHashMap<>();
+        serializers = Executors.newSingleThreadExecutor();
+        taskTracker = new MeilisearchTaskTracker(meilisearchClient, 100, System::nanoTime,
+                Executors.newSingleThreadScheduledExecutor(), Duration.ofMillis(1));
         when(meilisearchClient.index(IndexService.HOTEL_INDEX)).thenReturn(index);
-        when(existingDocuments.getResults()).thenReturn(new HotelDocument[0]);
-        when(existingDocuments.getTotal()).thenReturn(0);
-        when(index.getDocuments(any(DocumentsQuery.class), eq(HotelDocument.class)))
-                .thenReturn(existingDocuments);
+        SearchResult noStaleHotels = staleHotels();
+        when(index.search(any(SearchRequest.class))).thenReturn(noStaleHotels);
         when(index.addDocuments(anyString())).thenReturn(upsertTask);
         when(upsertTask.getTaskUid()).thenReturn(101);
-        when(index.getTask(101)).thenReturn(upsertResult);
-        when(upsertResult.getStatus()).thenReturn(TaskStatus.SUCCEEDED);
+        when(meilisearchClient.getTasks(any(TasksQuery.class)))
+                .thenAnswer(invocation -> tasksResults(invocation.getArgument(0)));
         when(index.deleteDocuments(any())).thenReturn(deleteTask);
         when(deleteTask.getTaskUid()).thenReturn(202);
-        when(index.getTask(202)).thenReturn(deleteResult);
-        when(deleteResult.getStatus()).thenReturn(TaskStatus.SUCCEEDED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializers.shutdownNow();
+        taskTracker.shutdown();
     }
 
     @Test
     void syncWithHotelService_UpsertsProjectionFromAuthenticatedExportContract() throws Exception {
         AtomicReference<ClientRequest> request = new AtomicReference<>();
         String responseBody = """
-                {"content":[{
-                    "id":"550e8400-e29b-41d4-a716-446655440001",
-                    "name":"Grand Hotel",
-                    "isActive":true,
-                    "roomTypes":[
-                      {"id":"660e8400-e29b-41d4-a716-446655440001","pricePerNight":120.00,"totalInventory":20,"availableRooms":5},
-                      {"id":"660e8400-e29b-41d4-a716-446655440002","pricePerNight":300.00,"totalInventory":5,"availableRooms":2}
-                    ]
-                  }]}
+                {"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel","isActive":true,\
+                "roomTypes":[\
+                {"id":"660e8400-e29b-41d4-a716-446655440001","pricePerNight":120.00,"totalInventory":20,"availableRooms":5},\
+                {"id":"660e8400-e29b-41d4-a716-446655440002","pricePerNight":300.00,"totalInventory":5,"availableRooms":2}]}
                 """;
         IndexService service = configuredService(webClientReturning(responseBody, request));
         long firstPossibleMinute = Instant.now().getEpochSecond() / 60;
@@ -97,6 +121,7 @@ class IndexServiceReconciliationTest {
 
         long lastPossibleMinute = Instant.now().getEpochSecond() / 60;
         assertThat(request.get().url()).hasPath("/api/v1/hotels/export");
+        assertThat(request.get().headers().getAccept()).containsExactly(MediaType.APPLICATION_NDJSON);
         assertThat(request.get().headers().getFirst("X-Internal-Service")).isEqualTo("search-service");
         assertThat(request.get().headers().getFirst("X-Internal-Token"))
                 .isIn(LongStream.rangeClosed(firstPossibleMinute, lastPossibleMinute)
@@ -105,7 +130,7 @@ class IndexServiceReconciliationTest {
         verify(index, never()).deleteAllDocuments();
         ArgumentCaptor<String> documents = ArgumentCaptor.forClass(String.class);
         verify(index).addDocuments(documents.capture());
-        verify(index).waitForTask(101);
+        verify(meilisearchClient).getTasks(any(TasksQuery.class));
         var indexedHotel = objectMapper.readTree(documents.getValue()).get(0);
         assertThat(indexedHotel.get("minPrice").decimalValue()).isEqualByComparingTo("120.00");
         assertThat(indexedHotel.get("maxPrice").decimalValue()).isEqualByComparingTo("300.00");
@@ -117,15 +142,10 @@ class IndexServiceReconciliationTest {
     @Test
     void syncWithHotelService_PreservesUnknownAvailability() throws Exception {
         String responseBody = """
-                [{
-                    "id":"550e8400-e29b-41d4-a716-446655440001",
-                    "name":"Grand Hotel",
-                    "availableRooms":null,
-                    "roomTypes":[
-                      {"id":"660e8400-e29b-41d4-a716-446655440001","totalInventory":20,"availableRooms":null},
-                      {"id":"660e8400-e29b-41d4-a716-446655440002","totalInventory":5,"availableRooms":null}
-                    ]
-                  }]
+                {"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel","availableRooms":null,\
+                "roomTypes":[\
+                {"id":"660e8400-e29b-41d4-a716-446655440001","totalInventory":20,"availableRooms":null},\
+                {"id":"660e8400-e29b-41d4-a716-446655440002","totalInventory":5,"availableRooms":null}]}
                 """;
         IndexService service = configuredService(webClientReturning(responseBody, new AtomicReference<>()));
 
@@ -138,31 +158,53 @@ class IndexServiceReconciliationTest {
         assertThat(indexedHotel.get("availableRooms").isNull()).isTrue();
     }
 
+    @Test
+    void syncWithHotelService_IndexesStreamedExportInByteBoundedBatches() throws Exception {
+        String responseBody = IntStream.range(0, 150)
+                .mapToObj(i -> "{\"id\":\"%s\",\"name\":\"Hotel %d\"}".formatted(UUID.randomUUID(), i))
+                .collect(Collectors.joining("\n"));
+        IndexService service = configuredService(webClientReturning(responseBody, new AtomicReference<>()));
+
+        service.syncWithHotelService();
+
+        ArgumentCaptor<String> documents = ArgumentCaptor.forClass(String.class);
+        verify(index, atLeast(2)).addDocuments(documents.capture());
+        assertThat(documents.getAllValues())
+                .allSatisfy(json -> assertThat(json.getBytes(StandardCharsets.UTF_8)).hasSizeLessThanOrEqualTo(MAX_BATCH_BYTES));
+        assertThat(documents.getAllValues()).extracting(json -> objectMapper.readTree(json).size())
+                .satisfies(sizes -> assertThat(sizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(150));
+    }
+
     @Test
     void syncWithHotelService_DeletesOnlyStaleDocumentsAfterSuccessfulSnapshot() throws Exception {
         UUID staleHotelId = UUID.randomUUID();
-        HotelDocument staleHotel = HotelDocument.builder().id(staleHotelId).build();
-        when(existingDocuments.getResults()).thenReturn(new HotelDocument[]{staleHotel});
-        when(existingDocuments.getTotal()).thenReturn(1);
-        IndexService service = configuredService(webClientReturning("[]", new AtomicReference<>()));
+        SearchResult firstPage = staleHotels(staleHotelId);
+        SearchResult emptyPage = staleHotels();
+        when(index.search(any(SearchRequest.class))).thenReturn(firstPage, emptyPage);
+        IndexService service = configuredService(webClientReturning("", new AtomicReference<>()));
+        long startedBefore = System.currentTimeMillis();
 
         service.syncWithHotelService();
 
         verify(index, never()).deleteAllDocuments();
         verify(index, never()).addDocuments(anyString());
+        ArgumentCaptor<SearchRequest> staleQuery = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(index, atLeast(2)).search(staleQuery.capture());
+        assertThat(staleQuery.getValue().getFilter()).singleElement().asString()
+                .matches("indexedAt < \\d+ OR indexedAt NOT EXISTS")
+                .satisfies(filter -> assertThat(Long.parseLong(filter.split(" ")[2])).isGreaterThanOrEqualTo(startedBefore));
         verify(index).deleteDocuments(List.of(staleHotelId.toString()));
-        verify(index).waitForTask(202);
+        verify(meilisearchClient, atLeast(1))
+                .getTasks(argThat(query -> Arrays.equals(query.getUids(), new int[]{202})));
     }
 
     @Test
     void syncWithHotelService_FailedUpsertDoesNotDeleteExistingDocuments() throws Exception {
-        UUID existingHotelId = UUID.randomUUID();
-        HotelDocument existingHotel = HotelDocument.builder().id(existingHotelId).build();
-        when(existingDocuments.getResults()).thenReturn(new HotelDocument[]{existingHotel});
-        when(existingDocuments.getTotal()).thenReturn(1);
-        when(upsertResult.getStatus()).thenReturn(TaskStatus.FAILED);
+        SearchResult existingHotel = staleHotels(UUID.randomUUID());
+        when(index.search(any(SearchRequest.class))).thenReturn(existingHotel);
+        taskStatuses.put(101, TaskStatus.FAILED);
         String responseBody = """
-                [{"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel"}]
+                {"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel"}
                 """;
         IndexService service = configuredService(webClientReturning(responseBody, new AtomicReference<>()));
 
@@ -172,6 +214,151 @@ class IndexServiceReconciliationTest {
         verify(index, never()).deleteDocuments(any());
     }
 
+    @Test
+    void syncChanges_AppliesOnlyDeltasAfterStoredCursor() throws Exception {
+        UUID deletedHotelId = UUID.randomUUID();
+        SyncCursorStore cursorStore = mock(SyncCursorStore.class);
+        when(cursorStore.load(IndexService.HOTEL_CHANGES_CURSOR)).thenReturn(OptionalLong.of(7));
+        List<ClientRequest> requests = new ArrayList<>();
+        IndexService service = configuredService(webClientRouting(Map.of(
+                "/api/v1/hotels/export/changes", """
+                        {"hotels":[{"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel"}],
+                         "deletedHotelIds":["%s"],"cursor":12,"hasMore":false}
+                        """.formatted(deletedHotelId)), requests));
+        ReflectionTestUtils.setField(service, "syncCursorStore", cursorStore);
+
+        service.syncChanges();
+
+        assertThat(requests).singleElement().satisfies(request -> {
+            assertThat(request.url()).hasPath("/api/v1/hotels/export/changes");
+            assertThat(request.url().getQuery()).isEqualTo("after=7&limit=500");
+        });
+        verify(index).addDocuments(anyString());
+        verify(index).deleteDocuments(List.of(deletedHotelId.toString()));
+        verify(index, never()).search(any(SearchRequest.class));
+        verify(cursorStore).save(IndexService.HOTEL_CHANGES_CURSOR, 12);
+    }
+
+    @Test
+    void syncChanges_KeepsCursorWhenApplyingChangesFails() throws Exception {
+        SyncCursorStore cursorStore = mock(SyncCursorStore.class);
+        when(cursorStore.load(IndexService.HOTEL_CHANGES_CURSOR)).thenReturn(OptionalLong.of(7));
+        taskStatuses.put(101, TaskStatus.FAILED);
+        IndexService service = configuredService(webClientRouting(Map.of(
+                "/api/v1/hotels/export/changes", """
+                        {"hotels":[{"id":"550e8400-e29b-41d4-a716-446655440001"}],
+                         "deletedHotelIds":[],"cursor":12,"hasMore":false}
+                        """), new ArrayList<>()));
+        ReflectionTestUtils.setField(service, "syncCursorStore", cursorStore);
+
+        service.syncChanges();
+
+        verify(cursorStore, never()).save(anyString(), anyLong());
+    }
+
+    @Test
+    void syncChanges_WithoutCursorReconcilesFullyAndStoresExportCursor() throws Exception {
+        SyncCursorStore cursorStore = mock(SyncCursorStore.class);
+        when(cursorStore.load(IndexService.HOTEL_CHANGES_CURSOR)).thenReturn(OptionalLong.empty());
+        List<ClientRequest> requests = new ArrayList<>();
+        IndexService service = configuredService(webClientRouting(Map.of(
+                "/api/v1/hotels/export/cursor", """
+                        {"hotels":[],"deletedHotelIds":[],"cursor":42,"hasMore":false}
+                        """,
+                "/api/v1/hotels/export", "[]"), requests));
+        ReflectionTestUtils.setField(service, "syncCursorStore", cursorStore);
+
+        service.syncChanges();
+
+        assertThat(requests).extracting(request -> request.url().getPath())
+                .containsExactly("/api/v1/hotels/export/cursor", "/api/v1/hotels/export");
+        verify(cursorStore).save(IndexService.HOTEL_CHANGES_CURSOR, 42);
+    }
+
+    @Test
+    void rebuildFromHotelService_LoadsNewIndexAndSwapsItIn() throws Exception {
+        Index buildIndex = rebuildIndexMock(150);
+        SyncCursorStore cursorStore = mock(SyncCursorStore.class);
+        String export = IntStream.range(0, 150)
+                .mapToObj(i -> "{\"id\":\"%s\",\"name\":\"Hotel %d\"}".formatted(UUID.randomUUID(), i))
+                .collect(Collectors.joining("\n"));
+        IndexService service = configuredService(webClientRouting(Map.of(
+                "/api/v1/hotels/export/cursor", """
+                        {"hotels":[],"deletedHotelIds":[],"cursor":42,"hasMore":false}
+                        """,
+                "/api/v1/hotels/export", export), new ArrayList<>()));
+        ReflectionTestUtils.setField(service, "syncCursorStore", cursorStore);
+
+        IndexService.RebuildReport report = service.rebuildFromHotelService();
+
+        ArgumentCaptor<String> buildIndexName = ArgumentCaptor.forClass(String.class);
+        verify(meilisearchClient).createIndex(buildIndexName.capture(), eq("id"));
+        assertThat(buildIndexName.getValue()).matches("hotels_\\d{14}");
+        InOrder loading = inOrder(buildIndex, meilisearchClient);
+        loading.verify(buildIndex).updateSettings(any(Settings.class));
+        loading.verify(buildIndex, atLeast(2)).addDocuments(anyString());
+        loading.verify(buildIndex).getStats();
+        ArgumentCaptor<SwapIndexesParams[]> swap = ArgumentCaptor.forClass(SwapIndexesParams[].class);
+        loading.verify(meilisearchClient).swapIndexes(swap.capture());
+        loading.verify(meilisearchClient).deleteIndex(buildIndexName.getValue());
+        assertThat(swap.getValue()).singleElement().satisfies(params -> assertThat(params.getIndexes())
+                .containsExactly(IndexService.HOTEL_INDEX, buildIndexName.getValue()));
+        verify(index, never()).addDocuments(anyString());
+        verify(index, never()).deleteDocuments(any());
+        verify(cursorStore).save(IndexService.HOTEL_CHANGES_CURSOR, 42);
+        assertThat(report.documents()).isEqualTo(150);
+        assertThat(report.buildIndex()).isEqualTo(buildIndexName.getValue());
+    }
+
+    @Test
+    void rebuildFromHotelService_DropsBuildIndexWithoutSwapWhenCountsDiffer() throws Exception {
+        rebuildIndexMock(0);
+        SyncCursorStore cursorStore = mock(SyncCursorStore.class);
+        IndexService service = configuredService(webClientRouting(Map.of(
+                "/api/v1/hotels/export/cursor", """
+                        {"hotels":[],"deletedHotelIds":[],"cursor":42,"hasMore":false}
+                        """,
+                "/api/v1/hotels/export", """
+                        {"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel"}
+                        """), new ArrayList<>()));
+        ReflectionTestUtils.setField(service, "syncCursorStore", cursorStore);
+
+        assertThatThrownBy(service::rebuildFromHotelService)
+                .rootCause()
+                .hasMessageEndingWith("holds 0 documents but the export contained 1");
+
+        ArgumentCaptor<String> buildIndexName = ArgumentCaptor.forClass(String.class);
+        verify(meilisearchClient).createIndex(buildIndexName.capture(), eq("id"));
+        verify(meilisearchClient, never()).swapIndexes(any());
+        verify(meilisearchClient).deleteIndex(buildIndexName.getValue());
+        verify(cursorStore, never()).save(anyString(), anyLong());
+    }
+
+    private Index rebuildIndexMock(long indexedDocuments) throws Exception {
+        Index buildIndex = mock(Index.class);
+        TaskInfo clientTask = mock(TaskInfo.class);
+        TaskInfo buildTask = mock(TaskInfo.class);
+        when(meilisearchClient.createIndex(anyString(), eq("id"))).thenReturn(clientTask);
+        when(meilisearchClient.swapIndexes(any())).thenReturn(clientTask);
+        when(clientTask.getTaskUid()).thenReturn(301);
+        when(meilisearchClient.index(startsWith(IndexService.HOTEL_INDEX + "_"))).thenReturn(buildIndex);
+        when(buildIndex.updateSettings(any(Settings.class))).thenReturn(buildTask);
+        when(buildIndex.addDocuments(anyString())).thenReturn(buildTask);
+        when(buildTask.getTaskUid()).thenReturn(302);
+        when(buildIndex.getStats()).thenReturn(new IndexStats(indexedDocuments, false, Map.of()));
+        return buildIndex;
+    }
+
+    private SearchResult staleHotels(UUID... hotelIds) {
+        ArrayList<HashMap<String, Object>> hits = new ArrayList<>();
+        for (UUID hotelId : hotelIds) {
+            hits.add(new HashMap<>(Map.of("id", hotelId.toString())));
+        }
+        SearchResult result = mock(SearchResult.class);
+        when(result.getHits()).thenReturn(hits);
+        return result;
+    }
+
     private String expectedInternalToken(long epochMinute) {
         try {
             String payload = "search-service:test-secret:" + epochMinute;
@@ -183,8 +370,39 @@ class IndexServiceReconciliationTest {
         }
     }
 
+    @Test
+    void taskCompletion_BumpsTheIndexGenerationOffThePollerThread() throws Exception {
+        IndexService service = configuredService(null);
+        IndexGeneration indexGeneration = mock(IndexGeneration.class);
+        AtomicReference<Thread> bumpedOn = new AtomicReference<>();
+        doAnswer(invocation -> {
+            bumpedOn.set(Thread.currentThread());
+            return null;
+        }).when(indexGeneration).bump();
+        ReflectionTestUtils.setField(service, "indexGeneration", indexGeneration);
+
+        service.taskCompletion(303, Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(bumpedOn.get()).isNotNull();
+        assertThat(bumpedOn.get().getName()).isEqualTo("hotel-index-completions");
+    }
+
+    private TasksResults tasksResults(TasksQuery query) {
+        Task[] tasks = Arrays.stream(query.getUids()).mapToObj(uid -> {
+            Task task = mock(Task.class);
+            when(task.getUid()).thenReturn(uid);
+            when(task.getStatus()).thenReturn(taskStatuses.getOrDefault(uid, TaskStatus.SUCCEEDED));
+            return task;
+        }).toArray(Task[]::new);
+        TasksResults results = mock(TasksResults.class);
+        when(results.getResults()).thenReturn(tasks);
+        return results;
+    }
+
     private IndexService configuredService(WebClient.Builder webClientBuilder) {
-        IndexService service = new IndexService(meilisearchClient, objectMapper);
+        BulkIndexer bulkIndexer = new BulkIndexer(
+                meilisearchClient, objectMapper, taskTracker, serializers, 2, 4, MAX_BATCH_BYTES, Duration.ofSeconds(5));
+        IndexService service = new IndexService(meilisearchClient, objectMapper, bulkIndexer, taskTracker);
         ReflectionTestUtils.setField(service, "webClientBuilder", webClientBuilder);
         ReflectionTestUtils.setField(service, "hotelServiceUrl", "http://hotel-service:8082");
         ReflectionTestUtils.setField(service, "serviceName", "search-service");
@@ -194,13 +412,26 @@ class IndexServiceReconciliationTest {
         return service;
     }
 
+    private WebClient.Builder webClientRouting(Map<String, String> bodiesByPath, List<ClientRequest> requests) {
+        return WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            String body = bodiesByPath.get(request.url().getPath());
+            return Mono.just(body == null
+                    ? ClientResponse.create(HttpStatus.NOT_FOUND).build()
+                    : ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+        });
+    }
+
     private WebClient.Builder webClientReturning(
             String responseBody,
             AtomicReference<ClientRequest> requestedRequest) {
         return WebClient.builder().exchangeFunction(request -> {
             requestedRequest.set(request);
             return Mono.just(ClientResponse.create(HttpStatus.OK)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
                     .body(responseBody)
                     .build());
         });
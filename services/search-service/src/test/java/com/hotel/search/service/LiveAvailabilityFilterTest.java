@@ -0,0 +1,120 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.hotel.search.model.HotelDocument.RoomTypeProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveAvailabilityFilterTest {
+
+    private static final Duration TTL = Duration.ofSeconds(15);
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 5, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final UUID doubleRoom = UUID.randomUUID();
+    private final UUID suite = UUID.randomUUID();
+    private final UUID soldOutRoom = UUID.randomUUID();
+    private StayAvailabilityClient client;
+    private LiveAvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(StayAvailabilityClient.class);
+        filter = new LiveAvailabilityFilter(client, TTL, 1000, clock::get);
+        when(client.fetch(any(), any(), any())).thenReturn(new StayAvailabilityClient.StayAvailability(
+                new BigDecimal("1.10"),
+                Map.of(
+                        doubleRoom, Map.of(CHECK_IN, 3, CHECK_IN.plusDays(1), 1),
+                        suite, Map.of(CHECK_IN, 2, CHECK_IN.plusDays(1), 2),
+                        // no inventory row for the second night
+                        soldOutRoom, Map.of(CHECK_IN, 4))));
+    }
+
+    @Test
+    void dropsHotelsWithoutARoomEveryNightAndAnnotatesTheRest() {
+        HotelDocument available = hotel(roomType(doubleRoom, 2, "100.00"), roomType(suite, 4, "250.00"));
+        HotelDocument soldOut = hotel(roomType(soldOutRoom, 2, "80.00"));
+
+        List<HotelDocument> result = filter.retainAvailable(List.of(soldOut, available), CHECK_IN, CHECK_OUT, 2);
+
+        assertThat(result).containsExactly(available);
+        assertThat(available.getAvailableRooms()).isEqualTo(3);
+        assertThat(available.getStayPrice()).isEqualByComparingTo("220.00");
+        RoomTypeProjection suiteProjection = available.getRoomTypes().get(1);
+        assertThat(suiteProjection.getAvailableRooms()).isEqualTo(2);
+        assertThat(suiteProjection.getStayPrice()).isEqualByComparingTo("550.00");
+        assertThat(soldOut.getRoomTypes().get(0).getIsAvailable()).isFalse();
+    }
+
+    @Test
+    void onlyCountsRoomTypesThatFitTheGuests() {
+        HotelDocument hotel = hotel(roomType(doubleRoom, 2, "100.00"), roomType(suite, 4, "250.00"));
+
+        List<HotelDocument> result = filter.retainAvailable(List.of(hotel), CHECK_IN, CHECK_OUT, 3);
+
+        assertThat(result).containsExactly(hotel);
+        assertThat(hotel.getAvailableRooms()).isEqualTo(2);
+        assertThat(hotel.getStayPrice()).isEqualByComparingTo("550.00");
+        assertThat(hotel.getRoomTypes().get(0).getIsAvailable()).isFalse();
+        verify(client).fetch(Set.of(suite), CHECK_IN, CHECK_OUT);
+    }
+
+    @Test
+    void servesRepeatedStaysFromCacheUntilTheTtlPasses() {
+        filter.retainAvailable(List.of(hotel(roomType(doubleRoom, 2, "100.00"))), CHECK_IN, CHECK_OUT, 2);
+        filter.retainAvailable(List.of(hotel(roomType(doubleRoom, 2, "100.00"))), CHECK_IN, CHECK_OUT, 2);
+        verify(client, times(1)).fetch(any(), any(), any());
+
+        clock.addAndGet(TTL.toNanos());
+        filter.retainAvailable(List.of(hotel(roomType(doubleRoom, 2, "100.00"))), CHECK_IN, CHECK_OUT, 2);
+
+        verify(client, times(2)).fetch(any(), any(), any());
+    }
+
+    @Test
+    void fallsBackToTheIndexSnapshotWhenBookingServiceFails() {
+        when(client.fetch(any(), any(), any())).thenThrow(new IllegalStateException("connection refused"));
+        HotelDocument withRooms = hotel(roomType(doubleRoom, 2, "100.00"));
+        withRooms.setAvailableRooms(5);
+        HotelDocument withoutRooms = hotel(roomType(suite, 2, "100.00"));
+        withoutRooms.setAvailableRooms(0);
+
+        List<HotelDocument> result = filter.retainAvailable(
+                List.of(withRooms, withoutRooms), CHECK_IN, CHECK_OUT, 2);
+
+        assertThat(result).containsExactly(withRooms);
+    }
+
+    private static HotelDocument hotel(RoomTypeProjection... roomTypes) {
+        return HotelDocument.builder()
+                .id(UUID.randomUUID())
+                .name("Hotel")
+                .roomTypes(List.of(roomTypes))
+                .build();
+    }
+
+    private static RoomTypeProjection roomType(UUID id, int capacity, String pricePerNight) {
+        return RoomTypeProjection.builder()
+                .id(id)
+                .capacity(capacity)
+                .pricePerNight(new BigDecimal(pricePerNight))
+                .build();
+    }
+}
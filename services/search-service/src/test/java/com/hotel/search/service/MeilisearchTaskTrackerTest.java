@@ -0,0 +1,132 @@
+package com.hotel.search.service;
+
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.exceptions.MeilisearchCommunicationException;
+import com.meilisearch.sdk.model.Task;
+import com.meilisearch.sdk.model.TaskStatus;
+import com.meilisearch.sdk.model.TasksQuery;
+import com.meilisearch.sdk.model.TasksResults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MeilisearchTaskTrackerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private Client meilisearchClient;
+    private Map<Integer, TaskStatus> taskStatuses;
+    private List<int[]> polledUids;
+    private AtomicLong clock;
+    private MeilisearchTaskTracker tracker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meilisearchClient = mock(Client.class);
+        taskStatuses = new HashMap<>();
+        polledUids = new ArrayList<>();
+        clock = new AtomicLong();
+        when(meilisearchClient.getTasks(any(TasksQuery.class)))
+                .thenAnswer(invocation -> tasksResults(invocation.getArgument(0)));
+        tracker = new MeilisearchTaskTracker(
+                meilisearchClient, 2, clock::get, mock(ScheduledExecutorService.class), Duration.ofMillis(50));
+    }
+
+    @Test
+    void pollsPendingTasksTogetherOldestFirst() {
+        taskStatuses.put(7, TaskStatus.PROCESSING);
+        CompletableFuture<Task> third = tracker.track(9, TIMEOUT);
+        CompletableFuture<Task> first = tracker.track(7, TIMEOUT);
+        CompletableFuture<Task> second = tracker.track(8, TIMEOUT);
+
+        tracker.poll();
+
+        assertThat(polledUids).hasSize(1);
+        assertThat(polledUids.getFirst()).containsExactly(7, 8);
+        assertThat(first).isNotDone();
+        assertThat(second).isCompleted();
+        assertThat(third).isNotDone();
+
+        taskStatuses.put(7, TaskStatus.SUCCEEDED);
+        tracker.poll();
+
+        assertThat(polledUids.get(1)).containsExactly(7, 9);
+        assertThat(first).isCompleted();
+        assertThat(third).isCompleted();
+        assertThat(tracker.tracked()).isZero();
+    }
+
+    @Test
+    void failsFailedAndOverdueTasks() {
+        taskStatuses.put(1, TaskStatus.FAILED);
+        taskStatuses.put(2, TaskStatus.PROCESSING);
+        CompletableFuture<Task> failed = tracker.track(1, TIMEOUT);
+        CompletableFuture<Task> slow = tracker.track(2, TIMEOUT);
+
+        tracker.poll();
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(slow).isNotDone();
+
+        clock.addAndGet(TIMEOUT.toNanos() + 1);
+        tracker.poll();
+
+        assertThat(slow).isCompletedExceptionally();
+        assertThatThrownBy(slow::join).hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("did not finish");
+    }
+
+    @Test
+    void expiresTasksWhileMeilisearchIsUnreachable() throws Exception {
+        when(meilisearchClient.getTasks(any(TasksQuery.class)))
+                .thenThrow(new MeilisearchCommunicationException("connection refused"));
+        CompletableFuture<Task> task = tracker.track(3, TIMEOUT);
+
+        tracker.poll();
+        assertThat(task).isNotDone();
+
+        clock.addAndGet(TIMEOUT.toNanos() + 1);
+        tracker.poll();
+        assertThat(task).isCompletedExceptionally();
+    }
+
+    @Test
+    void sharesOneFutureForATaskAndSkipsPollingWhenIdle() throws Exception {
+        assertThat(tracker.track(4, TIMEOUT)).isSameAs(tracker.track(4, TIMEOUT));
+
+        tracker.poll();
+        tracker.poll();
+
+        assertThat(polledUids).hasSize(1);
+        verify(meilisearchClient, never()).getTask(4);
+    }
+
+    private TasksResults tasksResults(TasksQuery query) {
+        polledUids.add(query.getUids());
+        Task[] tasks = Arrays.stream(query.getUids()).mapToObj(uid -> {
+            Task task = mock(Task.class);
+            when(task.getUid()).thenReturn(uid);
+            when(task.getStatus()).thenReturn(taskStatuses.getOrDefault(uid, TaskStatus.SUCCEEDED));
+            return task;
+        }).toArray(Task[]::new);
+        TasksResults results = mock(TasksResults.class);
+        when(results.getResults()).thenReturn(tasks);
+        return results;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hotel.search.service;
+
+import com.hotel.search.dto.SearchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NaturalLanguageQueryParserTest {
+
+    private final NaturalLanguageQueryParser parser = new NaturalLanguageQueryParser((SuggestionService) null, 16);
+
+    @Test
+    void extractsEveryCriterionInOneQuery() {
+        SearchRequest request = parser.parse("Cheapest 4 star hotel in New York with pool and wi-fi under $200");
+
+        assertThat(request.getQuery()).isEqualTo("Cheapest 4 star hotel in New York with pool and wi-fi under $200");
+        assertThat(request.getCity()).isEqualTo("New York");
+        assertThat(request.getMinRating()).isEqualTo(4);
+        assertThat(request.getMaxPrice()).isEqualByComparingTo("200");
+        assertThat(request.getMinPrice()).isNull();
+        assertThat(request.getAmenities()).containsExactly("Pool", "WiFi");
+        assertThat(request.getSortBy()).isEqualTo("minPrice");
+        assertThat(request.getSortOrder()).isEqualTo("asc");
+        assertThat(request.getLimit()).isEqualTo(20);
+        assertThat(request.getOffset()).isZero();
+    }
+
+    @Test
+    void resolvesQualityWordsPriceRangesAndSortPriority() {
+        SearchRequest request = parser.parse("luxury spa in taipei from $100 to $300, top rated");
+
+        assertThat(request.getCity()).isEqualTo("Taipei");
+        assertThat(request.getMinRating()).isEqualTo(4);
+        assertThat(request.getMinPrice()).isEqualByComparingTo(new BigDecimal("100"));
+        assertThat(request.getMaxPrice()).isEqualByComparingTo(new BigDecimal("300"));
+        assertThat(request.getAmenities()).containsExactly("Spa");
+        assertThat(request.getSortBy()).isEqualTo("averageRating");
+        assertThat(request.getSortOrder()).isEqualTo("desc");
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        SearchRequest request = parser.parse("cheaper than 90 hotels in barcelona");
+
+        assertThat(request.getAmenities()).isNull();
+        assertThat(request.getMinRating()).isNull();
+        assertThat(request.getMaxPrice()).isEqualByComparingTo("90");
+        assertThat(request.getCity()).isEqualTo("barcelona");
+        assertThat(request.getSortBy()).isNull();
+    }
+
+    @Test
+    void recognisesCitiesOfIndexedHotelsAndRecompilesWhenTheyChange() {
+        SuggestionService suggestions = mock(SuggestionService.class);
+        when(suggestions.cities()).thenReturn(Set.of("Kaohsiung"));
+        NaturalLanguageQueryParser indexed = new NaturalLanguageQueryParser(suggestions, 16);
+
+        SearchRequest request = indexed.parse("budget 3-star kaohsiung hotel");
+        assertThat(request.getCity()).isEqualTo("Kaohsiung");
+        assertThat(request.getMinRating()).isEqualTo(3);
+
+        when(suggestions.cities()).thenReturn(Set.of("Tainan"));
+        assertThat(indexed.parse("budget 3-star kaohsiung hotel").getCity()).isNull();
+        assertThat(indexed.parse("tainan budget stay").getMinRating()).isEqualTo(2);
+    }
+
+    @Test
+    void memoizedQueriesReturnIndependentRequests() {
+        SearchRequest first = parser.parse("pet friendly hotel in paris");
+        first.getAmenities().clear();
+
+        SearchRequest second = parser.parse("pet friendly hotel in paris");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getCity()).isEqualTo("Paris");
+        assertThat(second.getAmenities()).containsExactly("Pet Friendly");
+    }
+}
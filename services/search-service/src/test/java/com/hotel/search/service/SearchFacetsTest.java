@@ -0,0 +1,138 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.SearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchFacetsTest {
+
+    private static final Map<String, Object> DISTRIBUTION = Map.of(
+            "city", Map.of("Taipei", 120, "Tokyo", 80),
+            "starRating", Map.of("5", 30),
+            "amenities", Map.of("Pool", 45.0),
+            "minPrice", Map.of("49.99", 3, "50", 4, "120", 5, "180.5", 1, "950", 2));
+
+    private IndexGeneration indexGeneration;
+    private SearchFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        indexGeneration = new IndexGeneration(null, Duration.ZERO, System::nanoTime);
+        facets = new SearchFacets(indexGeneration,
+                List.of(new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200")), 2, 10);
+    }
+
+    @Test
+    void countsFacetValuesAndSumsPricesIntoRanges() {
+        SearchFacets.Facets result = facets.fromDistribution(DISTRIBUTION);
+
+        assertThat(result.counts().get("city")).containsEntry("Taipei", 120L).containsEntry("Tokyo", 80L);
+        assertThat(result.counts().get("starRating")).containsExactly(Map.entry("5", 30L));
+        assertThat(result.counts().get("amenities")).containsExactly(Map.entry("Pool", 45L));
+        assertThat(result.counts()).doesNotContainKeys("country", "minPrice");
+        assertThat(result.priceRanges())
+                .extracting(SearchResponse.PriceRange::getMin, SearchResponse.PriceRange::getMax,
+                        SearchResponse.PriceRange::getCount)
+                .containsExactly(
+                        tuple(BigDecimal.ZERO, new BigDecimal("50"), 3L),
+                        tuple(new BigDecimal("50"), new BigDecimal("100"), 4L),
+                        tuple(new BigDecimal("100"), new BigDecimal("200"), 6L),
+                        tuple(new BigDecimal("200"), null, 2L));
+    }
+
+    @Test
+    void returnsOnlyTheMostFrequentValuesOfEachAttribute() {
+        SearchFacets.Facets result = facets.fromDistribution(
+                Map.of("city", Map.of("Taipei", 120, "Tokyo", 80, "Osaka", 80, "Kyoto", 3)), new long[4]);
+
+        assertThat(result.counts().get("city")).containsExactly(Map.entry("Taipei", 120L), Map.entry("Osaka", 80L));
+    }
+
+    @Test
+    void cachesTheFacetsOfUnfilteredSearchesUntilTheIndexChanges() {
+        SearchRequest plain = SearchRequest.builder().query("Beach  Resort").build();
+        SearchRequest filtered = SearchRequest.builder().query("beach resort").city("Nice").build();
+
+        long generation = facets.generation();
+        SearchFacets.Facets collected = facets.collect(plain, DISTRIBUTION, generation);
+        facets.collect(filtered, DISTRIBUTION, generation);
+
+        assertThat(facets.cached(SearchRequest.builder().query("beach resort").offset(20).build(), generation))
+                .isSameAs(collected);
+        assertThat(facets.cached(filtered, generation)).isNull();
+        assertThat(facets.cached(SearchRequest.builder().query("beach resort")
+                .latitude(43.7).longitude(7.26).radiusKm(5.0).build(), generation)).isNull();
+
+        indexGeneration.bump();
+        assertThat(facets.cached(plain, facets.generation())).isNull();
+    }
+
+    @Test
+    void bucketsPricesByTheRangeTheyOpen() {
+        assertThat(facets.priceBucket(new BigDecimal("49.99"))).isZero();
+        assertThat(facets.priceBucket(new BigDecimal("50"))).isEqualTo(1);
+        assertThat(facets.priceBucket(new BigDecimal("180.5"))).isEqualTo(2);
+        assertThat(facets.priceBucket(new BigDecimal("950"))).isEqualTo(3);
+        assertThat(facets.priceBucket(null)).isNull();
+    }
+
+    @Test
+    void countsPriceRangesFromTheBucketDistribution() {
+        SearchFacets.Facets result = facets.collect(SearchRequest.builder().city("Taipei").build(),
+                Map.of("priceBucket", Map.of("0", 3, "1", 4, "2", 6, "3", 2, "7", 9)), facets.generation());
+
+        assertThat(result.priceRanges()).extracting(SearchResponse.PriceRange::getCount)
+                .containsExactly(3L, 4L, 6L, 2L);
+        assertThat(result.counts()).doesNotContainKey("priceBucket");
+    }
+
+    @Test
+    void searchRequestsTheDistributionOnlyWhenNoFacetsAreCached() throws Exception {
+        Client client = mock(Client.class);
+        Index index = mock(Index.class);
+        when(client.index(IndexService.HOTEL_INDEX)).thenReturn(index);
+        SearchResult result = mock(SearchResult.class);
+        when(result.getHits()).thenReturn(new ArrayList<>());
+        Map<String, Object> distribution = new HashMap<>(DISTRIBUTION);
+        distribution.put("priceBucket", Map.of("0", 3, "1", 4, "2", 6, "3", 2));
+        when(result.getFacetDistribution()).thenReturn(distribution);
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(result);
+        SearchService service = new SearchService(client, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "searchFacets", facets);
+
+        SearchResponse first = service.searchHotels(SearchRequest.builder().query("spa").build());
+        SearchResponse second = service.searchHotels(SearchRequest.builder().query("spa").offset(20).build());
+
+        ArgumentCaptor<com.meilisearch.sdk.SearchRequest> requests =
+                ArgumentCaptor.forClass(com.meilisearch.sdk.SearchRequest.class);
+        // The first search counts the price ranges itself; the second reuses the cached facets
+        verify(index, times(2)).search(requests.capture());
+        assertThat(requests.getAllValues().get(0).getFacets()).containsExactly(SearchFacets.DISTRIBUTION);
+        assertThat(requests.getAllValues().get(1).getFacets()).isNull();
+        assertThat(first.getFacets().get("city")).containsEntry("Taipei", 120L);
+        assertThat(first.getPriceRanges()).extracting(SearchResponse.PriceRange::getCount).containsExactly(3L, 4L, 6L, 2L);
+        assertThat(second.getPriceRanges()).isEqualTo(first.getPriceRanges());
+    }
+}
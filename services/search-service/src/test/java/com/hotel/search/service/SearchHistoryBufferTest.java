@@ -0,0 +1,66 @@
+package com.hotel.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchHistoryBufferTest {
+
+    @Test
+    void dropsElementsOnceFullAndAcceptsMoreAfterADrain() {
+        SearchHistoryBuffer<Integer> buffer = new SearchHistoryBuffer<>(3);
+
+        for (int i = 0; i < 6; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained::add, 2)).isEqualTo(2);
+        assertThat(buffer.offer(6)).isTrue();
+        buffer.drainTo(drained::add, 10);
+
+        // capacity is rounded up to four
+        assertThat(drained).containsExactly(0, 1, 2, 3, 6);
+        assertThat(buffer.dropped()).isEqualTo(2);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        SearchHistoryBuffer<Integer> buffer = new SearchHistoryBuffer<>(1024);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> accepted = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        for (int producer = 0; producer < 4; producer++) {
+            int base = producer * 10_000;
+            producers.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    if (buffer.offer(base + i)) {
+                        accepted.add(base + i);
+                    }
+                }
+                return null;
+            });
+        }
+
+        Set<Integer> drained = new HashSet<>();
+        start.countDown();
+        producers.shutdown();
+        while (!producers.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            buffer.drainTo(drained::add, 256);
+        }
+        buffer.drainTo(drained::add, Integer.MAX_VALUE);
+
+        assertThat(drained).isEqualTo(accepted);
+        assertThat(drained.size() + buffer.dropped()).isEqualTo(40_000);
+    }
+}
@@ -0,0 +1,136 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchHistoryRecorderTest {
+
+    private static final long NOW = Duration.ofDays(20_000).plusMinutes(42).toMillis();
+    private static final long HOUR_START = Duration.ofDays(20_000).toMillis();
+
+    private JdbcTemplate jdbcTemplate;
+    private SuggestionService suggestionService;
+    private SearchHistoryRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        suggestionService = mock(SuggestionService.class);
+        recorder = new SearchHistoryRecorder(jdbcTemplate, new ObjectMapper(), "search_svc", 4, 2,
+                Duration.ofHours(1), Duration.ofDays(7), Duration.ofDays(30), 100, () -> NOW);
+        ReflectionTestUtils.setField(recorder, "suggestionService", suggestionService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesFirstPageSearchesInBatchesAndCountsQueriesThatFoundHotels() throws Exception {
+        recorder.record(request("Beach Resort", 0), response(3, List.of("city: Nice")));
+        recorder.record(request("beach  resort", null), response(1, List.of()));
+        recorder.record(request("beach resort", 20), response(3, List.of()));
+        recorder.record(request("nowhere", 0), response(0, List.of()));
+
+        recorder.flush();
+
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<Object>> setters =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(
+                contains("INSERT INTO search_svc.search_history"), rows.capture(), anyInt(), setters.capture());
+        assertThat(rows.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setters.getAllValues().get(0).setValues(statement, rows.getAllValues().get(0).iterator().next());
+        verify(statement).setString(1, "Beach Resort");
+        verify(statement).setString(2, "[\"city: Nice\"]");
+        verify(statement).setInt(3, 3);
+        verify(statement).setTimestamp(4, new Timestamp(NOW));
+
+        ArgumentCaptor<Collection<Map.Entry<?, Long>>> counts = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(
+                contains("INSERT INTO search_svc.search_query_counts"), counts.capture(), anyInt(), any());
+        assertThat(counts.getValue()).extracting(Map.Entry::getValue).containsExactly(2L);
+        verify(suggestionService).recordSearch("beach resort", 2);
+    }
+
+    @Test
+    void dropsSearchesWhileTheBufferIsFull() {
+        for (int i = 0; i < 6; i++) {
+            recorder.record(request("spa " + i, 0), response(1, List.of()));
+        }
+
+        recorder.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(
+                contains("search_history"), any(Collection.class), anyInt(), any());
+        verify(suggestionService, times(4)).recordSearch(anyString(), anyLong());
+    }
+
+    @Test
+    void skipsTheCountsOfABatchThatFailedToWrite() {
+        when(jdbcTemplate.batchUpdate(contains("search_history"), any(Collection.class), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        recorder.record(request("spa", 0), response(1, List.of()));
+
+        recorder.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(contains("search_query_counts"), any(Collection.class), anyInt(), any());
+        verifyNoInteractions(suggestionService);
+    }
+
+    @Test
+    void replacesSuggestionQueryCountsWithTheCountsOfThePopularityWindow() {
+        recorder.refreshPopularQueries();
+
+        verify(jdbcTemplate).query(contains("FROM search_svc.search_query_counts"), any(RowCallbackHandler.class),
+                eq(new Timestamp(HOUR_START - Duration.ofDays(7).toMillis())), eq(100));
+        verify(suggestionService).replaceQueryCounts(Map.of());
+    }
+
+    @Test
+    void purgesHistoryPastRetentionAndCountsOutsideThePopularityWindow() {
+        recorder.purgeExpired();
+
+        verify(jdbcTemplate).update("DELETE FROM search_svc.search_history WHERE created_at < ?",
+                new Timestamp(NOW - Duration.ofDays(30).toMillis()));
+        verify(jdbcTemplate).update("DELETE FROM search_svc.search_query_counts WHERE bucket_start < ?",
+                new Timestamp(HOUR_START - Duration.ofDays(7).toMillis()));
+    }
+
+    private static SearchRequest request(String query, Integer offset) {
+        return SearchRequest.builder().query(query).offset(offset).limit(20).build();
+    }
+
+    private static SearchResponse response(long total, List<String> filters) {
+        return SearchResponse.builder().total(total).appliedFilters(filters).build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.model.HotelDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchResultCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger searches = new AtomicInteger();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private IndexGeneration indexGeneration;
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        indexGeneration = new IndexGeneration(null, Duration.ofSeconds(1), clock::get);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(indexGeneration, objectMapper, null, meterRegistry, 100, TTL, clock::get);
+    }
+
+    @Test
+    void servesEquivalentRequestsFromCache() {
+        SearchResponse first = cache.get(request("  Grand   Hotel "), this::search);
+        SearchResponse second = cache.get(request("grand hotel"), this::search);
+
+        assertThat(searches).hasValue(1);
+        assertThat(second.getHotels()).isEqualTo(first.getHotels());
+        assertThat(second.getQuery()).isEqualTo("grand hotel");
+        assertThat(second.getFacets()).isEqualTo(first.getFacets());
+        assertThat(meterRegistry.get("search.cache.requests").tag("result", "near_hit").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("search.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void distinguishesRequestsThatSearchDifferently() {
+        cache.get(request("taipei"), this::search);
+        SearchRequest nextPage = request("taipei");
+        nextPage.setOffset(20);
+        SearchRequest otherCity = request("taipei");
+        otherCity.setCity("Tainan");
+
+        cache.get(nextPage, this::search);
+        cache.get(otherCity, this::search);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void indexWriteInvalidatesCachedResults() {
+        cache.get(request("taipei"), this::search);
+
+        indexGeneration.bump();
+        cache.get(request("taipei"), this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void resultsComputedDuringAnIndexWriteAreNotServedAfterwards() {
+        cache.get(request("taipei"), () -> {
+            indexGeneration.bump();
+            return search();
+        });
+
+        cache.get(request("taipei"), this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        cache.get(request("taipei"), this::search);
+
+        clock.addAndGet(TTL.toNanos());
+        cache.get(request("taipei"), this::search);
+
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharesResultsThroughRedisUnderCurrentGeneration() throws Exception {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        SearchRequest request = request("taipei");
+        String key = SearchResultCache.REDIS_KEY_PREFIX + "0:" + SearchResultCache.key(request);
+        when(values.get(key)).thenReturn(objectMapper.writeValueAsString(search()));
+        searches.set(0);
+        cache = new SearchResultCache(indexGeneration, objectMapper, redisTemplate, meterRegistry, 100, TTL, clock::get);
+
+        SearchResponse response = cache.get(request, this::search);
+        cache.get(request("other"), this::search);
+
+        assertThat(response.getHotels()).hasSize(1);
+        assertThat(searches).hasValue(1);
+        verify(values).set(anyString(), anyString(), eq(TTL));
+    }
+
+    private SearchRequest request(String query) {
+        return SearchRequest.builder()
+                .query(query)
+                .city("Taipei")
+                .minPrice(new BigDecimal("100.00"))
+                .amenities(List.of("WiFi", "Pool"))
+                .build();
+    }
+
+    private SearchResponse search() {
+        searches.incrementAndGet();
+        return SearchResponse.builder()
+                .hotels(List.of(HotelDocument.builder().id(UUID.randomUUID()).name("Grand Hotel").build()))
+                .total(1L)
+                .offset(0)
+                .limit(20)
+                .facets(Map.of("city", Map.of("Taipei", 1L)))
+                .build();
+    }
+}
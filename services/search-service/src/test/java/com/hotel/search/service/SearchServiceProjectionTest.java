@@ -0,0 +1,145 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.HotelCard;
+import com.hotel.search.dto.SearchFields;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.SearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SearchServiceProjectionTest {
+
+    private static final String CARD_RESPONSE = """
+            {"hits":[{"id":"550e8400-e29b-41d4-a716-446655440001","name":"Grand Hotel","city":"Taipei",
+            "starRating":5,"minPrice":120.5,"imageUrls":["https://img/1.jpg","https://img/2.jpg"]},
+            {"id":"550e8400-e29b-41d4-a716-446655440002","name":"Inn","city":"Taipei"}],
+            "query":"taipei","processingTimeMs":3,"limit":20,"offset":0,"estimatedTotalHits":42,
+            "facetDistribution":{"city":{"Taipei":42}}}
+            """;
+
+    private Index index;
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Client client = mock(Client.class);
+        index = mock(Index.class);
+        when(client.index(IndexService.HOTEL_INDEX)).thenReturn(index);
+        service = new SearchService(client, new ObjectMapper());
+        ReflectionTestUtils.setField(service, "searchFacets", new SearchFacets(
+                new IndexGeneration(null, Duration.ZERO, System::nanoTime), List.of(new BigDecimal("100")), 20, 10));
+    }
+
+    @Test
+    void cardViewRetrievesOnlyCardFieldsAndReadsHitsIntoCards() throws Exception {
+        when(index.rawSearch(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(CARD_RESPONSE);
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(mock(SearchResult.class));
+
+        SearchResponse response = service.searchHotels(
+                SearchRequest.builder().query("taipei").fields(SearchFields.CARD).build());
+
+        ArgumentCaptor<com.meilisearch.sdk.SearchRequest> request =
+                ArgumentCaptor.forClass(com.meilisearch.sdk.SearchRequest.class);
+        verify(index).rawSearch(request.capture());
+        // Typed searches only count price ranges; the hits are read through the raw response
+        verify(index, never()).search(argThat((com.meilisearch.sdk.SearchRequest search) -> search.getLimit() != 0));
+        assertThat(request.getValue().getAttributesToRetrieve()).containsExactly(SearchFields.CARD.attributes());
+        assertThat(response.getHotels()).isNull();
+        assertThat(response.getCards()).extracting(HotelCard::getName).containsExactly("Grand Hotel", "Inn");
+        HotelCard card = response.getCards().get(0);
+        assertThat(card.getImageUrl()).isEqualTo("https://img/1.jpg");
+        assertThat(card.getMinPrice()).isEqualByComparingTo("120.5");
+        assertThat(response.getCards().get(1).getImageUrl()).isNull();
+        assertThat(response.getTotal()).isEqualTo(42);
+        assertThat(response.getProcessingTime()).isEqualTo(3);
+        assertThat(response.getFacets().get("city")).containsEntry("Taipei", 42L);
+    }
+
+    @Test
+    void detailViewKeepsWholeDocuments() throws Exception {
+        SearchResult result = mock(SearchResult.class);
+        HashMap<String, Object> document = new HashMap<>();
+        document.put("id", UUID.randomUUID().toString());
+        document.put("description", "A long description");
+        when(result.getHits()).thenReturn(new ArrayList<>(List.of(document)));
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(result);
+
+        SearchResponse response = service.searchHotels(SearchRequest.builder().query("taipei").build());
+
+        ArgumentCaptor<com.meilisearch.sdk.SearchRequest> request =
+                ArgumentCaptor.forClass(com.meilisearch.sdk.SearchRequest.class);
+        verify(index, atLeastOnce()).search(request.capture());
+        assertThat(request.getAllValues().get(0).getAttributesToRetrieve()).isNull();
+        assertThat(response.getCards()).isNull();
+        assertThat(response.getHotels()).extracting(HotelDocument::getDescription)
+                .containsExactly("A long description");
+    }
+
+    @Test
+    void stayCardsKeepTheRoomTypesUntilAvailabilityIsChecked() throws Exception {
+        LiveAvailabilityFilter availabilityFilter = mock(LiveAvailabilityFilter.class);
+        ReflectionTestUtils.setField(service, "availabilityFilter", availabilityFilter);
+        SearchResult result = mock(SearchResult.class);
+        HashMap<String, Object> document = new HashMap<>();
+        document.put("id", UUID.randomUUID().toString());
+        document.put("name", "Harbour Hotel");
+        when(result.getHits()).thenReturn(new ArrayList<>(List.of(document)));
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(result);
+        when(availabilityFilter.retainAvailable(anyList(), any(), any(), any())).thenAnswer(invocation -> {
+            List<HotelDocument> candidates = invocation.getArgument(0);
+            candidates.forEach(hotel -> hotel.setStayPrice(new BigDecimal("240.00")));
+            return candidates;
+        });
+
+        SearchResponse response = service.searchHotels(SearchRequest.builder()
+                .checkInDate(LocalDate.of(2026, 5, 1))
+                .checkOutDate(LocalDate.of(2026, 5, 3))
+                .fields(SearchFields.CARD)
+                .build());
+
+        ArgumentCaptor<com.meilisearch.sdk.SearchRequest> request =
+                ArgumentCaptor.forClass(com.meilisearch.sdk.SearchRequest.class);
+        verify(index).search(request.capture());
+        assertThat(request.getValue().getAttributesToRetrieve()).contains("roomTypes", "name");
+        assertThat(response.getHotels()).isNull();
+        assertThat(response.getCards()).extracting(HotelCard::getName, HotelCard::getStayPrice)
+                .containsExactly(tuple("Harbour Hotel", new BigDecimal("240.00")));
+    }
+
+    @Test
+    void fieldsAreReadCaseInsensitively() throws Exception {
+        Map<String, Object> body = Map.of("query", "spa", "fields", "Card");
+
+        SearchRequest request = new ObjectMapper().convertValue(body, SearchRequest.class);
+
+        assertThat(request.getFields()).isEqualTo(SearchFields.CARD);
+        assertThat(new ObjectMapper().writeValueAsString(SearchFields.DETAIL)).isEqualTo("\"detail\"");
+    }
+}
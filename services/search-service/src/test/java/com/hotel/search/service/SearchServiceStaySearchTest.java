@@ -0,0 +1,151 @@
+package com.hotel.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.search.dto.SearchRequest;
+import com.hotel.search.dto.SearchResponse;
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.exceptions.MeilisearchCommunicationException;
+import com.meilisearch.sdk.model.SearchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchServiceStaySearchTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 5, 1);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(2);
+
+    private Index index;
+    private LiveAvailabilityFilter availabilityFilter;
+    private SearchResultCache resultCache;
+    private SearchService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Client client = mock(Client.class);
+        index = mock(Index.class);
+        when(client.index(IndexService.HOTEL_INDEX)).thenReturn(index);
+        availabilityFilter = mock(LiveAvailabilityFilter.class);
+        resultCache = mock(SearchResultCache.class);
+        service = new SearchService(client, new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "availabilityFilter", availabilityFilter);
+        ReflectionTestUtils.setField(service, "resultCache", resultCache);
+        ReflectionTestUtils.setField(service, "maxAvailabilityCandidates", 150);
+    }
+
+    @Test
+    void stopsPagingCandidatesOnceThePageIsFilled() throws Exception {
+        // every other candidate is available, so the first page of 50 fills a limit of 20
+        SearchResult page = result(50, 1000);
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(page);
+        when(availabilityFilter.retainAvailable(anyList(), eq(CHECK_IN), eq(CHECK_OUT), eq(2)))
+                .thenAnswer(invocation -> {
+                    List<HotelDocument> candidates = invocation.getArgument(0);
+                    return IntStream.range(0, candidates.size()).filter(i -> i % 2 == 0)
+                            .mapToObj(candidates::get).toList();
+                });
+
+        SearchResponse response = service.searchHotels(stayRequest(0, 20));
+
+        assertThat(response.getHotels()).hasSize(20);
+        assertThat(response.getTotal()).isEqualTo(500);
+        verify(index, times(1)).search(any(com.meilisearch.sdk.SearchRequest.class));
+        verifyNoInteractions(resultCache);
+    }
+
+    @Test
+    void reportsAnExactTotalWhenCandidatesRunOut() throws Exception {
+        SearchResult firstPage = result(50, 70);
+        SearchResult lastPage = result(20, 70);
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class))).thenReturn(firstPage, lastPage);
+        when(availabilityFilter.retainAvailable(anyList(), eq(CHECK_IN), eq(CHECK_OUT), eq(2)))
+                .thenAnswer(invocation -> {
+                    List<HotelDocument> candidates = invocation.getArgument(0);
+                    return candidates.subList(0, Math.min(3, candidates.size()));
+                });
+
+        SearchResponse response = service.searchHotels(stayRequest(2, 20));
+
+        assertThat(response.getHotels()).hasSize(4);
+        assertThat(response.getTotal()).isEqualTo(6);
+        ArgumentCaptor<com.meilisearch.sdk.SearchRequest> pages =
+                ArgumentCaptor.forClass(com.meilisearch.sdk.SearchRequest.class);
+        verify(index, times(2)).search(pages.capture());
+        assertThat(pages.getAllValues()).extracting(com.meilisearch.sdk.SearchRequest::getOffset)
+                .containsExactly(0, 50);
+    }
+
+    @Test
+    void searchesWithoutDatesStayOnTheCachedPath() {
+        SearchRequest request = SearchRequest.builder().query("taipei").build();
+        SearchResponse cached = SearchResponse.builder().total(0L).build();
+        when(resultCache.get(eq(request), any())).thenReturn(cached);
+
+        assertThat(service.searchHotels(request)).isSameAs(cached);
+        verifyNoInteractions(availabilityFilter);
+    }
+
+    @Test
+    void stayPagesComeFromTheFallbackIndexWhenMeilisearchIsUnreachable() throws Exception {
+        FallbackSearchIndex fallbackIndex = mock(FallbackSearchIndex.class);
+        ReflectionTestUtils.setField(service, "fallbackIndex", fallbackIndex);
+        when(index.search(any(com.meilisearch.sdk.SearchRequest.class)))
+                .thenThrow(new MeilisearchCommunicationException("connection refused"));
+        List<HotelDocument> candidates = List.of(HotelDocument.builder().id(UUID.randomUUID()).build());
+        when(fallbackIndex.search(any(SearchRequest.class), eq(0), eq(50))).thenReturn(SearchResponse.builder()
+                .hotels(candidates).total(1L).processingTime(0L).build());
+        when(availabilityFilter.retainAvailable(candidates, CHECK_IN, CHECK_OUT, 2)).thenReturn(candidates);
+
+        SearchResponse response = service.searchHotels(stayRequest(0, 20));
+
+        assertThat(response.getHotels()).isEqualTo(candidates);
+        assertThat(response.getTotal()).isEqualTo(1);
+        assertThat(response.getDegraded()).isTrue();
+        verify(fallbackIndex).meilisearchUnavailable();
+    }
+
+    private static SearchRequest stayRequest(int offset, int limit) {
+        return SearchRequest.builder()
+                .query("taipei")
+                .checkInDate(CHECK_IN)
+                .checkOutDate(CHECK_OUT)
+                .guests(2)
+                .offset(offset)
+                .limit(limit)
+                .build();
+    }
+
+    private static SearchResult result(int hits, int estimatedTotalHits) {
+        ArrayList<HashMap<String, Object>> documents = new ArrayList<>();
+        for (int i = 0; i < hits; i++) {
+            HashMap<String, Object> document = new HashMap<>();
+            document.put("id", UUID.randomUUID().toString());
+            document.put("name", "Hotel " + i);
+            documents.add(document);
+        }
+        SearchResult result = mock(SearchResult.class);
+        when(result.getHits()).thenReturn(documents);
+        when(result.getEstimatedTotalHits()).thenReturn(estimatedTotalHits);
+        return result;
+    }
+}
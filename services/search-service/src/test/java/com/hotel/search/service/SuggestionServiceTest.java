@@ -0,0 +1,118 @@
+package com.hotel.search.service;
+
+import com.hotel.search.model.HotelDocument;
+import com.meilisearch.sdk.Client;
+import com.meilisearch.sdk.Index;
+import com.meilisearch.sdk.model.DocumentsQuery;
+import com.meilisearch.sdk.model.Results;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SuggestionServiceTest {
+
+    private Client client;
+    private SuggestionService suggestions;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(Client.class);
+        suggestions = new SuggestionService(client, 5, 100, 2);
+    }
+
+    @Test
+    void ranksTermsByTheFavoritesAndReviewsOfTheirHotels() {
+        suggestions.put(hotel(UUID.randomUUID(), "Bay Inn", "Barcelona", 0L, 0));
+        suggestions.put(hotel(UUID.randomUUID(), "Bayside Suites", "Bangkok", 10L, 5));
+        suggestions.rebuild();
+
+        assertThat(suggestions.suggest("ba", 5))
+                .containsExactly("Bangkok", "Bayside Suites", "Barcelona", "Bay Inn");
+    }
+
+    @Test
+    void hotelEventsKeepPopularityAndInactiveHotelsAreRemoved() {
+        UUID popular = UUID.randomUUID();
+        UUID closing = UUID.randomUUID();
+        suggestions.put(hotel(popular, "Grand Lisbon", "Lisbon", 20L, 0));
+        suggestions.put(hotel(closing, "Grand Lagos", "Lagos", 30L, 0));
+
+        suggestions.put(hotel(popular, "Grand Lisboa", "Lisbon", null, null));
+        HotelDocument deactivated = hotel(closing, "Grand Lagos", "Lagos", null, null);
+        deactivated.setIsActive(false);
+        suggestions.put(deactivated);
+        suggestions.rebuild();
+
+        assertThat(suggestions.suggest("grand", 5)).containsExactly("Grand Lisboa");
+        assertThat(suggestions.suggest("l", 5)).containsExactly("Grand Lisboa", "Lisbon");
+    }
+
+    @Test
+    void reloadReplacesAllTermsOnlyOnCommit() {
+        suggestions.put(hotel(UUID.randomUUID(), "Old Mill", "Oslo", 0L, 0));
+        suggestions.rebuild();
+
+        IndexedHotelListener.Reload reload = suggestions.reload();
+        reload.add(hotel(UUID.randomUUID(), "Ocean View", "Oporto", 0L, 0));
+        suggestions.rebuild();
+        assertThat(suggestions.suggest("o", 5)).containsExactly("Old Mill", "Oslo");
+
+        reload.commit();
+        suggestions.rebuild();
+        assertThat(suggestions.suggest("o", 5)).containsExactly("Ocean View", "Oporto");
+    }
+
+    @Test
+    void frequentQueriesBecomeSuggestions() {
+        suggestions.recordSearch("Beach Resort", 1);
+        suggestions.recordSearch("beach  resort", 1);
+        suggestions.recordSearch("beach bar", 1);
+        suggestions.rebuild();
+
+        assertThat(suggestions.suggest("beach", 5)).containsExactly("beach resort");
+    }
+
+    @Test
+    void historyCountsReplaceTheLocalQueryCounts() {
+        suggestions.recordSearch("beach resort", 5);
+        suggestions.replaceQueryCounts(Map.of("beach bar", 4L, "beach hut", 1L));
+        suggestions.rebuild();
+
+        assertThat(suggestions.suggest("beach", 5)).containsExactly("beach bar");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadsTermsFromTheIndexUntilAFullExportHasRun() throws Exception {
+        Index index = mock(Index.class);
+        Results<HotelDocument> page = mock(Results.class);
+        when(client.index(IndexService.HOTEL_INDEX)).thenReturn(index);
+        when(page.getResults()).thenReturn(new HotelDocument[]{hotel(UUID.randomUUID(), "Kyoto Garden", "Kyoto", 1L, 2)});
+        when(page.getTotal()).thenReturn(1);
+        when(index.getDocuments(any(DocumentsQuery.class), eq(HotelDocument.class))).thenReturn(page);
+
+        suggestions.refresh();
+
+        assertThat(suggestions.suggest("ky", 5)).containsExactly("Kyoto", "Kyoto Garden");
+    }
+
+    private static HotelDocument hotel(UUID id, String name, String city, Long favorites, Integer reviews) {
+        return HotelDocument.builder()
+                .id(id)
+                .name(name)
+                .city(city)
+                .favoriteCount(favorites)
+                .reviewCount(reviews)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotel.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+            new SuggestionTrie.Suggestion("Paris", 50),
+            new SuggestionTrie.Suggestion("Hotel Paris Opera", 8),
+            new SuggestionTrie.Suggestion("Parking", 20),
+            new SuggestionTrie.Suggestion("Zürich", 5),
+            new SuggestionTrie.Suggestion("New York", 30),
+            new SuggestionTrie.Suggestion("Newark", 40)), 3);
+
+    @Test
+    void ranksPrefixMatchesByWeightIncludingLaterWords() {
+        assertThat(trie.suggest("par", 3)).containsExactly("Paris", "Parking", "Hotel Paris Opera");
+        assertThat(trie.suggest("paris", 3)).containsExactly("Paris", "Hotel Paris Opera");
+        assertThat(trie.suggest("opera", 3)).containsExactly("Hotel Paris Opera");
+    }
+
+    @Test
+    void matchesPrefixesEndingInsideAnEdgeAndRejectsMismatches() {
+        assertThat(trie.suggest("parki", 3)).containsExactly("Parking");
+        assertThat(trie.suggest("parx", 3)).isEmpty();
+        assertThat(trie.suggest("q", 3)).isEmpty();
+    }
+
+    @Test
+    void normalizesAccentsCaseAndTrailingSpace() {
+        assertThat(trie.suggest(SuggestionTrie.normalizePrefix("ZUR"), 3)).containsExactly("Zürich");
+        assertThat(trie.suggest(SuggestionTrie.normalizePrefix("new"), 3)).containsExactly("Newark", "New York");
+        assertThat(trie.suggest(SuggestionTrie.normalizePrefix("New "), 3)).containsExactly("New York");
+    }
+
+    @Test
+    void limitsResultsAndAgreesWithBruteForceOnLargeRanges() {
+        List<SuggestionTrie.Suggestion> suggestions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            suggestions.add(new SuggestionTrie.Suggestion("Hotel " + i, (i * 37L) % 101));
+        }
+        SuggestionTrie large = SuggestionTrie.build(suggestions, 5);
+
+        List<String> expected = suggestions.stream()
+                .filter(suggestion -> suggestion.text().startsWith("Hotel 1"))
+                .sorted((a, b) -> a.weight() != b.weight()
+                        ? Long.compare(b.weight(), a.weight())
+                        : a.text().compareTo(b.text()))
+                .limit(5)
+                .map(SuggestionTrie.Suggestion::text)
+                .toList();
+        assertThat(large.suggest("hotel 1", 10)).containsExactlyElementsOf(expected);
+        assertThat(large.suggest("h", 2)).hasSize(2);
+    }
+}
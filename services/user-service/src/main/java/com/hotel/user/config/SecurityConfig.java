@@ -4,15 +4,23 @@ import com.hotel.user.security.JwtAuthenticationEntryPoint;
 import com.hotel.user.security.JwtAuthenticationFilter;
 import com.hotel.user.security.InternalServiceAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -32,20 +40,39 @@ public class SecurityConfig {
     }
     
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SecurityProperties securityProperties) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
+                // Only the spring.security.user operator account signs in with HTTP basic
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(operatorAuthentication(securityProperties.getUser()))
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/v1/auth/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("OPERATOR")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
         
-        // Add internal service filter before JWT filter to handle internal authentication first
-        http.addFilterBefore(internalServiceAuthenticationFilter, JwtAuthenticationFilter.class);
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Add internal service filter before JWT filter to handle internal authentication first;
+        // the JWT filter has to be registered before another filter can be ordered relative to it
+        http.addFilterBefore(internalServiceAuthenticationFilter, JwtAuthenticationFilter.class);
         
         return http.build();
     }
+
+    /**
+     * Checks the operator account, whose password is configured in plain text, unlike the BCrypt
+     * hashes {@link #passwordEncoder()} checks for users.
+     */
+    private AuthenticationManager operatorAuthentication(SecurityProperties.User operator) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(operator.getName())
+                .password("{noop}" + operator.getPassword())
+                .roles(operator.getRoles().toArray(String[]::new))
+                .build()));
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new ProviderManager(provider);
+    }
 }
\ No newline at end of file
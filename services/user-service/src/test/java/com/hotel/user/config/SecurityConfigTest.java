@@ -0,0 +1,90 @@
+package com.hotel.user.config;
+
+import com.hotel.user.controller.AuthController;
+import com.hotel.user.security.JwtAuthenticationEntryPoint;
+import com.hotel.user.service.AuthService;
+import com.hotel.user.util.InternalServiceUtil;
+import com.hotel.user.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthContributorAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = AuthController.class, properties = {
+        "spring.security.user.name=operator",
+        "spring.security.user.password=secret",
+        "spring.security.user.roles=OPERATOR"
+})
+@Import({SecurityConfig.class, JwtAuthenticationEntryPoint.class})
+@ImportAutoConfiguration({
+        EndpointAutoConfiguration.class,
+        WebEndpointAutoConfiguration.class,
+        HealthContributorAutoConfiguration.class,
+        HealthEndpointAutoConfiguration.class,
+        MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class,
+        MetricsEndpointAutoConfiguration.class,
+        ManagementContextAutoConfiguration.class,
+        ServletManagementContextAutoConfiguration.class
+})
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private InternalServiceUtil internalServiceUtil;
+
+    @Test
+    void healthStaysAnonymous() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void operatorEndpointsRejectAnonymousRequests() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/outbox"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void operatorEndpointsRejectSignedInUsers() throws Exception {
+        when(jwtUtil.extractEmail("user-token")).thenReturn("guest@example.com");
+        when(jwtUtil.validateToken("user-token", "guest@example.com")).thenReturn(true);
+        when(jwtUtil.extractRole("user-token")).thenReturn("USER");
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer user-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void operatorEndpointsAcceptTheOperatorAccount() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("operator", "secret")))
+                .andExpect(status().isOk());
+    }
+}